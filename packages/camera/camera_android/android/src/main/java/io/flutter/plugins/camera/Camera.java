@@ -15,6 +15,7 @@ import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.TotalCaptureResult;
 import android.hardware.camera2.params.OutputConfiguration;
@@ -59,6 +60,9 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamProcessingOptions;
+import io.flutter.plugins.camera.media.ImageStreamProcessor;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
@@ -68,9 +72,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.Executors;
 
 @FunctionalInterface
@@ -128,6 +134,24 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /**
+   * The maximum number of still images being saved at the same time, which is also the number of
+   * images of {@link #pictureImageReader}.
+   */
+  @VisibleForTesting static final int MAX_STILL_IMAGES_IN_FLIGHT = 3;
+
+  /** The number of threads writing still images to disk. */
+  private static final int IMAGE_SAVER_THREAD_COUNT = 2;
+
+  /** Writes still images to disk, away from {@link #backgroundHandler}. */
+  @VisibleForTesting ImageSaverExecutor imageSaverExecutor;
+
+  /** The burst being captured, or null when capturing a single picture. */
+  private PictureBurst pictureBurst;
+
+  /** The number of still images that are available but could not be acquired yet. */
+  private int pendingStillImages;
+
   CameraDeviceWrapper cameraDevice;
   CameraCaptureSession captureSession;
   @VisibleForTesting ImageReader pictureImageReader;
@@ -145,6 +169,9 @@ class Camera
 
   /** Holds the current capture timeouts */
   private CaptureTimeoutsWrapper captureTimeouts;
+  /** Measures the latency of every stage of still captures. */
+  @VisibleForTesting
+  final CaptureLatencyTracker captureLatencyTracker = new CaptureLatencyTracker();
   /** Holds the last known capture properties */
   private CameraCaptureProperties captureProps;
 
@@ -265,7 +292,9 @@ class Camera
     // Create capture callback.
     captureTimeouts = new CaptureTimeoutsWrapper(3000, 3000);
     captureProps = new CameraCaptureProperties();
-    cameraCaptureCallback = CameraCaptureCallback.create(this, captureTimeouts, captureProps);
+    cameraCaptureCallback =
+        CameraCaptureCallback.create(
+            this, captureTimeouts, captureProps, captureLatencyTracker);
 
     startBackgroundThread();
   }
@@ -361,7 +390,7 @@ class Camera
             resolutionFeature.getCaptureSize().getWidth(),
             resolutionFeature.getCaptureSize().getHeight(),
             ImageFormat.JPEG,
-            1);
+            MAX_STILL_IMAGES_IN_FLIGHT);
 
     // For image streaming, use the provided image format or fall back to YUV420.
     Integer imageFormat = supportedImageFormats.get(imageFormatGroup);
@@ -625,7 +654,9 @@ class Camera
       return;
     }
 
-    flutterResult = result;
+    captureLatencyTracker.onCaptureStarted(System.nanoTime());
+    flutterResult = captureLatencyTracker.track(result);
+    pictureBurst = null;
 
     // Create temporary file.
     final File outputDir = applicationContext.getCacheDir();
@@ -637,6 +668,59 @@ class Camera
       return;
     }
 
+    startStillCapture();
+  }
+
+  /**
+   * Captures a burst of pictures with the same settings, keeping several of them being saved at
+   * the same time.
+   *
+   * <p>The result is a list with the "path", "captureLatencyMicros" and "saveLatencyMicros" of
+   * every picture, in capture order.
+   *
+   * @param result is completed once every picture of the burst was saved.
+   * @param count is the number of pictures of the burst.
+   */
+  public void takePictureBurst(@NonNull final Result result, int count) {
+    if (count < 1) {
+      result.error("takePictureBurstFailed", "The burst must contain at least one picture", null);
+      return;
+    }
+    // Only take one picture at a time.
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error("captureAlreadyActive", "Picture is currently already being captured", null);
+      return;
+    }
+
+    // The burst is measured as a single capture, whose result is delivered once every picture of
+    // the burst is saved.
+    captureLatencyTracker.onCaptureStarted(System.nanoTime());
+    flutterResult = captureLatencyTracker.track(result);
+
+    // Create temporary files.
+    final File outputDir = applicationContext.getCacheDir();
+    final List<File> files = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; i++) {
+        files.add(File.createTempFile("CAP", ".jpg", outputDir));
+      }
+      captureTimeouts.reset();
+    } catch (IOException | SecurityException e) {
+      for (File file : files) {
+        file.delete();
+      }
+      dartMessenger.error(flutterResult, "cannotCreateFile", e.getMessage(), null);
+      return;
+    }
+    pictureBurst = new PictureBurst(files);
+
+    startStillCapture();
+  }
+
+  /** Starts the focus and precapture sequence of a still capture. */
+  private void startStillCapture() {
+    pendingStillImages = 0;
+
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
@@ -700,6 +784,7 @@ class Camera
     try {
       stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
     } catch (CameraAccessException e) {
+      failPictureBurst();
       dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
       return;
     }
@@ -722,25 +807,87 @@ class Camera
             ? getDeviceOrientationManager().getPhotoOrientation()
             : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
 
-    CameraCaptureSession.CaptureCallback captureCallback =
-        new CameraCaptureSession.CaptureCallback() {
-          @Override
-          public void onCaptureCompleted(
-              @NonNull CameraCaptureSession session,
-              @NonNull CaptureRequest request,
-              @NonNull TotalCaptureResult result) {
-            unlockAutoFocus();
-          }
-        };
-
+    final PictureBurst burst = pictureBurst;
     try {
-      Log.i(TAG, "sending capture request");
-      captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
+      if (burst == null) {
+        CameraCaptureSession.CaptureCallback captureCallback =
+            new CameraCaptureSession.CaptureCallback() {
+              @Override
+              public void onCaptureCompleted(
+                  @NonNull CameraCaptureSession session,
+                  @NonNull CaptureRequest request,
+                  @NonNull TotalCaptureResult result) {
+                unlockAutoFocus();
+              }
+            };
+
+        Log.i(TAG, "sending capture request");
+        captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
+      } else {
+        final Result result = flutterResult;
+        // A picture that fails to be captured never becomes available, so the burst is failed
+        // rather than waiting for it. The sequence still completes after such failures, but not
+        // once it is aborted.
+        CameraCaptureSession.CaptureCallback burstCallback =
+            new CameraCaptureSession.CaptureCallback() {
+              @Override
+              public void onCaptureFailed(
+                  @NonNull CameraCaptureSession session,
+                  @NonNull CaptureRequest request,
+                  @NonNull CaptureFailure failure) {
+                failBurstCapture(burst, result, "A picture of the burst could not be captured");
+              }
+
+              @Override
+              public void onCaptureSequenceCompleted(
+                  @NonNull CameraCaptureSession session, int sequenceId, long frameNumber) {
+                if (burst.isFailed()) {
+                  cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+                }
+                unlockAutoFocus();
+              }
+
+              @Override
+              public void onCaptureSequenceAborted(
+                  @NonNull CameraCaptureSession session, int sequenceId) {
+                failBurstCapture(burst, result, "The burst capture was aborted");
+                cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+                unlockAutoFocus();
+              }
+            };
+
+        Log.i(TAG, "sending burst capture request");
+        burst.onCaptureRequested(System.nanoTime());
+        captureSession.captureBurst(
+            Collections.nCopies(burst.size(), stillBuilder.build()),
+            burstCallback,
+            backgroundHandler);
+      }
     } catch (CameraAccessException e) {
+      failPictureBurst();
       dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
     }
   }
 
+  /**
+   * Deletes the files of a burst once one of its pictures could not be captured, and reports the
+   * failure to {@code result} unless the burst already failed.
+   */
+  private void failBurstCapture(
+      @NonNull PictureBurst burst, @NonNull Result result, @NonNull String message) {
+    if (burst.onFailed()) {
+      dartMessenger.error(result, "captureFailed", message, null);
+    }
+  }
+
+  /** Deletes the files of the burst being captured, if any, once its capture failed. */
+  private void failPictureBurst() {
+    final PictureBurst burst = pictureBurst;
+    if (burst != null) {
+      burst.onFailed();
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private Display getDefaultDisplay() {
     return activity.getWindowManager().getDefaultDisplay();
@@ -748,6 +895,10 @@ class Camera
 
   /** Starts a background thread and its {@link Handler}. */
   public void startBackgroundThread() {
+    if (imageSaverExecutor == null) {
+      imageSaverExecutor =
+          new ImageSaverExecutor(IMAGE_SAVER_THREAD_COUNT, MAX_STILL_IMAGES_IN_FLIGHT);
+    }
     if (backgroundHandlerThread != null) {
       return;
     }
@@ -768,6 +919,11 @@ class Camera
     }
     backgroundHandlerThread = null;
     backgroundHandler = null;
+    if (imageSaverExecutor != null) {
+      // Pictures that are already being saved still complete.
+      imageSaverExecutor.shutdown();
+      imageSaverExecutor = null;
+    }
   }
 
   /** Start capturing a picture, doing autofocus first. */
@@ -1205,6 +1361,35 @@ class Camera
 
   public void startPreviewWithImageStream(EventChannel imageStreamChannel)
       throws CameraAccessException {
+    startPreviewWithImageStream(imageStreamChannel, 0, ImageStreamDeliveryPolicy.all(), null);
+  }
+
+  /**
+   * Starts the preview and streams frames to {@code imageStreamChannel}.
+   *
+   * @param imageStreamChannel is the channel frames are sent to.
+   * @param bufferPoolSize is the number of reusable frame buffers to stream with, or 0 to allocate
+   *     new buffers for every frame. See {@link ImageStreamReader#setBufferPoolSize(int)}.
+   * @param deliveryPolicy decides which frames are delivered when Dart cannot keep up with the
+   *     camera.
+   * @param processingOptions describes how frames are processed before being sent, or null to send
+   *     frames as they are.
+   */
+  public void startPreviewWithImageStream(
+      EventChannel imageStreamChannel,
+      int bufferPoolSize,
+      @NonNull ImageStreamDeliveryPolicy deliveryPolicy,
+      @Nullable ImageStreamProcessingOptions processingOptions)
+      throws CameraAccessException {
+    if (imageStreamReader != null) {
+      imageStreamReader.setBufferPoolSize(bufferPoolSize);
+      imageStreamReader.setDeliveryPolicy(deliveryPolicy);
+      imageStreamReader.setProcessor(
+          processingOptions == null
+              ? null
+              : new ImageStreamProcessor(
+                  processingOptions, cameraProperties.getSensorOrientation()));
+    }
     setStreamHandler(imageStreamChannel);
 
     startCapture(false, true);
@@ -1219,28 +1404,118 @@ class Camera
   public void onImageAvailable(ImageReader reader) {
     Log.i(TAG, "onImageAvailable");
 
-    // Use acquireNextImage since image reader is only for one image.
-    Image image = reader.acquireNextImage();
-    if (image == null) {
+    pendingStillImages++;
+    acquireStillImages();
+  }
+
+  /**
+   * Acquires the available still images and schedules them to be saved.
+   *
+   * <p>Images that cannot be acquired because {@link #MAX_STILL_IMAGES_IN_FLIGHT} images are still
+   * being saved are acquired once one of those saves completes.
+   */
+  private void acquireStillImages() {
+    while (pendingStillImages > 0 && pictureImageReader != null) {
+      Image image;
+      try {
+        image = pictureImageReader.acquireNextImage();
+      } catch (IllegalStateException e) {
+        return;
+      }
+      pendingStillImages--;
+      if (image != null) {
+        saveStillImage(image);
+      }
+    }
+  }
+
+  private void saveStillImage(@NonNull Image image) {
+    final PictureBurst burst = pictureBurst;
+    final Result result = flutterResult;
+    if (burst == null) {
+      scheduleImageSaver(
+          image,
+          captureFile,
+          new ImageSaver.Callback() {
+            @Override
+            public void onComplete(@NonNull String absolutePath) {
+              dartMessenger.finish(result, absolutePath);
+            }
+
+            @Override
+            public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+              dartMessenger.error(result, errorCode, errorMessage, null);
+            }
+          });
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
       return;
     }
 
-    backgroundHandler.post(
+    final int index = burst.onImageAvailable(System.nanoTime());
+    if (index < 0) {
+      image.close();
+      return;
+    }
+    scheduleImageSaver(
+        image,
+        burst.getFile(index),
+        new ImageSaver.Callback() {
+          @Override
+          public void onComplete(@NonNull String absolutePath) {
+            if (burst.onSaved(index, System.nanoTime())) {
+              dartMessenger.finish(result, burst.getPictures());
+            }
+          }
+
+          @Override
+          public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+            if (burst.onFailed()) {
+              dartMessenger.error(result, errorCode, errorMessage, null);
+            }
+          }
+        });
+    if (burst.isFullyAcquired()) {
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+    }
+  }
+
+  /**
+   * Saves an image on {@link #imageSaverExecutor}, then acquires the still images that were
+   * waiting for it to be closed.
+   */
+  private void scheduleImageSaver(
+      @NonNull Image image, @NonNull File file, @NonNull ImageSaver.Callback callback) {
+    final long availableNanos = System.nanoTime();
+    final ImageSaver imageSaver =
         new ImageSaver(
             image,
-            captureFile,
+            file,
             new ImageSaver.Callback() {
               @Override
-              public void onComplete(String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
+              public void onComplete(@NonNull String absolutePath) {
+                captureLatencyTracker.onImageSaved(availableNanos, System.nanoTime());
+                callback.onComplete(absolutePath);
               }
 
               @Override
-              public void onError(String errorCode, String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
+              public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+                callback.onError(errorCode, errorMessage);
               }
-            }));
-    cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+            });
+    final Handler handler = backgroundHandler;
+    boolean scheduled =
+        imageSaverExecutor != null
+            && imageSaverExecutor.execute(
+                () -> {
+                  imageSaver.run();
+                  if (handler != null) {
+                    handler.post(this::acquireStillImages);
+                  }
+                });
+    if (!scheduled) {
+      image.close();
+      callback.onError("IOError", "Too many pictures are being saved");
+    }
   }
 
   @VisibleForTesting
@@ -1292,6 +1567,38 @@ class Camera
     imageStreamReader.subscribeListener(this.captureProps, imageStreamSink, backgroundHandler);
   }
 
+  /**
+   * Returns the frame counters of the current image stream, as a map with the "producedFrames",
+   * "deliveredFrames" and "droppedFrames" keys.
+   */
+  @NonNull
+  public Map<String, Object> getImageStreamStatistics() {
+    final ImageStreamReader reader = imageStreamReader;
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("producedFrames", reader == null ? 0L : reader.getProducedFrameCount());
+    statistics.put("deliveredFrames", reader == null ? 0L : reader.getDeliveredFrameCount());
+    statistics.put("droppedFrames", reader == null ? 0L : reader.getDroppedFrameCount());
+    return statistics;
+  }
+
+  /**
+   * Returns the latency statistics of still captures, as described by {@link
+   * CaptureLatencyTracker#getStatistics()}, along with the current "preCaptureFocusingTimeoutMs"
+   * and "preCaptureMeteringTimeoutMs".
+   *
+   * @param reset removes the recorded latencies once they are returned when true.
+   */
+  @NonNull
+  public Map<String, Object> getCaptureLatencyStatistics(boolean reset) {
+    Map<String, Object> statistics = captureLatencyTracker.getStatistics();
+    if (reset) {
+      captureLatencyTracker.reset();
+    }
+    statistics.put("preCaptureFocusingTimeoutMs", captureTimeouts.getPreCaptureFocusingTimeoutMs());
+    statistics.put("preCaptureMeteringTimeoutMs", captureTimeouts.getPreCaptureMeteringTimeoutMs());
+    return statistics;
+  }
+
   void closeCaptureSession() {
     if (captureSession != null) {
       Log.i(TAG, "closeCaptureSession");
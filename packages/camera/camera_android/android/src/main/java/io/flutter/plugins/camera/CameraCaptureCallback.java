@@ -25,6 +25,7 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraState cameraState;
   private final CaptureTimeoutsWrapper captureTimeouts;
   private final CameraCaptureProperties captureProps;
+  private final CaptureLatencyTracker latencyTracker;
 
   // Lookup keys for state; overrideable for unit tests since Mockito can't mock them.
   @VisibleForTesting @NonNull
@@ -36,11 +37,13 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraCaptureCallback(
       @NonNull CameraCaptureStateListener cameraStateListener,
       @NonNull CaptureTimeoutsWrapper captureTimeouts,
-      @NonNull CameraCaptureProperties captureProps) {
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull CaptureLatencyTracker latencyTracker) {
     cameraState = CameraState.STATE_PREVIEW;
     this.cameraStateListener = cameraStateListener;
     this.captureTimeouts = captureTimeouts;
     this.captureProps = captureProps;
+    this.latencyTracker = latencyTracker;
   }
 
   /**
@@ -55,7 +58,25 @@ class CameraCaptureCallback extends CaptureCallback {
       @NonNull CameraCaptureStateListener cameraStateListener,
       @NonNull CaptureTimeoutsWrapper captureTimeouts,
       @NonNull CameraCaptureProperties captureProps) {
-    return new CameraCaptureCallback(cameraStateListener, captureTimeouts, captureProps);
+    return create(cameraStateListener, captureTimeouts, captureProps, new CaptureLatencyTracker());
+  }
+
+  /**
+   * Creates a new instance of the {@link CameraCaptureCallback} class.
+   *
+   * @param cameraStateListener instance which will be called when the camera state changes.
+   * @param captureTimeouts specifying the different timeout counters that should be taken into
+   *     account.
+   * @param latencyTracker is notified of every state transition and capture timeout.
+   * @return a configured instance of the {@link CameraCaptureCallback} class.
+   */
+  public static CameraCaptureCallback create(
+      @NonNull CameraCaptureStateListener cameraStateListener,
+      @NonNull CaptureTimeoutsWrapper captureTimeouts,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull CaptureLatencyTracker latencyTracker) {
+    return new CameraCaptureCallback(
+        cameraStateListener, captureTimeouts, captureProps, latencyTracker);
   }
 
   /**
@@ -74,6 +95,7 @@ class CameraCaptureCallback extends CaptureCallback {
    */
   public void setCameraState(@NonNull CameraState state) {
     cameraState = state;
+    latencyTracker.onCameraStateChanged(state, System.nanoTime());
   }
 
   private void process(CaptureResult result) {
@@ -116,6 +138,7 @@ class CameraCaptureCallback extends CaptureCallback {
             handleWaitingFocusState(aeState);
           } else if (captureTimeouts.getPreCaptureFocusing().getIsExpired()) {
             Log.w(TAG, "Focus timeout, moving on with capture");
+            latencyTracker.onFocusTimeout();
             handleWaitingFocusState(aeState);
           }
 
@@ -131,6 +154,7 @@ class CameraCaptureCallback extends CaptureCallback {
             setCameraState(CameraState.STATE_WAITING_PRECAPTURE_DONE);
           } else if (captureTimeouts.getPreCaptureMetering().getIsExpired()) {
             Log.w(TAG, "Metering timeout waiting for pre-capture to start, moving on with capture");
+            latencyTracker.onMeteringTimeout();
 
             setCameraState(CameraState.STATE_WAITING_PRECAPTURE_DONE);
           }
@@ -144,6 +168,7 @@ class CameraCaptureCallback extends CaptureCallback {
           } else if (captureTimeouts.getPreCaptureMetering().getIsExpired()) {
             Log.w(
                 TAG, "Metering timeout waiting for pre-capture to finish, moving on with capture");
+            latencyTracker.onMeteringTimeout();
             cameraStateListener.onConverged();
           }
 
@@ -0,0 +1,263 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Trace;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugins.camera.types.LatencyHistogram;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures where the time of a still capture goes, from {@link Camera#takePicture} to the result
+ * being delivered to Dart.
+ *
+ * <p>Every {@link CameraState} of the capture sequence, the image save and the result delivery are
+ * timestamped and aggregated into latency histograms. The stages are also emitted as {@link Trace}
+ * sections, so that a capture can be inspected in a system trace.
+ *
+ * <p>Captures are driven from the camera background thread, images are saved on I/O threads and
+ * results are delivered on the main thread, so all methods are synchronized.
+ */
+public class CaptureLatencyTracker {
+  private static final String TRACE_PREFIX = "Camera.";
+  private static final String CAPTURE_TRACE_SECTION = "takePicture";
+
+  /** A stage of a still capture whose latency is measured. */
+  public enum Stage {
+    /** Time spent in {@link CameraState#STATE_WAITING_FOCUS}. */
+    WAITING_FOCUS("waitingFocus"),
+    /** Time spent in {@link CameraState#STATE_WAITING_PRECAPTURE_START}. */
+    WAITING_PRECAPTURE_START("waitingPrecaptureStart"),
+    /** Time spent in {@link CameraState#STATE_WAITING_PRECAPTURE_DONE}. */
+    WAITING_PRECAPTURE_DONE("waitingPrecaptureDone"),
+    /** Time between the still capture request and the image being available. */
+    CAPTURING("capturing"),
+    /** Time between an image being available and its file being written. */
+    IMAGE_SAVE("imageSave"),
+    /** Time between the file being written and the result being delivered to Dart. */
+    RESULT_DELIVERY("resultDelivery"),
+    /** Time between the picture being requested and the result being delivered to Dart. */
+    TOTAL("total");
+
+    final String key;
+
+    Stage(String key) {
+      this.key = key;
+    }
+
+    @Nullable
+    static Stage fromCameraState(@NonNull CameraState state) {
+      switch (state) {
+        case STATE_WAITING_FOCUS:
+          return WAITING_FOCUS;
+        case STATE_WAITING_PRECAPTURE_START:
+          return WAITING_PRECAPTURE_START;
+        case STATE_WAITING_PRECAPTURE_DONE:
+          return WAITING_PRECAPTURE_DONE;
+        case STATE_CAPTURING:
+          return CAPTURING;
+        default:
+          return null;
+      }
+    }
+  }
+
+  private final EnumMap<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+
+  /** When the capture in progress was requested, or -1 when no capture is in progress. */
+  private long captureStartNanos = -1;
+
+  private CameraState cameraState = CameraState.STATE_PREVIEW;
+  private long stateEnteredNanos;
+  private long lastImageSavedNanos = -1;
+
+  /** Identifies the asynchronous trace sections of the capture in progress. */
+  private int captureCookie;
+
+  private long focusTimeouts;
+  private long meteringTimeouts;
+
+  public CaptureLatencyTracker() {
+    for (Stage stage : Stage.values()) {
+      histograms.put(stage, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * Records that a picture was requested.
+   *
+   * @param nanos is the {@link System#nanoTime()} of the request.
+   */
+  public synchronized void onCaptureStarted(long nanos) {
+    endCapture();
+    captureStartNanos = nanos;
+    lastImageSavedNanos = -1;
+    captureCookie++;
+    beginAsyncSection(CAPTURE_TRACE_SECTION);
+  }
+
+  /**
+   * Records a transition of the capture state machine, and the time spent in the previous state.
+   *
+   * @param state is the new state.
+   * @param nanos is the {@link System#nanoTime()} of the transition.
+   */
+  public synchronized void onCameraStateChanged(@NonNull CameraState state, long nanos) {
+    if (state == cameraState) {
+      return;
+    }
+    Stage previousStage = Stage.fromCameraState(cameraState);
+    if (previousStage != null && captureStartNanos >= 0) {
+      record(previousStage, nanos - stateEnteredNanos);
+      endAsyncSection(previousStage.key);
+    }
+    cameraState = state;
+    stateEnteredNanos = nanos;
+    Stage stage = Stage.fromCameraState(state);
+    if (stage != null && captureStartNanos >= 0) {
+      beginAsyncSection(stage.key);
+    }
+  }
+
+  /**
+   * Records that an image file was written.
+   *
+   * @param availableNanos is the {@link System#nanoTime()} at which the image was available.
+   * @param savedNanos is the {@link System#nanoTime()} at which its file was written.
+   */
+  public synchronized void onImageSaved(long availableNanos, long savedNanos) {
+    record(Stage.IMAGE_SAVE, savedNanos - availableNanos);
+    lastImageSavedNanos = savedNanos;
+  }
+
+  /**
+   * Records that the result of the capture in progress was delivered to Dart.
+   *
+   * @param nanos is the {@link System#nanoTime()} of the delivery.
+   */
+  public synchronized void onResultDelivered(long nanos) {
+    if (captureStartNanos < 0) {
+      return;
+    }
+    if (lastImageSavedNanos >= 0) {
+      record(Stage.RESULT_DELIVERY, nanos - lastImageSavedNanos);
+    }
+    record(Stage.TOTAL, nanos - captureStartNanos);
+    endCapture();
+  }
+
+  /** Records that the capture in progress failed. Failed captures are not measured. */
+  public synchronized void onCaptureFailed() {
+    endCapture();
+  }
+
+  /** Records that focusing timed out, and the capture moved on without focus being locked. */
+  public synchronized void onFocusTimeout() {
+    focusTimeouts++;
+  }
+
+  /** Records that metering timed out, and the capture moved on without exposure converging. */
+  public synchronized void onMeteringTimeout() {
+    meteringTimeouts++;
+  }
+
+  /**
+   * Wraps the result of a capture so that its delivery to Dart completes the measurement of the
+   * capture.
+   */
+  @NonNull
+  public MethodChannel.Result track(@NonNull final MethodChannel.Result result) {
+    return new MethodChannel.Result() {
+      @Override
+      public void success(@Nullable Object value) {
+        onResultDelivered(System.nanoTime());
+        result.success(value);
+      }
+
+      @Override
+      public void error(
+          @NonNull String errorCode, @Nullable String errorMessage, @Nullable Object details) {
+        onCaptureFailed();
+        result.error(errorCode, errorMessage, details);
+      }
+
+      @Override
+      public void notImplemented() {
+        onCaptureFailed();
+        result.notImplemented();
+      }
+    };
+  }
+
+  /**
+   * Returns the latency statistics.
+   *
+   * <p>The "stages" entry maps the key of every {@link Stage} to its "count", "meanMicros",
+   * "p50Micros", "p95Micros", "p99Micros" and "maxMicros". The "focusTimeouts" and
+   * "meteringTimeouts" entries count the captures that moved on because of a timeout.
+   */
+  @NonNull
+  public synchronized Map<String, Object> getStatistics() {
+    Map<String, Object> stages = new HashMap<>();
+    for (Map.Entry<Stage, LatencyHistogram> entry : histograms.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      Map<String, Object> stage = new HashMap<>();
+      stage.put("count", histogram.getCount());
+      stage.put("meanMicros", histogram.getMean());
+      stage.put("p50Micros", histogram.getPercentile(50));
+      stage.put("p95Micros", histogram.getPercentile(95));
+      stage.put("p99Micros", histogram.getPercentile(99));
+      stage.put("maxMicros", histogram.getMax());
+      stages.put(entry.getKey().key, stage);
+    }
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("stages", stages);
+    statistics.put("focusTimeouts", focusTimeouts);
+    statistics.put("meteringTimeouts", meteringTimeouts);
+    return statistics;
+  }
+
+  /** Removes all recorded latencies and timeouts. */
+  public synchronized void reset() {
+    for (LatencyHistogram histogram : histograms.values()) {
+      histogram.reset();
+    }
+    focusTimeouts = 0;
+    meteringTimeouts = 0;
+  }
+
+  private void record(@NonNull Stage stage, long nanos) {
+    histograms.get(stage).record(nanos / 1000);
+  }
+
+  /** Closes the trace sections of the capture in progress, if any. */
+  private void endCapture() {
+    if (captureStartNanos < 0) {
+      return;
+    }
+    Stage stage = Stage.fromCameraState(cameraState);
+    if (stage != null) {
+      endAsyncSection(stage.key);
+    }
+    endAsyncSection(CAPTURE_TRACE_SECTION);
+    captureStartNanos = -1;
+  }
+
+  private void beginAsyncSection(@NonNull String name) {
+    if (SdkCapabilityChecker.supportsAsyncTraceSections()) {
+      Trace.beginAsyncSection(TRACE_PREFIX + name, captureCookie);
+    }
+  }
+
+  private void endAsyncSection(@NonNull String name) {
+    if (SdkCapabilityChecker.supportsAsyncTraceSections()) {
+      Trace.endAsyncSection(TRACE_PREFIX + name, captureCookie);
+    }
+  }
+}
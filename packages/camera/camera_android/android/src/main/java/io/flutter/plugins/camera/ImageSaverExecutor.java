@@ -0,0 +1,98 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link ImageSaver}s on dedicated I/O threads, so that disk writes never stall the camera
+ * background thread that drives the capture state machine.
+ *
+ * <p>The number of saves waiting for a thread is bounded. Saves submitted while the queue is full
+ * are rejected instead of piling up, as every queued save holds an {@link android.media.Image} of
+ * the still capture reader.
+ */
+public class ImageSaverExecutor {
+  /** How long idle I/O threads are kept alive. */
+  private static final long KEEP_ALIVE_SECONDS = 5;
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates a new executor.
+   *
+   * @param threadCount is the maximum number of saves written concurrently.
+   * @param queueCapacity is the maximum number of saves waiting for a thread.
+   */
+  public ImageSaverExecutor(int threadCount, int queueCapacity) {
+    if (threadCount < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException(
+          "threadCount and queueCapacity must be at least 1, got "
+              + threadCount
+              + " and "
+              + queueCapacity);
+    }
+    executor =
+        new ThreadPoolExecutor(
+            threadCount,
+            threadCount,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new IoThreadFactory());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Schedules a save.
+   *
+   * @param saver is the save to run.
+   * @return false if the save was rejected because the queue is full or the executor was shut
+   *     down.
+   */
+  public boolean execute(@NonNull Runnable saver) {
+    try {
+      executor.execute(saver);
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  /** Returns the number of saves that are running or waiting for a thread. */
+  public int getSavesInFlight() {
+    return executor.getActiveCount() + executor.getQueue().size();
+  }
+
+  /** Stops accepting new saves. Saves that were already scheduled still complete. */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /** Creates background priority threads named after the camera I/O pool. */
+  private static class IoThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+      Thread thread =
+          new Thread(
+              () -> {
+                android.os.Process.setThreadPriority(
+                    android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+              },
+              "CameraImageSaver-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
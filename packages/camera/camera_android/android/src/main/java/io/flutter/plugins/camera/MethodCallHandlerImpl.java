@@ -24,6 +24,8 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamProcessingOptions;
 import io.flutter.view.TextureRegistry;
 import java.util.HashMap;
 import java.util.Map;
@@ -112,6 +114,22 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           camera.takePicture(result);
           break;
         }
+      case "getCaptureLatencyStatistics":
+        {
+          Boolean reset = call.argument("reset");
+          result.success(camera.getCaptureLatencyStatistics(Boolean.TRUE.equals(reset)));
+          break;
+        }
+      case "takePictureBurst":
+        {
+          Integer count = call.argument("count");
+          if (count == null) {
+            result.error("takePictureBurstFailed", "The burst picture count is required", null);
+            break;
+          }
+          camera.takePictureBurst(result, count);
+          break;
+        }
       case "prepareForVideoRecording":
         {
           // This optimization is not required for Android.
@@ -256,7 +274,19 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
       case "startImageStream":
         {
           try {
-            camera.startPreviewWithImageStream(imageStreamChannel);
+            Integer bufferPoolSize = call.argument("bufferPoolSize");
+            ImageStreamDeliveryPolicy deliveryPolicy =
+                ImageStreamDeliveryPolicy.fromPlatformValues(
+                    call.argument("deliveryPolicy"),
+                    call.argument("maxFramesInFlight"),
+                    call.argument("targetFps"));
+            ImageStreamProcessingOptions processingOptions =
+                ImageStreamProcessingOptions.fromMap(call.argument("processing"));
+            camera.startPreviewWithImageStream(
+                imageStreamChannel,
+                bufferPoolSize == null ? 0 : bufferPoolSize,
+                deliveryPolicy,
+                processingOptions);
             result.success(null);
           } catch (Exception e) {
             handleException(e, result);
@@ -273,6 +303,15 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "getImageStreamStatistics":
+        {
+          try {
+            result.success(camera.getImageStreamStatistics());
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "getMaxZoomLevel":
         {
           assert camera != null;
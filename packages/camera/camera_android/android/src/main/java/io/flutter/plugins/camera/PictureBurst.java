@@ -0,0 +1,132 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the pictures of a burst capture until all of them are saved, along with the latency of
+ * each picture.
+ *
+ * <p>Images are acquired on the camera background thread while saves complete on the I/O threads
+ * of the {@link ImageSaverExecutor}, so all methods are synchronized.
+ */
+class PictureBurst {
+  private final List<File> files;
+  private final long[] imageAvailableNanos;
+  private final long[] savedNanos;
+  private long captureRequestedNanos;
+  private int acquiredCount;
+  private int savedCount;
+  private boolean failed;
+
+  /**
+   * Creates a new burst.
+   *
+   * @param files are the files the pictures are saved into, in capture order.
+   */
+  PictureBurst(@NonNull List<File> files) {
+    this.files = files;
+    this.imageAvailableNanos = new long[files.size()];
+    this.savedNanos = new long[files.size()];
+  }
+
+  /** Returns the number of pictures of the burst. */
+  int size() {
+    return files.size();
+  }
+
+  /** Records the time at which the burst capture request was sent. */
+  synchronized void onCaptureRequested(long nanos) {
+    captureRequestedNanos = nanos;
+  }
+
+  /**
+   * Records that the next picture of the burst is available.
+   *
+   * @return the index of the picture, or -1 if every picture of the burst was already acquired.
+   */
+  synchronized int onImageAvailable(long nanos) {
+    if (acquiredCount == files.size()) {
+      return -1;
+    }
+    imageAvailableNanos[acquiredCount] = nanos;
+    return acquiredCount++;
+  }
+
+  /** Returns whether every picture of the burst was acquired. */
+  synchronized boolean isFullyAcquired() {
+    return acquiredCount == files.size();
+  }
+
+  /** Returns the file the picture at {@code index} is saved into. */
+  @NonNull
+  File getFile(int index) {
+    return files.get(index);
+  }
+
+  /**
+   * Records that the picture at {@code index} was saved.
+   *
+   * <p>Pictures saved after the burst failed are deleted right away.
+   *
+   * @return true if this was the last picture of a burst without errors.
+   */
+  synchronized boolean onSaved(int index, long nanos) {
+    if (failed) {
+      files.get(index).delete();
+      return false;
+    }
+    savedNanos[index] = nanos;
+    savedCount++;
+    return savedCount == files.size() && !failed;
+  }
+
+  /**
+   * Records that a picture failed to be captured or saved, and deletes the files of the burst.
+   *
+   * @return true for the first failure of the burst, which is the only one to be reported.
+   */
+  synchronized boolean onFailed() {
+    if (failed) {
+      return false;
+    }
+    failed = true;
+    for (File file : files) {
+      file.delete();
+    }
+    return true;
+  }
+
+  /** Returns whether a picture of the burst failed to be captured or saved. */
+  synchronized boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * Returns the saved pictures, in capture order.
+   *
+   * <p>Each picture is described by its "path", the "captureLatencyMicros" between the capture
+   * request and the image becoming available, and the "saveLatencyMicros" between the image
+   * becoming available and its file being written.
+   */
+  @NonNull
+  synchronized List<Map<String, Object>> getPictures() {
+    List<Map<String, Object>> pictures = new ArrayList<>(files.size());
+    for (int i = 0; i < files.size(); i++) {
+      Map<String, Object> picture = new HashMap<>();
+      picture.put("path", files.get(i).getAbsolutePath());
+      picture.put("captureLatencyMicros", (imageAvailableNanos[i] - captureRequestedNanos) / 1000);
+      picture.put("saveLatencyMicros", (savedNanos[i] - imageAvailableNanos[i]) / 1000);
+      pictures.add(picture);
+    }
+    return pictures;
+  }
+}
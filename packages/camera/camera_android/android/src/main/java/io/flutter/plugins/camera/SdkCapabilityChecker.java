@@ -16,6 +16,12 @@ public class SdkCapabilityChecker {
   @VisibleForTesting
   public static int SDK_VERSION = Build.VERSION.SDK_INT;
 
+  @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.Q)
+  public static boolean supportsAsyncTraceSections() {
+    // See https://developer.android.com/reference/android/os/Trace#beginAsyncSection(java.lang.String,%20int)
+    return SDK_VERSION >= Build.VERSION_CODES.Q;
+  }
+
   @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.P)
   public static boolean supportsDistortionCorrection() {
     // See https://developer.android.com/reference/android/hardware/camera2/CameraCharacteristics#DISTORTION_CORRECTION_AVAILABLE_MODES
@@ -0,0 +1,119 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fixed ring of reusable frames used by {@link ImageStreamReader} when streaming with pooled
+ * buffers.
+ *
+ * <p>Each frame owns the map that is sent to Dart, one map per plane and the plane byte arrays. A
+ * frame is acquired on the camera background thread, filled, handed to the event sink on the main
+ * thread and released right after the sink has encoded it. Since the platform channel codec copies
+ * the bytes while encoding, Dart has received its own copy of the frame once {@link
+ * io.flutter.plugin.common.EventChannel.EventSink#success(Object)} returns, so that is the point at
+ * which a frame is acknowledged and can be recycled.
+ *
+ * <p>Plane arrays are allocated lazily with the exact size of the plane, since the codec sends the
+ * whole array. The sizes only depend on the {@link android.media.ImageReader} configuration, so
+ * once every frame in the ring has been used no further arrays are allocated.
+ */
+public class ImageStreamBufferPool {
+
+  /** A single reusable frame of the pool. */
+  public static class Frame {
+    @NonNull final Map<String, Object> frameData = new HashMap<>();
+    @NonNull final List<Map<String, Object>> planes = new ArrayList<>();
+    @NonNull private byte[][] planeBytes = new byte[0][];
+
+    /**
+     * Returns a byte array of exactly {@code size} bytes for the plane at {@code index}, reusing
+     * the array of the previous frame whenever possible.
+     */
+    @NonNull
+    byte[] getPlaneBytes(int index, int size) {
+      if (planeBytes.length <= index) {
+        byte[][] grown = new byte[index + 1][];
+        System.arraycopy(planeBytes, 0, grown, 0, planeBytes.length);
+        planeBytes = grown;
+      }
+      byte[] bytes = planeBytes[index];
+      if (bytes == null || bytes.length != size) {
+        bytes = new byte[size];
+        planeBytes[index] = bytes;
+      }
+      return bytes;
+    }
+
+    /**
+     * Returns the map describing the plane at {@code index}, making sure {@link #planes} holds
+     * exactly {@code planeCount} entries.
+     */
+    @NonNull
+    Map<String, Object> getPlane(int index, int planeCount) {
+      while (planes.size() > planeCount) {
+        planes.remove(planes.size() - 1);
+      }
+      while (planes.size() < planeCount) {
+        planes.add(new HashMap<>());
+      }
+      return planes.get(index);
+    }
+  }
+
+  private final int capacity;
+  private final ArrayDeque<Frame> freeFrames;
+
+  /**
+   * Creates a new pool.
+   *
+   * @param capacity the number of frames in the ring, which is also the maximum number of frames
+   *     that can be waiting to be delivered to Dart at any time.
+   */
+  public ImageStreamBufferPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least 1, got " + capacity);
+    }
+    this.capacity = capacity;
+    this.freeFrames = new ArrayDeque<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      freeFrames.add(new Frame());
+    }
+  }
+
+  /** Returns the number of frames in the ring. */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Returns the number of frames that are currently not in use. */
+  public synchronized int getAvailableCount() {
+    return freeFrames.size();
+  }
+
+  /**
+   * Takes a frame out of the ring.
+   *
+   * @return a free frame, or null if every frame is still waiting to be delivered.
+   */
+  @Nullable
+  public synchronized Frame acquire() {
+    return freeFrames.poll();
+  }
+
+  /** Returns a frame obtained with {@link #acquire()} to the ring. */
+  public synchronized void release(@NonNull Frame frame) {
+    if (freeFrames.size() < capacity) {
+      freeFrames.add(frame);
+    }
+  }
+}
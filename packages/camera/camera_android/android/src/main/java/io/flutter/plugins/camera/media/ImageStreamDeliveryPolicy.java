@@ -0,0 +1,124 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Describes which frames of an image stream are delivered to Dart when frames are produced faster
+ * than they can be delivered.
+ */
+public class ImageStreamDeliveryPolicy {
+
+  /** The available delivery modes. */
+  public enum Mode {
+    /** Every frame is delivered. This is the default. */
+    ALL,
+    /**
+     * Only the most recent frame is delivered. A frame still waiting to be delivered is replaced by
+     * the next frame.
+     */
+    LATEST_ONLY,
+    /** At most a fixed number of frames wait to be delivered; newer frames are dropped. */
+    MAX_FRAMES_IN_FLIGHT,
+    /** Frames are delivered at most at a fixed rate; frames in between are dropped. */
+    TARGET_FPS
+  }
+
+  @NonNull private final Mode mode;
+  private final int maxFramesInFlight;
+  private final double targetFps;
+
+  private ImageStreamDeliveryPolicy(@NonNull Mode mode, int maxFramesInFlight, double targetFps) {
+    this.mode = mode;
+    this.maxFramesInFlight = maxFramesInFlight;
+    this.targetFps = targetFps;
+  }
+
+  /** Returns a policy delivering every frame. */
+  @NonNull
+  public static ImageStreamDeliveryPolicy all() {
+    return new ImageStreamDeliveryPolicy(Mode.ALL, 0, 0);
+  }
+
+  /** Returns a policy only delivering the most recent frame. */
+  @NonNull
+  public static ImageStreamDeliveryPolicy latestOnly() {
+    return new ImageStreamDeliveryPolicy(Mode.LATEST_ONLY, 1, 0);
+  }
+
+  /**
+   * Returns a policy keeping at most {@code maxFramesInFlight} frames waiting to be delivered.
+   *
+   * @param maxFramesInFlight the maximum number of frames waiting to be delivered, at least 1.
+   */
+  @NonNull
+  public static ImageStreamDeliveryPolicy maxFramesInFlight(int maxFramesInFlight) {
+    if (maxFramesInFlight < 1) {
+      throw new IllegalArgumentException(
+          "maxFramesInFlight must be at least 1, got " + maxFramesInFlight);
+    }
+    return new ImageStreamDeliveryPolicy(Mode.MAX_FRAMES_IN_FLIGHT, maxFramesInFlight, 0);
+  }
+
+  /**
+   * Returns a policy delivering frames at most {@code targetFps} times per second.
+   *
+   * @param targetFps the maximum number of frames delivered per second, greater than 0.
+   */
+  @NonNull
+  public static ImageStreamDeliveryPolicy targetFps(double targetFps) {
+    if (!(targetFps > 0)) {
+      throw new IllegalArgumentException("targetFps must be greater than 0, got " + targetFps);
+    }
+    return new ImageStreamDeliveryPolicy(Mode.TARGET_FPS, 0, targetFps);
+  }
+
+  /**
+   * Returns the policy matching the given values sent from Dart.
+   *
+   * @param mode the name of the mode: "all", "latestOnly", "maxFramesInFlight" or "targetFps". A
+   *     null mode selects {@link Mode#ALL}.
+   * @param maxFramesInFlight the maximum number of frames in flight, used by "maxFramesInFlight".
+   * @param targetFps the target frame rate, used by "targetFps".
+   */
+  @NonNull
+  public static ImageStreamDeliveryPolicy fromPlatformValues(
+      String mode, Integer maxFramesInFlight, Double targetFps) {
+    if (mode == null) {
+      return all();
+    }
+    switch (mode) {
+      case "all":
+        return all();
+      case "latestOnly":
+        return latestOnly();
+      case "maxFramesInFlight":
+        return maxFramesInFlight(maxFramesInFlight == null ? 1 : maxFramesInFlight);
+      case "targetFps":
+        if (targetFps == null) {
+          throw new IllegalArgumentException("targetFps is required by the targetFps policy");
+        }
+        return targetFps(targetFps);
+      default:
+        throw new IllegalArgumentException("Unknown image stream delivery policy: " + mode);
+    }
+  }
+
+  @NonNull
+  public Mode getMode() {
+    return mode;
+  }
+
+  /** Returns the maximum number of frames in flight for {@link Mode#MAX_FRAMES_IN_FLIGHT}. */
+  public int getMaxFramesInFlight() {
+    return maxFramesInFlight;
+  }
+
+  /** Returns the target frame rate for {@link Mode#TARGET_FPS}. */
+  public double getTargetFps() {
+    return targetFps;
+  }
+}
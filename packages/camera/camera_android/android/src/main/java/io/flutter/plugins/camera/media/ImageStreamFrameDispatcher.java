@@ -0,0 +1,226 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Delivers the frames of an image stream to the main thread according to an {@link
+ * ImageStreamDeliveryPolicy}, and counts produced, delivered and dropped frames.
+ *
+ * <p>A frame is in flight from the moment it is posted to the main thread until the event sink has
+ * encoded it. Frames are produced on the camera background thread and delivered on the main thread.
+ */
+class ImageStreamFrameDispatcher {
+  /**
+   * The fraction of the frame interval by which a frame may arrive early and still be accepted by
+   * {@link ImageStreamDeliveryPolicy.Mode#TARGET_FPS}, so that timestamp jitter does not halve the
+   * delivered frame rate.
+   */
+  private static final double FRAME_INTERVAL_TOLERANCE = 0.125;
+
+  private final Handler mainHandler;
+  private final Object lock = new Object();
+
+  @NonNull private ImageStreamDeliveryPolicy policy = ImageStreamDeliveryPolicy.all();
+
+  private long producedFrames;
+  private long deliveredFrames;
+  private long droppedFrames;
+  private int framesInFlight;
+  private long nextFrameDueNanos = Long.MIN_VALUE;
+
+  /** The frame waiting to be delivered by {@link ImageStreamDeliveryPolicy.Mode#LATEST_ONLY}. */
+  @Nullable private PendingFrame latestFrame;
+
+  private static class PendingFrame {
+    final Object frameData;
+    @Nullable final Runnable onDone;
+
+    PendingFrame(Object frameData, @Nullable Runnable onDone) {
+      this.frameData = frameData;
+      this.onDone = onDone;
+    }
+
+    void done() {
+      if (onDone != null) {
+        onDone.run();
+      }
+    }
+  }
+
+  ImageStreamFrameDispatcher(@NonNull Handler mainHandler) {
+    this.mainHandler = mainHandler;
+  }
+
+  void setPolicy(@NonNull ImageStreamDeliveryPolicy policy) {
+    synchronized (lock) {
+      this.policy = policy;
+      nextFrameDueNanos = Long.MIN_VALUE;
+    }
+  }
+
+  @NonNull
+  ImageStreamDeliveryPolicy getPolicy() {
+    synchronized (lock) {
+      return policy;
+    }
+  }
+
+  /** Resets all the frame counters. */
+  void resetStatistics() {
+    synchronized (lock) {
+      producedFrames = 0;
+      deliveredFrames = 0;
+      droppedFrames = 0;
+    }
+  }
+
+  /**
+   * Records a newly produced frame and decides whether it should be processed at all.
+   *
+   * @param timestampNanos the timestamp of the frame, in nanoseconds.
+   * @return false if the frame is dropped by the policy, in which case it has been counted as
+   *     dropped and must not be dispatched.
+   */
+  boolean onFrameProduced(long timestampNanos) {
+    synchronized (lock) {
+      producedFrames++;
+      boolean accept;
+      switch (policy.getMode()) {
+        case MAX_FRAMES_IN_FLIGHT:
+          accept = framesInFlight < policy.getMaxFramesInFlight();
+          break;
+        case TARGET_FPS:
+          accept = acceptForTargetFps(timestampNanos);
+          break;
+        default:
+          accept = true;
+      }
+      if (!accept) {
+        droppedFrames++;
+      }
+      return accept;
+    }
+  }
+
+  private boolean acceptForTargetFps(long timestampNanos) {
+    long intervalNanos = (long) (1_000_000_000L / policy.getTargetFps());
+    long toleranceNanos = (long) (intervalNanos * FRAME_INTERVAL_TOLERANCE);
+    boolean hasDeadline = nextFrameDueNanos != Long.MIN_VALUE;
+    if (hasDeadline && timestampNanos < nextFrameDueNanos - toleranceNanos) {
+      return false;
+    }
+    // Schedule the next frame relative to the previous deadline to keep the average rate at the
+    // target, unless the stream fell behind by more than one interval.
+    if (!hasDeadline || timestampNanos - nextFrameDueNanos > intervalNanos) {
+      nextFrameDueNanos = timestampNanos + intervalNanos;
+    } else {
+      nextFrameDueNanos += intervalNanos;
+    }
+    return true;
+  }
+
+  /** Records a frame that was accepted by {@link #onFrameProduced} but could not be dispatched. */
+  void onFrameDropped() {
+    synchronized (lock) {
+      droppedFrames++;
+    }
+  }
+
+  /**
+   * Posts a frame to the main thread to be sent to {@code imageStreamSink}.
+   *
+   * @param frameData the frame to send.
+   * @param onDone run once the frame has been sent or dropped, on the thread that finished with it.
+   * @param imageStreamSink the sink the frame is sent to.
+   */
+  void dispatch(
+      @NonNull Object frameData,
+      @Nullable Runnable onDone,
+      @NonNull EventChannel.EventSink imageStreamSink) {
+    PendingFrame frame = new PendingFrame(frameData, onDone);
+    PendingFrame replacedFrame = null;
+    boolean scheduleDelivery = true;
+    boolean latestOnly;
+    synchronized (lock) {
+      latestOnly = policy.getMode() == ImageStreamDeliveryPolicy.Mode.LATEST_ONLY;
+      if (latestOnly) {
+        replacedFrame = latestFrame;
+        latestFrame = frame;
+        if (replacedFrame != null) {
+          // A delivery is already scheduled and will pick up this frame instead.
+          droppedFrames++;
+          scheduleDelivery = false;
+        } else {
+          framesInFlight++;
+        }
+      } else {
+        framesInFlight++;
+      }
+    }
+    if (replacedFrame != null) {
+      replacedFrame.done();
+    }
+    if (!scheduleDelivery) {
+      return;
+    }
+
+    if (latestOnly) {
+      mainHandler.post(
+          () -> {
+            PendingFrame latest;
+            synchronized (lock) {
+              latest = latestFrame;
+              latestFrame = null;
+            }
+            if (latest != null) {
+              deliver(latest, imageStreamSink);
+            }
+          });
+    } else {
+      mainHandler.post(() -> deliver(frame, imageStreamSink));
+    }
+  }
+
+  private void deliver(@NonNull PendingFrame frame, @NonNull EventChannel.EventSink sink) {
+    try {
+      sink.success(frame.frameData);
+    } finally {
+      synchronized (lock) {
+        framesInFlight--;
+        deliveredFrames++;
+      }
+      frame.done();
+    }
+  }
+
+  long getProducedFrames() {
+    synchronized (lock) {
+      return producedFrames;
+    }
+  }
+
+  long getDeliveredFrames() {
+    synchronized (lock) {
+      return deliveredFrames;
+    }
+  }
+
+  long getDroppedFrames() {
+    synchronized (lock) {
+      return droppedFrames;
+    }
+  }
+
+  int getFramesInFlight() {
+    synchronized (lock) {
+      return framesInFlight;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Describes the processing applied to image stream frames before they are sent to Dart.
+ *
+ * <p>Frames are cropped to a region of interest first, then subsampled by an integer factor and
+ * finally rotated clockwise. Coordinates are in pixels of the full resolution frame.
+ */
+public class ImageStreamProcessingOptions {
+  private final int cropLeft;
+  private final int cropTop;
+  private final int cropWidth;
+  private final int cropHeight;
+  private final int subsampleFactor;
+  private final boolean lumaOnly;
+  private final boolean rotateToSensorOrientation;
+
+  /**
+   * Creates a new set of processing options.
+   *
+   * @param cropLeft is the left edge of the region of interest.
+   * @param cropTop is the top edge of the region of interest.
+   * @param cropWidth is the width of the region of interest, or 0 to extend it to the right edge.
+   * @param cropHeight is the height of the region of interest, or 0 to extend it to the bottom.
+   * @param subsampleFactor keeps one pixel out of {@code subsampleFactor} in both dimensions.
+   * @param lumaOnly only sends the luma (Y) plane when true.
+   * @param rotateToSensorOrientation rotates frames clockwise by the sensor orientation when true.
+   */
+  public ImageStreamProcessingOptions(
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int subsampleFactor,
+      boolean lumaOnly,
+      boolean rotateToSensorOrientation) {
+    if (cropLeft < 0 || cropTop < 0 || cropWidth < 0 || cropHeight < 0) {
+      throw new IllegalArgumentException("The crop region must not be negative");
+    }
+    if (subsampleFactor < 1) {
+      throw new IllegalArgumentException(
+          "subsampleFactor must be at least 1, got " + subsampleFactor);
+    }
+    this.cropLeft = cropLeft;
+    this.cropTop = cropTop;
+    this.cropWidth = cropWidth;
+    this.cropHeight = cropHeight;
+    this.subsampleFactor = subsampleFactor;
+    this.lumaOnly = lumaOnly;
+    this.rotateToSensorOrientation = rotateToSensorOrientation;
+  }
+
+  /**
+   * Returns the options described by a map sent from Dart, or null if {@code map} is null.
+   *
+   * @param map contains the optional "cropLeft", "cropTop", "cropWidth", "cropHeight",
+   *     "subsampleFactor", "lumaOnly" and "rotateToSensorOrientation" entries.
+   */
+  @Nullable
+  public static ImageStreamProcessingOptions fromMap(@Nullable Map<String, Object> map) {
+    if (map == null) {
+      return null;
+    }
+    return new ImageStreamProcessingOptions(
+        getInt(map, "cropLeft", 0),
+        getInt(map, "cropTop", 0),
+        getInt(map, "cropWidth", 0),
+        getInt(map, "cropHeight", 0),
+        getInt(map, "subsampleFactor", 1),
+        Boolean.TRUE.equals(map.get("lumaOnly")),
+        Boolean.TRUE.equals(map.get("rotateToSensorOrientation")));
+  }
+
+  private static int getInt(@NonNull Map<String, Object> map, @NonNull String key, int fallback) {
+    Object value = map.get(key);
+    return value == null ? fallback : ((Number) value).intValue();
+  }
+
+  public int getCropLeft() {
+    return cropLeft;
+  }
+
+  public int getCropTop() {
+    return cropTop;
+  }
+
+  public int getCropWidth() {
+    return cropWidth;
+  }
+
+  public int getCropHeight() {
+    return cropHeight;
+  }
+
+  public int getSubsampleFactor() {
+    return subsampleFactor;
+  }
+
+  public boolean isLumaOnly() {
+    return lumaOnly;
+  }
+
+  public boolean shouldRotateToSensorOrientation() {
+    return rotateToSensorOrientation;
+  }
+}
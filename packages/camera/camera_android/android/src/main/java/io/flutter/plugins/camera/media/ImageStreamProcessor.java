@@ -0,0 +1,274 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crops, subsamples, strips chroma from and rotates YUV_420_888 frames on the camera background
+ * thread, so only the pixels Dart asked for cross the platform channel.
+ *
+ * <p>Processed planes are always tightly packed: YUV420 frames are sent as three planar Y, U and V
+ * planes with a pixel stride of 1, NV21 frames as a single NV21 plane and luma only frames as a
+ * single Y plane.
+ */
+public class ImageStreamProcessor {
+
+  /** Supplies the byte array a processed plane is written into. */
+  public interface PlaneBytesSupplier {
+    /**
+     * Returns an array of exactly {@code size} bytes for the plane at {@code planeIndex}.
+     *
+     * @param planeIndex is the index of the plane in the processed frame.
+     * @param size is the number of bytes of the plane.
+     */
+    @NonNull
+    byte[] get(int planeIndex, int size);
+  }
+
+  /** Supplies the map describing a processed plane. */
+  public interface PlaneMapSupplier {
+    /**
+     * Returns the map describing the plane at {@code planeIndex}.
+     *
+     * @param planeIndex is the index of the plane in the processed frame.
+     * @param planeCount is the number of planes in the processed frame.
+     */
+    @NonNull
+    Map<String, Object> get(int planeIndex, int planeCount);
+  }
+
+  private final ImageStreamProcessingOptions options;
+  private final int rotationDegrees;
+
+  // Geometry of the last processed frame, in luma pixels.
+  private int imageWidth = -1;
+  private int imageHeight = -1;
+  private int regionLeft;
+  private int regionTop;
+  private int regionWidth;
+  private int regionHeight;
+  private int outputWidth;
+  private int outputHeight;
+
+  /** Scratch buffer holding the sampled part of one source row. */
+  private byte[] rowBuffer;
+
+  /**
+   * Creates a new processor.
+   *
+   * @param options are the processing options.
+   * @param sensorOrientation is the clockwise rotation of the sensor, used when {@link
+   *     ImageStreamProcessingOptions#shouldRotateToSensorOrientation()} is set.
+   */
+  public ImageStreamProcessor(
+      @NonNull ImageStreamProcessingOptions options, int sensorOrientation) {
+    this.options = options;
+    this.rotationDegrees =
+        options.shouldRotateToSensorOrientation() ? ((sensorOrientation % 360) + 360) % 360 : 0;
+    if (rotationDegrees % 90 != 0) {
+      throw new IllegalArgumentException("Unsupported sensor orientation: " + sensorOrientation);
+    }
+  }
+
+  /**
+   * Computes the region and output size for a frame of the given size. The region is clamped to
+   * the frame and, unless only luma is sent, aligned so that chroma samples line up with luma.
+   */
+  private void updateGeometry(int width, int height) {
+    if (width == imageWidth && height == imageHeight) {
+      return;
+    }
+    imageWidth = width;
+    imageHeight = height;
+
+    int factor = options.getSubsampleFactor();
+    // Chroma planes are subsampled by 2, so their region must start on even luma pixels and span
+    // a multiple of twice the subsample factor.
+    int alignment = options.isLumaOnly() ? 1 : 2;
+    int sizeAlignment = options.isLumaOnly() ? factor : 2 * factor;
+
+    int left = Math.min(options.getCropLeft(), width);
+    int top = Math.min(options.getCropTop(), height);
+    left -= left % alignment;
+    top -= top % alignment;
+    int regionW = options.getCropWidth() == 0 ? width - left : options.getCropWidth();
+    int regionH = options.getCropHeight() == 0 ? height - top : options.getCropHeight();
+    regionW = Math.min(regionW, width - left);
+    regionH = Math.min(regionH, height - top);
+    regionW -= regionW % sizeAlignment;
+    regionH -= regionH % sizeAlignment;
+
+    regionLeft = left;
+    regionTop = top;
+    regionWidth = regionW;
+    regionHeight = regionH;
+    boolean swapsDimensions = rotationDegrees == 90 || rotationDegrees == 270;
+    outputWidth = (swapsDimensions ? regionH : regionW) / factor;
+    outputHeight = (swapsDimensions ? regionW : regionH) / factor;
+  }
+
+  /** Returns the width of the last processed frame. */
+  public int getOutputWidth() {
+    return outputWidth;
+  }
+
+  /** Returns the height of the last processed frame. */
+  public int getOutputHeight() {
+    return outputHeight;
+  }
+
+  /**
+   * Processes a YUV_420_888 image and describes the resulting planes.
+   *
+   * @param image is the YUV_420_888 image to process.
+   * @param dartImageFormat is the format sent to Dart, either {@link ImageFormat#YUV_420_888} or
+   *     {@link ImageFormat#NV21}.
+   * @param bytesSupplier supplies the arrays the processed planes are written into.
+   * @param planeSupplier supplies the maps describing the processed planes.
+   * @return the number of processed planes.
+   */
+  public int process(
+      @NonNull Image image,
+      int dartImageFormat,
+      @NonNull PlaneBytesSupplier bytesSupplier,
+      @NonNull PlaneMapSupplier planeSupplier) {
+    updateGeometry(image.getWidth(), image.getHeight());
+    Image.Plane[] planes = image.getPlanes();
+    int lumaSize = outputWidth * outputHeight;
+    int chromaWidth = outputWidth / 2;
+    int chromaSize = lumaSize / 4;
+
+    if (options.isLumaOnly()) {
+      byte[] luma = bytesSupplier.get(0, lumaSize);
+      processPlane(planes[0], 1, luma, 0, 1);
+      putPlane(planeSupplier.get(0, 1), luma, outputWidth);
+      return 1;
+    }
+
+    if (dartImageFormat == ImageFormat.NV21) {
+      byte[] nv21 = bytesSupplier.get(0, lumaSize + 2 * chromaSize);
+      processPlane(planes[0], 1, nv21, 0, 1);
+      processPlane(planes[2], 2, nv21, lumaSize, 2);
+      processPlane(planes[1], 2, nv21, lumaSize + 1, 2);
+      putPlane(planeSupplier.get(0, 1), nv21, outputWidth);
+      return 1;
+    }
+
+    byte[] y = bytesSupplier.get(0, lumaSize);
+    byte[] u = bytesSupplier.get(1, chromaSize);
+    byte[] v = bytesSupplier.get(2, chromaSize);
+    processPlane(planes[0], 1, y, 0, 1);
+    processPlane(planes[1], 2, u, 0, 1);
+    processPlane(planes[2], 2, v, 0, 1);
+    putPlane(planeSupplier.get(0, 3), y, outputWidth);
+    putPlane(planeSupplier.get(1, 3), u, chromaWidth);
+    putPlane(planeSupplier.get(2, 3), v, chromaWidth);
+    return 3;
+  }
+
+  /**
+   * Processes a YUV_420_888 image into newly allocated planes.
+   *
+   * @see #process(Image, int, PlaneBytesSupplier, PlaneMapSupplier)
+   */
+  @NonNull
+  public List<Map<String, Object>> process(@NonNull Image image, int dartImageFormat) {
+    final List<Map<String, Object>> planes = new ArrayList<>();
+    process(
+        image,
+        dartImageFormat,
+        (planeIndex, size) -> new byte[size],
+        (planeIndex, planeCount) -> {
+          Map<String, Object> plane = new HashMap<>();
+          planes.add(plane);
+          return plane;
+        });
+    return planes;
+  }
+
+  private static void putPlane(
+      @NonNull Map<String, Object> planeBuffer, @NonNull byte[] bytes, int bytesPerRow) {
+    planeBuffer.put("bytesPerRow", bytesPerRow);
+    planeBuffer.put("bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+  }
+
+  /**
+   * Copies the region of a plane into {@code out}, subsampled and rotated.
+   *
+   * @param plane is the source plane.
+   * @param planeScale is 1 for the luma plane and 2 for the chroma planes.
+   * @param out receives the processed plane.
+   * @param offset is the position of the first pixel in {@code out}.
+   * @param outPixelStride is the distance between two pixels of a row in {@code out}.
+   */
+  private void processPlane(
+      @NonNull Image.Plane plane, int planeScale, byte[] out, int offset, int outPixelStride) {
+    ByteBuffer buffer = plane.getBuffer();
+    int rowStride = plane.getRowStride();
+    int pixelStride = plane.getPixelStride();
+    int factor = options.getSubsampleFactor();
+
+    int left = regionLeft / planeScale;
+    int top = regionTop / planeScale;
+    // Samples per source row and number of sampled source rows, before rotation.
+    int columns = regionWidth / planeScale / factor;
+    int rows = regionHeight / planeScale / factor;
+    if (columns == 0 || rows == 0) {
+      return;
+    }
+
+    int inputStep = factor * pixelStride;
+    int rowLength = (columns - 1) * inputStep + 1;
+    if (rowBuffer == null || rowBuffer.length < rowLength) {
+      rowBuffer = new byte[rowLength];
+    }
+    byte[] row = rowBuffer;
+
+    // Position and step in the output of the first sample of a source row, and of the next sample
+    // of that row, in pixels of the rotated output.
+    int outputColumns = (rotationDegrees == 90 || rotationDegrees == 270) ? rows : columns;
+    for (int r = 0; r < rows; r++) {
+      buffer.position((top + r * factor) * rowStride + left * pixelStride);
+      buffer.get(row, 0, rowLength);
+
+      int outputPos;
+      int outputStep;
+      switch (rotationDegrees) {
+        case 90:
+          outputPos = (rows - 1 - r);
+          outputStep = outputColumns;
+          break;
+        case 180:
+          outputPos = (rows - 1 - r) * outputColumns + columns - 1;
+          outputStep = -1;
+          break;
+        case 270:
+          outputPos = (columns - 1) * outputColumns + r;
+          outputStep = -outputColumns;
+          break;
+        default:
+          outputPos = r * outputColumns;
+          outputStep = 1;
+      }
+      outputPos = offset + outputPos * outPixelStride;
+      outputStep *= outPixelStride;
+
+      for (int inputPos = 0; inputPos < rowLength; inputPos += inputStep) {
+        out[outputPos] = row[inputPos];
+        outputPos += outputStep;
+      }
+    }
+    buffer.rewind();
+  }
+}
@@ -11,6 +11,7 @@ import android.os.Handler;
 import android.os.Looper;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
@@ -32,6 +33,23 @@ public class ImageStreamReader {
 
   private final ImageReader imageReader;
   private final ImageStreamReaderUtils imageStreamReaderUtils;
+  private final Handler mainHandler;
+  private final ImageStreamFrameDispatcher frameDispatcher;
+
+  /**
+   * The pool of reusable frames, or null when every frame should be sent in newly allocated
+   * buffers.
+   *
+   * <p>Set on the main thread and read on the camera background thread, hence volatile.
+   */
+  @Nullable private volatile ImageStreamBufferPool bufferPool;
+
+  /**
+   * Processes frames before they are sent, or null to send frames as they are.
+   *
+   * <p>Set on the main thread and read on the camera background thread, hence volatile.
+   */
+  @Nullable private volatile ImageStreamProcessor processor;
 
   /**
    * Creates a new instance of the {@link ImageStreamReader}.
@@ -47,6 +65,8 @@ public class ImageStreamReader {
     this.imageReader = imageReader;
     this.dartImageFormat = dartImageFormat;
     this.imageStreamReaderUtils = imageStreamReaderUtils;
+    this.mainHandler = new Handler(Looper.getMainLooper());
+    this.frameDispatcher = new ImageStreamFrameDispatcher(mainHandler);
   }
 
   /**
@@ -62,6 +82,70 @@ public class ImageStreamReader {
     this.imageReader =
         ImageReader.newInstance(width, height, computeStreamImageFormat(imageFormat), maxImages);
     this.imageStreamReaderUtils = new ImageStreamReaderUtils();
+    this.mainHandler = new Handler(Looper.getMainLooper());
+    this.frameDispatcher = new ImageStreamFrameDispatcher(mainHandler);
+  }
+
+  /**
+   * Sets the number of reusable frames used to stream images.
+   *
+   * <p>With a pool size greater than zero, frames are built in a fixed ring of reusable buffers
+   * instead of newly allocated ones, and frames arriving while every buffer of the ring is still
+   * waiting to be delivered to Dart are dropped. A pool size of zero disables pooling.
+   *
+   * @param bufferPoolSize is the number of frames in the ring, or 0 to disable pooling.
+   */
+  public void setBufferPoolSize(int bufferPoolSize) {
+    if (bufferPoolSize <= 0) {
+      bufferPool = null;
+    } else if (bufferPool == null || bufferPool.getCapacity() != bufferPoolSize) {
+      bufferPool = new ImageStreamBufferPool(bufferPoolSize);
+    }
+  }
+
+  /**
+   * Sets the policy deciding which frames are delivered when frames are produced faster than they
+   * can be delivered to Dart.
+   *
+   * @param deliveryPolicy is the {@link ImageStreamDeliveryPolicy} to use.
+   */
+  public void setDeliveryPolicy(@NonNull ImageStreamDeliveryPolicy deliveryPolicy) {
+    frameDispatcher.setPolicy(deliveryPolicy);
+  }
+
+  /**
+   * Sets the processor cropping, subsampling and rotating frames before they are sent to Dart.
+   *
+   * <p>Processing only applies to YUV420 and NV21 streams; JPEG frames are always sent as they
+   * are.
+   *
+   * @param processor is the {@link ImageStreamProcessor} to use, or null to send frames as they
+   *     are.
+   */
+  public void setProcessor(@Nullable ImageStreamProcessor processor) {
+    this.processor = processor;
+  }
+
+  /** Returns the number of frames produced by the camera since the listener was subscribed. */
+  public long getProducedFrameCount() {
+    return frameDispatcher.getProducedFrames();
+  }
+
+  /** Returns the number of frames delivered to Dart since the listener was subscribed. */
+  public long getDeliveredFrameCount() {
+    return frameDispatcher.getDeliveredFrames();
+  }
+
+  /** Returns the number of frames dropped since the listener was subscribed. */
+  public long getDroppedFrameCount() {
+    return frameDispatcher.getDroppedFrames();
+  }
+
+  /** Returns the pool of reusable frames, or null if pooling is disabled. */
+  @VisibleForTesting
+  @Nullable
+  public ImageStreamBufferPool getBufferPool() {
+    return bufferPool;
   }
 
   /**
@@ -95,42 +179,149 @@ public class ImageStreamReader {
       @NonNull Image image,
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink) {
+    if (!frameDispatcher.onFrameProduced(image.getTimestamp())) {
+      image.close();
+      return;
+    }
+
+    ImageStreamBufferPool pool = bufferPool;
+    if (pool != null) {
+      onImageAvailablePooled(image, captureProps, imageStreamSink, pool);
+      return;
+    }
+
     try {
       Map<String, Object> imageBuffer = new HashMap<>();
 
       // Get plane data ready
-      if (dartImageFormat == ImageFormat.NV21) {
-        imageBuffer.put("planes", parsePlanesForNv21(image));
+      ImageStreamProcessor processor = getProcessor();
+      if (processor != null) {
+        imageBuffer.put("planes", processor.process(image, dartImageFormat));
+        putImageMetadata(
+            imageBuffer, processor.getOutputWidth(), processor.getOutputHeight(), captureProps);
       } else {
-        imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
+        if (dartImageFormat == ImageFormat.NV21) {
+          imageBuffer.put("planes", parsePlanesForNv21(image));
+        } else {
+          imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
+        }
+        putImageMetadata(imageBuffer, image.getWidth(), image.getHeight(), captureProps);
       }
 
-      imageBuffer.put("width", image.getWidth());
-      imageBuffer.put("height", image.getHeight());
-      imageBuffer.put("format", dartImageFormat);
-      imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
-      imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
-      Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
-      imageBuffer.put(
-          "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
-
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(() -> imageStreamSink.success(imageBuffer));
+      frameDispatcher.dispatch(imageBuffer, null, imageStreamSink);
       image.close();
 
     } catch (IllegalStateException e) {
-      // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(
-          () ->
-              imageStreamSink.error(
-                  "IllegalStateException",
-                  "Caught IllegalStateException: " + e.getMessage(),
-                  null));
+      frameDispatcher.onFrameDropped();
+      postIllegalStateError(e, imageStreamSink);
       image.close();
     }
   }
 
+  /**
+   * Processes a new frame using a reusable frame of {@code pool}. The frame is returned to the pool
+   * as soon as the event sink has encoded it or the delivery policy has dropped it, and the image is
+   * dropped if the pool has no free frame.
+   */
+  private void onImageAvailablePooled(
+      @NonNull Image image,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull EventChannel.EventSink imageStreamSink,
+      @NonNull ImageStreamBufferPool pool) {
+    final ImageStreamBufferPool.Frame frame = pool.acquire();
+    if (frame == null) {
+      // Every frame of the ring is still waiting to be delivered, so drop this one.
+      frameDispatcher.onFrameDropped();
+      image.close();
+      return;
+    }
+
+    try {
+      ImageStreamProcessor processor = getProcessor();
+      int width = image.getWidth();
+      int height = image.getHeight();
+      if (processor != null) {
+        processor.process(image, dartImageFormat, frame::getPlaneBytes, frame::getPlane);
+        width = processor.getOutputWidth();
+        height = processor.getOutputHeight();
+      } else if (dartImageFormat == ImageFormat.NV21) {
+        fillPlanesForNv21(image, frame);
+      } else {
+        fillPlanesForYuvOrJpeg(image, frame);
+      }
+      frame.frameData.put("planes", frame.planes);
+      putImageMetadata(frame.frameData, width, height, captureProps);
+
+      frameDispatcher.dispatch(frame.frameData, () -> pool.release(frame), imageStreamSink);
+    } catch (IllegalStateException e) {
+      pool.release(frame);
+      frameDispatcher.onFrameDropped();
+      postIllegalStateError(e, imageStreamSink);
+    }
+    image.close();
+  }
+
+  /** Returns the processor to use for the current stream format, if any. */
+  @Nullable
+  private ImageStreamProcessor getProcessor() {
+    return dartImageFormat == ImageFormat.JPEG ? null : processor;
+  }
+
+  private void putImageMetadata(
+      @NonNull Map<String, Object> imageBuffer,
+      int width,
+      int height,
+      @NonNull CameraCaptureProperties captureProps) {
+    imageBuffer.put("width", width);
+    imageBuffer.put("height", height);
+    imageBuffer.put("format", dartImageFormat);
+    imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
+    imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
+    Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
+    imageBuffer.put(
+        "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
+  }
+
+  private void postIllegalStateError(
+      @NonNull IllegalStateException e, @NonNull EventChannel.EventSink imageStreamSink) {
+    // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
+    mainHandler.post(
+        () ->
+            imageStreamSink.error(
+                "IllegalStateException", "Caught IllegalStateException: " + e.getMessage(), null));
+  }
+
+  /** Fills {@code frame} with the planes of a Yuv / Jpeg image, as-is. */
+  private void fillPlanesForYuvOrJpeg(
+      @NonNull Image image, @NonNull ImageStreamBufferPool.Frame frame) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    for (int i = 0; i < imagePlanes.length; i++) {
+      Image.Plane plane = imagePlanes[i];
+      ByteBuffer buffer = plane.getBuffer();
+
+      byte[] bytes = frame.getPlaneBytes(i, buffer.remaining());
+      buffer.get(bytes, 0, bytes.length);
+
+      Map<String, Object> planeBuffer = frame.getPlane(i, imagePlanes.length);
+      planeBuffer.put("bytesPerRow", plane.getRowStride());
+      planeBuffer.put("bytesPerPixel", plane.getPixelStride());
+      planeBuffer.put("bytes", bytes);
+    }
+  }
+
+  /** Fills {@code frame} with a single-plane NV21 image. Assumes YUV420 as an input type. */
+  private void fillPlanesForNv21(@NonNull Image image, @NonNull ImageStreamBufferPool.Frame frame) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    byte[] bytes = frame.getPlaneBytes(0, ImageStreamReaderUtils.getNV21Size(width, height));
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(image.getPlanes(), width, height, bytes);
+
+    Map<String, Object> planeBuffer = frame.getPlane(0, 1);
+    planeBuffer.put("bytesPerRow", width);
+    planeBuffer.put("bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+  }
+
   /**
    * Given an input image, will return a list of maps suitable to send back to dart where each map
    * describes the image plane.
@@ -202,6 +393,7 @@ public class ImageStreamReader {
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink,
       @NonNull Handler handler) {
+    frameDispatcher.resetStatistics();
     imageReader.setOnImageAvailableListener(
         reader -> {
           Image image = reader.acquireNextImage();
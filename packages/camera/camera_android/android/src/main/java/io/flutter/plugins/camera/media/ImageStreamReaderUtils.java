@@ -12,6 +12,12 @@ import androidx.annotation.NonNull;
 import java.nio.ByteBuffer;
 
 public class ImageStreamReaderUtils {
+  /**
+   * Scratch buffer holding one row of a plane while it is unpacked, confined to the thread
+   * unpacking it so that the same instance can convert frames on several threads at once.
+   */
+  private final ThreadLocal<byte[]> rowBuffer = new ThreadLocal<>();
+
   /**
    * Converts YUV_420_888 to NV21 bytebuffer.
    *
@@ -34,8 +40,29 @@ public class ImageStreamReaderUtils {
   @NonNull
   public ByteBuffer yuv420ThreePlanesToNV21(
       @NonNull Image.Plane[] yuv420888planes, int width, int height) {
+    byte[] out = new byte[getNV21Size(width, height)];
+    yuv420ThreePlanesToNV21(yuv420888planes, width, height, out);
+    return ByteBuffer.wrap(out);
+  }
+
+  /**
+   * Converts YUV_420_888 to NV21 into a caller provided array, so the same array can be reused
+   * across frames.
+   *
+   * @param yuv420888planes the planes of the YUV_420_888 image.
+   * @param width the width of the image.
+   * @param height the height of the image.
+   * @param out the array receiving the NV21 data. It must hold at least {@link
+   *     #getNV21Size(int, int)} bytes.
+   * @see #yuv420ThreePlanesToNV21(Image.Plane[], int, int)
+   */
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
     int imageSize = width * height;
-    byte[] out = new byte[imageSize + 2 * (imageSize / 4)];
+    if (out.length < getNV21Size(width, height)) {
+      throw new IllegalArgumentException(
+          "Output array is too small for a " + width + "x" + height + " NV21 image");
+    }
 
     if (areUVPlanesNV21(yuv420888planes, width, height)) {
       // Copy the Y values.
@@ -56,8 +83,12 @@ public class ImageStreamReaderUtils {
       // Unpack V.
       unpackPlane(yuv420888planes[2], width, height, out, imageSize, 2);
     }
+  }
 
-    return ByteBuffer.wrap(out);
+  /** Returns the number of bytes of an NV21 image of the given size. */
+  public static int getNV21Size(int width, int height) {
+    int imageSize = width * height;
+    return imageSize + 2 * (imageSize / 4);
   }
 
   /**
@@ -121,34 +152,82 @@ public class ImageStreamReaderUtils {
    * <p>The input plane data will be copied in 'out', starting at 'offset' and every pixel will be
    * spaced by 'pixelStride'. Note that there is no row padding on the output.
    *
+   * <p>Rows are read from the plane with bulk copies: directly into 'out' when neither side is
+   * interleaved, or into a reused row buffer that is then de-interleaved in the Java heap. This
+   * avoids an indexed {@link ByteBuffer#get(int)} call per pixel, which is slow on the direct
+   * buffers backing camera images.
+   *
    * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
    */
-  private static void unpackPlane(
+  private void unpackPlane(
       @NonNull Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride)
       throws IllegalStateException {
     ByteBuffer buffer = plane.getBuffer();
     buffer.rewind();
+    int rowStride = plane.getRowStride();
+    int inputPixelStride = plane.getPixelStride();
 
     // Compute the size of the current plane.
     // We assume that it has the aspect ratio as the original image.
-    int numRow = (buffer.limit() + plane.getRowStride() - 1) / plane.getRowStride();
+    int numRow = (buffer.limit() + rowStride - 1) / rowStride;
     if (numRow == 0) {
       return;
     }
     int scaleFactor = height / numRow;
     int numCol = width / scaleFactor;
+    if (numCol == 0) {
+      return;
+    }
+
+    if (inputPixelStride == 1 && pixelStride == 1) {
+      if (rowStride == numCol) {
+        // No row padding, so the whole plane can be copied at once.
+        buffer.get(out, offset, numRow * numCol);
+      } else {
+        int outputPos = offset;
+        for (int row = 0; row < numRow; row++) {
+          buffer.position(row * rowStride);
+          buffer.get(out, outputPos, numCol);
+          outputPos += numCol;
+        }
+      }
+      buffer.rewind();
+      return;
+    }
 
-    // Extract the data in the output buffer.
+    // Copy each row into a reused buffer, then de-interleave it in the Java heap.
+    int rowLength = (numCol - 1) * inputPixelStride + 1;
+    byte[] row = getRowBuffer(rowLength);
     int outputPos = offset;
-    int rowStart = 0;
-    for (int row = 0; row < numRow; row++) {
-      int inputPos = rowStart;
-      for (int col = 0; col < numCol; col++) {
-        out[outputPos] = buffer.get(inputPos);
-        outputPos += pixelStride;
-        inputPos += plane.getPixelStride();
+    for (int rowIndex = 0; rowIndex < numRow; rowIndex++) {
+      buffer.position(rowIndex * rowStride);
+      buffer.get(row, 0, rowLength);
+      if (inputPixelStride == 2 && pixelStride == 2) {
+        // The most common chroma layout, de-interleaved without multiplications.
+        for (int inputPos = 0; inputPos < rowLength; inputPos += 2) {
+          out[outputPos] = row[inputPos];
+          outputPos += 2;
+        }
+      } else {
+        for (int col = 0; col < numCol; col++) {
+          out[outputPos] = row[col * inputPixelStride];
+          outputPos += pixelStride;
+        }
       }
-      rowStart += plane.getRowStride();
     }
+    buffer.rewind();
+  }
+
+  /**
+   * Returns a buffer of at least {@code length} bytes, reused across the rows and frames unpacked
+   * on the calling thread.
+   */
+  private byte[] getRowBuffer(int length) {
+    byte[] buffer = rowBuffer.get();
+    if (buffer == null || buffer.length < length) {
+      buffer = new byte[length];
+      rowBuffer.set(buffer);
+    }
+    return buffer;
   }
 }
@@ -36,6 +36,16 @@ public class CaptureTimeoutsWrapper {
     this.preCaptureMetering = Timeout.create(preCaptureMeteringTimeoutMs);
   }
 
+  /** Returns the precapture focusing timeout in milliseconds. */
+  public long getPreCaptureFocusingTimeoutMs() {
+    return preCaptureFocusingTimeoutMs;
+  }
+
+  /** Returns the precapture metering timeout in milliseconds. */
+  public long getPreCaptureMeteringTimeoutMs() {
+    return preCaptureMeteringTimeoutMs;
+  }
+
   /**
    * Returns the timeout instance related to precapture focusing.
    *
@@ -0,0 +1,109 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size histogram of latencies in microseconds, from which percentiles can be read.
+ *
+ * <p>Values are counted in log-linear buckets: every power of two is split into 16 buckets, so a
+ * percentile is reported with a relative error of at most 1/16, while the histogram uses the same
+ * memory whatever the number of recorded values. This class is not thread safe.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** The largest value that is counted in its own bucket, about 12 days. */
+  private static final long MAX_TRACKED_MICROS = (1L << 40) - 1;
+
+  private final long[] counts = new long[bucketIndex(MAX_TRACKED_MICROS) + 1];
+  private long count;
+  private long sum;
+  private long min = Long.MAX_VALUE;
+  private long max;
+
+  private static int bucketIndex(long micros) {
+    if (micros < SUB_BUCKET_COUNT) {
+      return (int) micros;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((micros >> shift) - SUB_BUCKET_COUNT);
+  }
+
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param micros is the latency in microseconds. Negative values are recorded as 0.
+   */
+  public void record(long micros) {
+    long value = Math.max(0, micros);
+    counts[bucketIndex(Math.min(value, MAX_TRACKED_MICROS))]++;
+    count++;
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /** Returns the number of recorded latencies. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the smallest recorded latency, or 0 if none was recorded. */
+  public long getMin() {
+    return count == 0 ? 0 : min;
+  }
+
+  /** Returns the largest recorded latency, or 0 if none was recorded. */
+  public long getMax() {
+    return max;
+  }
+
+  /** Returns the mean of the recorded latencies, or 0 if none was recorded. */
+  public long getMean() {
+    return count == 0 ? 0 : sum / count;
+  }
+
+  /**
+   * Returns the latency below which {@code percentile} percent of the recorded latencies fall, or
+   * 0 if none was recorded.
+   *
+   * @param percentile is a percentile between 0 and 100.
+   */
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.max(min, Math.min(bucketUpperBound(i), max));
+      }
+    }
+    return max;
+  }
+
+  /** Removes all recorded latencies. */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    count = 0;
+    sum = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+  }
+}
@@ -7,6 +7,7 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -50,6 +51,9 @@ import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamProcessingOptions;
+import io.flutter.plugins.camera.media.ImageStreamProcessor;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.view.TextureRegistry;
 import java.io.Closeable;
@@ -782,6 +786,69 @@ public class CameraTest {
         .getSurface(); // stream pulled from regular imageReader's surface.
   }
 
+  @Test
+  public void startPreviewWithImageStream_shouldConfigureImageStreamReader()
+      throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    camera.recordingVideo = false;
+    camera.pictureImageReader = mock(ImageReader.class);
+    camera.cameraDevice = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.imageStreamReader = mockImageStreamReader;
+
+    when(camera.flutterTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(mockCameraFeatureFactory.mockResolutionFeature.getPreviewSize())
+        .thenReturn(mock(Size.class));
+
+    ImageStreamDeliveryPolicy deliveryPolicy = ImageStreamDeliveryPolicy.latestOnly();
+    camera.startPreviewWithImageStream(mock(EventChannel.class), 3, deliveryPolicy, null);
+
+    verify(mockImageStreamReader, times(1)).setBufferPoolSize(3);
+    verify(mockImageStreamReader, times(1)).setDeliveryPolicy(deliveryPolicy);
+    verify(mockImageStreamReader, times(1)).setProcessor(null);
+  }
+
+  @Test
+  public void startPreviewWithImageStream_shouldSetProcessorWhenProcessingIsRequested()
+      throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    camera.recordingVideo = false;
+    camera.pictureImageReader = mock(ImageReader.class);
+    camera.cameraDevice = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.imageStreamReader = mockImageStreamReader;
+
+    when(camera.flutterTexture.surfaceTexture()).thenReturn(mock(SurfaceTexture.class));
+    when(mockCameraFeatureFactory.mockResolutionFeature.getPreviewSize())
+        .thenReturn(mock(Size.class));
+    when(mockCameraProperties.getSensorOrientation()).thenReturn(90);
+
+    camera.startPreviewWithImageStream(
+        mock(EventChannel.class),
+        0,
+        ImageStreamDeliveryPolicy.all(),
+        new ImageStreamProcessingOptions(0, 0, 320, 320, 2, true, true));
+
+    verify(mockImageStreamReader, times(1)).setProcessor(any(ImageStreamProcessor.class));
+  }
+
+  @Test
+  public void getImageStreamStatistics_shouldReturnFrameCountersOfImageStreamReader() {
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    when(mockImageStreamReader.getProducedFrameCount()).thenReturn(30L);
+    when(mockImageStreamReader.getDeliveredFrameCount()).thenReturn(20L);
+    when(mockImageStreamReader.getDroppedFrameCount()).thenReturn(10L);
+    camera.imageStreamReader = mockImageStreamReader;
+
+    Map<String, Object> statistics = camera.getImageStreamStatistics();
+
+    assertEquals(30L, statistics.get("producedFrames"));
+    assertEquals(20L, statistics.get("deliveredFrames"));
+    assertEquals(10L, statistics.get("droppedFrames"));
+  }
+
   @Test
   public void setDescriptionWhileRecording_shouldErrorWhenNotRecording() {
     MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
@@ -1071,6 +1138,41 @@ public class CameraTest {
     verify(mockHandlerThread, never()).join();
   }
 
+  @Test
+  public void stopBackgroundThread_shouldShutDownImageSaverExecutor() {
+    ImageSaverExecutor mockImageSaverExecutor = mock(ImageSaverExecutor.class);
+    camera.imageSaverExecutor = mockImageSaverExecutor;
+
+    camera.stopBackgroundThread();
+
+    verify(mockImageSaverExecutor).shutdown();
+    assertNull(camera.imageSaverExecutor);
+  }
+
+  @Test
+  public void getCaptureLatencyStatistics_shouldIncludeCaptureTimeouts() {
+    camera.captureLatencyTracker.onFocusTimeout();
+
+    Map<String, Object> statistics = camera.getCaptureLatencyStatistics(true);
+
+    assertEquals(3000L, statistics.get("preCaptureFocusingTimeoutMs"));
+    assertEquals(3000L, statistics.get("preCaptureMeteringTimeoutMs"));
+    assertEquals(1L, statistics.get("focusTimeouts"));
+    assertNotNull(statistics.get("stages"));
+    assertEquals(0L, camera.getCaptureLatencyStatistics(false).get("focusTimeouts"));
+  }
+
+  @Test
+  public void takePictureBurst_shouldReturnErrorForEmptyBurst() {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.takePictureBurst(mockResult, 0);
+
+    verify(mockResult)
+        .error("takePictureBurstFailed", "The burst must contain at least one picture", null);
+    verify(mockResult, never()).success(any());
+  }
+
   @Test
   public void onConverge_shouldTakePictureWithoutAbortingSession() throws CameraAccessException {
     ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
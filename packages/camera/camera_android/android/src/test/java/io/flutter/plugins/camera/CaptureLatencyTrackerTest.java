@@ -0,0 +1,126 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.MethodChannel;
+import java.util.Map;
+import org.junit.Test;
+
+public class CaptureLatencyTrackerTest {
+  private static final long MS = 1_000_000;
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getStage(CaptureLatencyTracker tracker, String stage) {
+    Map<String, Object> stages = (Map<String, Object>) tracker.getStatistics().get("stages");
+    return (Map<String, Object>) stages.get(stage);
+  }
+
+  private static void runCapture(CaptureLatencyTracker tracker, long startNanos) {
+    tracker.onCaptureStarted(startNanos);
+    tracker.onCameraStateChanged(CameraState.STATE_WAITING_FOCUS, startNanos + MS);
+    tracker.onCameraStateChanged(CameraState.STATE_WAITING_PRECAPTURE_START, startNanos + 101 * MS);
+    tracker.onCameraStateChanged(CameraState.STATE_WAITING_PRECAPTURE_DONE, startNanos + 111 * MS);
+    tracker.onCameraStateChanged(CameraState.STATE_CAPTURING, startNanos + 141 * MS);
+    tracker.onCameraStateChanged(CameraState.STATE_PREVIEW, startNanos + 341 * MS);
+    tracker.onImageSaved(startNanos + 341 * MS, startNanos + 361 * MS);
+    tracker.onResultDelivered(startNanos + 363 * MS);
+  }
+
+  @Test
+  public void getStatistics_reportsTimeSpentInEveryStage() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+
+    runCapture(tracker, 0);
+
+    assertEquals(100_000L, getStage(tracker, "waitingFocus").get("p50Micros"));
+    assertEquals(10_000L, getStage(tracker, "waitingPrecaptureStart").get("p50Micros"));
+    assertEquals(30_000L, getStage(tracker, "waitingPrecaptureDone").get("p50Micros"));
+    assertEquals(200_000L, getStage(tracker, "capturing").get("p50Micros"));
+    assertEquals(20_000L, getStage(tracker, "imageSave").get("p50Micros"));
+    assertEquals(2_000L, getStage(tracker, "resultDelivery").get("p50Micros"));
+    assertEquals(363_000L, getStage(tracker, "total").get("p50Micros"));
+    assertEquals(1L, getStage(tracker, "total").get("count"));
+  }
+
+  @Test
+  public void getStatistics_aggregatesCaptures() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+
+    for (int i = 0; i < 100; i++) {
+      runCapture(tracker, i * 1000 * MS);
+    }
+
+    Map<String, Object> total = getStage(tracker, "total");
+    assertEquals(100L, total.get("count"));
+    assertEquals(363_000L, total.get("p99Micros"));
+    assertEquals(363_000L, total.get("maxMicros"));
+  }
+
+  @Test
+  public void onCameraStateChanged_ignoresTransitionsOutsideOfCaptures() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+
+    tracker.onCameraStateChanged(CameraState.STATE_WAITING_FOCUS, 0);
+    tracker.onCameraStateChanged(CameraState.STATE_PREVIEW, 10 * MS);
+
+    assertEquals(0L, getStage(tracker, "waitingFocus").get("count"));
+  }
+
+  @Test
+  public void onCaptureFailed_doesNotRecordTotal() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+
+    tracker.onCaptureStarted(0);
+    tracker.onCaptureFailed();
+    tracker.onResultDelivered(10 * MS);
+
+    assertEquals(0L, getStage(tracker, "total").get("count"));
+  }
+
+  @Test
+  public void track_completesCaptureWhenResultIsDelivered() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    tracker.onCaptureStarted(System.nanoTime());
+    tracker.track(mockResult).success("path");
+
+    verify(mockResult).success("path");
+    assertEquals(1L, getStage(tracker, "total").get("count"));
+  }
+
+  @Test
+  public void track_forwardsErrorsWithoutRecordingTotal() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    tracker.onCaptureStarted(System.nanoTime());
+    tracker.track(mockResult).error("IOError", "Failed saving image", null);
+
+    verify(mockResult).error("IOError", "Failed saving image", null);
+    assertEquals(0L, getStage(tracker, "total").get("count"));
+  }
+
+  @Test
+  public void getStatistics_countsTimeoutsUntilReset() {
+    CaptureLatencyTracker tracker = new CaptureLatencyTracker();
+
+    tracker.onFocusTimeout();
+    tracker.onMeteringTimeout();
+    tracker.onMeteringTimeout();
+
+    assertEquals(1L, tracker.getStatistics().get("focusTimeouts"));
+    assertEquals(2L, tracker.getStatistics().get("meteringTimeouts"));
+
+    tracker.reset();
+
+    assertEquals(0L, tracker.getStatistics().get("focusTimeouts"));
+    assertEquals(0L, tracker.getStatistics().get("meteringTimeouts"));
+  }
+}
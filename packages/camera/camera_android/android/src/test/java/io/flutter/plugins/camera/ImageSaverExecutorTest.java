@@ -0,0 +1,87 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageSaverExecutorTest {
+
+  @Test
+  public void execute_runsSavesConcurrently() throws InterruptedException {
+    ImageSaverExecutor executor = new ImageSaverExecutor(2, 1);
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    CountDownLatch done = new CountDownLatch(2);
+    Runnable save =
+        () -> {
+          bothStarted.countDown();
+          try {
+            // Only completes if the other save runs at the same time.
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          done.countDown();
+        };
+
+    assertTrue(executor.execute(save));
+    assertTrue(executor.execute(save));
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    executor.shutdown();
+  }
+
+  @Test
+  public void execute_rejectsSavesWhenQueueIsFull() throws InterruptedException {
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, 1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable blockingSave =
+        () -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    assertTrue(executor.execute(blockingSave));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertTrue(executor.execute(() -> {}));
+    assertEquals(2, executor.getSavesInFlight());
+
+    assertFalse(executor.execute(() -> {}));
+
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  public void shutdown_completesScheduledSavesAndRejectsNewOnes() throws InterruptedException {
+    ImageSaverExecutor executor = new ImageSaverExecutor(1, 2);
+    CountDownLatch done = new CountDownLatch(2);
+
+    assertTrue(executor.execute(done::countDown));
+    assertTrue(executor.execute(done::countDown));
+    executor.shutdown();
+
+    assertFalse(executor.execute(() -> {}));
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_throwsWithoutThreads() {
+    new ImageSaverExecutor(0, 1);
+  }
+}
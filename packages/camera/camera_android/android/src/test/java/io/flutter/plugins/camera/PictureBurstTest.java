@@ -0,0 +1,87 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class PictureBurstTest {
+  private static PictureBurst createBurst() {
+    return new PictureBurst(Arrays.asList(new File("/tmp/a.jpg"), new File("/tmp/b.jpg")));
+  }
+
+  @Test
+  public void onImageAvailable_assignsPicturesInCaptureOrder() {
+    PictureBurst burst = createBurst();
+
+    assertEquals(0, burst.onImageAvailable(0));
+    assertFalse(burst.isFullyAcquired());
+    assertEquals(1, burst.onImageAvailable(0));
+    assertTrue(burst.isFullyAcquired());
+    assertEquals(-1, burst.onImageAvailable(0));
+  }
+
+  @Test
+  public void onSaved_completesAfterLastPictureAndReportsLatencies() {
+    PictureBurst burst = createBurst();
+    burst.onCaptureRequested(1_000_000);
+    burst.onImageAvailable(3_000_000);
+    burst.onImageAvailable(4_000_000);
+
+    // Saves may complete out of order.
+    assertFalse(burst.onSaved(1, 9_000_000));
+    assertTrue(burst.onSaved(0, 10_000_000));
+
+    List<Map<String, Object>> pictures = burst.getPictures();
+    assertEquals(2, pictures.size());
+    assertEquals("/tmp/a.jpg", pictures.get(0).get("path"));
+    assertEquals(2000L, pictures.get(0).get("captureLatencyMicros"));
+    assertEquals(7000L, pictures.get(0).get("saveLatencyMicros"));
+    assertEquals("/tmp/b.jpg", pictures.get(1).get("path"));
+    assertEquals(3000L, pictures.get(1).get("captureLatencyMicros"));
+    assertEquals(5000L, pictures.get(1).get("saveLatencyMicros"));
+  }
+
+  @Test
+  public void onFailed_reportsOnlyFirstFailureAndNeverCompletes() {
+    PictureBurst burst = createBurst();
+    burst.onImageAvailable(0);
+    burst.onImageAvailable(0);
+
+    assertFalse(burst.isFailed());
+    assertTrue(burst.onFailed());
+    assertTrue(burst.isFailed());
+    assertFalse(burst.onFailed());
+    assertFalse(burst.onSaved(0, 0));
+    assertFalse(burst.onSaved(1, 0));
+  }
+
+  @Test
+  public void onFailed_deletesFilesOfTheBurst() throws IOException {
+    File saved = File.createTempFile("CAP", ".jpg");
+    File pending = File.createTempFile("CAP", ".jpg");
+    PictureBurst burst = new PictureBurst(Arrays.asList(saved, pending));
+    burst.onImageAvailable(0);
+    burst.onImageAvailable(0);
+    burst.onSaved(0, 0);
+
+    assertTrue(burst.onFailed());
+    assertFalse(saved.exists());
+    assertFalse(pending.exists());
+
+    // A save that was still in flight is deleted once it completes.
+    assertTrue(pending.createNewFile());
+    assertFalse(burst.onSaved(1, 0));
+    assertFalse(pending.exists());
+  }
+}
@@ -0,0 +1,196 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import io.flutter.plugin.common.EventChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamFrameDispatcherTest {
+  private static final long FRAME_INTERVAL_30_FPS_NANOS = 33_333_333L;
+
+  private ImageStreamFrameDispatcher dispatcher;
+  private EventChannel.EventSink mockEventSink;
+
+  @Before
+  public void setUp() {
+    dispatcher = new ImageStreamFrameDispatcher(new Handler(Looper.getMainLooper()));
+    mockEventSink = mock(EventChannel.EventSink.class);
+  }
+
+  /** Produces a frame and dispatches it if the policy accepts it. */
+  private void produceFrame(long timestampNanos, Object frameData, Runnable onDone) {
+    if (dispatcher.onFrameProduced(timestampNanos)) {
+      dispatcher.dispatch(frameData, onDone, mockEventSink);
+    }
+  }
+
+  private static void idleMainLooper() {
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  @Test
+  public void all_deliversEveryFrame() {
+    for (int i = 0; i < 5; i++) {
+      produceFrame(i * FRAME_INTERVAL_30_FPS_NANOS, i, null);
+    }
+    assertEquals(5, dispatcher.getFramesInFlight());
+
+    idleMainLooper();
+
+    verify(mockEventSink, times(5)).success(any());
+    assertEquals(5, dispatcher.getProducedFrames());
+    assertEquals(5, dispatcher.getDeliveredFrames());
+    assertEquals(0, dispatcher.getDroppedFrames());
+    assertEquals(0, dispatcher.getFramesInFlight());
+  }
+
+  @Test
+  public void latestOnly_replacesFramesWaitingToBeDelivered() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.latestOnly());
+    AtomicInteger releasedFrames = new AtomicInteger();
+
+    for (int i = 0; i < 5; i++) {
+      produceFrame(i * FRAME_INTERVAL_30_FPS_NANOS, i, releasedFrames::incrementAndGet);
+    }
+    // Replaced frames are released right away.
+    assertEquals(4, releasedFrames.get());
+    assertEquals(1, dispatcher.getFramesInFlight());
+
+    idleMainLooper();
+
+    verify(mockEventSink, times(1)).success(4);
+    verify(mockEventSink, never()).success(0);
+    assertEquals(5, releasedFrames.get());
+    assertEquals(5, dispatcher.getProducedFrames());
+    assertEquals(1, dispatcher.getDeliveredFrames());
+    assertEquals(4, dispatcher.getDroppedFrames());
+  }
+
+  @Test
+  public void latestOnly_deliversNextFrameOnceMainThreadCaughtUp() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.latestOnly());
+
+    produceFrame(0, 0, null);
+    idleMainLooper();
+    produceFrame(FRAME_INTERVAL_30_FPS_NANOS, 1, null);
+    idleMainLooper();
+
+    verify(mockEventSink, times(1)).success(0);
+    verify(mockEventSink, times(1)).success(1);
+    assertEquals(0, dispatcher.getDroppedFrames());
+  }
+
+  @Test
+  public void maxFramesInFlight_dropsFramesBeyondLimit() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.maxFramesInFlight(2));
+
+    for (int i = 0; i < 5; i++) {
+      produceFrame(i * FRAME_INTERVAL_30_FPS_NANOS, i, null);
+    }
+    idleMainLooper();
+
+    verify(mockEventSink, times(1)).success(0);
+    verify(mockEventSink, times(1)).success(1);
+    verify(mockEventSink, times(2)).success(any());
+    assertEquals(5, dispatcher.getProducedFrames());
+    assertEquals(2, dispatcher.getDeliveredFrames());
+    assertEquals(3, dispatcher.getDroppedFrames());
+
+    // Once delivered, new frames are accepted again.
+    assertTrue(dispatcher.onFrameProduced(5 * FRAME_INTERVAL_30_FPS_NANOS));
+  }
+
+  @Test
+  public void targetFps_halvesFrameRate() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.targetFps(15));
+
+    for (int i = 0; i < 30; i++) {
+      // Add some jitter to the camera timestamps.
+      long jitterNanos = (i % 2 == 0) ? -1_000_000L : 1_000_000L;
+      produceFrame(i * FRAME_INTERVAL_30_FPS_NANOS + jitterNanos, i, null);
+    }
+    idleMainLooper();
+
+    assertEquals(30, dispatcher.getProducedFrames());
+    assertEquals(15, dispatcher.getDeliveredFrames());
+    assertEquals(15, dispatcher.getDroppedFrames());
+  }
+
+  @Test
+  public void targetFps_keepsAverageRateForNonIntegerRatios() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.targetFps(20));
+
+    for (int i = 0; i < 30; i++) {
+      produceFrame(i * FRAME_INTERVAL_30_FPS_NANOS, i, null);
+    }
+    idleMainLooper();
+
+    assertEquals(20, dispatcher.getDeliveredFrames());
+  }
+
+  @Test
+  public void resetStatistics_clearsCounters() {
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.maxFramesInFlight(1));
+    produceFrame(0, 0, null);
+    produceFrame(FRAME_INTERVAL_30_FPS_NANOS, 1, null);
+    idleMainLooper();
+
+    dispatcher.resetStatistics();
+
+    assertEquals(0, dispatcher.getProducedFrames());
+    assertEquals(0, dispatcher.getDeliveredFrames());
+    assertEquals(0, dispatcher.getDroppedFrames());
+  }
+
+  @Test
+  public void fromPlatformValues_parsesPolicies() {
+    assertEquals(
+        ImageStreamDeliveryPolicy.Mode.ALL,
+        ImageStreamDeliveryPolicy.fromPlatformValues(null, null, null).getMode());
+    assertEquals(
+        ImageStreamDeliveryPolicy.Mode.LATEST_ONLY,
+        ImageStreamDeliveryPolicy.fromPlatformValues("latestOnly", null, null).getMode());
+
+    ImageStreamDeliveryPolicy maxFramesInFlight =
+        ImageStreamDeliveryPolicy.fromPlatformValues("maxFramesInFlight", 3, null);
+    assertEquals(ImageStreamDeliveryPolicy.Mode.MAX_FRAMES_IN_FLIGHT, maxFramesInFlight.getMode());
+    assertEquals(3, maxFramesInFlight.getMaxFramesInFlight());
+
+    ImageStreamDeliveryPolicy targetFps =
+        ImageStreamDeliveryPolicy.fromPlatformValues("targetFps", null, 12.5);
+    assertEquals(ImageStreamDeliveryPolicy.Mode.TARGET_FPS, targetFps.getMode());
+    assertEquals(12.5, targetFps.getTargetFps(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromPlatformValues_throwsForUnknownPolicy() {
+    ImageStreamDeliveryPolicy.fromPlatformValues("sometimes", null, null);
+  }
+
+  @Test
+  public void onFrameProduced_acceptsFramesByDefault() {
+    assertTrue(dispatcher.onFrameProduced(0));
+    dispatcher.setPolicy(ImageStreamDeliveryPolicy.maxFramesInFlight(1));
+    dispatcher.dispatch(0, null, mockEventSink);
+    assertFalse(dispatcher.onFrameProduced(FRAME_INTERVAL_30_FPS_NANOS));
+  }
+}
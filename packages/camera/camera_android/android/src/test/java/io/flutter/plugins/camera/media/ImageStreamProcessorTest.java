@@ -0,0 +1,210 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamProcessorTest {
+  private static final int WIDTH = 16;
+  private static final int HEIGHT = 12;
+  private static final int ROW_PADDING = 8;
+
+  private static byte luma(int x, int y) {
+    return (byte) (x + 20 * y);
+  }
+
+  private static byte u(int x, int y) {
+    return (byte) (100 + x + 10 * y);
+  }
+
+  private static byte v(int x, int y) {
+    return (byte) (200 + x + 10 * y);
+  }
+
+  /** Creates a padded semi-planar YUV420 image with values computed from the pixel position. */
+  private static Image createImage() {
+    int rowStride = WIDTH + ROW_PADDING;
+    ByteBuffer yBuffer = ByteBuffer.allocateDirect(rowStride * (HEIGHT - 1) + WIDTH);
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        yBuffer.put(y * rowStride + x, luma(x, y));
+      }
+    }
+    int chromaSize = rowStride * (HEIGHT / 2 - 1) + WIDTH - 1;
+    ByteBuffer uBuffer = ByteBuffer.allocateDirect(chromaSize);
+    ByteBuffer vBuffer = ByteBuffer.allocateDirect(chromaSize);
+    for (int y = 0; y < HEIGHT / 2; y++) {
+      for (int x = 0; x < WIDTH / 2; x++) {
+        uBuffer.put(y * rowStride + 2 * x, u(x, y));
+        vBuffer.put(y * rowStride + 2 * x, v(x, y));
+      }
+    }
+
+    Image image = mock(Image.class);
+    when(image.getWidth()).thenReturn(WIDTH);
+    when(image.getHeight()).thenReturn(HEIGHT);
+    when(image.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    Image.Plane[] planes = {
+      mockPlane(yBuffer, rowStride, 1),
+      mockPlane(uBuffer, rowStride, 2),
+      mockPlane(vBuffer, rowStride, 2)
+    };
+    when(image.getPlanes()).thenReturn(planes);
+    return image;
+  }
+
+  private static Image.Plane mockPlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  private static byte[] planeBytes(List<Map<String, Object>> planes, int index) {
+    return (byte[]) planes.get(index).get("bytes");
+  }
+
+  @Test
+  public void process_cropsAndSubsamplesLuma() {
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(2, 4, 8, 6, 2, true, false), 0);
+
+    List<Map<String, Object>> planes = processor.process(createImage(), ImageFormat.YUV_420_888);
+
+    assertEquals(1, planes.size());
+    assertEquals(4, processor.getOutputWidth());
+    assertEquals(3, processor.getOutputHeight());
+    assertEquals(4, planes.get(0).get("bytesPerRow"));
+    assertEquals(1, planes.get(0).get("bytesPerPixel"));
+    byte[] expected = new byte[12];
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 4; col++) {
+        expected[row * 4 + col] = luma(2 + 2 * col, 4 + 2 * row);
+      }
+    }
+    assertArrayEquals(expected, planeBytes(planes, 0));
+  }
+
+  @Test
+  public void process_rotatesLumaBySensorOrientation() {
+    // 4x2 region, rotated clockwise into a 2x4 output.
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(0, 0, 4, 2, 1, true, true), 90);
+
+    List<Map<String, Object>> planes = processor.process(createImage(), ImageFormat.YUV_420_888);
+
+    assertEquals(2, processor.getOutputWidth());
+    assertEquals(4, processor.getOutputHeight());
+    assertArrayEquals(
+        new byte[] {
+          luma(0, 1), luma(0, 0),
+          luma(1, 1), luma(1, 0),
+          luma(2, 1), luma(2, 0),
+          luma(3, 1), luma(3, 0)
+        },
+        planeBytes(planes, 0));
+  }
+
+  @Test
+  public void process_rotates180And270Degrees() {
+    Image image = createImage();
+    ImageStreamProcessor rotate180 =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(0, 0, 3, 2, 1, true, true), 180);
+    assertArrayEquals(
+        new byte[] {
+          luma(2, 1), luma(1, 1), luma(0, 1),
+          luma(2, 0), luma(1, 0), luma(0, 0)
+        },
+        planeBytes(rotate180.process(image, ImageFormat.YUV_420_888), 0));
+
+    ImageStreamProcessor rotate270 =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(0, 0, 3, 2, 1, true, true), 270);
+    assertArrayEquals(
+        new byte[] {
+          luma(2, 0), luma(2, 1),
+          luma(1, 0), luma(1, 1),
+          luma(0, 0), luma(0, 1)
+        },
+        planeBytes(rotate270.process(image, ImageFormat.YUV_420_888), 0));
+  }
+
+  @Test
+  public void process_ignoresSensorOrientationWhenRotationIsNotRequested() {
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(0, 0, 0, 0, 1, true, false), 90);
+
+    processor.process(createImage(), ImageFormat.YUV_420_888);
+
+    assertEquals(WIDTH, processor.getOutputWidth());
+    assertEquals(HEIGHT, processor.getOutputHeight());
+  }
+
+  @Test
+  public void process_sendsPlanarChromaForYuv420() {
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(4, 2, 8, 8, 2, false, false), 0);
+
+    List<Map<String, Object>> planes = processor.process(createImage(), ImageFormat.YUV_420_888);
+
+    assertEquals(3, planes.size());
+    assertEquals(4, processor.getOutputWidth());
+    assertEquals(4, processor.getOutputHeight());
+    assertEquals(2, planes.get(1).get("bytesPerRow"));
+    assertArrayEquals(new byte[] {u(2, 1), u(4, 1), u(2, 3), u(4, 3)}, planeBytes(planes, 1));
+    assertArrayEquals(new byte[] {v(2, 1), v(4, 1), v(2, 3), v(4, 3)}, planeBytes(planes, 2));
+  }
+
+  @Test
+  public void process_interleavesChromaForNv21() {
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(0, 0, 4, 4, 1, false, false), 0);
+
+    List<Map<String, Object>> planes = processor.process(createImage(), ImageFormat.NV21);
+
+    assertEquals(1, planes.size());
+    byte[] nv21 = planeBytes(planes, 0);
+    assertEquals(ImageStreamReaderUtils.getNV21Size(4, 4), nv21.length);
+    byte[] chroma = new byte[8];
+    System.arraycopy(nv21, 16, chroma, 0, 8);
+    assertArrayEquals(
+        new byte[] {v(0, 0), u(0, 0), v(1, 0), u(1, 0), v(0, 1), u(0, 1), v(1, 1), u(1, 1)},
+        chroma);
+  }
+
+  @Test
+  public void process_alignsRegionToChromaSamples() {
+    // An odd region is aligned down so that every luma sample has matching chroma.
+    ImageStreamProcessor processor =
+        new ImageStreamProcessor(new ImageStreamProcessingOptions(3, 3, 7, 7, 1, false, false), 0);
+
+    List<Map<String, Object>> planes = processor.process(createImage(), ImageFormat.YUV_420_888);
+
+    assertEquals(6, processor.getOutputWidth());
+    assertEquals(6, processor.getOutputHeight());
+    assertEquals(36, planeBytes(planes, 0).length);
+    assertEquals(luma(2, 2), planeBytes(planes, 0)[0]);
+    assertEquals(9, planeBytes(planes, 1).length);
+  }
+
+  @Test
+  public void fromMap_returnsNullWithoutProcessing() {
+    assertNull(ImageStreamProcessingOptions.fromMap(null));
+  }
+}
@@ -5,19 +5,29 @@
 package io.flutter.plugins.camera.media;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.graphics.ImageFormat;
 import android.media.Image;
 import android.media.ImageReader;
+import android.os.Looper;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
@@ -162,4 +172,130 @@ public class ImageStreamReaderTest {
     // Make sure we processed the frame with parsePlanesForYuvOrJpeg
     verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
   }
+
+  /** Creates a 3-plane YUV420 image whose planes return a fresh view on shared buffers. */
+  private static Image createYuvImage(int width, int height) {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(width);
+    when(mockImage.getHeight()).thenReturn(height);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+
+    ByteBuffer yBuffer = ByteBuffer.allocate(width * height);
+    ByteBuffer uBuffer = ByteBuffer.allocate(width * height / 2 - 1);
+    ByteBuffer vBuffer = ByteBuffer.allocate(width * height / 2 - 1);
+
+    Image.Plane planeY = mock(Image.Plane.class);
+    Image.Plane planeU = mock(Image.Plane.class);
+    Image.Plane planeV = mock(Image.Plane.class);
+    when(planeY.getBuffer()).thenAnswer(invocation -> yBuffer.duplicate());
+    when(planeU.getBuffer()).thenAnswer(invocation -> uBuffer.duplicate());
+    when(planeV.getBuffer()).thenAnswer(invocation -> vBuffer.duplicate());
+    when(planeY.getRowStride()).thenReturn(width);
+    when(planeU.getRowStride()).thenReturn(width);
+    when(planeV.getRowStride()).thenReturn(width);
+    when(planeY.getPixelStride()).thenReturn(1);
+    when(planeU.getPixelStride()).thenReturn(2);
+    when(planeV.getPixelStride()).thenReturn(2);
+
+    Image.Plane[] planes = {planeY, planeU, planeV};
+    when(mockImage.getPlanes()).thenReturn(planes);
+    return mockImage;
+  }
+
+  /** Streams {@code frameCount} frames and returns every plane array that was sent to Dart. */
+  @SuppressWarnings("unchecked")
+  private static Set<byte[]> streamFramesAndCollectPlaneBytes(
+      ImageStreamReader imageStreamReader, Image image, int frameCount) {
+    Set<byte[]> sentPlaneBytes = Collections.newSetFromMap(new IdentityHashMap<>());
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    doAnswer(
+            invocation -> {
+              Map<String, Object> frame = invocation.getArgument(0);
+              for (Map<String, Object> plane : (List<Map<String, Object>>) frame.get("planes")) {
+                sentPlaneBytes.add((byte[]) plane.get("bytes"));
+              }
+              return null;
+            })
+        .when(mockEventSink)
+        .success(any());
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    for (int i = 0; i < frameCount; i++) {
+      imageStreamReader.onImageAvailable(image, mockCaptureProps, mockEventSink);
+      shadowOf(Looper.getMainLooper()).idle();
+    }
+    verify(mockEventSink, times(frameCount)).success(any());
+    return sentPlaneBytes;
+  }
+
+  /** With a buffer pool, streaming YUV420 frames reuses the plane arrays of the ring. */
+  @Test
+  public void onImageAvailable_reusesPooledBuffersForYuv420() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    imageStreamReader.setBufferPoolSize(2);
+
+    Set<byte[]> sentPlaneBytes =
+        streamFramesAndCollectPlaneBytes(imageStreamReader, createYuvImage(64, 48), 30);
+
+    // Two frames of three planes each, no matter how many frames were streamed.
+    assertEquals(6, sentPlaneBytes.size());
+    assertEquals(2, imageStreamReader.getBufferPool().getAvailableCount());
+  }
+
+  /** With a buffer pool, converting to NV21 writes every frame into the arrays of the ring. */
+  @Test
+  public void onImageAvailable_reusesPooledBuffersForNv21() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.NV21, new ImageStreamReaderUtils());
+    imageStreamReader.setBufferPoolSize(2);
+
+    Set<byte[]> sentPlaneBytes =
+        streamFramesAndCollectPlaneBytes(imageStreamReader, createYuvImage(64, 48), 30);
+
+    assertEquals(2, sentPlaneBytes.size());
+    for (byte[] bytes : sentPlaneBytes) {
+      assertEquals(ImageStreamReaderUtils.getNV21Size(64, 48), bytes.length);
+    }
+  }
+
+  /** Without a buffer pool, every frame is sent in newly allocated arrays. */
+  @Test
+  public void onImageAvailable_allocatesNewBuffersWithoutPool() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    assertNull(imageStreamReader.getBufferPool());
+
+    Set<byte[]> sentPlaneBytes =
+        streamFramesAndCollectPlaneBytes(imageStreamReader, createYuvImage(64, 48), 5);
+
+    assertEquals(15, sentPlaneBytes.size());
+  }
+
+  /** Frames arriving while every pooled frame is waiting to be delivered are dropped. */
+  @Test
+  public void onImageAvailable_dropsFramesWhenPoolIsExhausted() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, new ImageStreamReaderUtils());
+    imageStreamReader.setBufferPoolSize(2);
+    Image image = createYuvImage(64, 48);
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    // The main thread does not get a chance to deliver any frame in between.
+    imageStreamReader.onImageAvailable(image, mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(image, mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(image, mockCaptureProps, mockEventSink);
+    assertEquals(0, imageStreamReader.getBufferPool().getAvailableCount());
+
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(mockEventSink, times(2)).success(any());
+    verify(image, times(3)).close();
+    assertEquals(2, imageStreamReader.getBufferPool().getAvailableCount());
+  }
 }
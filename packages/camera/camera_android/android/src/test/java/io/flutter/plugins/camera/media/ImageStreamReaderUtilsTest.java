@@ -96,4 +96,52 @@ public class ImageStreamReaderUtilsTest {
         ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
         result.limit());
   }
+
+  /** Ensure that the conversion matches the per-pixel reference for realistic plane layouts. */
+  @Test
+  public void yuv420ThreePlanesToNV21_matchesReferenceForRealisticLayouts() {
+    for (Yuv420TestImages.Layout layout : Yuv420TestImages.REALISTIC_LAYOUTS) {
+      Image image = Yuv420TestImages.create(layout, 42);
+      byte[] expected =
+          Yuv420TestImages.referenceNv21(image.getPlanes(), image.getWidth(), image.getHeight());
+      rewindPlanes(image);
+
+      ByteBuffer result =
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+              image.getPlanes(), image.getWidth(), image.getHeight());
+
+      Assert.assertArrayEquals(layout.toString(), expected, result.array());
+    }
+  }
+
+  /** Ensure that converting into a reused array overwrites the previous frame entirely. */
+  @Test
+  public void yuv420ThreePlanesToNV21_reusesOutputArray() {
+    Yuv420TestImages.Layout layout = Yuv420TestImages.REALISTIC_LAYOUTS[1];
+    byte[] out = new byte[ImageStreamReaderUtils.getNV21Size(layout.width, layout.height)];
+
+    for (long seed = 0; seed < 3; seed++) {
+      Image image = Yuv420TestImages.create(layout, seed);
+      byte[] expected =
+          Yuv420TestImages.referenceNv21(image.getPlanes(), image.getWidth(), image.getHeight());
+      rewindPlanes(image);
+
+      imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+          image.getPlanes(), image.getWidth(), image.getHeight(), out);
+
+      Assert.assertArrayEquals(expected, out);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void yuv420ThreePlanesToNV21_throwsWhenOutputArrayIsTooSmall() {
+    Image image = getImage(160, 120, 0);
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(image.getPlanes(), 160, 120, new byte[100]);
+  }
+
+  private static void rewindPlanes(Image image) {
+    for (Image.Plane plane : image.getPlanes()) {
+      plane.getBuffer().rewind();
+    }
+  }
 }
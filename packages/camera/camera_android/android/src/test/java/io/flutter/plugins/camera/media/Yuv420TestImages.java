@@ -0,0 +1,175 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/** Builds YUV_420_888 test images with realistic plane layouts. */
+final class Yuv420TestImages {
+  private Yuv420TestImages() {}
+
+  /** Describes how the planes of a YUV_420_888 image are laid out in memory. */
+  static final class Layout {
+    final String name;
+    final int width;
+    final int height;
+    final int rowPadding;
+    final int chromaPixelStride;
+    final boolean interleavedVu;
+
+    /**
+     * @param name a description of the layout.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param rowPadding the number of padding bytes at the end of every row.
+     * @param chromaPixelStride 1 for planar chroma planes, 2 for semi-planar chroma planes.
+     * @param interleavedVu whether the U and V planes share one VU interleaved buffer, as NV21.
+     */
+    Layout(
+        String name,
+        int width,
+        int height,
+        int rowPadding,
+        int chromaPixelStride,
+        boolean interleavedVu) {
+      this.name = name;
+      this.width = width;
+      this.height = height;
+      this.rowPadding = rowPadding;
+      this.chromaPixelStride = chromaPixelStride;
+      this.interleavedVu = interleavedVu;
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  /** Layouts commonly reported by camera HALs. */
+  static final Layout[] REALISTIC_LAYOUTS = {
+    new Layout("640x480 NV21 interleaved", 640, 480, 0, 2, true),
+    new Layout("1280x720 semi-planar, 256 row padding", 1280, 720, 256, 2, false),
+    new Layout("1280x720 NV21 interleaved, 256 row padding", 1280, 720, 256, 2, true),
+    new Layout("1920x1080 semi-planar, 64 row padding", 1920, 1080, 64, 2, false),
+    new Layout("1920x1080 planar (I420)", 1920, 1080, 0, 1, false),
+    new Layout("176x144 planar, 16 row padding", 176, 144, 16, 1, false),
+  };
+
+  /** Creates an image with the given layout filled with random pixel values. */
+  static Image create(Layout layout, long seed) {
+    Random random = new Random(seed);
+    int width = layout.width;
+    int height = layout.height;
+    int yRowStride = width + layout.rowPadding;
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+
+    // The last row of a plane is not padded.
+    byte[] y = new byte[yRowStride * (height - 1) + width];
+    random.nextBytes(y);
+
+    ByteBuffer uBuffer;
+    ByteBuffer vBuffer;
+    int chromaRowStride;
+    if (layout.chromaPixelStride == 2) {
+      chromaRowStride = yRowStride;
+      int chromaSize = chromaRowStride * (chromaHeight - 1) + chromaWidth * 2 - 1;
+      if (layout.interleavedVu) {
+        // A single VUVU... buffer, U starting one byte after V.
+        byte[] vu = new byte[chromaSize + 1];
+        random.nextBytes(vu);
+        ByteBuffer shared = ByteBuffer.allocateDirect(vu.length);
+        shared.put(vu);
+        shared.position(0).limit(chromaSize);
+        vBuffer = shared.slice();
+        shared.position(1).limit(chromaSize + 1);
+        uBuffer = shared.slice();
+      } else {
+        uBuffer = randomDirectBuffer(random, chromaSize);
+        vBuffer = randomDirectBuffer(random, chromaSize);
+      }
+    } else {
+      chromaRowStride = chromaWidth + layout.rowPadding / 2;
+      int chromaSize = chromaRowStride * (chromaHeight - 1) + chromaWidth;
+      uBuffer = randomDirectBuffer(random, chromaSize);
+      vBuffer = randomDirectBuffer(random, chromaSize);
+    }
+    ByteBuffer yBuffer = ByteBuffer.allocateDirect(y.length);
+    yBuffer.put(y);
+    yBuffer.rewind();
+
+    Image image = mock(Image.class);
+    when(image.getWidth()).thenReturn(width);
+    when(image.getHeight()).thenReturn(height);
+    when(image.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+    Image.Plane[] planes = {
+      mockPlane(yBuffer, yRowStride, 1),
+      mockPlane(uBuffer, chromaRowStride, layout.chromaPixelStride),
+      mockPlane(vBuffer, chromaRowStride, layout.chromaPixelStride)
+    };
+    when(image.getPlanes()).thenReturn(planes);
+    return image;
+  }
+
+  private static ByteBuffer randomDirectBuffer(Random random, int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+    buffer.put(bytes);
+    buffer.rewind();
+    return buffer;
+  }
+
+  private static Image.Plane mockPlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  /**
+   * Reference YUV_420_888 to NV21 conversion, copying every pixel with an indexed read as the
+   * original MLKit sample does.
+   */
+  static byte[] referenceNv21(Image.Plane[] planes, int width, int height) {
+    int imageSize = width * height;
+    byte[] out = new byte[imageSize + 2 * (imageSize / 4)];
+    referenceUnpackPlane(planes[0], width, height, out, 0, 1);
+    referenceUnpackPlane(planes[1], width, height, out, imageSize + 1, 2);
+    referenceUnpackPlane(planes[2], width, height, out, imageSize, 2);
+    return out;
+  }
+
+  private static void referenceUnpackPlane(
+      Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride) {
+    ByteBuffer buffer = plane.getBuffer();
+    buffer.rewind();
+    int numRow = (buffer.limit() + plane.getRowStride() - 1) / plane.getRowStride();
+    if (numRow == 0) {
+      return;
+    }
+    int scaleFactor = height / numRow;
+    int numCol = width / scaleFactor;
+    int outputPos = offset;
+    int rowStart = 0;
+    for (int row = 0; row < numRow; row++) {
+      int inputPos = rowStart;
+      for (int col = 0; col < numCol; col++) {
+        out[outputPos] = buffer.get(inputPos);
+        outputPos += pixelStride;
+        inputPos += plane.getPixelStride();
+      }
+      rowStart += plane.getRowStride();
+    }
+  }
+}
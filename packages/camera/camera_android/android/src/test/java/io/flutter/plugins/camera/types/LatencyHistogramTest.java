@@ -0,0 +1,86 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void getPercentile_returnsZeroWithoutValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(0, histogram.getMean());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void getPercentile_isExactForSmallValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+
+    assertEquals(5, histogram.getPercentile(50));
+    assertEquals(10, histogram.getPercentile(95));
+    assertEquals(1, histogram.getMin());
+    assertEquals(10, histogram.getMax());
+    assertEquals(5, histogram.getMean());
+  }
+
+  @Test
+  public void getPercentile_isWithinRelativeErrorForLargeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    // 1 ms to 1 s.
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    assertWithinRelativeError(500_000, histogram.getPercentile(50));
+    assertWithinRelativeError(950_000, histogram.getPercentile(95));
+    assertWithinRelativeError(990_000, histogram.getPercentile(99));
+    assertEquals(1_000_000, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void getPercentile_neverExceedsMax() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1_000_001);
+
+    assertEquals(1_000_001, histogram.getPercentile(50));
+    assertEquals(1_000_001, histogram.getPercentile(99));
+  }
+
+  @Test
+  public void record_clampsNegativeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void reset_removesAllValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(42);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(99));
+    assertEquals(0, histogram.getMin());
+  }
+
+  private static void assertWithinRelativeError(long expected, long actual) {
+    assertTrue(
+        "expected " + expected + " but was " + actual,
+        Math.abs(actual - expected) <= expected / 16);
+  }
+}
@@ -0,0 +1,198 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.cameraexample;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import android.os.Bundle;
+import androidx.test.platform.app.InstrumentationRegistry;
+import io.flutter.plugins.camera.media.ImageStreamReaderUtils;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Measures on a device the cost of the YUV_420_888 to NV21 conversion against a per-pixel
+ * reference, over the plane layouts commonly reported by camera HALs.
+ *
+ * <p>Each conversion is warmed up before being measured. The average time per frame of each layout
+ * is reported as instrumentation status values rather than asserted, as it depends on the device.
+ */
+public class ImageStreamReaderUtilsBenchmark {
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 20;
+
+  /** Describes how the planes of a YUV_420_888 image are laid out in memory. */
+  private static final class Layout {
+    final String name;
+    final int width;
+    final int height;
+    final int rowPadding;
+    final int chromaPixelStride;
+    final boolean interleavedVu;
+
+    Layout(
+        String name,
+        int width,
+        int height,
+        int rowPadding,
+        int chromaPixelStride,
+        boolean interleavedVu) {
+      this.name = name;
+      this.width = width;
+      this.height = height;
+      this.rowPadding = rowPadding;
+      this.chromaPixelStride = chromaPixelStride;
+      this.interleavedVu = interleavedVu;
+    }
+  }
+
+  private static final Layout[] LAYOUTS = {
+    new Layout("640x480NV21", 640, 480, 0, 2, true),
+    new Layout("1280x720SemiPlanarPadded", 1280, 720, 256, 2, false),
+    new Layout("1280x720NV21Padded", 1280, 720, 256, 2, true),
+    new Layout("1920x1080SemiPlanarPadded", 1920, 1080, 64, 2, false),
+    new Layout("1920x1080Planar", 1920, 1080, 0, 1, false),
+    new Layout("176x144PlanarPadded", 176, 144, 16, 1, false),
+  };
+
+  private interface Conversion {
+    void convert(Image.Plane[] planes, int width, int height, byte[] out);
+  }
+
+  @Test
+  public void measureYuv420ThreePlanesToNV21() {
+    final ImageStreamReaderUtils utils = new ImageStreamReaderUtils();
+    final Bundle results = new Bundle();
+    for (Layout layout : LAYOUTS) {
+      final Image.Plane[] planes = createPlanes(layout, 7);
+      final byte[] out = new byte[ImageStreamReaderUtils.getNV21Size(layout.width, layout.height)];
+
+      results.putLong(
+          layout.name + ".referenceNanosPerFrame",
+          measure(layout, planes, out, ImageStreamReaderUtilsBenchmark::referenceNv21));
+      results.putLong(
+          layout.name + ".converterNanosPerFrame",
+          measure(layout, planes, out, utils::yuv420ThreePlanesToNV21));
+    }
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+  }
+
+  /** Returns the average time of {@code conversion} in nanoseconds per frame. */
+  private static long measure(
+      Layout layout, Image.Plane[] planes, byte[] out, Conversion conversion) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      rewindPlanes(planes);
+      conversion.convert(planes, layout.width, layout.height, out);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      rewindPlanes(planes);
+      conversion.convert(planes, layout.width, layout.height, out);
+    }
+    return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+  }
+
+  private static void rewindPlanes(Image.Plane[] planes) {
+    for (Image.Plane plane : planes) {
+      plane.getBuffer().rewind();
+    }
+  }
+
+  /** Creates the planes of an image with the given layout, filled with random pixel values. */
+  private static Image.Plane[] createPlanes(Layout layout, long seed) {
+    final Random random = new Random(seed);
+    final int yRowStride = layout.width + layout.rowPadding;
+    final int chromaWidth = layout.width / 2;
+    final int chromaHeight = layout.height / 2;
+
+    // The last row of a plane is not padded.
+    final ByteBuffer yBuffer =
+        randomDirectBuffer(random, yRowStride * (layout.height - 1) + layout.width);
+    final ByteBuffer uBuffer;
+    final ByteBuffer vBuffer;
+    final int chromaRowStride;
+    if (layout.chromaPixelStride == 2) {
+      chromaRowStride = yRowStride;
+      final int chromaSize = chromaRowStride * (chromaHeight - 1) + chromaWidth * 2 - 1;
+      if (layout.interleavedVu) {
+        // A single VUVU... buffer, U starting one byte after V.
+        final ByteBuffer shared = randomDirectBuffer(random, chromaSize + 1);
+        shared.position(0).limit(chromaSize);
+        vBuffer = shared.slice();
+        shared.position(1).limit(chromaSize + 1);
+        uBuffer = shared.slice();
+      } else {
+        uBuffer = randomDirectBuffer(random, chromaSize);
+        vBuffer = randomDirectBuffer(random, chromaSize);
+      }
+    } else {
+      chromaRowStride = chromaWidth + layout.rowPadding / 2;
+      final int chromaSize = chromaRowStride * (chromaHeight - 1) + chromaWidth;
+      uBuffer = randomDirectBuffer(random, chromaSize);
+      vBuffer = randomDirectBuffer(random, chromaSize);
+    }
+    return new Image.Plane[] {
+      mockPlane(yBuffer, yRowStride, 1),
+      mockPlane(uBuffer, chromaRowStride, layout.chromaPixelStride),
+      mockPlane(vBuffer, chromaRowStride, layout.chromaPixelStride)
+    };
+  }
+
+  private static ByteBuffer randomDirectBuffer(Random random, int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+    buffer.put(bytes);
+    buffer.rewind();
+    return buffer;
+  }
+
+  private static Image.Plane mockPlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    final Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  /**
+   * Converts YUV_420_888 to NV21 by copying every pixel with an indexed read, as the original MLKit
+   * sample does.
+   */
+  private static void referenceNv21(Image.Plane[] planes, int width, int height, byte[] out) {
+    final int imageSize = width * height;
+    referenceUnpackPlane(planes[0], width, height, out, 0, 1);
+    referenceUnpackPlane(planes[1], width, height, out, imageSize + 1, 2);
+    referenceUnpackPlane(planes[2], width, height, out, imageSize, 2);
+  }
+
+  private static void referenceUnpackPlane(
+      Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride) {
+    final ByteBuffer buffer = plane.getBuffer();
+    buffer.rewind();
+    final int rowStride = plane.getRowStride();
+    final int inputPixelStride = plane.getPixelStride();
+    final int numRow = (buffer.limit() + rowStride - 1) / rowStride;
+    if (numRow == 0) {
+      return;
+    }
+    final int scaleFactor = height / numRow;
+    final int numCol = width / scaleFactor;
+    int outputPos = offset;
+    int rowStart = 0;
+    for (int row = 0; row < numRow; row++) {
+      int inputPos = rowStart;
+      for (int col = 0; col < numCol; col++) {
+        out[outputPos] = buffer.get(inputPos);
+        outputPos += pixelStride;
+        inputPos += inputPixelStride;
+      }
+      rowStart += rowStride;
+    }
+  }
+}
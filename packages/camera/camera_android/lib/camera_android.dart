@@ -3,3 +3,6 @@
 // found in the LICENSE file.
 
 export 'src/android_camera.dart';
+export 'src/burst_capture.dart';
+export 'src/capture_latency.dart';
+export 'src/image_stream_options.dart';
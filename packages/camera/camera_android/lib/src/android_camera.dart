@@ -11,6 +11,9 @@ import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'burst_capture.dart';
+import 'capture_latency.dart';
+import 'image_stream_options.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
 
@@ -260,6 +263,30 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// Captures a burst of [count] pictures with the same settings.
+  ///
+  /// Several pictures of the burst are saved at the same time, away from the
+  /// thread driving the capture. The pictures are returned in capture order
+  /// once all of them are saved.
+  Future<List<AndroidBurstPicture>> takePictureBurst(
+      int cameraId, int count) async {
+    final List<Map<Object?, Object?>>? pictures =
+        await _channel.invokeListMethod<Map<Object?, Object?>>(
+      'takePictureBurst',
+      <String, dynamic>{'cameraId': cameraId, 'count': count},
+    );
+
+    return pictures!
+        .map((Map<Object?, Object?> picture) => AndroidBurstPicture(
+              file: XFile(picture['path']! as String),
+              captureLatency: Duration(
+                  microseconds: picture['captureLatencyMicros']! as int),
+              saveLatency:
+                  Duration(microseconds: picture['saveLatencyMicros']! as int),
+            ))
+        .toList();
+  }
+
   @override
   Future<void> prepareForVideoRecording() =>
       _channel.invokeMethod<void>('prepareForVideoRecording');
@@ -320,7 +347,9 @@ class AndroidCamera extends CameraPlatform {
   @override
   Stream<CameraImageData> onStreamedFrameAvailable(int cameraId,
       {CameraImageStreamOptions? options}) {
-    _installStreamController(onListen: _onFrameStreamListen);
+    _installStreamController(
+        onListen: () => _onFrameStreamListen(
+            options is AndroidCameraImageStreamOptions ? options : null));
     return _frameStreamController!.stream;
   }
 
@@ -335,12 +364,14 @@ class AndroidCamera extends CameraPlatform {
     return _frameStreamController!;
   }
 
-  void _onFrameStreamListen() {
-    _startPlatformStream();
+  void _onFrameStreamListen(AndroidCameraImageStreamOptions? options) {
+    _startPlatformStream(options);
   }
 
-  Future<void> _startPlatformStream() async {
-    await _channel.invokeMethod<void>('startImageStream');
+  Future<void> _startPlatformStream(
+      AndroidCameraImageStreamOptions? options) async {
+    await _channel.invokeMethod<void>(
+        'startImageStream', options?.toPlatformArguments());
     _startStreamListener();
   }
 
@@ -361,6 +392,53 @@ class AndroidCamera extends CameraPlatform {
     _frameStreamController = null;
   }
 
+  /// Returns the latency statistics of the still captures of the camera.
+  ///
+  /// The recorded latencies are removed once returned when [reset] is true.
+  Future<AndroidCaptureLatencyStatistics> getCaptureLatencyStatistics(
+      int cameraId,
+      {bool reset = false}) async {
+    final Map<String, dynamic>? statistics =
+        await _channel.invokeMapMethod<String, dynamic>(
+      'getCaptureLatencyStatistics',
+      <String, dynamic>{'cameraId': cameraId, 'reset': reset},
+    );
+
+    final Map<Object?, Object?> stages =
+        statistics!['stages']! as Map<Object?, Object?>;
+    return AndroidCaptureLatencyStatistics(
+      stages: stages.map((Object? stage, Object? percentiles) =>
+          MapEntry<String, AndroidLatencyPercentiles>(
+              stage! as String,
+              AndroidLatencyPercentiles.fromPlatformMap(
+                  percentiles! as Map<Object?, Object?>))),
+      focusTimeouts: statistics['focusTimeouts']! as int,
+      meteringTimeouts: statistics['meteringTimeouts']! as int,
+      focusTimeout: Duration(
+          milliseconds: statistics['preCaptureFocusingTimeoutMs']! as int),
+      meteringTimeout: Duration(
+          milliseconds: statistics['preCaptureMeteringTimeoutMs']! as int),
+    );
+  }
+
+  /// Returns the frame counters of the image stream of the camera.
+  ///
+  /// Counters are reset every time an image stream starts.
+  Future<AndroidImageStreamStatistics> getImageStreamStatistics(
+      int cameraId) async {
+    final Map<String, dynamic>? statistics =
+        await _channel.invokeMapMethod<String, dynamic>(
+      'getImageStreamStatistics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+
+    return AndroidImageStreamStatistics(
+      producedFrames: statistics!['producedFrames']! as int,
+      deliveredFrames: statistics['deliveredFrames']! as int,
+      droppedFrames: statistics['droppedFrames']! as int,
+    );
+  }
+
   void _onFrameStreamPauseResume() {
     throw CameraException('InvalidCall',
         'Pause and resume are not supported for onStreamedFrameAvailable');
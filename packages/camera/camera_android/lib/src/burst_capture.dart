@@ -0,0 +1,27 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// A picture of a burst captured with `AndroidCamera.takePictureBurst`.
+@immutable
+class AndroidBurstPicture {
+  /// Creates a new burst picture.
+  const AndroidBurstPicture({
+    required this.file,
+    required this.captureLatency,
+    required this.saveLatency,
+  });
+
+  /// The file the picture was saved into.
+  final XFile file;
+
+  /// The time between the burst capture request and the picture being
+  /// available.
+  final Duration captureLatency;
+
+  /// The time between the picture being available and its file being written.
+  final Duration saveLatency;
+}
@@ -0,0 +1,88 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// The latency distribution of one stage of Android still captures.
+@immutable
+class AndroidLatencyPercentiles {
+  /// Creates a new latency distribution.
+  const AndroidLatencyPercentiles({
+    required this.count,
+    required this.mean,
+    required this.p50,
+    required this.p95,
+    required this.p99,
+    required this.max,
+  });
+
+  /// Creates a latency distribution from the map sent by the platform.
+  factory AndroidLatencyPercentiles.fromPlatformMap(Map<Object?, Object?> map) {
+    Duration micros(String key) => Duration(microseconds: map[key]! as int);
+    return AndroidLatencyPercentiles(
+      count: map['count']! as int,
+      mean: micros('meanMicros'),
+      p50: micros('p50Micros'),
+      p95: micros('p95Micros'),
+      p99: micros('p99Micros'),
+      max: micros('maxMicros'),
+    );
+  }
+
+  /// The number of measured captures.
+  final int count;
+
+  /// The mean latency.
+  final Duration mean;
+
+  /// The median latency.
+  final Duration p50;
+
+  /// The 95th percentile latency.
+  final Duration p95;
+
+  /// The 99th percentile latency.
+  final Duration p99;
+
+  /// The largest latency.
+  final Duration max;
+}
+
+/// Where the time of Android still captures goes, from the picture being
+/// requested to the result being delivered.
+///
+/// Percentiles are reported with a relative error of at most 1/16.
+@immutable
+class AndroidCaptureLatencyStatistics {
+  /// Creates a new set of capture latency statistics.
+  const AndroidCaptureLatencyStatistics({
+    required this.stages,
+    required this.focusTimeouts,
+    required this.meteringTimeouts,
+    required this.focusTimeout,
+    required this.meteringTimeout,
+  });
+
+  /// The latency of every stage of a capture.
+  ///
+  /// The stages are `waitingFocus`, `waitingPrecaptureStart`,
+  /// `waitingPrecaptureDone` and `capturing` for the states of the capture
+  /// sequence, `imageSave` for writing the picture, `resultDelivery` for
+  /// delivering the result and `total` for the whole capture.
+  final Map<String, AndroidLatencyPercentiles> stages;
+
+  /// The number of captures that moved on without focus being locked because
+  /// [focusTimeout] expired.
+  final int focusTimeouts;
+
+  /// The number of times a capture moved on without exposure converging
+  /// because [meteringTimeout] expired.
+  final int meteringTimeouts;
+
+  /// How long a capture waits for focus to be locked.
+  final Duration focusTimeout;
+
+  /// How long a capture waits for exposure metering.
+  final Duration meteringTimeout;
+}
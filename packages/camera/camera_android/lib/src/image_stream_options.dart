@@ -0,0 +1,168 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// Decides which frames of an image stream are delivered when the camera
+/// produces frames faster than they can be delivered.
+enum ImageStreamDeliveryMode {
+  /// Every frame is delivered.
+  all,
+
+  /// Only the most recent frame is delivered; a frame still waiting to be
+  /// delivered is replaced by the next one.
+  latestOnly,
+
+  /// At most [AndroidCameraImageStreamOptions.maxFramesInFlight] frames wait
+  /// to be delivered; newer frames are dropped.
+  maxFramesInFlight,
+
+  /// Frames are delivered at most [AndroidCameraImageStreamOptions.targetFps]
+  /// times per second.
+  targetFps,
+}
+
+/// Android specific options for [CameraPlatform.onStreamedFrameAvailable].
+@immutable
+class AndroidCameraImageStreamOptions extends CameraImageStreamOptions {
+  /// Creates a new set of Android image stream options.
+  AndroidCameraImageStreamOptions({
+    this.bufferPoolSize = 0,
+    this.deliveryMode = ImageStreamDeliveryMode.all,
+    this.maxFramesInFlight = 1,
+    this.targetFps,
+    this.processing,
+  })  : assert(bufferPoolSize >= 0),
+        assert(maxFramesInFlight >= 1),
+        assert(deliveryMode != ImageStreamDeliveryMode.targetFps ||
+            (targetFps != null && targetFps > 0));
+
+  /// The number of reusable frame buffers used to stream images.
+  ///
+  /// When greater than zero, frames are built in a fixed ring of buffers that
+  /// are reused once a frame has been sent, instead of allocating new buffers
+  /// for every frame. Frames that arrive while every buffer is still waiting
+  /// to be sent are dropped.
+  ///
+  /// Defaults to 0, which allocates new buffers for every frame.
+  final int bufferPoolSize;
+
+  /// Which frames are delivered when frames are produced faster than they can
+  /// be delivered.
+  ///
+  /// Defaults to [ImageStreamDeliveryMode.all].
+  final ImageStreamDeliveryMode deliveryMode;
+
+  /// The maximum number of frames waiting to be delivered when using
+  /// [ImageStreamDeliveryMode.maxFramesInFlight].
+  final int maxFramesInFlight;
+
+  /// The maximum number of frames delivered per second when using
+  /// [ImageStreamDeliveryMode.targetFps].
+  final double? targetFps;
+
+  /// The processing applied to frames before they are sent to Dart.
+  ///
+  /// Defaults to null, which sends full resolution frames.
+  final AndroidImageStreamProcessing? processing;
+
+  /// Converts the options to the arguments of the `startImageStream` call.
+  Map<String, dynamic> toPlatformArguments() {
+    return <String, dynamic>{
+      'bufferPoolSize': bufferPoolSize,
+      'deliveryPolicy': deliveryMode.name,
+      'maxFramesInFlight': maxFramesInFlight,
+      'targetFps': targetFps,
+      if (processing != null) 'processing': processing!.toPlatformArguments(),
+    };
+  }
+}
+
+/// Cropping, downscaling and rotation applied natively to image stream
+/// frames, so that only the pixels that are needed are sent to Dart.
+///
+/// Frames are cropped to the region of interest first, then subsampled and
+/// finally rotated. Processed frames always have tightly packed planes: YUV420
+/// frames have three planar Y, U and V planes with a pixel stride of 1, NV21
+/// frames have a single plane and [lumaOnly] frames have a single Y plane.
+///
+/// Processing only applies to YUV420 and NV21 streams; JPEG frames are sent
+/// unchanged.
+@immutable
+class AndroidImageStreamProcessing {
+  /// Creates a new set of image stream processing options.
+  const AndroidImageStreamProcessing({
+    this.cropLeft = 0,
+    this.cropTop = 0,
+    this.cropWidth = 0,
+    this.cropHeight = 0,
+    this.subsampleFactor = 1,
+    this.lumaOnly = false,
+    this.rotateToSensorOrientation = false,
+  })  : assert(cropLeft >= 0 && cropTop >= 0),
+        assert(cropWidth >= 0 && cropHeight >= 0),
+        assert(subsampleFactor >= 1);
+
+  /// The left edge of the region of interest, in pixels of the full frame.
+  final int cropLeft;
+
+  /// The top edge of the region of interest, in pixels of the full frame.
+  final int cropTop;
+
+  /// The width of the region of interest, or 0 to extend it to the right edge
+  /// of the frame.
+  final int cropWidth;
+
+  /// The height of the region of interest, or 0 to extend it to the bottom
+  /// edge of the frame.
+  final int cropHeight;
+
+  /// Keeps one pixel out of [subsampleFactor] in both dimensions.
+  ///
+  /// Unless [lumaOnly] is set, the region of interest is aligned to even
+  /// pixels and its size is rounded down to a multiple of twice the factor, so
+  /// that chroma samples line up with luma samples.
+  final int subsampleFactor;
+
+  /// Whether only the luma (Y) plane is sent.
+  final bool lumaOnly;
+
+  /// Whether frames are rotated clockwise by the sensor orientation.
+  final bool rotateToSensorOrientation;
+
+  /// Converts the options to the `processing` argument of the
+  /// `startImageStream` call.
+  Map<String, dynamic> toPlatformArguments() {
+    return <String, dynamic>{
+      'cropLeft': cropLeft,
+      'cropTop': cropTop,
+      'cropWidth': cropWidth,
+      'cropHeight': cropHeight,
+      'subsampleFactor': subsampleFactor,
+      'lumaOnly': lumaOnly,
+      'rotateToSensorOrientation': rotateToSensorOrientation,
+    };
+  }
+}
+
+/// Frame counters of an Android image stream.
+@immutable
+class AndroidImageStreamStatistics {
+  /// Creates a new set of image stream statistics.
+  const AndroidImageStreamStatistics({
+    required this.producedFrames,
+    required this.deliveredFrames,
+    required this.droppedFrames,
+  });
+
+  /// The number of frames produced by the camera since the stream started.
+  final int producedFrames;
+
+  /// The number of frames delivered to Dart since the stream started.
+  final int deliveredFrames;
+
+  /// The number of frames dropped since the stream started.
+  final int droppedFrames;
+}
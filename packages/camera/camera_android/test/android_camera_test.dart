@@ -7,6 +7,9 @@ import 'dart:math';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/burst_capture.dart';
+import 'package:camera_android/src/capture_latency.dart';
+import 'package:camera_android/src/image_stream_options.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
@@ -606,6 +609,45 @@ void main() {
       expect(file.path, '/test/path.jpg');
     });
 
+    test('Should take a burst of pictures', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'takePictureBurst': <Map<String, Object>>[
+              <String, Object>{
+                'path': '/test/path0.jpg',
+                'captureLatencyMicros': 80000,
+                'saveLatencyMicros': 12000,
+              },
+              <String, Object>{
+                'path': '/test/path1.jpg',
+                'captureLatencyMicros': 113000,
+                'saveLatencyMicros': 15000,
+              },
+            ],
+          });
+
+      // Act
+      final List<AndroidBurstPicture> pictures =
+          await camera.takePictureBurst(cameraId, 2);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('takePictureBurst', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'count': 2,
+        }),
+      ]);
+      expect(pictures.length, 2);
+      expect(pictures[0].file.path, '/test/path0.jpg');
+      expect(pictures[0].captureLatency, const Duration(milliseconds: 80));
+      expect(pictures[0].saveLatency, const Duration(milliseconds: 12));
+      expect(pictures[1].file.path, '/test/path1.jpg');
+      expect(pictures[1].captureLatency, const Duration(milliseconds: 113));
+      expect(pictures[1].saveLatency, const Duration(milliseconds: 15));
+    });
+
     test('Should prepare for video recording', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1142,6 +1184,159 @@ void main() {
       await subscription.cancel();
     });
 
+    test('Should start streaming with Android image stream options', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                bufferPoolSize: 3,
+                deliveryMode: ImageStreamDeliveryMode.targetFps,
+                targetFps: 15,
+              ))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'bufferPoolSize': 3,
+          'deliveryPolicy': 'targetFps',
+          'maxFramesInFlight': 1,
+          'targetFps': 15.0,
+        }),
+      ]);
+
+      await subscription.cancel();
+    });
+
+    test('Should start streaming with image stream processing', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'startImageStream': null,
+          'stopImageStream': null,
+        },
+      );
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId,
+              options: AndroidCameraImageStreamOptions(
+                processing: const AndroidImageStreamProcessing(
+                  cropLeft: 160,
+                  cropTop: 120,
+                  cropWidth: 320,
+                  cropHeight: 240,
+                  subsampleFactor: 2,
+                  lumaOnly: true,
+                ),
+              ))
+          .listen((CameraImageData imageData) {});
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('startImageStream', arguments: <String, Object?>{
+          'bufferPoolSize': 0,
+          'deliveryPolicy': 'all',
+          'maxFramesInFlight': 1,
+          'targetFps': null,
+          'processing': <String, Object?>{
+            'cropLeft': 160,
+            'cropTop': 120,
+            'cropWidth': 320,
+            'cropHeight': 240,
+            'subsampleFactor': 2,
+            'lumaOnly': true,
+            'rotateToSensorOrientation': false,
+          },
+        }),
+      ]);
+
+      await subscription.cancel();
+    });
+
+    test('Should get the capture latency statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getCaptureLatencyStatistics': <String, dynamic>{
+            'stages': <String, dynamic>{
+              'total': <String, dynamic>{
+                'count': 20,
+                'meanMicros': 350000,
+                'p50Micros': 340000,
+                'p95Micros': 480000,
+                'p99Micros': 510000,
+                'maxMicros': 520000,
+              },
+            },
+            'focusTimeouts': 2,
+            'meteringTimeouts': 1,
+            'preCaptureFocusingTimeoutMs': 3000,
+            'preCaptureMeteringTimeoutMs': 3000,
+          },
+        },
+      );
+
+      // Act
+      final AndroidCaptureLatencyStatistics statistics =
+          await camera.getCaptureLatencyStatistics(cameraId, reset: true);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('getCaptureLatencyStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId, 'reset': true}),
+      ]);
+      final AndroidLatencyPercentiles total = statistics.stages['total']!;
+      expect(total.count, 20);
+      expect(total.mean, const Duration(milliseconds: 350));
+      expect(total.p50, const Duration(milliseconds: 340));
+      expect(total.p95, const Duration(milliseconds: 480));
+      expect(total.p99, const Duration(milliseconds: 510));
+      expect(total.max, const Duration(milliseconds: 520));
+      expect(statistics.focusTimeouts, 2);
+      expect(statistics.meteringTimeouts, 1);
+      expect(statistics.focusTimeout, const Duration(seconds: 3));
+      expect(statistics.meteringTimeout, const Duration(seconds: 3));
+    });
+
+    test('Should get the image stream statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageStreamStatistics': <String, dynamic>{
+            'producedFrames': 30,
+            'deliveredFrames': 20,
+            'droppedFrames': 10,
+          },
+        },
+      );
+
+      // Act
+      final AndroidImageStreamStatistics statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(statistics.producedFrames, 30);
+      expect(statistics.deliveredFrames, 20);
+      expect(statistics.droppedFrames, 10);
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageStreamStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -10,6 +10,7 @@ import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageProxy;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.AnalyzerFlutterApi;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -62,6 +63,30 @@ public class AnalyzerFlutterApiImpl {
         callback);
   }
 
+  /**
+   * Sends a message to Dart to call {@code Analyzer.analyzeFrame} on the Dart object representing
+   * `instance` with the metadata and plane bytes of an image.
+   */
+  public void analyzeFrame(
+      @NonNull ImageAnalysis.Analyzer analyzerInstance,
+      @NonNull Long format,
+      @NonNull Long height,
+      @NonNull Long width,
+      @NonNull List<byte[]> planeBuffers,
+      @NonNull List<Long> pixelStrides,
+      @NonNull List<Long> rowStrides,
+      @NonNull AnalyzerFlutterApi.Reply<Void> callback) {
+    api.analyzeFrame(
+        Objects.requireNonNull(instanceManager.getIdentifierForStrongReference(analyzerInstance)),
+        format,
+        height,
+        width,
+        planeBuffers,
+        pixelStrides,
+        rowStrides,
+        callback);
+  }
+
   /**
    * Sets the Flutter API used to send messages to Dart.
    *
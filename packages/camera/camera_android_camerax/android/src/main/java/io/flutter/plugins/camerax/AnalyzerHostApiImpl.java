@@ -4,12 +4,17 @@
 
 package io.flutter.plugins.camerax;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.ImageProxy;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.AnalyzerHostApi;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Host API implementation for {@link ImageAnalysis.Analyzer}.
@@ -32,40 +37,136 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
         @NonNull BinaryMessenger binaryMessenger, @NonNull InstanceManager instanceManager) {
       return new AnalyzerImpl(binaryMessenger, instanceManager);
     }
+
+    /** Creates an instance of {@link AnalyzerImpl} that sends every image in a single message. */
+    @NonNull
+    public AnalyzerImpl createBatched(
+        @NonNull BinaryMessenger binaryMessenger, @NonNull InstanceManager instanceManager) {
+      return new AnalyzerImpl(binaryMessenger, instanceManager, true);
+    }
   }
 
   /**
    * Implementation of {@link ImageAnalysis.Analyzer} that passes arguments of callback methods to
    * Dart.
+   *
+   * <p>The analyzer may run on background threads, but messages to Dart are always sent from the
+   * main thread.
    */
   public static class AnalyzerImpl implements ImageAnalysis.Analyzer {
     private BinaryMessenger binaryMessenger;
     private InstanceManager instanceManager;
     private AnalyzerFlutterApiImpl api;
+    private final boolean batched;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     @VisibleForTesting @NonNull public ImageProxyFlutterApiImpl imageProxyApi;
 
+    @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
+
     /**
      * Constructs an instance of {@link ImageAnalysis.Analyzer} that passes arguments of callbacks
      * methods to Dart.
      */
     public AnalyzerImpl(
         @NonNull BinaryMessenger binaryMessenger, @NonNull InstanceManager instanceManager) {
+      this(binaryMessenger, instanceManager, false);
+    }
+
+    /**
+     * Constructs an instance of {@link ImageAnalysis.Analyzer} that passes arguments of callbacks
+     * methods to Dart.
+     *
+     * @param batched whether every image is sent to Dart in a single message along with the bytes
+     *     of its planes, instead of as an {@link ImageProxy} whose planes Dart requests separately
+     */
+    public AnalyzerImpl(
+        @NonNull BinaryMessenger binaryMessenger,
+        @NonNull InstanceManager instanceManager,
+        boolean batched) {
       super();
       this.binaryMessenger = binaryMessenger;
       this.instanceManager = instanceManager;
+      this.batched = batched;
       api = new AnalyzerFlutterApiImpl(binaryMessenger, instanceManager);
       imageProxyApi = new ImageProxyFlutterApiImpl(binaryMessenger, instanceManager);
     }
 
     @Override
     public void analyze(@NonNull ImageProxy imageProxy) {
+      if (batched) {
+        analyzeFrame(imageProxy);
+        return;
+      }
+
+      Long imageFormat = Long.valueOf(imageProxy.getFormat());
+      Long imageHeight = Long.valueOf(imageProxy.getHeight());
+      Long imageWidth = Long.valueOf(imageProxy.getWidth());
+      runOnMainThread(
+          () -> {
+            imageProxyApi.create(imageProxy, imageFormat, imageHeight, imageWidth, reply -> {});
+            api.analyze(this, imageProxy, reply -> {});
+          });
+    }
+
+    /**
+     * Copies the planes of {@code imageProxy} and sends them to Dart along with its metadata in a
+     * single message.
+     *
+     * <p>Neither the image nor its planes are added to the {@link InstanceManager}. The image is
+     * only closed once Dart replies to the message, so that at most one frame is in flight and the
+     * backpressure strategy of the {@link ImageAnalysis} drops the frames produced in the meantime.
+     */
+    private void analyzeFrame(@NonNull ImageProxy imageProxy) {
+      ImageProxy.PlaneProxy[] planes = imageProxy.getPlanes();
+      List<byte[]> planeBuffers = new ArrayList<>(planes.length);
+      List<Long> pixelStrides = new ArrayList<>(planes.length);
+      List<Long> rowStrides = new ArrayList<>(planes.length);
+
+      for (ImageProxy.PlaneProxy plane : planes) {
+        ByteBuffer byteBuffer = plane.getBuffer();
+        byte[] bytes = cameraXProxy.getBytesFromBuffer(byteBuffer.remaining());
+        byteBuffer.get(bytes, 0, bytes.length);
+        planeBuffers.add(bytes);
+        pixelStrides.add(Long.valueOf(plane.getPixelStride()));
+        rowStrides.add(Long.valueOf(plane.getRowStride()));
+      }
+
       Long imageFormat = Long.valueOf(imageProxy.getFormat());
       Long imageHeight = Long.valueOf(imageProxy.getHeight());
       Long imageWidth = Long.valueOf(imageProxy.getWidth());
-      imageProxyApi.create(imageProxy, imageFormat, imageHeight, imageWidth, reply -> {});
 
-      api.analyze(this, imageProxy, reply -> {});
+      runOnMainThread(
+          () -> {
+            try {
+              api.analyzeFrame(
+                  this,
+                  imageFormat,
+                  imageHeight,
+                  imageWidth,
+                  planeBuffers,
+                  pixelStrides,
+                  rowStrides,
+                  reply -> imageProxy.close());
+            } catch (RuntimeException e) {
+              // The reply will never arrive, so the image must be closed for CameraX to continue
+              // producing frames.
+              imageProxy.close();
+              throw e;
+            }
+          });
+    }
+
+    /**
+     * Runs {@code runnable} on the main thread, which messages to Dart and the {@link
+     * InstanceManager} must be accessed from.
+     */
+    private void runOnMainThread(@NonNull Runnable runnable) {
+      if (Looper.myLooper() == Looper.getMainLooper()) {
+        runnable.run();
+      } else {
+        mainHandler.post(runnable);
+      }
     }
 
     /**
@@ -116,4 +217,14 @@ public class AnalyzerHostApiImpl implements AnalyzerHostApi {
     instanceManager.addDartCreatedInstance(
         proxy.create(binaryMessenger, instanceManager), identifier);
   }
+
+  /**
+   * Creates an {@link AnalyzerProxy} that represents an {@link ImageAnalysis.Analyzer} instance
+   * with the specified identifier and sends every image to Dart in a single message.
+   */
+  @Override
+  public void createBatched(@NonNull Long identifier) {
+    instanceManager.addDartCreatedInstance(
+        proxy.createBatched(binaryMessenger, instanceManager), identifier);
+  }
 }
@@ -15,6 +15,8 @@ import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.view.TextureRegistry;
+import java.util.ArrayList;
+import java.util.List;
 
 /** Platform implementation of the camera_plugin implemented with the CameraX library. */
 public final class CameraAndroidCameraxPlugin implements FlutterPlugin, ActivityAware {
@@ -53,11 +55,25 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
       @NonNull Context context,
       @NonNull TextureRegistry textureRegistry) {
     // Set up instance manager.
+    final GeneratedCameraXLibrary.JavaObjectFlutterApi javaObjectFlutterApi =
+        new GeneratedCameraXLibrary.JavaObjectFlutterApi(binaryMessenger);
     instanceManager =
         InstanceManager.create(
-            identifier -> {
-              new GeneratedCameraXLibrary.JavaObjectFlutterApi(binaryMessenger)
-                  .dispose(identifier, reply -> {});
+            new InstanceManager.FinalizationListener() {
+              @Override
+              public void onFinalize(long identifier) {
+                javaObjectFlutterApi.dispose(identifier, reply -> {});
+              }
+
+              @Override
+              public void onFinalizeAll(@NonNull long[] identifiers) {
+                // Dispose of all garbage collected instances with a single message.
+                final List<Long> identifierList = new ArrayList<>(identifiers.length);
+                for (long identifier : identifiers) {
+                  identifierList.add(identifier);
+                }
+                javaObjectFlutterApi.disposeAll(identifierList, reply -> {});
+              }
             });
 
     // Set up Host APIs.
@@ -15,6 +15,9 @@ import androidx.camera.video.Recorder;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ResolutionInfo;
 import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Utility class used to create CameraX-related objects primarily for testing purposes. */
 public class CameraXProxy {
@@ -86,6 +89,27 @@ public class CameraXProxy {
     return new ImageAnalysis.Builder();
   }
 
+  /**
+   * Creates an executor that runs an {@link ImageAnalysis.Analyzer} on {@code threadCount}
+   * dedicated background threads.
+   *
+   * <p>The executor does not bound its own queue: CameraX only hands the analyzer as many images as
+   * its backpressure strategy and image queue depth allow. Its threads are daemon threads, so they
+   * never keep the process alive.
+   */
+  @NonNull
+  public ExecutorService createAnalyzerExecutor(int threadCount) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threadCount,
+        runnable -> {
+          Thread thread =
+              new Thread(runnable, "CameraXImageAnalysis-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
   /** Creates an array of {@code byte}s with the size provided. */
   @NonNull
   public byte[] getBytesFromBuffer(int size) {
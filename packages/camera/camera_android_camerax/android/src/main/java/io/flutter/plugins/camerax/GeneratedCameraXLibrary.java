@@ -823,6 +823,15 @@ public class GeneratedCameraXLibrary {
           new ArrayList<Object>(Collections.singletonList(identifierArg)),
           channelReply -> callback.reply(null));
     }
+
+    public void disposeAll(@NonNull List<Long> identifiersArg, @NonNull Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll", getCodec());
+      channel.send(
+          new ArrayList<Object>(Collections.singletonList(identifiersArg)),
+          channelReply -> callback.reply(null));
+    }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
   public interface CameraInfoHostApi {
@@ -2920,7 +2929,10 @@ public class GeneratedCameraXLibrary {
     void create(
         @NonNull Long identifier,
         @Nullable Long targetRotation,
-        @Nullable Long resolutionSelectorId);
+        @Nullable Long resolutionSelectorId,
+        @Nullable Long backpressureStrategy,
+        @Nullable Long imageQueueDepth,
+        @Nullable Long analyzerThreadCount);
 
     void setAnalyzer(@NonNull Long identifier, @NonNull Long analyzerIdentifier);
 
@@ -2950,13 +2962,23 @@ public class GeneratedCameraXLibrary {
                 Number identifierArg = (Number) args.get(0);
                 Number targetRotationArg = (Number) args.get(1);
                 Number resolutionSelectorIdArg = (Number) args.get(2);
+                Number backpressureStrategyArg = (Number) args.get(3);
+                Number imageQueueDepthArg = (Number) args.get(4);
+                Number analyzerThreadCountArg = (Number) args.get(5);
                 try {
                   api.create(
                       (identifierArg == null) ? null : identifierArg.longValue(),
                       (targetRotationArg == null) ? null : targetRotationArg.longValue(),
                       (resolutionSelectorIdArg == null)
                           ? null
-                          : resolutionSelectorIdArg.longValue());
+                          : resolutionSelectorIdArg.longValue(),
+                      (backpressureStrategyArg == null)
+                          ? null
+                          : backpressureStrategyArg.longValue(),
+                      (imageQueueDepthArg == null) ? null : imageQueueDepthArg.longValue(),
+                      (analyzerThreadCountArg == null)
+                          ? null
+                          : analyzerThreadCountArg.longValue());
                   wrapped.add(0, null);
                 } catch (Throwable exception) {
                   ArrayList<Object> wrappedError = wrapError(exception);
@@ -3054,6 +3076,8 @@ public class GeneratedCameraXLibrary {
 
     void create(@NonNull Long identifier);
 
+    void createBatched(@NonNull Long identifier);
+
     /** The codec used by AnalyzerHostApi. */
     static @NonNull MessageCodec<Object> getCodec() {
       return new StandardMessageCodec();
@@ -3085,6 +3109,29 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.AnalyzerHostApi.createBatched", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number identifierArg = (Number) args.get(0);
+                try {
+                  api.createBatched((identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
@@ -3400,6 +3447,31 @@ public class GeneratedCameraXLibrary {
           new ArrayList<Object>(Arrays.asList(identifierArg, imageProxyIdentifierArg)),
           channelReply -> callback.reply(null));
     }
+
+    public void analyzeFrame(
+        @NonNull Long identifierArg,
+        @NonNull Long formatArg,
+        @NonNull Long heightArg,
+        @NonNull Long widthArg,
+        @NonNull List<byte[]> planeBuffersArg,
+        @NonNull List<Long> pixelStridesArg,
+        @NonNull List<Long> rowStridesArg,
+        @NonNull Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame", getCodec());
+      channel.send(
+          new ArrayList<Object>(
+              Arrays.asList(
+                  identifierArg,
+                  formatArg,
+                  heightArg,
+                  widthArg,
+                  planeBuffersArg,
+                  pixelStridesArg,
+                  rowStridesArg)),
+          channelReply -> callback.reply(null));
+    }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
   public interface ImageProxyHostApi {
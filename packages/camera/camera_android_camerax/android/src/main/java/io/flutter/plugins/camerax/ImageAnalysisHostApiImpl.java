@@ -13,7 +13,11 @@ import androidx.camera.core.resolutionselector.ResolutionSelector;
 import androidx.core.content.ContextCompat;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisHostApi;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
 
@@ -21,6 +25,15 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
   private BinaryMessenger binaryMessenger;
   @Nullable private Context context;
 
+  /**
+   * Number of background threads requested for the analyzer of each {@link ImageAnalysis}
+   * instance, by identifier. Analyzers of instances without an entry run on the main thread.
+   */
+  private final Map<Long, Integer> analyzerThreadCounts = new HashMap<>();
+
+  /** Executors running the analyzer currently set on each {@link ImageAnalysis}, by identifier. */
+  private final Map<Long, ExecutorService> analyzerExecutors = new HashMap<>();
+
   @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
 
   public ImageAnalysisHostApiImpl(
@@ -30,19 +43,34 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
     this.binaryMessenger = binaryMessenger;
     this.instanceManager = instanceManager;
     this.context = context;
+    instanceManager.addRemovalListener(this::onInstanceRemoved);
   }
 
   /**
-   * Sets the context that will be used to run an {@link ImageAnalysis.Analyzer} on the main thread.
+   * Sets the context that will be used to run an {@link ImageAnalysis.Analyzer} on the main thread
+   * when no analyzer threads were requested.
    */
   public void setContext(@NonNull Context context) {
     this.context = context;
   }
 
-  /** Creates an {@link ImageAnalysis} instance with the target resolution if specified. */
+  /**
+   * Creates an {@link ImageAnalysis} instance with the target resolution if specified.
+   *
+   * <p>{@code backpressureStrategy} is one of {@link ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST} or
+   * {@link ImageAnalysis#STRATEGY_BLOCK_PRODUCER}, and {@code imageQueueDepth} is the number of
+   * images the latter strategy lets the analyzer hold. If {@code analyzerThreadCount} is positive,
+   * analyzers set on the instance run on that many dedicated background threads instead of the
+   * main thread.
+   */
   @Override
   public void create(
-      @NonNull Long identifier, @Nullable Long rotation, @Nullable Long resolutionSelectorId) {
+      @NonNull Long identifier,
+      @Nullable Long rotation,
+      @Nullable Long resolutionSelectorId,
+      @Nullable Long backpressureStrategy,
+      @Nullable Long imageQueueDepth,
+      @Nullable Long analyzerThreadCount) {
     ImageAnalysis.Builder imageAnalysisBuilder = cameraXProxy.createImageAnalysisBuilder();
 
     if (rotation != null) {
@@ -53,6 +81,15 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
           Objects.requireNonNull(instanceManager.getInstance(resolutionSelectorId));
       imageAnalysisBuilder.setResolutionSelector(resolutionSelector);
     }
+    if (backpressureStrategy != null) {
+      imageAnalysisBuilder.setBackpressureStrategy(backpressureStrategy.intValue());
+    }
+    if (imageQueueDepth != null) {
+      imageAnalysisBuilder.setImageQueueDepth(imageQueueDepth.intValue());
+    }
+    if (analyzerThreadCount != null && analyzerThreadCount > 0) {
+      analyzerThreadCounts.put(identifier, analyzerThreadCount.intValue());
+    }
 
     ImageAnalysis imageAnalysis = imageAnalysisBuilder.build();
     instanceManager.addDartCreatedInstance(imageAnalysis, identifier);
@@ -62,6 +99,9 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
    * Sets {@link ImageAnalysis.Analyzer} instance with specified {@code analyzerIdentifier} on the
    * {@link ImageAnalysis} instance with the specified {@code identifier} to receive and analyze
    * images.
+   *
+   * <p>The analyzer runs on the background threads requested when the {@link ImageAnalysis} was
+   * created, or on the main thread otherwise.
    */
   @Override
   public void setAnalyzer(@NonNull Long identifier, @NonNull Long analyzerIdentifier) {
@@ -69,33 +109,56 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
       throw new IllegalStateException("Context must be set to set an Analyzer.");
     }
 
-    // Shorten time interval used to define how often the instanceManager removes garbage
-    // collected weak references to native Android objects that it manages in order to
-    // account for the increased memory usage that comes from analyzing images with an
-    // ImageAnalysis.Analyzer.
-    instanceManager.setClearFinalizedWeakReferencesInterval(
-        InstanceManager.CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS);
-    instanceManager.releaseAllFinalizedInstances();
-
     getImageAnalysisInstance(identifier)
         .setAnalyzer(
-            ContextCompat.getMainExecutor(context),
+            createAnalyzerExecutor(identifier),
             Objects.requireNonNull(instanceManager.getInstance(analyzerIdentifier)));
   }
 
+  /**
+   * Creates the executor for a new analyzer of the {@link ImageAnalysis} instance with the
+   * specified {@code identifier}, shutting down the executor of its previous analyzer if any.
+   */
+  @NonNull
+  private Executor createAnalyzerExecutor(@NonNull Long identifier) {
+    shutDownAnalyzerExecutor(identifier);
+
+    Integer threadCount = analyzerThreadCounts.get(identifier);
+    if (threadCount == null) {
+      return ContextCompat.getMainExecutor(Objects.requireNonNull(context));
+    }
+    ExecutorService executor = cameraXProxy.createAnalyzerExecutor(threadCount);
+    analyzerExecutors.put(identifier, executor);
+    return executor;
+  }
+
+  /**
+   * Shuts down the executor of the analyzer of the {@link ImageAnalysis} instance with the
+   * specified {@code identifier}. Images that are already being analyzed are still delivered.
+   */
+  private void shutDownAnalyzerExecutor(@NonNull Long identifier) {
+    ExecutorService executor = analyzerExecutors.remove(identifier);
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Forgets the analyzer threads requested for an {@link ImageAnalysis} instance and shuts down
+   * the executor of its analyzer once Dart removed the instance.
+   */
+  private void onInstanceRemoved(long identifier) {
+    analyzerThreadCounts.remove(identifier);
+    shutDownAnalyzerExecutor(identifier);
+  }
+
   /** Clears any analyzer previously set on the specified {@link ImageAnalysis} instance. */
   @Override
   public void clearAnalyzer(@NonNull Long identifier) {
     ImageAnalysis imageAnalysis =
         (ImageAnalysis) Objects.requireNonNull(instanceManager.getInstance(identifier));
     imageAnalysis.clearAnalyzer();
-
-    // Restore the default time interval used to define how often the instanceManager
-    // removes garbage collected weak references to native Android objects that it
-    // manages since analyzing images with an ImageAnalysis.Analyzer, which involves
-    // increased memory usage, is finished.
-    instanceManager.setClearFinalizedWeakReferencesInterval(
-        InstanceManager.DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL);
+    shutDownAnalyzerExecutor(identifier);
   }
 
   /** Dynamically sets the target rotation of the {@link ImageAnalysis}. */
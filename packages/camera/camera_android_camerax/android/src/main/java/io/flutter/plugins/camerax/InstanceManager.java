@@ -9,10 +9,13 @@ import android.os.Looper;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.WeakHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Maintains instances used to communicate with the corresponding objects in Dart.
@@ -28,6 +31,10 @@ import java.util.WeakHashMap;
  * is removed and then the identifier is retrieved with the intention to pass the identifier to Dart
  * (e.g. calling {@link #getIdentifierForStrongReference(Object)}), the strong reference to the
  * instance is recreated. The strong reference will then need to be removed manually again.
+ *
+ * <p>Instances are looked up by identity, and stored in maps keyed by unboxed identifiers. Weak
+ * references are reaped by a dedicated thread as soon as the garbage collector clears them, and the
+ * {@code finalizationListener} is notified of them in batches on the main thread.
  */
 @SuppressWarnings("unchecked")
 public class InstanceManager {
@@ -39,43 +46,90 @@ public class InstanceManager {
   private static final String TAG = "InstanceManager";
 
   /**
-   * The default time interval used to define how often this instance removes garbage collected weak
-   * references to native Android objects that this instance manages.
+   * The time interval that was used to define how often this instance removed garbage collected
+   * weak references to native Android objects that this instance manages.
+   *
+   * @deprecated Garbage collected weak references are now released as soon as they are reaped.
    */
-  public static final long DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL = 3000;
+  @Deprecated public static final long DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL = 3000;
 
   /**
-   * The time interval used to define how often this instance removes garbage collected weak
-   * references to native Android objects that this instance manages, specifically when an {@code
-   * ImageAnalysis.Analyzer} is set on an {@code ImageAnalysis} instance to support image streaming.
+   * The time interval that was used to define how often this instance removed garbage collected
+   * weak references to native Android objects that this instance manages, specifically when an
+   * {@code ImageAnalysis.Analyzer} is set on an {@code ImageAnalysis} instance.
    *
-   * <p>Streaming images with an {@code ImageAnalysis.Analyzer} involves increased memory usage, so
-   * this interval, which is lower than the default {@link
-   * DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL} interval, accommodates this fact.
+   * @deprecated Garbage collected weak references are now released as soon as they are reaped.
    */
+  @Deprecated
   public static final long CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL_FOR_IMAGE_ANALYSIS = 1000;
 
   /** Interface for listening when a weak reference of an instance is removed from the manager. */
   public interface FinalizationListener {
     void onFinalize(long identifier);
+
+    /**
+     * Called with the identifiers of all instances that were garbage collected since the last
+     * call.
+     *
+     * <p>Override this method to notify Dart of a batch of instances at once. By default, {@link
+     * #onFinalize(long)} is called for each identifier.
+     */
+    default void onFinalizeAll(@NonNull long[] identifiers) {
+      for (long identifier : identifiers) {
+        onFinalize(identifier);
+      }
+    }
   }
 
-  private final WeakHashMap<Object, Long> identifiers = new WeakHashMap<>();
-  private final HashMap<Long, WeakReference<Object>> weakInstances = new HashMap<>();
-  private final HashMap<Long, Object> strongInstances = new HashMap<>();
+  /** Interface for listening when the strong reference of an instance is removed. */
+  public interface RemovalListener {
+    void onRemove(long identifier);
+  }
+
+  /** A weak reference to an instance that remembers the identifier it was added with. */
+  private static class IdentifiedWeakReference extends WeakReference<Object> {
+    final long identifier;
+    final int identityHashCode;
+
+    /** The next reference whose instance has the same identity hash code. */
+    @Nullable IdentifiedWeakReference next;
+
+    IdentifiedWeakReference(
+        @NonNull Object instance, long identifier, @NonNull ReferenceQueue<Object> queue) {
+      super(instance, queue);
+      this.identifier = identifier;
+      this.identityHashCode = System.identityHashCode(instance);
+    }
+  }
+
+  private final LongObjectMap<IdentifiedWeakReference> weakInstances = new LongObjectMap<>();
+  private final LongObjectMap<Object> strongInstances = new LongObjectMap<>();
+
+  /**
+   * Chains of the references of every instance, keyed by identity hash code, with the most
+   * recently added reference first.
+   */
+  private final LongObjectMap<IdentifiedWeakReference> identities = new LongObjectMap<>();
+
+  private final ReferenceQueue<Object> referenceQueue;
+
+  /** References reaped from {@link #referenceQueue} that are waiting to be released. */
+  private final List<IdentifiedWeakReference> finalizedReferences = new ArrayList<>();
 
-  private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-  private final HashMap<WeakReference<Object>, Long> weakReferencesToIdentifiers = new HashMap<>();
+  private boolean isReleasePending = false;
+
+  private final Runnable releaseFinalizedInstances = this::releaseAllFinalizedInstances;
 
   private final Handler handler = new Handler(Looper.getMainLooper());
 
   private final FinalizationListener finalizationListener;
 
-  private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
-  private boolean hasFinalizationListenerStopped = false;
+  private final List<RemovalListener> removalListeners = new ArrayList<>();
 
-  private long clearFinalizedWeakReferencesInterval =
-      DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL;
+  private final Thread referenceReaper;
+
+  private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
+  private volatile boolean hasFinalizationListenerStopped = false;
 
   /**
    * Instantiate a new manager.
@@ -87,12 +141,31 @@ public class InstanceManager {
    */
   @NonNull
   public static InstanceManager create(@NonNull FinalizationListener finalizationListener) {
-    return new InstanceManager(finalizationListener);
+    return new InstanceManager(finalizationListener, new ReferenceQueue<>());
   }
 
-  private InstanceManager(FinalizationListener finalizationListener) {
+  /**
+   * Instantiate a new manager whose weak references are registered with {@code referenceQueue}.
+   *
+   * @param finalizationListener the listener for garbage collected weak references.
+   * @param referenceQueue the queue the reaper thread waits on for cleared weak references.
+   * @return a new `InstanceManager`.
+   */
+  @VisibleForTesting
+  @NonNull
+  static InstanceManager create(
+      @NonNull FinalizationListener finalizationListener,
+      @NonNull ReferenceQueue<Object> referenceQueue) {
+    return new InstanceManager(finalizationListener, referenceQueue);
+  }
+
+  private InstanceManager(
+      FinalizationListener finalizationListener, ReferenceQueue<Object> referenceQueue) {
     this.finalizationListener = finalizationListener;
-    handler.postDelayed(this::releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
+    this.referenceQueue = referenceQueue;
+    referenceReaper = new Thread(this::reapReferences, "CameraXInstanceManagerReaper");
+    referenceReaper.setDaemon(true);
+    referenceReaper.start();
   }
 
   /**
@@ -107,7 +180,23 @@ public class InstanceManager {
   @Nullable
   public <T> T remove(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
-    return (T) strongInstances.remove(identifier);
+    final Object instance = strongInstances.remove(identifier);
+    if (instance != null) {
+      for (RemovalListener listener : removalListeners) {
+        listener.onRemove(identifier);
+      }
+    }
+    return (T) instance;
+  }
+
+  /**
+   * Adds a listener notified with the identifier of every instance removed with {@link
+   * #remove(long)}, so that resources tied to the instance can be released.
+   *
+   * @param listener the listener to add.
+   */
+  public void addRemovalListener(@NonNull RemovalListener listener) {
+    removalListeners.add(listener);
   }
 
   /**
@@ -130,11 +219,12 @@ public class InstanceManager {
   public Long getIdentifierForStrongReference(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
 
-    final Long identifier = identifiers.get(instance);
-    if (identifier != null) {
-      strongInstances.put(identifier, instance);
+    final IdentifiedWeakReference reference = findReference(instance);
+    if (reference == null) {
+      return null;
     }
-    return identifier;
+    strongInstances.put(reference.identifier, instance);
+    return reference.identifier;
   }
 
   /**
@@ -183,9 +273,9 @@ public class InstanceManager {
   public <T> T getInstance(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
 
-    final WeakReference<T> instance = (WeakReference<T>) weakInstances.get(identifier);
+    final IdentifiedWeakReference instance = weakInstances.get(identifier);
     if (instance != null) {
-      return instance.get();
+      return (T) instance.get();
     }
     return null;
   }
@@ -198,19 +288,20 @@ public class InstanceManager {
    */
   public boolean containsInstance(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
-    return identifiers.containsKey(instance);
+    return findReference(instance) != null;
   }
 
   /**
-   * Stop the periodic run of the {@link FinalizationListener} for instances that have been garbage
-   * collected.
+   * Stop the {@link FinalizationListener} from being called for instances that have been garbage
+   * collected, and stop the thread reaping their references.
    *
    * <p>The InstanceManager can continue to be used, but the {@link FinalizationListener} will no
    * longer be called and methods will log a warning.
    */
   public void stopFinalizationListener() {
-    handler.removeCallbacks(this::releaseAllFinalizedInstances);
     hasFinalizationListenerStopped = true;
+    referenceReaper.interrupt();
+    handler.removeCallbacks(releaseFinalizedInstances);
   }
 
   /**
@@ -219,10 +310,9 @@ public class InstanceManager {
    * <p>The manager will be empty after this call returns.
    */
   public void clear() {
-    identifiers.clear();
     weakInstances.clear();
     strongInstances.clear();
-    weakReferencesToIdentifiers.clear();
+    identities.clear();
   }
 
   /**
@@ -236,32 +326,122 @@ public class InstanceManager {
   }
 
   /**
-   * Modifies the time interval used to define how often this instance removes garbage collected
+   * Used to modify the time interval defining how often this instance removed garbage collected
    * weak references to native Android objects that this instance was managing.
+   *
+   * @deprecated This is a no-op: garbage collected weak references are now released as soon as
+   *     they are reaped.
+   */
+  @Deprecated
+  public void setClearFinalizedWeakReferencesInterval(long interval) {}
+
+  /**
+   * Clears the weak reference of the instance paired with {@code identifier} and enqueues it, as
+   * the garbage collector does once the instance is no longer reachable.
    */
-  public void setClearFinalizedWeakReferencesInterval(long interval) {
-    clearFinalizedWeakReferencesInterval = interval;
+  @VisibleForTesting
+  void clearWeakReference(long identifier) {
+    final IdentifiedWeakReference reference = weakInstances.get(identifier);
+    if (reference != null) {
+      reference.enqueue();
+    }
   }
 
   /**
    * Releases garbage collected weak references to native Android objects that this instance was
-   * managing.
+   * managing, and notifies the {@link FinalizationListener} of all of them at once.
+   *
+   * <p>This is called on the main thread whenever references were reaped, and can be called
+   * directly to release them immediately, along with references that were cleared but not reaped
+   * yet.
    */
   public void releaseAllFinalizedInstances() {
+    final List<IdentifiedWeakReference> references;
+    synchronized (finalizedReferences) {
+      isReleasePending = false;
+      Reference<?> reference;
+      while ((reference = referenceQueue.poll()) != null) {
+        finalizedReferences.add((IdentifiedWeakReference) reference);
+      }
+      if (finalizedReferences.isEmpty()) {
+        return;
+      }
+      references = new ArrayList<>(finalizedReferences);
+      finalizedReferences.clear();
+    }
     if (hasFinalizationListenerStopped()) {
       return;
     }
 
-    WeakReference<Object> reference;
-    while ((reference = (WeakReference<Object>) referenceQueue.poll()) != null) {
-      final Long identifier = weakReferencesToIdentifiers.remove(reference);
-      if (identifier != null) {
-        weakInstances.remove(identifier);
-        strongInstances.remove(identifier);
-        finalizationListener.onFinalize(identifier);
+    final long[] identifiers = new long[references.size()];
+    int count = 0;
+    for (IdentifiedWeakReference reference : references) {
+      // The reference may have been released already by a call to clear.
+      if (weakInstances.get(reference.identifier) == reference) {
+        weakInstances.remove(reference.identifier);
+        strongInstances.remove(reference.identifier);
+        unlinkIdentity(reference);
+        identifiers[count++] = reference.identifier;
       }
     }
-    handler.postDelayed(this::releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
+    if (count > 0) {
+      finalizationListener.onFinalizeAll(
+          count == identifiers.length ? identifiers : Arrays.copyOf(identifiers, count));
+    }
+  }
+
+  /**
+   * Runs on {@link #referenceReaper}: waits for the garbage collector to clear references, and
+   * hands them over to the main thread in batches.
+   */
+  private void reapReferences() {
+    while (!hasFinalizationListenerStopped()) {
+      try {
+        Reference<?> reference = referenceQueue.remove();
+        synchronized (finalizedReferences) {
+          do {
+            finalizedReferences.add((IdentifiedWeakReference) reference);
+          } while ((reference = referenceQueue.poll()) != null);
+          if (isReleasePending) {
+            continue;
+          }
+          isReleasePending = true;
+        }
+        handler.post(releaseFinalizedInstances);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  @Nullable
+  private IdentifiedWeakReference findReference(@Nullable Object instance) {
+    if (instance == null) {
+      return null;
+    }
+    IdentifiedWeakReference reference = identities.get(System.identityHashCode(instance));
+    while (reference != null && reference.get() != instance) {
+      reference = reference.next;
+    }
+    return reference;
+  }
+
+  private void unlinkIdentity(@NonNull IdentifiedWeakReference reference) {
+    IdentifiedWeakReference head = identities.get(reference.identityHashCode);
+    if (head == reference) {
+      if (reference.next == null) {
+        identities.remove(reference.identityHashCode);
+      } else {
+        identities.put(reference.identityHashCode, reference.next);
+      }
+      return;
+    }
+    while (head != null && head.next != reference) {
+      head = head.next;
+    }
+    if (head != null) {
+      head.next = reference.next;
+    }
   }
 
   private void addInstance(Object instance, long identifier) {
@@ -272,10 +452,10 @@ public class InstanceManager {
       throw new IllegalArgumentException(
           String.format("Identifier has already been added: %d", identifier));
     }
-    final WeakReference<Object> weakReference = new WeakReference<>(instance, referenceQueue);
-    identifiers.put(instance, identifier);
+    final IdentifiedWeakReference weakReference =
+        new IdentifiedWeakReference(instance, identifier, referenceQueue);
+    weakReference.next = identities.put(weakReference.identityHashCode, weakReference);
     weakInstances.put(identifier, weakReference);
-    weakReferencesToIdentifiers.put(weakReference, identifier);
     strongInstances.put(identifier, instance);
   }
 
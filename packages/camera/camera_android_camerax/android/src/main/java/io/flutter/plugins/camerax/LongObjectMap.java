@@ -0,0 +1,150 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to non-null values.
+ *
+ * <p>Keys are stored unboxed in an open addressing table with linear probing, so neither lookups
+ * nor insertions allocate, and removals shift the following entries back instead of leaving
+ * tombstones. This class is not thread safe.
+ */
+@SuppressWarnings("unchecked")
+class LongObjectMap<V> {
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+
+  LongObjectMap() {
+    allocate(MIN_CAPACITY);
+  }
+
+  /** Returns the number of entries in this map. */
+  int size() {
+    return size;
+  }
+
+  /** Returns the value associated with {@code key}, or null if there is none. */
+  @Nullable
+  V get(long key) {
+    for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  /** Returns whether this map contains an entry for {@code key}. */
+  boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @return the value previously associated with {@code key}, or null if there was none.
+   */
+  @Nullable
+  V put(long key, @NonNull V value) {
+    int slot = slotOf(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    // Keep the table at most half full, so that probe sequences stay short.
+    if (++size > values.length / 2) {
+      rehash(values.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the entry for {@code key}.
+   *
+   * @return the value that was associated with {@code key}, or null if there was none.
+   */
+  @Nullable
+  V remove(long key) {
+    int slot = slotOf(key);
+    for (; values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+      }
+    }
+    return null;
+  }
+
+  /** Removes all entries, and releases the memory of a table that grew large. */
+  void clear() {
+    if (values.length > MIN_CAPACITY) {
+      allocate(MIN_CAPACITY);
+    } else {
+      Arrays.fill(values, null);
+    }
+    size = 0;
+  }
+
+  /**
+   * Empties {@code slot} and moves back the entries of the probe sequence that follows it, so that
+   * every entry stays reachable from the slot its key hashes to.
+   */
+  private void shiftBack(int slot) {
+    int hole = slot;
+    for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+      int home = slotOf(keys[next]);
+      // The entry can fill the hole if its home slot is not cyclically within (hole, next].
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    values[hole] = null;
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slotOf(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private int slotOf(long key) {
+    // Fibonacci hashing spreads sequential identifiers across the table.
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -4,10 +4,13 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,11 +18,15 @@ import static org.mockito.Mockito.when;
 import androidx.camera.core.ImageProxy;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.AnalyzerFlutterApi;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -57,6 +64,20 @@ public class AnalyzerTest {
     assertEquals(instanceManager.getInstance(instanceIdentifier), mockImageAnalysisAnalyzer);
   }
 
+  @Test
+  public void hostApiCreateBatched_makesCallToCreateBatchedAnalyzerInstance() {
+    final AnalyzerHostApiImpl hostApi =
+        new AnalyzerHostApiImpl(mockBinaryMessenger, instanceManager, mockProxy);
+    final long instanceIdentifier = 91;
+
+    when(mockProxy.createBatched(mockBinaryMessenger, instanceManager))
+        .thenReturn(mockImageAnalysisAnalyzer);
+
+    hostApi.createBatched(instanceIdentifier);
+
+    assertEquals(instanceManager.getInstance(instanceIdentifier), mockImageAnalysisAnalyzer);
+  }
+
   @Test
   public void flutterApiCreate_makesCallToDartCreate() {
     final AnalyzerFlutterApiImpl flutterApi =
@@ -103,4 +124,79 @@ public class AnalyzerTest {
     verify(mockFlutterApi).analyze(eq(instanceIdentifier), eq(mockImageProxyIdentifier), any());
     verify(mockImageProxyApi).create(eq(mockImageProxy), eq(format), eq(height), eq(width), any());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void analyze_sendsImageAndPlanesToDartInSingleMessageWhenBatched() {
+    final AnalyzerFlutterApiImpl flutterApi =
+        new AnalyzerFlutterApiImpl(mockBinaryMessenger, instanceManager);
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+    final ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3});
+    final AnalyzerHostApiImpl.AnalyzerImpl instance =
+        new AnalyzerHostApiImpl.AnalyzerImpl(mockBinaryMessenger, instanceManager, true);
+    final ImageProxyFlutterApiImpl mockImageProxyApi =
+        spy(new ImageProxyFlutterApiImpl(mockBinaryMessenger, instanceManager));
+    final long instanceIdentifier = 21;
+
+    flutterApi.setApi(mockFlutterApi);
+    instance.setApi(flutterApi);
+    instance.imageProxyApi = mockImageProxyApi;
+
+    instanceManager.addDartCreatedInstance(instance, instanceIdentifier);
+
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+    when(mockImageProxy.getFormat()).thenReturn(35);
+    when(mockImageProxy.getHeight()).thenReturn(4);
+    when(mockImageProxy.getWidth()).thenReturn(5);
+    when(mockPlaneProxy.getBuffer()).thenReturn(buffer);
+    when(mockPlaneProxy.getPixelStride()).thenReturn(1);
+    when(mockPlaneProxy.getRowStride()).thenReturn(8);
+
+    instance.analyze(mockImageProxy);
+
+    final ArgumentCaptor<List<byte[]>> planeBuffersCaptor = ArgumentCaptor.forClass(List.class);
+    verify(mockFlutterApi)
+        .analyzeFrame(
+            eq(instanceIdentifier),
+            eq(35L),
+            eq(4L),
+            eq(5L),
+            planeBuffersCaptor.capture(),
+            eq(Collections.singletonList(1L)),
+            eq(Collections.singletonList(8L)),
+            any());
+    assertArrayEquals(new byte[] {1, 2, 3}, planeBuffersCaptor.getValue().get(0));
+    verify(mockImageProxyApi, never()).create(any(), any(), any(), any(), any());
+    assertFalse(instanceManager.containsInstance(mockImageProxy));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void analyze_closesImageOnlyOnceDartRepliesWhenBatched() {
+    final AnalyzerFlutterApiImpl flutterApi =
+        new AnalyzerFlutterApiImpl(mockBinaryMessenger, instanceManager);
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final AnalyzerHostApiImpl.AnalyzerImpl instance =
+        new AnalyzerHostApiImpl.AnalyzerImpl(mockBinaryMessenger, instanceManager, true);
+
+    flutterApi.setApi(mockFlutterApi);
+    instance.setApi(flutterApi);
+
+    instanceManager.addDartCreatedInstance(instance, 21);
+
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[0]);
+
+    instance.analyze(mockImageProxy);
+
+    final ArgumentCaptor<AnalyzerFlutterApi.Reply<Void>> replyCaptor =
+        ArgumentCaptor.forClass(AnalyzerFlutterApi.Reply.class);
+    verify(mockFlutterApi)
+        .analyzeFrame(eq(21L), any(), any(), any(), any(), any(), any(), replyCaptor.capture());
+    verify(mockImageProxy, never()).close();
+
+    replyCaptor.getValue().reply(null);
+
+    verify(mockImageProxy).close();
+  }
 }
@@ -18,6 +18,7 @@ import androidx.camera.core.resolutionselector.ResolutionSelector;
 import androidx.test.core.app.ApplicationProvider;
 import io.flutter.plugin.common.BinaryMessenger;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -65,10 +66,18 @@ public class ImageAnalysisTest {
     when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
     when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
 
-    hostApi.create(instanceIdentifier, Long.valueOf(targetRotation), mockResolutionSelectorId);
+    hostApi.create(
+        instanceIdentifier,
+        Long.valueOf(targetRotation),
+        mockResolutionSelectorId,
+        Long.valueOf(ImageAnalysis.STRATEGY_BLOCK_PRODUCER),
+        4L,
+        null);
 
     verify(mockImageAnalysisBuilder).setTargetRotation(targetRotation);
     verify(mockImageAnalysisBuilder).setResolutionSelector(mockResolutionSelector);
+    verify(mockImageAnalysisBuilder).setBackpressureStrategy(ImageAnalysis.STRATEGY_BLOCK_PRODUCER);
+    verify(mockImageAnalysisBuilder).setImageQueueDepth(4);
     assertEquals(instanceManager.getInstance(instanceIdentifier), mockImageAnalysis);
   }
 
@@ -89,6 +98,60 @@ public class ImageAnalysisTest {
     verify(mockImageAnalysis).setAnalyzer(any(Executor.class), eq(mockAnalyzer));
   }
 
+  @Test
+  public void setAnalyzer_runsAnalyzerOnRequestedBackgroundThreads() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final ImageAnalysis.Analyzer mockAnalyzer = mock(ImageAnalysis.Analyzer.class);
+    final long analyzerIdentifier = 11;
+    final long instanceIdentifier = 95;
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    instanceManager.addDartCreatedInstance(mockAnalyzer, analyzerIdentifier);
+
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+    when(mockCameraXProxy.createAnalyzerExecutor(2)).thenReturn(mockExecutor);
+
+    hostApi.create(instanceIdentifier, null, null, null, null, 2L);
+    hostApi.setAnalyzer(instanceIdentifier, analyzerIdentifier);
+
+    verify(mockImageAnalysis).setAnalyzer(mockExecutor, mockAnalyzer);
+
+    hostApi.clearAnalyzer(instanceIdentifier);
+
+    verify(mockImageAnalysis).clearAnalyzer();
+    verify(mockExecutor).shutdown();
+  }
+
+  @Test
+  public void remove_shutsDownAnalyzerExecutorOfRemovedInstance() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
+    final ExecutorService mockExecutor = mock(ExecutorService.class);
+    final ImageAnalysis.Analyzer mockAnalyzer = mock(ImageAnalysis.Analyzer.class);
+    final long analyzerIdentifier = 12;
+    final long instanceIdentifier = 96;
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    instanceManager.addDartCreatedInstance(mockAnalyzer, analyzerIdentifier);
+
+    when(mockCameraXProxy.createImageAnalysisBuilder()).thenReturn(mockImageAnalysisBuilder);
+    when(mockImageAnalysisBuilder.build()).thenReturn(mockImageAnalysis);
+    when(mockCameraXProxy.createAnalyzerExecutor(2)).thenReturn(mockExecutor);
+
+    hostApi.create(instanceIdentifier, null, null, null, null, 2L);
+    hostApi.setAnalyzer(instanceIdentifier, analyzerIdentifier);
+    instanceManager.remove(instanceIdentifier);
+
+    verify(mockExecutor).shutdown();
+  }
+
   @Test
   public void clearAnalyzer_makesCallToClearAnalyzerOnExpectedImageAnalysisInstance() {
     final ImageAnalysisHostApiImpl hostApi =
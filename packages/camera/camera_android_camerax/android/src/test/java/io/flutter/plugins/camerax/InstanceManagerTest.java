@@ -4,12 +4,20 @@
 
 package io.flutter.plugins.camerax;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import androidx.annotation.NonNull;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import org.junit.Test;
 
 public class InstanceManagerTest {
@@ -41,6 +49,23 @@ public class InstanceManagerTest {
     instanceManager.stopFinalizationListener();
   }
 
+  @Test
+  public void removeNotifiesRemovalListeners() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+    final List<Long> removedIdentifiers = new ArrayList<>();
+    instanceManager.addRemovalListener(removedIdentifiers::add);
+
+    final Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+
+    instanceManager.remove(0);
+    instanceManager.remove(0);
+
+    assertEquals(Collections.singletonList(0L), removedIdentifiers);
+
+    instanceManager.stopFinalizationListener();
+  }
+
   @Test
   public void removeReturnsRemovedObjectAndClearsIdentifier() {
     final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
@@ -137,4 +162,105 @@ public class InstanceManagerTest {
     assertEquals(instanceManager.getIdentifierForStrongReference(instance), (Long) identifier);
     assertTrue(instanceManager.containsInstance(instance));
   }
+
+  @Test
+  public void instancesAreLookedUpByIdentity() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    // Equal strings that are distinct objects.
+    final String instance = new String("instance");
+    final String equalInstance = new String("instance");
+
+    instanceManager.addDartCreatedInstance(instance, 0);
+
+    assertTrue(instanceManager.containsInstance(instance));
+    assertFalse(instanceManager.containsInstance(equalInstance));
+    final long equalInstanceIdentifier = instanceManager.addHostCreatedInstance(equalInstance);
+    assertEquals((Long) 0L, instanceManager.getIdentifierForStrongReference(instance));
+    assertEquals(
+        (Long) equalInstanceIdentifier,
+        instanceManager.getIdentifierForStrongReference(equalInstance));
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void releaseAllFinalizedInstancesNotifiesListenerOfGarbageCollectedInstancesAtOnce() {
+    final List<long[]> finalizedBatches = new ArrayList<>();
+    final InstanceManager instanceManager =
+        InstanceManager.create(
+            new InstanceManager.FinalizationListener() {
+              @Override
+              public void onFinalize(long identifier) {
+                throw new AssertionError("Instances should be finalized in batches.");
+              }
+
+              @Override
+              public void onFinalizeAll(@NonNull long[] identifiers) {
+                finalizedBatches.add(identifiers);
+              }
+            },
+            new IdleReferenceQueue());
+
+    final Object retained = new Object();
+    instanceManager.addDartCreatedInstance(new Object(), 0);
+    instanceManager.addDartCreatedInstance(new Object(), 1);
+    instanceManager.addDartCreatedInstance(retained, 2);
+    instanceManager.remove(0);
+    instanceManager.remove(1);
+
+    instanceManager.clearWeakReference(0);
+    instanceManager.clearWeakReference(1);
+    instanceManager.releaseAllFinalizedInstances();
+
+    assertEquals(1, finalizedBatches.size());
+    assertArrayEquals(new long[] {0, 1}, finalizedBatches.get(0));
+    assertNull(instanceManager.getInstance(0));
+    assertNull(instanceManager.getInstance(1));
+    assertEquals(retained, instanceManager.getInstance(2));
+
+    // Instances are only finalized once.
+    instanceManager.releaseAllFinalizedInstances();
+    assertEquals(1, finalizedBatches.size());
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void releaseAllFinalizedInstancesSkipsReferencesReleasedByClear() {
+    final List<long[]> finalizedBatches = new ArrayList<>();
+    final InstanceManager instanceManager =
+        InstanceManager.create(
+            new InstanceManager.FinalizationListener() {
+              @Override
+              public void onFinalize(long identifier) {}
+
+              @Override
+              public void onFinalizeAll(@NonNull long[] identifiers) {
+                finalizedBatches.add(identifiers);
+              }
+            },
+            new IdleReferenceQueue());
+
+    instanceManager.addDartCreatedInstance(new Object(), 0);
+    instanceManager.clearWeakReference(0);
+    instanceManager.clear();
+    instanceManager.releaseAllFinalizedInstances();
+
+    assertTrue(finalizedBatches.isEmpty());
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  /**
+   * A queue that never hands references to the reaper thread, so that tests release them
+   * deterministically with {@link InstanceManager#releaseAllFinalizedInstances()}.
+   */
+  private static class IdleReferenceQueue extends ReferenceQueue<Object> {
+    @Override
+    public Reference<Object> remove() throws InterruptedException {
+      new CountDownLatch(1).await();
+      return null;
+    }
+  }
 }
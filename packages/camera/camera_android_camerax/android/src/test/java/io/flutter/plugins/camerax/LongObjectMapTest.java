@@ -0,0 +1,75 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class LongObjectMapTest {
+  @Test
+  public void putGetAndRemove() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+
+    assertNull(map.put(3, "three"));
+    assertNull(map.put(65536, "host"));
+    assertEquals("three", map.put(3, "THREE"));
+
+    assertEquals(2, map.size());
+    assertEquals("THREE", map.get(3));
+    assertEquals("host", map.get(65536));
+    assertTrue(map.containsKey(65536));
+    assertNull(map.get(4));
+
+    assertEquals("THREE", map.remove(3));
+    assertNull(map.remove(3));
+    assertFalse(map.containsKey(3));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    final LongObjectMap<Object> map = new LongObjectMap<>();
+    for (long key = 0; key < 1000; key++) {
+      map.put(key, key);
+    }
+
+    map.clear();
+
+    assertEquals(0, map.size());
+    assertNull(map.get(10));
+    map.put(10, "ten");
+    assertEquals("ten", map.get(10));
+  }
+
+  @Test
+  public void behavesLikeHashMapUnderRandomOperations() {
+    final LongObjectMap<Long> map = new LongObjectMap<>();
+    final Map<Long, Long> expected = new HashMap<>();
+    final Random random = new Random(42);
+
+    // A small key range makes collisions, growth and removals within probe sequences frequent.
+    for (int i = 0; i < 200000; i++) {
+      final long key = random.nextInt(4096) + (random.nextBoolean() ? 65536 : 0);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        final long value = random.nextLong();
+        assertEquals(expected.put(key, value), map.put(key, value));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.cameraxexample;
+
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import io.flutter.plugins.camerax.InstanceManager;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures on a device the throughput of the {@link InstanceManager} with tens of thousands of
+ * live instances, the order of magnitude reached while streaming images for a few minutes.
+ *
+ * <p>The time per instance of adding instances, looking them up by identifier and by instance, and
+ * finalizing them once they are garbage collected is reported as instrumentation status values
+ * rather than asserted, as it depends on the device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InstanceManagerBenchmark {
+  private static final int LIVE_INSTANCES = 20000;
+  private static final long FINALIZATION_TIMEOUT_MS = 10000;
+
+  @Test
+  public void measureAddGetAndFinalize() throws InterruptedException {
+    final AtomicInteger finalizedCount = new AtomicInteger();
+    final InstanceManager instanceManager =
+        InstanceManager.create(
+            new InstanceManager.FinalizationListener() {
+              @Override
+              public void onFinalize(long identifier) {
+                finalizedCount.incrementAndGet();
+              }
+
+              @Override
+              public void onFinalizeAll(@NonNull long[] identifiers) {
+                finalizedCount.addAndGet(identifiers.length);
+              }
+            });
+    Object[] instances = new Object[LIVE_INSTANCES];
+    final long[] identifiers = new long[LIVE_INSTANCES];
+
+    long start = System.nanoTime();
+    for (int i = 0; i < LIVE_INSTANCES; i++) {
+      instances[i] = new Object();
+      identifiers[i] = instanceManager.addHostCreatedInstance(instances[i]);
+    }
+    final long addNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < LIVE_INSTANCES; i++) {
+      instanceManager.getInstance(identifiers[i]);
+    }
+    final long getInstanceNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < LIVE_INSTANCES; i++) {
+      instanceManager.getIdentifierForStrongReference(instances[i]);
+    }
+    final long getIdentifierNanos = System.nanoTime() - start;
+
+    // Releases every instance, as Dart does when its copies are garbage collected.
+    for (long identifier : identifiers) {
+      instanceManager.remove(identifier);
+    }
+    //noinspection UnusedAssignment
+    instances = null;
+
+    start = System.nanoTime();
+    final long deadline = System.currentTimeMillis() + FINALIZATION_TIMEOUT_MS;
+    while (finalizedCount.get() < LIVE_INSTANCES && System.currentTimeMillis() < deadline) {
+      Runtime.getRuntime().gc();
+      Thread.sleep(10);
+      instanceManager.releaseAllFinalizedInstances();
+    }
+    final long finalizeNanos = System.nanoTime() - start;
+    instanceManager.stopFinalizationListener();
+
+    Bundle results = new Bundle();
+    results.putInt("liveInstances", LIVE_INSTANCES);
+    results.putLong("addNanosPerInstance", addNanos / LIVE_INSTANCES);
+    results.putLong("getInstanceNanosPerInstance", getInstanceNanos / LIVE_INSTANCES);
+    results.putLong("getIdentifierNanosPerInstance", getIdentifierNanos / LIVE_INSTANCES);
+    // Includes garbage collection. Fewer instances are finalized if the timeout is reached.
+    results.putLong("finalizeNanosPerInstance", finalizeNanos / LIVE_INSTANCES);
+    results.putInt("finalizedInstances", finalizedCount.get());
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+  }
+}
@@ -33,9 +33,9 @@ public class InstanceManagerTest {
 
     Runtime.getRuntime().gc();
 
-    // Wait for the interval after finalized callbacks are made for garbage collected objects.
-    // See InstanceManager.CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL.
-    Thread.sleep(30000);
+    // Give the reference reaper thread time to hand the garbage collected object over to the
+    // main thread, where finalized callbacks would be made.
+    Thread.sleep(3000);
 
     assertNull(instanceManager.getInstance(0));
     assertFalse(callbackTriggered[0]);
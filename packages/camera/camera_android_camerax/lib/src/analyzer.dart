@@ -3,12 +3,14 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart' show BinaryMessenger;
 import 'package:meta/meta.dart' show immutable, protected;
 
 import 'android_camera_camerax_flutter_api_impls.dart';
 import 'camerax_library.g.dart';
+import 'image_frame.dart';
 import 'image_proxy.dart';
 import 'instance_manager.dart';
 import 'java_object.dart';
@@ -32,11 +34,31 @@ class Analyzer extends JavaObject {
     AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
   }
 
+  /// Creates an [Analyzer] that receives every image as an [ImageFrame], with
+  /// the bytes of all of its planes, in a single message.
+  ///
+  /// The native image is closed as soon as its planes are copied, so neither
+  /// [ImageProxy]s nor `PlaneProxy`s are created for the analyzed images.
+  Analyzer.batched(
+      {BinaryMessenger? binaryMessenger,
+      InstanceManager? instanceManager,
+      required Future<void> Function(ImageFrame frame) this.analyzeFrame})
+      : analyze = _closeImageProxy,
+        super.detached(
+            binaryMessenger: binaryMessenger,
+            instanceManager: instanceManager) {
+    _api = _AnalyzerHostApiImpl(
+        binaryMessenger: binaryMessenger, instanceManager: instanceManager);
+    _api.createBatchedFromInstances(this);
+    AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
+  }
+
   /// Constructs a [Analyzer] that is not automatically attached to a native object.
   Analyzer.detached(
       {BinaryMessenger? binaryMessenger,
       InstanceManager? instanceManager,
-      required this.analyze})
+      required this.analyze,
+      this.analyzeFrame})
       : super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
@@ -49,6 +71,15 @@ class Analyzer extends JavaObject {
 
   /// Analyzes an image to produce a result.
   final Future<void> Function(ImageProxy imageProxy) analyze;
+
+  /// Analyzes an image received in a single message to produce a result.
+  ///
+  /// Only called for analyzers created with [Analyzer.batched].
+  final Future<void> Function(ImageFrame frame)? analyzeFrame;
+
+  static Future<void> _closeImageProxy(ImageProxy imageProxy) {
+    return imageProxy.close();
+  }
 }
 
 /// Host API implementation of [Analyzer].
@@ -78,6 +109,24 @@ class _AnalyzerHostApiImpl extends AnalyzerHostApi {
       ),
     );
   }
+
+  /// Creates an [Analyzer] instance on the native side that sends every image
+  /// in a single message.
+  Future<void> createBatchedFromInstances(
+    Analyzer instance,
+  ) {
+    return createBatched(
+      instanceManager.addDartCreatedInstance(
+        instance,
+        onCopy: (Analyzer original) => Analyzer.detached(
+          analyze: original.analyze,
+          analyzeFrame: original.analyzeFrame,
+          binaryMessenger: binaryMessenger,
+          instanceManager: instanceManager,
+        ),
+      ),
+    );
+  }
 }
 
 /// Flutter API implementation for [Analyzer].
@@ -120,6 +169,7 @@ class AnalyzerFlutterApiImpl implements AnalyzerFlutterApi {
       identifier,
       onCopy: (Analyzer original) => Analyzer.detached(
         analyze: original.analyze,
+        analyzeFrame: original.analyzeFrame,
         binaryMessenger: _binaryMessenger,
         instanceManager: _instanceManager,
       ),
@@ -139,4 +189,34 @@ class AnalyzerFlutterApiImpl implements AnalyzerFlutterApi {
       imageProxy,
     );
   }
+
+  @override
+  void analyzeFrame(
+    int identifier,
+    int format,
+    int height,
+    int width,
+    List<Uint8List?> planeBuffers,
+    List<int?> pixelStrides,
+    List<int?> rowStrides,
+  ) {
+    final Analyzer instance =
+        _instanceManager.getInstanceWithWeakReference(identifier)!;
+    final List<ImageFramePlane> planes = <ImageFramePlane>[
+      for (int i = 0; i < planeBuffers.length; i++)
+        ImageFramePlane(
+          bytes: planeBuffers[i]!,
+          pixelStride: pixelStrides[i]!,
+          rowStride: rowStrides[i]!,
+        ),
+    ];
+    instance.analyzeFrame!(
+      ImageFrame(
+        format: format,
+        height: height,
+        width: width,
+        planes: planes,
+      ),
+    );
+  }
 }
@@ -33,12 +33,11 @@ import 'focus_metering_action.dart';
 import 'focus_metering_result.dart';
 import 'image_analysis.dart';
 import 'image_capture.dart';
-import 'image_proxy.dart';
+import 'image_frame.dart';
 import 'live_data.dart';
 import 'metering_point.dart';
 import 'observer.dart';
 import 'pending_recording.dart';
-import 'plane_proxy.dart';
 import 'preview.dart';
 import 'process_camera_provider.dart';
 import 'quality_selector.dart';
@@ -1211,17 +1210,16 @@ class AndroidCameraCameraX extends CameraPlatform {
     // Create and set Analyzer that can read image data for image streaming.
     final WeakReference<AndroidCameraCameraX> weakThis =
         WeakReference<AndroidCameraCameraX>(this);
-    Future<void> analyze(ImageProxy imageProxy) async {
-      final List<PlaneProxy> planes = await imageProxy.getPlanes();
+    Future<void> analyzeFrame(ImageFrame frame) async {
       final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
-      for (final PlaneProxy plane in planes) {
+      for (final ImageFramePlane plane in frame.planes) {
         cameraImagePlanes.add(CameraImagePlane(
-            bytes: plane.buffer,
+            bytes: plane.bytes,
             bytesPerRow: plane.rowStride,
             bytesPerPixel: plane.pixelStride));
       }
 
-      final int format = imageProxy.format;
+      final int format = frame.format;
       final CameraImageFormat cameraImageFormat = CameraImageFormat(
           _imageFormatGroupFromPlatformData(format),
           raw: format);
@@ -1229,14 +1227,15 @@ class AndroidCameraCameraX extends CameraPlatform {
       final CameraImageData cameraImageData = CameraImageData(
           format: cameraImageFormat,
           planes: cameraImagePlanes,
-          height: imageProxy.height,
-          width: imageProxy.width);
+          height: frame.height,
+          width: frame.width);
 
       weakThis.target!.cameraImageDataStreamController!.add(cameraImageData);
-      await imageProxy.close();
     }
 
-    final Analyzer analyzer = proxy.createAnalyzer(analyze);
+    // The image and all of its planes are received in a single message and
+    // the native image is closed as soon as its planes are copied.
+    final Analyzer analyzer = proxy.createBatchedAnalyzer(analyzeFrame);
     await imageAnalysis!.setAnalyzer(analyzer);
   }
 
@@ -366,6 +366,8 @@ abstract class JavaObjectFlutterApi {
 
   void dispose(int identifier);
 
+  void disposeAll(List<int?> identifiers);
+
   static void setup(JavaObjectFlutterApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -387,6 +389,26 @@ abstract class JavaObjectFlutterApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMessageHandler(null);
+      } else {
+        channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final List<int?>? arg_identifiers =
+              (args[0] as List<Object?>?)?.cast<int?>();
+          assert(arg_identifiers != null,
+              'Argument for dev.flutter.pigeon.JavaObjectFlutterApi.disposeAll was null, expected non-null List<int?>.');
+          api.disposeAll(arg_identifiers!);
+          return;
+        });
+      }
+    }
   }
 }
 
@@ -2276,15 +2298,23 @@ class ImageAnalysisHostApi {
 
   static const MessageCodec<Object?> codec = StandardMessageCodec();
 
-  Future<void> create(int arg_identifier, int? arg_targetRotation,
-      int? arg_resolutionSelectorId) async {
+  Future<void> create(
+      int arg_identifier,
+      int? arg_targetRotation,
+      int? arg_resolutionSelectorId,
+      int? arg_backpressureStrategy,
+      int? arg_imageQueueDepth,
+      int? arg_analyzerThreadCount) async {
     final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
         'dev.flutter.pigeon.ImageAnalysisHostApi.create', codec,
         binaryMessenger: _binaryMessenger);
     final List<Object?>? replyList = await channel.send(<Object?>[
       arg_identifier,
       arg_targetRotation,
-      arg_resolutionSelectorId
+      arg_resolutionSelectorId,
+      arg_backpressureStrategy,
+      arg_imageQueueDepth,
+      arg_analyzerThreadCount
     ]) as List<Object?>?;
     if (replyList == null) {
       throw PlatformException(
@@ -2402,6 +2432,28 @@ class AnalyzerHostApi {
       return;
     }
   }
+
+  Future<void> createBatched(int arg_identifier) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AnalyzerHostApi.createBatched', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_identifier]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
 }
 
 class ObserverHostApi {
@@ -2666,6 +2718,15 @@ abstract class AnalyzerFlutterApi {
 
   void analyze(int identifier, int imageProxyIdentifier);
 
+  void analyzeFrame(
+      int identifier,
+      int format,
+      int height,
+      int width,
+      List<Uint8List?> planeBuffers,
+      List<int?> pixelStrides,
+      List<int?> rowStrides);
+
   static void setup(AnalyzerFlutterApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -2709,6 +2770,47 @@ abstract class AnalyzerFlutterApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMessageHandler(null);
+      } else {
+        channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null int.');
+          final int? arg_format = (args[1] as int?);
+          assert(arg_format != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null int.');
+          final int? arg_height = (args[2] as int?);
+          assert(arg_height != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null int.');
+          final int? arg_width = (args[3] as int?);
+          assert(arg_width != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null int.');
+          final List<Uint8List?>? arg_planeBuffers =
+              (args[4] as List<Object?>?)?.cast<Uint8List?>();
+          assert(arg_planeBuffers != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null List<Uint8List?>.');
+          final List<int?>? arg_pixelStrides =
+              (args[5] as List<Object?>?)?.cast<int?>();
+          assert(arg_pixelStrides != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null List<int?>.');
+          final List<int?>? arg_rowStrides =
+              (args[6] as List<Object?>?)?.cast<int?>();
+          assert(arg_rowStrides != null,
+              'Argument for dev.flutter.pigeon.AnalyzerFlutterApi.analyzeFrame was null, expected non-null List<int?>.');
+          api.analyzeFrame(arg_identifier!, arg_format!, arg_height!, arg_width!,
+              arg_planeBuffers!, arg_pixelStrides!, arg_rowStrides!);
+          return;
+        });
+      }
+    }
   }
 }
 
@@ -21,6 +21,7 @@ import 'fallback_strategy.dart';
 import 'focus_metering_action.dart';
 import 'image_analysis.dart';
 import 'image_capture.dart';
+import 'image_frame.dart';
 import 'image_proxy.dart';
 import 'metering_point.dart';
 import 'observer.dart';
@@ -50,6 +51,7 @@ class CameraXProxy {
     this.createVideoCapture = _createAttachedVideoCapture,
     this.createImageAnalysis = _createAttachedImageAnalysis,
     this.createAnalyzer = _createAttachedAnalyzer,
+    this.createBatchedAnalyzer = _createAttachedBatchedAnalyzer,
     this.createCameraStateObserver = _createAttachedCameraStateObserver,
     this.createResolutionStrategy = _createAttachedResolutionStrategy,
     this.createResolutionSelector = _createAttachedResolutionSelector,
@@ -109,6 +111,12 @@ class CameraXProxy {
   Analyzer Function(Future<void> Function(ImageProxy imageProxy) analyze)
       createAnalyzer;
 
+  /// Returns an [Analyzer] configured with the specified callback for
+  /// analyzing [ImageFrame]s, which are received with the bytes of all of
+  /// their planes in a single message.
+  Analyzer Function(Future<void> Function(ImageFrame frame) analyzeFrame)
+      createBatchedAnalyzer;
+
   /// Returns an [Observer] of the [CameraState] with the specified callback
   /// for handling changes in that state.
   Observer<CameraState> Function(void Function(Object stateAsObject) onChanged)
@@ -241,9 +249,13 @@ class CameraXProxy {
 
   static ImageAnalysis _createAttachedImageAnalysis(
       ResolutionSelector? resolutionSelector, int? targetRotation) {
+    // Analyze images on a dedicated background thread so that copying image
+    // planes does not compete with the main thread.
     return ImageAnalysis(
         resolutionSelector: resolutionSelector,
-        initialTargetRotation: targetRotation);
+        initialTargetRotation: targetRotation,
+        backpressureStrategy: ImageAnalysis.strategyKeepOnlyLatest,
+        analyzerThreadCount: 1);
   }
 
   static Analyzer _createAttachedAnalyzer(
@@ -251,6 +263,11 @@ class CameraXProxy {
     return Analyzer(analyze: analyze);
   }
 
+  static Analyzer _createAttachedBatchedAnalyzer(
+      Future<void> Function(ImageFrame frame) analyzeFrame) {
+    return Analyzer.batched(analyzeFrame: analyzeFrame);
+  }
+
   static Observer<CameraState> _createAttachedCameraStateObserver(
       void Function(Object stateAsObject) onChanged) {
     return Observer<CameraState>(onChanged: onChanged);
@@ -25,7 +25,10 @@ class ImageAnalysis extends UseCase {
       {BinaryMessenger? binaryMessenger,
       InstanceManager? instanceManager,
       this.initialTargetRotation,
-      this.resolutionSelector})
+      this.resolutionSelector,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.analyzerThreadCount})
       : super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
@@ -41,7 +44,10 @@ class ImageAnalysis extends UseCase {
       {BinaryMessenger? binaryMessenger,
       InstanceManager? instanceManager,
       this.initialTargetRotation,
-      this.resolutionSelector})
+      this.resolutionSelector,
+      this.backpressureStrategy,
+      this.imageQueueDepth,
+      this.analyzerThreadCount})
       : super.detached(
             binaryMessenger: binaryMessenger,
             instanceManager: instanceManager) {
@@ -50,6 +56,18 @@ class ImageAnalysis extends UseCase {
     AndroidCameraXCameraFlutterApis.instance.ensureSetUp();
   }
 
+  /// Backpressure strategy that only keeps the latest image, dropping images
+  /// that arrive while the analyzer is busy.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_KEEP_ONLY_LATEST().
+  static const int strategyKeepOnlyLatest = 0;
+
+  /// Backpressure strategy that lets the analyzer hold up to
+  /// [imageQueueDepth] images before the camera stops producing new ones.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageAnalysis#STRATEGY_BLOCK_PRODUCER().
+  static const int strategyBlockProducer = 1;
+
   late final _ImageAnalysisHostApiImpl _api;
 
   /// Initial target rotation of the camera used for the preview stream.
@@ -66,6 +84,23 @@ class ImageAnalysis extends UseCase {
   /// https://developer.android.com/reference/androidx/camera/core/ImageAnalysis.Builder#setResolutionSelector(androidx.camera.core.resolutionselector.ResolutionSelector).
   final ResolutionSelector? resolutionSelector;
 
+  /// How images are delivered when the analyzer does not keep up with the
+  /// camera, either [strategyKeepOnlyLatest] or [strategyBlockProducer].
+  ///
+  /// If not set, CameraX defaults to [strategyKeepOnlyLatest].
+  final int? backpressureStrategy;
+
+  /// The number of images the analyzer may hold at once when using
+  /// [strategyBlockProducer].
+  final int? imageQueueDepth;
+
+  /// The number of dedicated background threads analyzers run on.
+  ///
+  /// If not set, analyzers run on the main thread. With more than one thread
+  /// and [strategyBlockProducer], images may be analyzed concurrently and
+  /// reach Dart out of order.
+  final int? analyzerThreadCount;
+
   /// Dynamically sets the target rotation of this instance.
   ///
   /// [rotation] should be specified in terms of one of the [Surface]
@@ -115,6 +150,9 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
         onCopy: (ImageAnalysis original) => ImageAnalysis.detached(
           initialTargetRotation: original.initialTargetRotation,
           resolutionSelector: original.resolutionSelector,
+          backpressureStrategy: original.backpressureStrategy,
+          imageQueueDepth: original.imageQueueDepth,
+          analyzerThreadCount: original.analyzerThreadCount,
           binaryMessenger: binaryMessenger,
           instanceManager: instanceManager,
         ),
@@ -123,6 +161,9 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
       resolutionSelector == null
           ? null
           : instanceManager.getIdentifier(resolutionSelector),
+      instance.backpressureStrategy,
+      instance.imageQueueDepth,
+      instance.analyzerThreadCount,
     );
   }
 
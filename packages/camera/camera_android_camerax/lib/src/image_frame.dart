@@ -0,0 +1,56 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:meta/meta.dart' show immutable;
+
+/// An image analyzed by a batched `Analyzer`, received along with the bytes of
+/// all of its planes in a single message.
+///
+/// Unlike an `ImageProxy`, an [ImageFrame] is not attached to a native object:
+/// the native image is closed as soon as its planes are copied.
+@immutable
+class ImageFrame {
+  /// Constructs an [ImageFrame].
+  const ImageFrame({
+    required this.format,
+    required this.height,
+    required this.width,
+    required this.planes,
+  });
+
+  /// The image format, as an Android `ImageFormat` constant.
+  final int format;
+
+  /// The image height.
+  final int height;
+
+  /// The image width.
+  final int width;
+
+  /// The color planes of the image.
+  final List<ImageFramePlane> planes;
+}
+
+/// A single color plane of an [ImageFrame].
+@immutable
+class ImageFramePlane {
+  /// Constructs an [ImageFramePlane].
+  const ImageFramePlane({
+    required this.bytes,
+    required this.pixelStride,
+    required this.rowStride,
+  });
+
+  /// The pixels buffer containing the plane data.
+  final Uint8List bytes;
+
+  /// The distance between adjacent pixel samples, in bytes.
+  final int pixelStride;
+
+  /// The distance between the start of two consecutive rows of pixels, in
+  /// bytes.
+  final int rowStride;
+}
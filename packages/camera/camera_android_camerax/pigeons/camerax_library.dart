@@ -190,6 +190,8 @@ abstract class JavaObjectHostApi {
 @FlutterApi()
 abstract class JavaObjectFlutterApi {
   void dispose(int identifier);
+
+  void disposeAll(List<int?> identifiers);
 }
 
 @HostApi(dartHostTestHandler: 'TestCameraInfoHostApi')
@@ -411,7 +413,13 @@ abstract class ZoomStateFlutterApi {
 
 @HostApi(dartHostTestHandler: 'TestImageAnalysisHostApi')
 abstract class ImageAnalysisHostApi {
-  void create(int identifier, int? targetRotation, int? resolutionSelectorId);
+  void create(
+      int identifier,
+      int? targetRotation,
+      int? resolutionSelectorId,
+      int? backpressureStrategy,
+      int? imageQueueDepth,
+      int? analyzerThreadCount);
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
@@ -423,6 +431,8 @@ abstract class ImageAnalysisHostApi {
 @HostApi(dartHostTestHandler: 'TestAnalyzerHostApi')
 abstract class AnalyzerHostApi {
   void create(int identifier);
+
+  void createBatched(int identifier);
 }
 
 @HostApi(dartHostTestHandler: 'TestObserverHostApi')
@@ -459,6 +469,15 @@ abstract class AnalyzerFlutterApi {
   void create(int identifier);
 
   void analyze(int identifier, int imageProxyIdentifier);
+
+  void analyzeFrame(
+      int identifier,
+      int format,
+      int height,
+      int width,
+      List<Uint8List?> planeBuffers,
+      List<int?> pixelStrides,
+      List<int?> rowStrides);
 }
 
 @HostApi(dartHostTestHandler: 'TestImageProxyHostApi')
@@ -2,7 +2,10 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:camera_android_camerax/src/analyzer.dart';
+import 'package:camera_android_camerax/src/image_frame.dart';
 import 'package:camera_android_camerax/src/image_proxy.dart';
 import 'package:camera_android_camerax/src/instance_manager.dart';
 import 'package:flutter_test/flutter_test.dart';
@@ -44,6 +47,24 @@ void main() {
       ));
     });
 
+    test('HostApi createBatched', () {
+      final MockTestAnalyzerHostApi mockApi = MockTestAnalyzerHostApi();
+      TestAnalyzerHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+
+      final Analyzer instance = Analyzer.batched(
+        analyzeFrame: (ImageFrame frame) async {},
+        instanceManager: instanceManager,
+      );
+
+      verify(mockApi.createBatched(
+        instanceManager.getIdentifier(instance),
+      ));
+    });
+
     test('FlutterAPI create', () {
       final InstanceManager instanceManager = InstanceManager(
         onWeakReferenceRemoved: (_) {},
@@ -112,5 +133,50 @@ void main() {
         imageProxy,
       );
     });
+
+    test('analyzeFrame', () {
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+
+      const int instanceIdentifier = 0;
+      final Uint8List yBytes = Uint8List.fromList(<int>[1, 2, 3]);
+      final Uint8List uvBytes = Uint8List.fromList(<int>[4, 5]);
+      late final ImageFrame callbackParameter;
+      final Analyzer instance = Analyzer.detached(
+        analyze: (ImageProxy imageProxy) async {},
+        analyzeFrame: (ImageFrame frame) async {
+          callbackParameter = frame;
+        },
+        instanceManager: instanceManager,
+      );
+      instanceManager.addHostCreatedInstance(
+        instance,
+        instanceIdentifier,
+        onCopy: (Analyzer original) => Analyzer.detached(
+          analyze: original.analyze,
+          analyzeFrame: original.analyzeFrame,
+          instanceManager: instanceManager,
+        ),
+      );
+
+      final AnalyzerFlutterApiImpl flutterApi = AnalyzerFlutterApiImpl(
+        instanceManager: instanceManager,
+      );
+
+      flutterApi.analyzeFrame(instanceIdentifier, 35, 4, 5,
+          <Uint8List?>[yBytes, uvBytes], <int?>[1, 2], <int?>[8, 16]);
+
+      expect(callbackParameter.format, 35);
+      expect(callbackParameter.height, 4);
+      expect(callbackParameter.width, 5);
+      expect(callbackParameter.planes.length, 2);
+      expect(callbackParameter.planes[0].bytes, yBytes);
+      expect(callbackParameter.planes[0].pixelStride, 1);
+      expect(callbackParameter.planes[0].rowStride, 8);
+      expect(callbackParameter.planes[1].bytes, uvBytes);
+      expect(callbackParameter.planes[1].pixelStride, 2);
+      expect(callbackParameter.planes[1].rowStride, 16);
+    });
   });
 }
@@ -37,6 +37,14 @@ class MockTestAnalyzerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+  @override
+  void createBatched(int? identifier) => super.noSuchMethod(
+        Invocation.method(
+          #createBatched,
+          [identifier],
+        ),
+        returnValueForMissingStub: null,
+      );
 }
 
 /// A class which mocks [TestInstanceManagerHostApi].
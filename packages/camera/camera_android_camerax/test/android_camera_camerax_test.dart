@@ -28,6 +28,7 @@ import 'package:camera_android_camerax/src/focus_metering_action.dart';
 import 'package:camera_android_camerax/src/focus_metering_result.dart';
 import 'package:camera_android_camerax/src/image_analysis.dart';
 import 'package:camera_android_camerax/src/image_capture.dart';
+import 'package:camera_android_camerax/src/image_frame.dart';
 import 'package:camera_android_camerax/src/image_proxy.dart';
 import 'package:camera_android_camerax/src/live_data.dart';
 import 'package:camera_android_camerax/src/metering_point.dart';
@@ -1676,9 +1677,11 @@ void main() {
 
       // Tell plugin to create detached Analyzer for testing.
       camera.proxy = CameraXProxy(
-          createAnalyzer:
-              (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                  Analyzer.detached(analyze: analyze),
+          createBatchedAnalyzer:
+              (Future<void> Function(ImageFrame frame) analyzeFrame) =>
+                  Analyzer.detached(
+                      analyze: (ImageProxy imageProxy) async {},
+                      analyzeFrame: analyzeFrame),
           getCamera2CameraInfo: (CameraInfo cameraInfo) async =>
               cameraInfo == initialCameraInfo
                   ? mockCamera2CameraInfo
@@ -2329,9 +2332,11 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze));
+        createBatchedAnalyzer:
+            (Future<void> Function(ImageFrame frame) analyzeFrame) =>
+                Analyzer.detached(
+                    analyze: (ImageProxy imageProxy) async {},
+                    analyzeFrame: analyzeFrame));
 
     // Set directly for test versus calling createCamera.
     camera.processCameraProvider = mockProcessCameraProvider;
@@ -2372,9 +2377,11 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze));
+        createBatchedAnalyzer:
+            (Future<void> Function(ImageFrame frame) analyzeFrame) =>
+                Analyzer.detached(
+                    analyze: (ImageProxy imageProxy) async {},
+                    analyzeFrame: analyzeFrame));
 
     // Set directly for test versus calling createCamera.
     camera.processCameraProvider = mockProcessCameraProvider;
@@ -2420,9 +2427,6 @@ void main() {
     final MockImageAnalysis mockImageAnalysis = MockImageAnalysis();
     final Camera mockCamera = MockCamera();
     final CameraInfo mockCameraInfo = MockCameraInfo();
-    final MockImageProxy mockImageProxy = MockImageProxy();
-    final MockPlaneProxy mockPlane = MockPlaneProxy();
-    final List<MockPlaneProxy> mockPlanes = <MockPlaneProxy>[mockPlane];
     final Uint8List buffer = Uint8List(0);
     const int pixelStride = 27;
     const int rowStride = 58;
@@ -2432,9 +2436,11 @@ void main() {
 
     // Tell plugin to create detached Analyzer for testing.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze),
+        createBatchedAnalyzer:
+            (Future<void> Function(ImageFrame frame) analyzeFrame) =>
+                Analyzer.detached(
+                    analyze: (ImageProxy imageProxy) async {},
+                    analyzeFrame: analyzeFrame),
         createCameraStateObserver: (void Function(Object) onChanged) =>
             Observer<CameraState>.detached(onChanged: onChanged));
 
@@ -2454,14 +2460,6 @@ void main() {
     when(mockCamera.getCameraInfo()).thenAnswer((_) async => mockCameraInfo);
     when(mockCameraInfo.getCameraState())
         .thenAnswer((_) async => MockLiveCameraState());
-    when(mockImageProxy.getPlanes())
-        .thenAnswer((_) async => Future<List<PlaneProxy>>.value(mockPlanes));
-    when(mockPlane.buffer).thenReturn(buffer);
-    when(mockPlane.rowStride).thenReturn(rowStride);
-    when(mockPlane.pixelStride).thenReturn(pixelStride);
-    when(mockImageProxy.format).thenReturn(imageFormat);
-    when(mockImageProxy.height).thenReturn(imageHeight);
-    when(mockImageProxy.width).thenReturn(imageWidth);
 
     final Completer<CameraImageData> imageDataCompleter =
         Completer<CameraImageData>();
@@ -2478,11 +2476,18 @@ void main() {
         verify(mockImageAnalysis.setAnalyzer(captureAny)).captured.single
             as Analyzer;
 
-    await capturedAnalyzer.analyze(mockImageProxy);
+    await capturedAnalyzer.analyzeFrame!(ImageFrame(
+        format: imageFormat,
+        height: imageHeight,
+        width: imageWidth,
+        planes: <ImageFramePlane>[
+          ImageFramePlane(
+              bytes: buffer, pixelStride: pixelStride, rowStride: rowStride)
+        ]));
 
     final CameraImageData imageData = await imageDataCompleter.future;
 
-    // Test Analyzer correctly process ImageProxy instances.
+    // Test Analyzer correctly process ImageFrame instances.
     expect(imageData.planes.length, equals(1));
     expect(imageData.planes[0].bytes, equals(buffer));
     expect(imageData.planes[0].bytesPerRow, equals(rowStride));
@@ -2511,7 +2516,7 @@ void main() {
     camera.captureOrientationLocked = true;
 
     // Tell plugin to create a detached analyzer for testing purposes.
-    camera.proxy = CameraXProxy(createAnalyzer: (_) => MockAnalyzer());
+    camera.proxy = CameraXProxy(createBatchedAnalyzer: (_) => MockAnalyzer());
 
     when(mockProcessCameraProvider.isBound(mockImageAnalysis))
         .thenAnswer((_) async => true);
@@ -2542,7 +2547,7 @@ void main() {
     // Tell plugin to create a detached analyzer for testing purposes and mock
     // call to get current photo orientation.
     camera.proxy = CameraXProxy(
-        createAnalyzer: (_) => MockAnalyzer(),
+        createBatchedAnalyzer: (_) => MockAnalyzer(),
         getDefaultDisplayRotation: () =>
             Future<int>.value(defaultTargetRotation));
 
@@ -3933,7 +3938,7 @@ void main() {
 
     // Tell plugin to create a detached analyzer for testing purposes.
     camera.proxy = CameraXProxy(
-      createAnalyzer: (_) => MockAnalyzer(),
+      createBatchedAnalyzer: (_) => MockAnalyzer(),
       createCameraStateObserver: (_) => MockObserver(),
     );
 
@@ -4179,9 +4184,11 @@ void main() {
 
     // Tell plugin to create detached Observer when camera info updated.
     camera.proxy = CameraXProxy(
-        createAnalyzer:
-            (Future<void> Function(ImageProxy imageProxy) analyze) =>
-                Analyzer.detached(analyze: analyze),
+        createBatchedAnalyzer:
+            (Future<void> Function(ImageFrame frame) analyzeFrame) =>
+                Analyzer.detached(
+                    analyze: (ImageProxy imageProxy) async {},
+                    analyzeFrame: analyzeFrame),
         createCameraStateObserver: (void Function(Object) onChanged) =>
             Observer<CameraState>.detached(onChanged: onChanged),
         getCamera2CameraInfo: (CameraInfo cameraInfo) =>
@@ -46,8 +46,13 @@ void main() {
         instanceManager: instanceManager,
       );
 
-      verifyNever(mockApi.create(argThat(isA<int>()), argThat(isA<int>()),
-          argThat(isA<ResolutionSelector>())));
+      verifyNever(mockApi.create(
+          argThat(isA<int>()),
+          argThat(isA<int>()),
+          argThat(isA<ResolutionSelector>()),
+          any,
+          any,
+          any));
     });
     test('create calls create on the Java side', () {
       final MockTestImageAnalysisHostApi mockApi =
@@ -72,13 +77,19 @@ void main() {
       final ImageAnalysis instance = ImageAnalysis(
         initialTargetRotation: targetRotation,
         resolutionSelector: mockResolutionSelector,
+        backpressureStrategy: ImageAnalysis.strategyBlockProducer,
+        imageQueueDepth: 4,
+        analyzerThreadCount: 2,
         instanceManager: instanceManager,
       );
 
       verify(mockApi.create(
           argThat(equals(instanceManager.getIdentifier(instance))),
           argThat(equals(targetRotation)),
-          argThat(equals(mockResolutionSelectorId))));
+          argThat(equals(mockResolutionSelectorId)),
+          argThat(equals(ImageAnalysis.strategyBlockProducer)),
+          argThat(equals(4)),
+          argThat(equals(2))));
     });
 
     test(
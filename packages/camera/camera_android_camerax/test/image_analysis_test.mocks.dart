@@ -35,6 +35,9 @@ class MockTestImageAnalysisHostApi extends _i1.Mock
     int? identifier,
     int? targetRotation,
     int? resolutionSelectorId,
+    int? backpressureStrategy,
+    int? imageQueueDepth,
+    int? analyzerThreadCount,
   ) =>
       super.noSuchMethod(
         Invocation.method(
@@ -43,6 +46,9 @@ class MockTestImageAnalysisHostApi extends _i1.Mock
             identifier,
             targetRotation,
             resolutionSelectorId,
+            backpressureStrategy,
+            imageQueueDepth,
+            analyzerThreadCount,
           ],
         ),
         returnValueForMissingStub: null,
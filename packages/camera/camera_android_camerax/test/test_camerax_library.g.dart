@@ -1443,7 +1443,13 @@ abstract class TestImageAnalysisHostApi {
       TestDefaultBinaryMessengerBinding.instance;
   static const MessageCodec<Object?> codec = StandardMessageCodec();
 
-  void create(int identifier, int? targetRotation, int? resolutionSelectorId);
+  void create(
+      int identifier,
+      int? targetRotation,
+      int? resolutionSelectorId,
+      int? backpressureStrategy,
+      int? imageQueueDepth,
+      int? analyzerThreadCount);
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
@@ -1472,8 +1478,16 @@ abstract class TestImageAnalysisHostApi {
               'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.create was null, expected non-null int.');
           final int? arg_targetRotation = (args[1] as int?);
           final int? arg_resolutionSelectorId = (args[2] as int?);
+          final int? arg_backpressureStrategy = (args[3] as int?);
+          final int? arg_imageQueueDepth = (args[4] as int?);
+          final int? arg_analyzerThreadCount = (args[5] as int?);
           api.create(
-              arg_identifier!, arg_targetRotation, arg_resolutionSelectorId);
+              arg_identifier!,
+              arg_targetRotation,
+              arg_resolutionSelectorId,
+              arg_backpressureStrategy,
+              arg_imageQueueDepth,
+              arg_analyzerThreadCount);
           return <Object?>[];
         });
       }
@@ -1560,6 +1574,8 @@ abstract class TestAnalyzerHostApi {
 
   void create(int identifier);
 
+  void createBatched(int identifier);
+
   static void setup(TestAnalyzerHostApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -1584,6 +1600,28 @@ abstract class TestAnalyzerHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.AnalyzerHostApi.createBatched', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.AnalyzerHostApi.createBatched was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.AnalyzerHostApi.createBatched was null, expected non-null int.');
+          api.createBatched(arg_identifier!);
+          return <Object?>[];
+        });
+      }
+    }
   }
 }
 
@@ -0,0 +1,139 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A cache of the bitmap descriptors of marker icons, keyed by the content of the icons.
+ *
+ * <p>Markers sharing an icon then share a single decoded and scaled bitmap. The cache is bounded by
+ * the size of the bitmaps it holds, evicting the least recently used descriptors first.
+ *
+ * <p>All the methods must be called on the main thread.
+ */
+final class BitmapDescriptorCache {
+  @VisibleForTesting static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+  /** An estimate of the memory used by a cached descriptor besides its bitmap and key. */
+  @VisibleForTesting static final int ENTRY_OVERHEAD_BYTES = 64;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final long maxBytes;
+  private long sizeBytes;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  BitmapDescriptorCache() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  @VisibleForTesting
+  BitmapDescriptorCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /** Returns the cached descriptor of {@code key}, or null if it is not cached. */
+  @Nullable
+  BitmapDescriptor get(@NonNull Key key) {
+    final Entry entry = entries.get(key);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.descriptor;
+  }
+
+  /**
+   * Caches {@code descriptor}, whose bitmap uses {@code bitmapByteCount} bytes, and evicts the least
+   * recently used descriptors beyond the maximum size.
+   */
+  void put(@NonNull Key key, @NonNull BitmapDescriptor descriptor, long bitmapByteCount) {
+    final long size = ENTRY_OVERHEAD_BYTES + key.getByteCount() + bitmapByteCount;
+    final Entry previousEntry = entries.remove(key);
+    if (previousEntry != null) {
+      sizeBytes -= previousEntry.size;
+    }
+    if (size > maxBytes) {
+      return;
+    }
+    entries.put(key, new Entry(descriptor, size));
+    sizeBytes += size;
+    final Iterator<Entry> iterator = entries.values().iterator();
+    while (sizeBytes > maxBytes && iterator.hasNext()) {
+      sizeBytes -= iterator.next().size;
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  @NonNull
+  Messages.PlatformBitmapDescriptorCacheStats getStats() {
+    return new Messages.PlatformBitmapDescriptorCacheStats.Builder()
+        .setHitCount(hitCount)
+        .setMissCount(missCount)
+        .setEvictionCount(evictionCount)
+        .setEntryCount((long) entries.size())
+        .setSizeBytes(sizeBytes)
+        .build();
+  }
+
+  /**
+   * The content of an icon: its parameters, which include the display density, and its image
+   * bytes if it has any.
+   */
+  static final class Key {
+    private final @NonNull String parameters;
+    private final @Nullable byte[] bytes;
+    private final int hashCode;
+
+    Key(@NonNull String parameters, @Nullable byte[] bytes) {
+      this.parameters = parameters;
+      this.bytes = bytes;
+      this.hashCode = parameters.hashCode() * 31 + Arrays.hashCode(bytes);
+    }
+
+    long getByteCount() {
+      return 2L * parameters.length() + (bytes == null ? 0 : bytes.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode
+          && parameters.equals(other.parameters)
+          && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Entry {
+    final BitmapDescriptor descriptor;
+    final long size;
+
+    Entry(BitmapDescriptor descriptor, long size) {
+      this.descriptor = descriptor;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.maps.android.SphericalUtil;
+
+/**
+ * Coalesces the camera positions reported while the camera moves.
+ *
+ * <p>A position is delivered at least {@code minIntervalMillis} after the previous one. Positions
+ * reported sooner are coalesced into the latest one, which is delivered when the interval elapses.
+ * When delta thresholds are set, a position is only delivered if it differs from the previous one
+ * by at least one of them. The first position of a camera move is delivered immediately, and the
+ * last one is always delivered when the camera becomes idle.
+ *
+ * <p>With the default configuration, every position is delivered immediately.
+ *
+ * <p>All the methods must be called on the main thread.
+ */
+class CameraMoveThrottler {
+  /** Receives the delivered camera positions. */
+  interface Listener {
+    void onCameraMove(@NonNull CameraPosition position);
+  }
+
+  private final @NonNull Listener listener;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable deliverScheduledPosition = this::deliverScheduledPosition;
+
+  private long minIntervalMillis;
+  private double minZoomDelta;
+  private double minBearingDelta;
+  private double minTargetDistanceMeters;
+
+  /** The last delivered position of the current camera move, or null before the first one. */
+  private @Nullable CameraPosition lastDeliveredPosition;
+
+  private long lastDeliveryTime;
+
+  /** The latest reported position, or null if it was delivered. */
+  private @Nullable CameraPosition latestPosition;
+
+  private boolean isDeliveryScheduled;
+
+  CameraMoveThrottler(@NonNull Listener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Sets the minimum interval between two delivered positions, and the minimum changes of zoom
+   * level, bearing in degrees and target distance in meters for a position to be delivered.
+   *
+   * <p>A threshold of 0 is ignored. When all of them are 0, every position is delivered.
+   */
+  void setConfiguration(
+      long minIntervalMillis,
+      double minZoomDelta,
+      double minBearingDelta,
+      double minTargetDistanceMeters) {
+    this.minIntervalMillis = Math.max(0, minIntervalMillis);
+    this.minZoomDelta = Math.max(0, minZoomDelta);
+    this.minBearingDelta = Math.max(0, minBearingDelta);
+    this.minTargetDistanceMeters = Math.max(0, minTargetDistanceMeters);
+  }
+
+  void onCameraMove(@NonNull CameraPosition position) {
+    latestPosition = position;
+    if (isDeliveryScheduled) {
+      return;
+    }
+    final long now = SystemClock.uptimeMillis();
+    final long nextDeliveryTime =
+        lastDeliveredPosition == null ? now : lastDeliveryTime + minIntervalMillis;
+    if (now >= nextDeliveryTime) {
+      deliverLatestPositionIfChanged();
+    } else {
+      isDeliveryScheduled = true;
+      handler.postAtTime(deliverScheduledPosition, nextDeliveryTime);
+    }
+  }
+
+  /** Delivers the latest position if it was not delivered, and ends the camera move. */
+  void onCameraIdle() {
+    cancelScheduledDelivery();
+    if (latestPosition != null) {
+      deliver(latestPosition);
+    }
+    lastDeliveredPosition = null;
+  }
+
+  /** Drops the positions that were not delivered, and ends the camera move. */
+  void reset() {
+    cancelScheduledDelivery();
+    latestPosition = null;
+    lastDeliveredPosition = null;
+  }
+
+  private void cancelScheduledDelivery() {
+    if (isDeliveryScheduled) {
+      handler.removeCallbacks(deliverScheduledPosition);
+      isDeliveryScheduled = false;
+    }
+  }
+
+  private void deliverScheduledPosition() {
+    isDeliveryScheduled = false;
+    deliverLatestPositionIfChanged();
+  }
+
+  private void deliverLatestPositionIfChanged() {
+    if (latestPosition == null) {
+      return;
+    }
+    if (lastDeliveredPosition == null
+        || isSignificantChange(lastDeliveredPosition, latestPosition)) {
+      deliver(latestPosition);
+    }
+  }
+
+  private void deliver(@NonNull CameraPosition position) {
+    lastDeliveredPosition = position;
+    lastDeliveryTime = SystemClock.uptimeMillis();
+    latestPosition = null;
+    listener.onCameraMove(position);
+  }
+
+  private boolean isSignificantChange(
+      @NonNull CameraPosition previous, @NonNull CameraPosition current) {
+    if (minZoomDelta == 0 && minBearingDelta == 0 && minTargetDistanceMeters == 0) {
+      return true;
+    }
+    if (minZoomDelta > 0 && Math.abs(current.zoom - previous.zoom) >= minZoomDelta) {
+      return true;
+    }
+    if (minBearingDelta > 0) {
+      final double bearingDelta = Math.abs(current.bearing - previous.bearing) % 360;
+      if (Math.min(bearingDelta, 360 - bearingDelta) >= minBearingDelta) {
+        return true;
+      }
+    }
+    return minTargetDistanceMeters > 0
+        && SphericalUtil.computeDistanceBetween(previous.target, current.target)
+            >= minTargetDistanceMeters;
+  }
+}
@@ -16,7 +16,11 @@ import com.google.maps.android.clustering.ClusterManager;
 import com.google.maps.android.clustering.view.DefaultClusterRenderer;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -122,24 +126,81 @@ class ClusterManagersController
 
   /** Adds item to the ClusterManager it belongs to. */
   public void addItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.addItem(item);
-      clusterManager.cluster();
-    }
+    addItems(Collections.singletonList(item));
   }
 
   /** Removes item from the ClusterManager it belongs to. */
   public void removeItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.removeItem(item);
+    removeItems(Collections.singletonList(item));
+  }
+
+  /**
+   * Adds items to the ClusterManagers they belong to, and reclusters each of these ClusterManagers
+   * once.
+   */
+  public void addItems(@NonNull Collection<MarkerBuilder> items) {
+    updateItems(Collections.<MarkerBuilder>emptyList(), items);
+  }
+
+  /**
+   * Removes items from the ClusterManagers they belong to, and reclusters each of these
+   * ClusterManagers once.
+   */
+  public void removeItems(@NonNull Collection<MarkerBuilder> items) {
+    updateItems(items, Collections.<MarkerBuilder>emptyList());
+  }
+
+  /**
+   * Removes and then adds items to the ClusterManagers they belong to, and reclusters each of these
+   * ClusterManagers once.
+   *
+   * <p>Reclustering recomputes the clusters of every item of a ClusterManager, so it is done once
+   * per update rather than once per item.
+   */
+  public void updateItems(
+      @NonNull Collection<MarkerBuilder> itemsToRemove,
+      @NonNull Collection<MarkerBuilder> itemsToAdd) {
+    if (itemsToRemove.isEmpty() && itemsToAdd.isEmpty()) {
+      return;
+    }
+    final Map<String, List<MarkerBuilder>> itemsToRemoveByManagerId =
+        groupByClusterManagerId(itemsToRemove);
+    final Map<String, List<MarkerBuilder>> itemsToAddByManagerId =
+        groupByClusterManagerId(itemsToAdd);
+    final Set<String> updatedClusterManagerIds = new HashSet<>(itemsToRemoveByManagerId.keySet());
+    updatedClusterManagerIds.addAll(itemsToAddByManagerId.keySet());
+    for (String clusterManagerId : updatedClusterManagerIds) {
+      ClusterManager<MarkerBuilder> clusterManager =
+          clusterManagerIdToManager.get(clusterManagerId);
+      if (clusterManager == null) {
+        continue;
+      }
+      List<MarkerBuilder> removed = itemsToRemoveByManagerId.get(clusterManagerId);
+      if (removed != null) {
+        clusterManager.removeItems(removed);
+      }
+      List<MarkerBuilder> added = itemsToAddByManagerId.get(clusterManagerId);
+      if (added != null) {
+        clusterManager.addItems(added);
+      }
       clusterManager.cluster();
     }
   }
 
+  private static Map<String, List<MarkerBuilder>> groupByClusterManagerId(
+      Collection<MarkerBuilder> items) {
+    final Map<String, List<MarkerBuilder>> itemsByManagerId = new HashMap<>();
+    for (MarkerBuilder item : items) {
+      List<MarkerBuilder> managerItems = itemsByManagerId.get(item.clusterManagerId());
+      if (managerItems == null) {
+        managerItems = new ArrayList<>();
+        itemsByManagerId.put(item.clusterManagerId(), managerItems);
+      }
+      managerItems.add(item);
+    }
+    return itemsByManagerId;
+  }
+
   /** Called when ClusterRenderer has rendered new visible marker to the map. */
   void onClusterItemRendered(@NonNull MarkerBuilder item, @NonNull Marker marker) {
     // If map is being disposed, clusterItemRenderedListener might have been cleared and
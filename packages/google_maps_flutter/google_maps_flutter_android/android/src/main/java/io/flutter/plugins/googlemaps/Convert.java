@@ -61,11 +61,62 @@ class Convert {
   public static final String HEATMAP_GRADIENT_START_POINTS_KEY = "startPoints";
   public static final String HEATMAP_GRADIENT_COLOR_MAP_SIZE_KEY = "colorMapSize";
 
+  // The parameters of the "asset" and "bytes" bitmap descriptors, besides the image bytes.
+  private static final String[] BITMAP_DESCRIPTOR_PARAMETER_KEYS = {
+    "assetName", "bitmapScaling", "imagePixelRatio", "width", "height"
+  };
+
   private static BitmapDescriptor toBitmapDescriptor(
       Object o, AssetManager assetManager, float density) {
     return toBitmapDescriptor(o, assetManager, density, new BitmapDescriptorFactoryWrapper());
   }
 
+  private static BitmapDescriptor toBitmapDescriptor(
+      Object o,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
+    final BitmapDescriptorCache.Key key =
+        cache == null ? null : toBitmapDescriptorCacheKey(o, density);
+    if (key == null) {
+      return toBitmapDescriptor(o, assetManager, density, wrapper);
+    }
+    BitmapDescriptor descriptor = cache.get(key);
+    if (descriptor == null) {
+      final MeasuringBitmapDescriptorFactoryWrapper measuringWrapper =
+          new MeasuringBitmapDescriptorFactoryWrapper(wrapper);
+      descriptor = toBitmapDescriptor(o, assetManager, density, measuringWrapper);
+      if (descriptor != null) {
+        cache.put(key, descriptor, measuringWrapper.bitmapByteCount);
+      }
+    }
+    return descriptor;
+  }
+
+  /**
+   * Returns the key of the icon {@code o} in a {@link BitmapDescriptorCache}, or null for the icons
+   * that are not decoded by the plugin.
+   */
+  @Nullable
+  private static BitmapDescriptorCache.Key toBitmapDescriptorCacheKey(Object o, float density) {
+    final List<?> data = toList(o);
+    final String descriptorType = toString(data.get(0));
+    if (!("asset".equals(descriptorType) || "bytes".equals(descriptorType))
+        || data.size() < 2
+        || !(data.get(1) instanceof Map)) {
+      return null;
+    }
+    final Map<?, ?> details = toMap(data.get(1));
+    final StringBuilder parameters = new StringBuilder(descriptorType).append('|').append(density);
+    for (String parameterKey : BITMAP_DESCRIPTOR_PARAMETER_KEYS) {
+      parameters.append('|').append(details.get(parameterKey));
+    }
+    final Object bytes = details.get("byteData");
+    return new BitmapDescriptorCache.Key(
+        parameters.toString(), bytes instanceof byte[] ? (byte[]) bytes : null);
+  }
+
   private static BitmapDescriptor toBitmapDescriptor(
       Object o, AssetManager assetManager, float density, BitmapDescriptorFactoryWrapper wrapper) {
     final List<?> data = toList(o);
@@ -666,13 +717,29 @@ class Convert {
       AssetManager assetManager,
       float density,
       BitmapDescriptorFactoryWrapper wrapper) {
+    interpretMarkerOptions(marker, sink, assetManager, density, wrapper, null);
+  }
+
+  /**
+   * Set the options in the given object to marker options sink, sharing the decoded icons through
+   * {@code bitmapDescriptorCache} when it is not null.
+   */
+  static void interpretMarkerOptions(
+      Messages.PlatformMarker marker,
+      MarkerOptionsSink sink,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache bitmapDescriptorCache) {
     sink.setAlpha(marker.getAlpha().floatValue());
     sink.setAnchor(
         marker.getAnchor().getDx().floatValue(), marker.getAnchor().getDy().floatValue());
     sink.setConsumeTapEvents(marker.getConsumeTapEvents());
     sink.setDraggable(marker.getDraggable());
     sink.setFlat(marker.getFlat());
-    sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper));
+    sink.setIcon(
+        toBitmapDescriptor(
+            marker.getIcon(), assetManager, density, wrapper, bitmapDescriptorCache));
     interpretInfoWindowOptions(sink, marker.getInfoWindow());
     sink.setPosition(toLatLng(marker.getPosition().toList()));
     sink.setRotation(marker.getRotation().floatValue());
@@ -796,15 +863,36 @@ class Convert {
     }
   }
 
-  static List<LatLng> pointsFromPigeon(List<Messages.PlatformLatLng> data) {
-    final List<LatLng> points = new ArrayList<>(data.size());
+  /**
+   * Converts packed points to a list of LatLng objects.
+   *
+   * @param data the interleaved latitudes and longitudes of the points.
+   * @return a list of LatLng objects.
+   */
+  static List<LatLng> pointsFromPigeon(double[] data) {
+    final List<LatLng> points = new ArrayList<>(data.length / 2);
 
-    for (Messages.PlatformLatLng rawPoint : data) {
-      points.add(new LatLng(rawPoint.getLatitude(), rawPoint.getLongitude()));
+    for (int i = 0; i + 1 < data.length; i += 2) {
+      points.add(new LatLng(data[i], data[i + 1]));
     }
     return points;
   }
 
+  /**
+   * Converts packed weighted points to a list of WeightedLatLng objects.
+   *
+   * @param data the interleaved latitudes, longitudes and weights of the points.
+   * @return a list of WeightedLatLng objects.
+   */
+  static List<WeightedLatLng> weightedDataFromPigeon(double[] data) {
+    final List<WeightedLatLng> weightedData = new ArrayList<>(data.length / 3);
+
+    for (int i = 0; i + 2 < data.length; i += 3) {
+      weightedData.add(new WeightedLatLng(new LatLng(data[i], data[i + 1]), data[i + 2]));
+    }
+    return weightedData;
+  }
+
   /**
    * Converts the given object to a list of WeightedLatLng objects.
    *
@@ -861,10 +949,10 @@ class Convert {
     return new Gradient(colors, startPoints, colorMapSize);
   }
 
-  private static List<List<LatLng>> toHoles(List<List<Messages.PlatformLatLng>> data) {
+  private static List<List<LatLng>> toHoles(List<double[]> data) {
     final List<List<LatLng>> holes = new ArrayList<>(data.size());
 
-    for (List<Messages.PlatformLatLng> hole : data) {
+    for (double[] hole : data) {
       holes.add(pointsFromPigeon(hole));
     }
     return holes;
@@ -965,6 +1053,28 @@ class Convert {
     }
   }
 
+  /** Records the size of the bitmaps of the descriptors it creates. */
+  private static final class MeasuringBitmapDescriptorFactoryWrapper
+      extends BitmapDescriptorFactoryWrapper {
+    private final BitmapDescriptorFactoryWrapper wrapper;
+    long bitmapByteCount;
+
+    MeasuringBitmapDescriptorFactoryWrapper(BitmapDescriptorFactoryWrapper wrapper) {
+      this.wrapper = wrapper;
+    }
+
+    @Override
+    public BitmapDescriptor fromAsset(String assetKey) {
+      return wrapper.fromAsset(assetKey);
+    }
+
+    @Override
+    public BitmapDescriptor fromBitmap(Bitmap bitmap) {
+      bitmapByteCount += bitmap.getAllocationByteCount();
+      return wrapper.fromBitmap(bitmap);
+    }
+  }
+
   @VisibleForTesting
   static class FlutterInjectorWrapper {
     /**
@@ -11,7 +11,6 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import android.content.res.AssetManager;
-import android.graphics.Bitmap;
 import android.graphics.Point;
 import android.graphics.SurfaceTexture;
 import android.os.Bundle;
@@ -30,6 +29,7 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.GoogleMapOptions;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.OnMapReadyCallback;
+import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.Circle;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
@@ -48,7 +48,6 @@ import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsApi;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import io.flutter.plugins.googlemaps.Messages.MapsInspectorApi;
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -82,6 +81,9 @@ class GoogleMapController
   private boolean trafficEnabled = false;
   private boolean buildingsEnabled = true;
   private boolean disposed = false;
+  private final CameraMoveThrottler cameraMoveThrottler =
+      new CameraMoveThrottler(this::sendCameraMove);
+  private final SnapshotEncoder snapshotEncoder = new SnapshotEncoder();
   @VisibleForTesting final float density;
   private @Nullable Messages.VoidResult mapReadyResult;
   private final Context context;
@@ -136,7 +138,8 @@ class GoogleMapController
     this.polylinesController = new PolylinesController(flutterApi, assetManager, density);
     this.circlesController = new CirclesController(flutterApi, density);
     this.heatmapsController = new HeatmapsController();
-    this.tileOverlaysController = new TileOverlaysController(flutterApi);
+    this.tileOverlaysController =
+        new TileOverlaysController(flutterApi, new TileCache(context.getCacheDir()));
   }
 
   // Constructor for testing purposes only
@@ -321,16 +324,25 @@ class GoogleMapController
 
   @Override
   public void onCameraMove() {
+    tileOverlaysController.onCameraMove();
     if (!trackCameraPosition) {
       return;
     }
-    flutterApi.onCameraMove(
-        Convert.cameraPositionToPigeon(googleMap.getCameraPosition()), new NoOpVoidResult());
+    cameraMoveThrottler.onCameraMove(googleMap.getCameraPosition());
+  }
+
+  private void sendCameraMove(@NonNull CameraPosition position) {
+    flutterApi.onCameraMove(Convert.cameraPositionToPigeon(position), new NoOpVoidResult());
   }
 
   @Override
   public void onCameraIdle() {
     clusterManagersController.onCameraIdle();
+    tileOverlaysController.onCameraIdle();
+    cameraMoveThrottler.onCameraIdle();
+    if (markersController.isCullingEnabled()) {
+      markersController.onCameraIdle(googleMap.getProjection().getVisibleRegion().latLngBounds);
+    }
     flutterApi.onCameraIdle(new NoOpVoidResult());
   }
 
@@ -381,6 +393,10 @@ class GoogleMapController
     setMarkerCollectionListener(null);
     setClusterItemClickListener(null);
     setClusterItemRenderedListener(null);
+    tileOverlaysController.dispose();
+    heatmapsController.dispose();
+    snapshotEncoder.dispose();
+    cameraMoveThrottler.reset();
     destroyMapViewIfNecessary();
     Lifecycle lifecycle = lifecycleProvider.getLifecycle();
     if (lifecycle != null) {
@@ -529,6 +545,9 @@ class GoogleMapController
   @Override
   public void setTrackCameraPosition(boolean trackCameraPosition) {
     this.trackCameraPosition = trackCameraPosition;
+    if (!trackCameraPosition) {
+      cameraMoveThrottler.reset();
+    }
   }
 
   @Override
@@ -881,6 +900,13 @@ class GoogleMapController
     polylinesController.removePolylines(idsToRemove);
   }
 
+  @Override
+  public void updatePolylinePoints(
+      @NonNull String polylineId, @NonNull double[] pointsToAppend, @NonNull Long trimCount) {
+    polylinesController.updatePolylinePoints(
+        polylineId, Convert.pointsFromPigeon(pointsToAppend), trimCount.intValue());
+  }
+
   @Override
   public void updateTileOverlays(
       @NonNull List<Messages.PlatformTileOverlay> toAdd,
@@ -985,21 +1011,88 @@ class GoogleMapController
     tileOverlaysController.clearTileCache(tileOverlayId);
   }
 
+  @Override
+  public void setTileCacheConfiguration(
+      @NonNull Messages.PlatformTileCacheConfiguration configuration) {
+    tileOverlaysController
+        .getTileCache()
+        .setConfiguration(
+            configuration.getMemoryCacheMaxBytes(), configuration.getDiskCacheMaxBytes());
+  }
+
+  @Override
+  public void invalidateTiles(
+      @NonNull String tileOverlayId,
+      @NonNull List<Messages.PlatformPoint> locations,
+      @NonNull Long zoom) {
+    tileOverlaysController.invalidateTiles(tileOverlayId, locations, zoom.intValue());
+  }
+
+  @Override
+  public void setCameraMoveConfiguration(
+      @NonNull Messages.PlatformCameraMoveConfiguration configuration) {
+    cameraMoveThrottler.setConfiguration(
+        configuration.getMinIntervalMilliseconds(),
+        configuration.getMinZoomDelta(),
+        configuration.getMinBearingDelta(),
+        configuration.getMinTargetDistanceMeters());
+  }
+
+  @Override
+  public void setMarkerCullingConfiguration(
+      @NonNull Messages.PlatformMarkerCullingConfiguration configuration) {
+    final LatLngBounds visibleBounds =
+        googleMap == null ? null : googleMap.getProjection().getVisibleRegion().latLngBounds;
+    markersController.setCullingConfiguration(
+        configuration.getEnabled(), configuration.getVisibleRegionMargin(), visibleBounds);
+  }
+
   @Override
   public void takeSnapshot(@NonNull Messages.Result<byte[]> result) {
+    takeSnapshot(
+        "takeSnapshot",
+        SnapshotEncoder.DEFAULT_OPTIONS,
+        new Messages.NullableResult<byte[]>() {
+          @Override
+          public void success(@Nullable byte[] data) {
+            result.success(Objects.requireNonNull(data));
+          }
+
+          @Override
+          public void error(@NonNull Throwable error) {
+            result.error(error);
+          }
+        });
+  }
+
+  @Override
+  public void takeSnapshotWithOptions(
+      @NonNull Messages.PlatformSnapshotOptions options,
+      @NonNull Messages.NullableResult<byte[]> result) {
+    final String optionsError = SnapshotEncoder.validateOptions(options);
+    if (optionsError != null) {
+      result.error(new FlutterError("Invalid snapshot options", optionsError, null));
+      return;
+    }
+    takeSnapshot("takeSnapshotWithOptions", options, result);
+  }
+
+  private void takeSnapshot(
+      @NonNull String method,
+      @NonNull Messages.PlatformSnapshotOptions options,
+      @NonNull Messages.NullableResult<byte[]> result) {
     if (googleMap == null) {
-      result.error(new FlutterError("GoogleMap uninitialized", "takeSnapshot", null));
+      result.error(new FlutterError("GoogleMap uninitialized", method, null));
     } else {
       googleMap.snapshot(
           bitmap -> {
             if (bitmap == null) {
               result.error(new FlutterError("Snapshot failure", "Unable to take snapshot", null));
-            } else {
-              ByteArrayOutputStream stream = new ByteArrayOutputStream();
-              bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream);
-              byte[] byteArray = stream.toByteArray();
+            } else if (disposed) {
               bitmap.recycle();
-              result.success(byteArray);
+              result.error(new FlutterError("Snapshot failure", "The map was disposed", null));
+            } else {
+              snapshotEncoder.encode(bitmap, options, result);
             }
           });
     }
@@ -1083,6 +1176,16 @@ class GoogleMapController
         .build();
   }
 
+  @Override
+  public @NonNull Messages.PlatformTileCacheStats getTileCacheStats() {
+    return tileOverlaysController.getTileCache().getStats();
+  }
+
+  @Override
+  public @NonNull Messages.PlatformBitmapDescriptorCacheStats getBitmapDescriptorCacheStats() {
+    return markersController.getBitmapDescriptorCache().getStats();
+  }
+
   @Override
   public @NonNull List<Messages.PlatformCluster> getClusters(@NonNull String clusterManagerId) {
     Set<? extends Cluster<MarkerBuilder>> clusters =
@@ -5,7 +5,10 @@
 package io.flutter.plugins.googlemaps;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.Tile;
 import com.google.android.gms.maps.model.TileOverlay;
+import com.google.android.gms.maps.model.TileProvider;
 import com.google.maps.android.heatmaps.Gradient;
 import com.google.maps.android.heatmaps.HeatmapTileProvider;
 import com.google.maps.android.heatmaps.WeightedLatLng;
@@ -13,12 +16,18 @@ import java.util.List;
 
 /** Controller of a single Heatmap on the map. */
 public class HeatmapController implements HeatmapOptionsSink {
-  private final @NonNull HeatmapTileProvider heatmap;
+  private final @NonNull HeatmapTileProviderHolder heatmapHolder;
   private final @NonNull TileOverlay heatmapTileOverlay;
 
-  /** Construct a HeatmapController with the given heatmap and heatmapTileOverlay. */
-  HeatmapController(@NonNull HeatmapTileProvider heatmap, @NonNull TileOverlay heatmapTileOverlay) {
-    this.heatmap = heatmap;
+  /**
+   * Construct a HeatmapController with the given heatmapHolder and heatmapTileOverlay.
+   *
+   * <p>The heatmapTileOverlay is expected to have been created with the heatmapHolder as its tile
+   * provider, so that the heatmap can be replaced without recreating the overlay.
+   */
+  HeatmapController(
+      @NonNull HeatmapTileProviderHolder heatmapHolder, @NonNull TileOverlay heatmapTileOverlay) {
+    this.heatmapHolder = heatmapHolder;
     this.heatmapTileOverlay = heatmapTileOverlay;
   }
 
@@ -32,28 +41,66 @@ public class HeatmapController implements HeatmapOptionsSink {
     heatmapTileOverlay.clearTileCache();
   }
 
+  /**
+   * Replace the heatmap drawn by the tile overlay, and clear the tile cache so that the tiles are
+   * drawn from the new heatmap.
+   */
+  void replaceHeatmap(@NonNull HeatmapTileProvider heatmap) {
+    heatmapHolder.setHeatmap(heatmap);
+    heatmapTileOverlay.clearTileCache();
+  }
+
   @Override
   public void setWeightedData(@NonNull List<WeightedLatLng> weightedData) {
-    heatmap.setWeightedData(weightedData);
+    heatmapHolder.getHeatmap().setWeightedData(weightedData);
   }
 
   @Override
   public void setGradient(@NonNull Gradient gradient) {
-    heatmap.setGradient(gradient);
+    heatmapHolder.getHeatmap().setGradient(gradient);
   }
 
   @Override
   public void setMaxIntensity(double maxIntensity) {
-    heatmap.setMaxIntensity(maxIntensity);
+    heatmapHolder.getHeatmap().setMaxIntensity(maxIntensity);
   }
 
   @Override
   public void setOpacity(double opacity) {
-    heatmap.setOpacity(opacity);
+    heatmapHolder.getHeatmap().setOpacity(opacity);
   }
 
   @Override
   public void setRadius(int radius) {
-    heatmap.setRadius(radius);
+    heatmapHolder.getHeatmap().setRadius(radius);
+  }
+
+  /**
+   * Tile provider of a heatmap tile overlay, which draws the tiles of a heatmap that can be
+   * replaced.
+   *
+   * <p>Tiles are requested from a background thread of the map, so the heatmap is published through
+   * a volatile field.
+   */
+  static class HeatmapTileProviderHolder implements TileProvider {
+    private volatile @NonNull HeatmapTileProvider heatmap;
+
+    HeatmapTileProviderHolder(@NonNull HeatmapTileProvider heatmap) {
+      this.heatmap = heatmap;
+    }
+
+    @NonNull
+    HeatmapTileProvider getHeatmap() {
+      return heatmap;
+    }
+
+    void setHeatmap(@NonNull HeatmapTileProvider heatmap) {
+      this.heatmap = heatmap;
+    }
+
+    @Override
+    public @Nullable Tile getTile(int x, int y, int zoom) {
+      return heatmap.getTile(x, y, zoom);
+    }
   }
 }
@@ -4,8 +4,11 @@
 
 package io.flutter.plugins.googlemaps;
 
+import static io.flutter.plugins.googlemaps.Convert.HEATMAP_DATA_KEY;
 import static io.flutter.plugins.googlemaps.Convert.HEATMAP_ID_KEY;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.GoogleMap;
@@ -15,17 +18,39 @@ import com.google.maps.android.heatmaps.HeatmapTileProvider;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /** Controller of multiple Heatmaps on the map. */
 public class HeatmapsController {
   /** Mapping from Heatmap ID to HeatmapController. */
   private final Map<String, HeatmapController> heatmapIdToController;
+  /**
+   * Mapping from Heatmap ID to the generation of its pending build, for the heatmaps being built in
+   * the background. Only the result of the latest build of a heatmap is applied.
+   */
+  private final Map<String, Long> heatmapIdToBuildGeneration;
+  /** The executor building the heatmaps from packed weighted data. */
+  private final @NonNull Executor backgroundExecutor;
+  /** The executor applying the built heatmaps to the map, on the main thread. */
+  private final @NonNull Executor mainThreadExecutor;
   /** The GoogleMap to which the heatmaps are added. */
   private GoogleMap googleMap;
 
+  private long nextBuildGeneration;
+
   /** Constructs a HeatmapsController. */
   HeatmapsController() {
+    this(Executors.newSingleThreadExecutor(), new Handler(Looper.getMainLooper())::post);
+  }
+
+  @VisibleForTesting
+  HeatmapsController(@NonNull Executor backgroundExecutor, @NonNull Executor mainThreadExecutor) {
     this.heatmapIdToController = new HashMap<>();
+    this.heatmapIdToBuildGeneration = new HashMap<>();
+    this.backgroundExecutor = backgroundExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
   }
 
   /** Sets the GoogleMap to which the heatmaps are added. */
@@ -36,20 +61,35 @@ public class HeatmapsController {
   /** Adds heatmaps to the map. */
   void addHeatmaps(@NonNull List<Messages.PlatformHeatmap> heatmapsToAdd) {
     for (Messages.PlatformHeatmap heatmapToAdd : heatmapsToAdd) {
-      addJsonHeatmap(heatmapToAdd.getJson());
+      final double[] weightedData = heatmapToAdd.getWeightedData();
+      if (weightedData != null) {
+        buildHeatmapAsync(heatmapToAdd.getJson(), weightedData);
+      } else {
+        addJsonHeatmap(heatmapToAdd.getJson());
+      }
     }
   }
 
   /** Updates the given heatmaps on the map. */
   void changeHeatmaps(@NonNull List<Messages.PlatformHeatmap> heatmapsToChange) {
     for (Messages.PlatformHeatmap heatmapToChange : heatmapsToChange) {
-      changeJsonHeatmap(heatmapToChange.getJson());
+      final double[] weightedData = heatmapToChange.getWeightedData();
+      if (weightedData == null) {
+        changeJsonHeatmap(heatmapToChange.getJson());
+        continue;
+      }
+      final String heatmapId = getHeatmapId(heatmapToChange.getJson());
+      if (heatmapIdToController.containsKey(heatmapId)
+          || heatmapIdToBuildGeneration.containsKey(heatmapId)) {
+        buildHeatmapAsync(heatmapToChange.getJson(), weightedData);
+      }
     }
   }
 
   /** Removes heatmaps with the given ids from the map. */
   void removeHeatmaps(@NonNull List<String> heatmapIdsToRemove) {
     for (String heatmapId : heatmapIdsToRemove) {
+      heatmapIdToBuildGeneration.remove(heatmapId);
       HeatmapController heatmapController = heatmapIdToController.remove(heatmapId);
       if (heatmapController != null) {
         heatmapController.remove();
@@ -64,6 +104,14 @@ public class HeatmapsController {
     return builder.build();
   }
 
+  /** Stops building heatmaps, as the map is disposed. */
+  void dispose() {
+    heatmapIdToBuildGeneration.clear();
+    if (backgroundExecutor instanceof ExecutorService) {
+      ((ExecutorService) backgroundExecutor).shutdown();
+    }
+  }
+
   /** Adds a heatmap to the map from json data. */
   private void addJsonHeatmap(Map<String, ?> heatmap) {
     if (heatmap == null) {
@@ -71,15 +119,65 @@ public class HeatmapsController {
     }
     HeatmapBuilder heatmapBuilder = new HeatmapBuilder();
     String heatmapId = Convert.interpretHeatmapOptions(heatmap, heatmapBuilder);
+    heatmapIdToBuildGeneration.remove(heatmapId);
     HeatmapTileProvider options = buildHeatmap(heatmapBuilder);
     addHeatmap(heatmapId, options);
   }
 
+  /**
+   * Builds a heatmap from packed weighted data in the background, then adds it to the map, or
+   * replaces the data of the heatmap already on the map.
+   *
+   * <p>The options are interpreted on the calling thread so that invalid ones are reported to the
+   * caller, while converting the points and building the heatmap, which are proportional to the
+   * number of points, are done on the background executor.
+   *
+   * @param heatmap the heatmap options, as JSON. Its data is ignored.
+   * @param weightedData the interleaved latitudes, longitudes and weights of the points.
+   */
+  private void buildHeatmapAsync(@NonNull Map<String, ?> heatmap, @NonNull double[] weightedData) {
+    final HeatmapBuilder heatmapBuilder = new HeatmapBuilder();
+    final Map<String, Object> options = new HashMap<>(heatmap);
+    options.remove(HEATMAP_DATA_KEY);
+    final String heatmapId = Convert.interpretHeatmapOptions(options, heatmapBuilder);
+    if (weightedData.length < 3) {
+      // Matches the error of the heatmap builder, which would otherwise be thrown in the
+      // background.
+      throw new IllegalArgumentException("No input points.");
+    }
+    final long generation = nextBuildGeneration++;
+    heatmapIdToBuildGeneration.put(heatmapId, generation);
+    backgroundExecutor.execute(
+        () -> {
+          heatmapBuilder.setWeightedData(Convert.weightedDataFromPigeon(weightedData));
+          final HeatmapTileProvider builtHeatmap = buildHeatmap(heatmapBuilder);
+          mainThreadExecutor.execute(() -> onHeatmapBuilt(heatmapId, generation, builtHeatmap));
+        });
+  }
+
+  /** Applies a heatmap built in the background, unless it was since removed or rebuilt. */
+  private void onHeatmapBuilt(
+      @NonNull String heatmapId, long generation, @NonNull HeatmapTileProvider heatmap) {
+    final Long pendingGeneration = heatmapIdToBuildGeneration.get(heatmapId);
+    if (pendingGeneration == null || pendingGeneration != generation) {
+      return;
+    }
+    heatmapIdToBuildGeneration.remove(heatmapId);
+    final HeatmapController heatmapController = heatmapIdToController.get(heatmapId);
+    if (heatmapController != null) {
+      heatmapController.replaceHeatmap(heatmap);
+    } else {
+      addHeatmap(heatmapId, heatmap);
+    }
+  }
+
   /** Adds a heatmap to the map. */
   private void addHeatmap(String heatmapId, HeatmapTileProvider options) {
+    HeatmapController.HeatmapTileProviderHolder heatmapHolder =
+        new HeatmapController.HeatmapTileProviderHolder(options);
     TileOverlay heatmapTileOverlay =
-        googleMap.addTileOverlay(new TileOverlayOptions().tileProvider(options));
-    HeatmapController heatmapController = new HeatmapController(options, heatmapTileOverlay);
+        googleMap.addTileOverlay(new TileOverlayOptions().tileProvider(heatmapHolder));
+    HeatmapController heatmapController = new HeatmapController(heatmapHolder, heatmapTileOverlay);
     heatmapIdToController.put(heatmapId, heatmapController);
   }
 
@@ -89,6 +187,7 @@ public class HeatmapsController {
       return;
     }
     String heatmapId = getHeatmapId(heatmap);
+    heatmapIdToBuildGeneration.remove(heatmapId);
     HeatmapController heatmapController = heatmapIdToController.get(heatmapId);
     if (heatmapController != null) {
       Convert.interpretHeatmapOptions(heatmap, heatmapController);
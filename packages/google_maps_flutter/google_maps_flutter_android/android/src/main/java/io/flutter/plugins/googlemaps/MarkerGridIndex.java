@@ -0,0 +1,166 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * A spatial index of marker positions, grouping the markers in a grid of cells of equal size in
+ * degrees.
+ *
+ * <p>Querying a region only visits the cells it overlaps, or the non-empty cells if there are fewer
+ * of them.
+ */
+class MarkerGridIndex {
+  /** The size in degrees of the cells, about 5 kilometers at the equator. */
+  @VisibleForTesting static final double DEFAULT_CELL_SIZE_DEGREES = 0.05;
+
+  private final double cellSizeDegrees;
+  private final int columnCount;
+  private final int rowCount;
+  private final Map<String, LatLng> markerIdToPosition = new HashMap<>();
+  private final Map<Long, HashSet<String>> cellToMarkerIds = new HashMap<>();
+
+  MarkerGridIndex() {
+    this(DEFAULT_CELL_SIZE_DEGREES);
+  }
+
+  @VisibleForTesting
+  MarkerGridIndex(double cellSizeDegrees) {
+    this.cellSizeDegrees = cellSizeDegrees;
+    this.columnCount = (int) Math.ceil(360 / cellSizeDegrees);
+    this.rowCount = (int) Math.ceil(180 / cellSizeDegrees);
+  }
+
+  int size() {
+    return markerIdToPosition.size();
+  }
+
+  /** Adds the marker at {@code position}, or moves it there if it is already indexed. */
+  void put(@NonNull String markerId, @NonNull LatLng position) {
+    final LatLng previousPosition = markerIdToPosition.put(markerId, position);
+    final long cell = cell(row(position.latitude), column(position.longitude));
+    if (previousPosition != null) {
+      final long previousCell =
+          cell(row(previousPosition.latitude), column(previousPosition.longitude));
+      if (previousCell == cell) {
+        return;
+      }
+      removeFromCell(previousCell, markerId);
+    }
+    HashSet<String> markerIds = cellToMarkerIds.get(cell);
+    if (markerIds == null) {
+      markerIds = new HashSet<>();
+      cellToMarkerIds.put(cell, markerIds);
+    }
+    markerIds.add(markerId);
+  }
+
+  void remove(@NonNull String markerId) {
+    final LatLng position = markerIdToPosition.remove(markerId);
+    if (position != null) {
+      removeFromCell(cell(row(position.latitude), column(position.longitude)), markerId);
+    }
+  }
+
+  void clear() {
+    markerIdToPosition.clear();
+    cellToMarkerIds.clear();
+  }
+
+  /** Adds the IDs of the markers within {@code bounds} to {@code markerIds}. */
+  void query(@NonNull LatLngBounds bounds, @NonNull Collection<String> markerIds) {
+    final int minRow = row(bounds.southwest.latitude);
+    final int maxRow = row(bounds.northeast.latitude);
+    final int minColumn = column(bounds.southwest.longitude);
+    final int maxColumn = column(bounds.northeast.longitude);
+    // The bounds cross the antimeridian if their west edge is east of their east edge.
+    final boolean crossesAntimeridian = bounds.southwest.longitude > bounds.northeast.longitude;
+    final long columnSpan =
+        crossesAntimeridian
+            ? (columnCount - minColumn) + (maxColumn + 1)
+            : (maxColumn - minColumn + 1);
+    final long overlappedCellCount = (long) (maxRow - minRow + 1) * columnSpan;
+
+    if (overlappedCellCount > cellToMarkerIds.size()) {
+      for (Map.Entry<Long, HashSet<String>> entry : cellToMarkerIds.entrySet()) {
+        final long cell = entry.getKey();
+        final int row = (int) (cell / columnCount);
+        final int column = (int) (cell % columnCount);
+        final boolean overlapsColumns =
+            crossesAntimeridian
+                ? column >= minColumn || column <= maxColumn
+                : column >= minColumn && column <= maxColumn;
+        if (row >= minRow && row <= maxRow && overlapsColumns) {
+          addMarkersWithin(entry.getValue(), bounds, markerIds);
+        }
+      }
+      return;
+    }
+
+    for (int row = minRow; row <= maxRow; row++) {
+      if (crossesAntimeridian) {
+        addMarkersWithin(row, minColumn, columnCount - 1, bounds, markerIds);
+        addMarkersWithin(row, 0, maxColumn, bounds, markerIds);
+      } else {
+        addMarkersWithin(row, minColumn, maxColumn, bounds, markerIds);
+      }
+    }
+  }
+
+  private void addMarkersWithin(
+      int row,
+      int minColumn,
+      int maxColumn,
+      @NonNull LatLngBounds bounds,
+      @NonNull Collection<String> markerIds) {
+    for (int column = minColumn; column <= maxColumn; column++) {
+      final HashSet<String> cellMarkerIds = cellToMarkerIds.get(cell(row, column));
+      if (cellMarkerIds != null) {
+        addMarkersWithin(cellMarkerIds, bounds, markerIds);
+      }
+    }
+  }
+
+  private void addMarkersWithin(
+      @NonNull HashSet<String> cellMarkerIds,
+      @NonNull LatLngBounds bounds,
+      @NonNull Collection<String> markerIds) {
+    // Cells on the edges of the bounds may only partially overlap them.
+    for (String markerId : cellMarkerIds) {
+      if (bounds.contains(markerIdToPosition.get(markerId))) {
+        markerIds.add(markerId);
+      }
+    }
+  }
+
+  private void removeFromCell(long cell, @NonNull String markerId) {
+    final HashSet<String> markerIds = cellToMarkerIds.get(cell);
+    if (markerIds != null && markerIds.remove(markerId) && markerIds.isEmpty()) {
+      cellToMarkerIds.remove(cell);
+    }
+  }
+
+  private int row(double latitude) {
+    final int row = (int) Math.floor((latitude + 90) / cellSizeDegrees);
+    return Math.max(0, Math.min(rowCount - 1, row));
+  }
+
+  private int column(double longitude) {
+    final int column = (int) Math.floor((longitude + 180) / cellSizeDegrees);
+    return Math.max(0, Math.min(columnCount - 1, column));
+  }
+
+  private long cell(int row, int column) {
+    return (long) row * columnCount + column;
+  }
+}
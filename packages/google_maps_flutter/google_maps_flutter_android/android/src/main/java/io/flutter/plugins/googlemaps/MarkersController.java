@@ -6,12 +6,16 @@ package io.flutter.plugins.googlemaps;
 
 import android.content.res.AssetManager;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,6 +29,19 @@ class MarkersController {
   private final AssetManager assetManager;
   private final float density;
   private final Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper;
+  private final BitmapDescriptorCache bitmapDescriptorCache = new BitmapDescriptorCache();
+
+  /** The positions of the markers that do not belong to a cluster manager, when culling. */
+  private final MarkerGridIndex markerIndex = new MarkerGridIndex();
+
+  private boolean isCullingEnabled;
+  private double visibleRegionMargin;
+
+  /**
+   * The region in which markers are added to the map when culling, or null if it is not known yet,
+   * in which case every marker is added.
+   */
+  private @Nullable LatLngBounds cullingBounds;
 
   MarkersController(
       @NonNull MapsCallbackApi flutterApi,
@@ -42,38 +59,159 @@ class MarkersController {
     this.bitmapDescriptorFactoryWrapper = bitmapDescriptorFactoryWrapper;
   }
 
+  @NonNull
+  BitmapDescriptorCache getBitmapDescriptorCache() {
+    return bitmapDescriptorCache;
+  }
+
   void setCollection(MarkerManager.Collection markerCollection) {
     this.markerCollection = markerCollection;
   }
 
+  boolean isCullingEnabled() {
+    return isCullingEnabled;
+  }
+
+  /**
+   * Sets whether only the markers within {@code visibleRegionMargin} of the visible region, as a
+   * fraction of its size on each side, are added to the map.
+   *
+   * <p>The other markers are kept in a spatial index, and are added to the map once the camera
+   * becomes idle near them. Markers that belong to a cluster manager are never culled.
+   */
+  void setCullingConfiguration(
+      boolean enabled, double visibleRegionMargin, @Nullable LatLngBounds visibleBounds) {
+    this.visibleRegionMargin = Math.max(0, visibleRegionMargin);
+    if (enabled && !isCullingEnabled) {
+      for (MarkerBuilder markerBuilder : markerIdToMarkerBuilder.values()) {
+        if (markerBuilder.clusterManagerId() == null) {
+          markerIndex.put(markerBuilder.markerId(), markerBuilder.getPosition());
+        }
+      }
+    } else if (!enabled && isCullingEnabled) {
+      for (MarkerBuilder markerBuilder : markerIdToMarkerBuilder.values()) {
+        if (isCulled(markerBuilder.markerId())) {
+          addMarkerToCollection(markerBuilder.markerId(), markerBuilder);
+        }
+      }
+      markerIndex.clear();
+      cullingBounds = null;
+    }
+    isCullingEnabled = enabled;
+    if (enabled && visibleBounds != null) {
+      onCameraIdle(visibleBounds);
+    }
+  }
+
+  /**
+   * Adds the culled markers near {@code visibleBounds} to the map, and removes the markers that are
+   * no longer near it.
+   */
+  void onCameraIdle(@NonNull LatLngBounds visibleBounds) {
+    if (!isCullingEnabled || markerCollection == null) {
+      return;
+    }
+    cullingBounds = expandBounds(visibleBounds, visibleRegionMargin);
+    final HashSet<String> markerIdsToShow = new HashSet<>();
+    markerIndex.query(cullingBounds, markerIdsToShow);
+
+    final List<String> markerIdsToCull = new ArrayList<>();
+    for (String markerId : markerIdToController.keySet()) {
+      if (!markerIdsToShow.remove(markerId)
+          && markerIdToMarkerBuilder.get(markerId).clusterManagerId() == null) {
+        markerIdsToCull.add(markerId);
+      }
+    }
+    for (String markerId : markerIdsToCull) {
+      cullMarker(markerId);
+    }
+    for (String markerId : markerIdsToShow) {
+      addMarkerToCollection(markerId, markerIdToMarkerBuilder.get(markerId));
+    }
+  }
+
+  /** Removes a marker that does not belong to a cluster manager from the map, but keeps it. */
+  private void cullMarker(String markerId) {
+    final MarkerController markerController = markerIdToController.remove(markerId);
+    if (markerController != null) {
+      markerController.removeFromCollection(markerCollection);
+      googleMapsMarkerIdToDartMarkerId.remove(markerController.getGoogleMapsMarkerId());
+    }
+  }
+
+  /** Returns whether the marker is known but was not added to the map because it is culled. */
+  private boolean isCulled(String markerId) {
+    final MarkerBuilder markerBuilder = markerIdToMarkerBuilder.get(markerId);
+    return isCullingEnabled
+        && markerBuilder != null
+        && markerBuilder.clusterManagerId() == null
+        && !markerIdToController.containsKey(markerId);
+  }
+
+  private boolean isWithinCullingBounds(LatLng position) {
+    return !isCullingEnabled || cullingBounds == null || cullingBounds.contains(position);
+  }
+
+  /** Returns {@code bounds} extended by {@code margin} times their size on each side. */
+  private static LatLngBounds expandBounds(LatLngBounds bounds, double margin) {
+    final double latitudeMargin = (bounds.northeast.latitude - bounds.southwest.latitude) * margin;
+    double longitudeSpan = bounds.northeast.longitude - bounds.southwest.longitude;
+    if (longitudeSpan < 0) {
+      // The bounds cross the antimeridian.
+      longitudeSpan += 360;
+    }
+    final double longitudeMargin = longitudeSpan * margin;
+    final double south = Math.max(-90, bounds.southwest.latitude - latitudeMargin);
+    final double north = Math.min(90, bounds.northeast.latitude + latitudeMargin);
+    if (longitudeSpan + 2 * longitudeMargin >= 360) {
+      // LatLng wraps a longitude of 180 to -180, so the east edge is just below it.
+      return new LatLngBounds(new LatLng(south, -180), new LatLng(north, Math.nextDown(180.0)));
+    }
+    return new LatLngBounds(
+        new LatLng(south, bounds.southwest.longitude - longitudeMargin),
+        new LatLng(north, bounds.northeast.longitude + longitudeMargin));
+  }
+
   void addMarkers(@NonNull List<Messages.PlatformMarker> markersToAdd) {
+    final List<MarkerBuilder> clusterItemsToAdd = new ArrayList<>();
     for (Messages.PlatformMarker markerToAdd : markersToAdd) {
-      addMarker(markerToAdd);
+      addMarker(markerToAdd, clusterItemsToAdd);
     }
+    clusterManagersController.addItems(clusterItemsToAdd);
   }
 
   void changeMarkers(@NonNull List<Messages.PlatformMarker> markersToChange) {
+    final List<MarkerBuilder> clusterItemsToRemove = new ArrayList<>();
+    final List<MarkerBuilder> clusterItemsToAdd = new ArrayList<>();
     for (Messages.PlatformMarker markerToChange : markersToChange) {
-      changeMarker(markerToChange);
+      changeMarker(markerToChange, clusterItemsToRemove, clusterItemsToAdd);
     }
+    clusterManagersController.updateItems(clusterItemsToRemove, clusterItemsToAdd);
   }
 
   void removeMarkers(@NonNull List<String> markerIdsToRemove) {
+    final List<MarkerBuilder> clusterItemsToRemove = new ArrayList<>();
     for (String markerId : markerIdsToRemove) {
-      removeMarker(markerId);
+      removeMarker(markerId, clusterItemsToRemove);
     }
+    clusterManagersController.removeItems(clusterItemsToRemove);
   }
 
-  private void removeMarker(String markerId) {
+  /**
+   * Removes a marker. If the marker belongs to a cluster manager, its marker builder is added to
+   * {@code clusterItemsToRemove} instead, so that cluster managers are updated once per batch.
+   */
+  private void removeMarker(String markerId, List<MarkerBuilder> clusterItemsToRemove) {
     final MarkerBuilder markerBuilder = markerIdToMarkerBuilder.remove(markerId);
     if (markerBuilder == null) {
       return;
     }
     final MarkerController markerController = markerIdToController.remove(markerId);
+    markerIndex.remove(markerId);
     final String clusterManagerId = markerBuilder.clusterManagerId();
     if (clusterManagerId != null) {
       // Remove marker from clusterManager.
-      clusterManagersController.removeItem(markerBuilder);
+      clusterItemsToRemove.add(markerBuilder);
     } else if (markerController != null && this.markerCollection != null) {
       // Remove marker from map and markerCollection
       markerController.removeFromCollection(markerCollection);
@@ -85,6 +223,10 @@ class MarkersController {
   }
 
   void showMarkerInfoWindow(String markerId) {
+    if (isCulled(markerId)) {
+      // The marker needs to be on the map to show its info window.
+      addMarkerToCollection(markerId, markerIdToMarkerBuilder.get(markerId));
+    }
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -94,6 +236,9 @@ class MarkersController {
   }
 
   void hideMarkerInfoWindow(String markerId) {
+    if (isCulled(markerId)) {
+      return;
+    }
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -103,6 +248,9 @@ class MarkersController {
   }
 
   boolean isInfoWindowShown(String markerId) {
+    if (isCulled(markerId)) {
+      return false;
+    }
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController == null) {
       throw new Messages.FlutterError(
@@ -149,6 +297,12 @@ class MarkersController {
     if (markerId == null) {
       return;
     }
+    final MarkerBuilder markerBuilder = markerIdToMarkerBuilder.get(markerId);
+    if (isCullingEnabled && markerBuilder != null && markerBuilder.clusterManagerId() == null) {
+      // Culled markers are rebuilt from their builder, which needs the dragged position.
+      markerBuilder.setPosition(latLng);
+      markerIndex.put(markerId, latLng);
+    }
     flutterApi.onMarkerDragEnd(markerId, Convert.latLngToPigeon(latLng), new NoOpVoidResult());
   }
 
@@ -171,16 +325,26 @@ class MarkersController {
     }
   }
 
-  private void addMarker(@NonNull Messages.PlatformMarker marker) {
+  private void addMarker(
+      @NonNull Messages.PlatformMarker marker, List<MarkerBuilder> clusterItemsToAdd) {
     String markerId = marker.getMarkerId();
     String clusterManagerId = marker.getClusterManagerId();
     MarkerBuilder markerBuilder = new MarkerBuilder(markerId, clusterManagerId);
     Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
-    addMarker(markerBuilder);
+        marker,
+        markerBuilder,
+        assetManager,
+        density,
+        bitmapDescriptorFactoryWrapper,
+        bitmapDescriptorCache);
+    addMarker(markerBuilder, clusterItemsToAdd);
   }
 
-  private void addMarker(MarkerBuilder markerBuilder) {
+  /**
+   * Adds a marker. If the marker belongs to a cluster manager, its marker builder is added to
+   * {@code clusterItemsToAdd} instead, so that cluster managers are updated once per batch.
+   */
+  private void addMarker(MarkerBuilder markerBuilder, List<MarkerBuilder> clusterItemsToAdd) {
     if (markerBuilder == null) {
       return;
     }
@@ -190,9 +354,14 @@ class MarkersController {
     markerIdToMarkerBuilder.put(markerId, markerBuilder);
 
     if (markerBuilder.clusterManagerId() == null) {
-      addMarkerToCollection(markerId, markerBuilder);
+      if (isCullingEnabled) {
+        markerIndex.put(markerId, markerBuilder.getPosition());
+      }
+      if (isWithinCullingBounds(markerBuilder.getPosition())) {
+        addMarkerToCollection(markerId, markerBuilder);
+      }
     } else {
-      addMarkerBuilderForCluster(markerBuilder);
+      clusterItemsToAdd.add(markerBuilder);
     }
   }
 
@@ -202,17 +371,16 @@ class MarkersController {
     createControllerForMarker(markerId, marker, markerBuilder.consumeTapEvents());
   }
 
-  private void addMarkerBuilderForCluster(MarkerBuilder markerBuilder) {
-    clusterManagersController.addItem(markerBuilder);
-  }
-
   private void createControllerForMarker(String markerId, Marker marker, boolean consumeTapEvents) {
     MarkerController controller = new MarkerController(marker, consumeTapEvents);
     markerIdToController.put(markerId, controller);
     googleMapsMarkerIdToDartMarkerId.put(marker.getId(), markerId);
   }
 
-  private void changeMarker(@NonNull Messages.PlatformMarker marker) {
+  private void changeMarker(
+      @NonNull Messages.PlatformMarker marker,
+      List<MarkerBuilder> clusterItemsToRemove,
+      List<MarkerBuilder> clusterItemsToAdd) {
     String markerId = marker.getMarkerId();
 
     MarkerBuilder markerBuilder = markerIdToMarkerBuilder.get(markerId);
@@ -226,20 +394,42 @@ class MarkersController {
     // If the cluster ID on the updated marker has changed, the marker needs to
     // be removed and re-added to update its cluster manager state.
     if (!(Objects.equals(clusterManagerId, oldClusterManagerId))) {
-      removeMarker(markerId);
-      addMarker(marker);
+      removeMarker(markerId, clusterItemsToRemove);
+      addMarker(marker, clusterItemsToAdd);
       return;
     }
 
     // Update marker builder.
     Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+        marker,
+        markerBuilder,
+        assetManager,
+        density,
+        bitmapDescriptorFactoryWrapper,
+        bitmapDescriptorCache);
+
+    if (isCullingEnabled && clusterManagerId == null) {
+      markerIndex.put(markerId, markerBuilder.getPosition());
+      if (!isWithinCullingBounds(markerBuilder.getPosition())) {
+        cullMarker(markerId);
+        return;
+      }
+      if (!markerIdToController.containsKey(markerId)) {
+        addMarkerToCollection(markerId, markerBuilder);
+        return;
+      }
+    }
 
     // Update existing marker on map.
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
       Convert.interpretMarkerOptions(
-          marker, markerController, assetManager, density, bitmapDescriptorFactoryWrapper);
+          marker,
+          markerController,
+          assetManager,
+          density,
+          bitmapDescriptorFactoryWrapper,
+          bitmapDescriptorCache);
     }
   }
 }
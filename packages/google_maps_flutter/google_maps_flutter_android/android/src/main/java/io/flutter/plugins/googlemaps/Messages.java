@@ -112,6 +112,20 @@ public class Messages {
     }
   }
 
+  /** Image formats of map snapshots. */
+  public enum PlatformSnapshotFormat {
+    PNG(0),
+    JPEG(1),
+    WEBP_LOSSY(2),
+    WEBP_LOSSLESS(3);
+
+    final int index;
+
+    private PlatformSnapshotFormat(final int index) {
+      this.index = index;
+    }
+  }
+
   /**
    * Pigeon representatation of a CameraPosition.
    *
@@ -657,6 +671,21 @@ public class Messages {
       this.json = setterArg;
     }
 
+    /**
+     * The weighted points of the heatmap, as interleaved latitudes, longitudes and weights.
+     *
+     * <p>When set, the data in [json] is ignored, and the heatmap is built off the platform thread.
+     */
+    private @Nullable double[] weightedData;
+
+    public @Nullable double[] getWeightedData() {
+      return weightedData;
+    }
+
+    public void setWeightedData(@Nullable double[] setterArg) {
+      this.weightedData = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformHeatmap() {}
 
@@ -669,12 +698,14 @@ public class Messages {
         return false;
       }
       PlatformHeatmap that = (PlatformHeatmap) o;
-      return json.equals(that.json);
+      return json.equals(that.json) && Arrays.equals(weightedData, that.weightedData);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(json);
+      int __pigeon_result = Objects.hash(json);
+      __pigeon_result = 31 * __pigeon_result + Arrays.hashCode(weightedData);
+      return __pigeon_result;
     }
 
     public static final class Builder {
@@ -687,17 +718,27 @@ public class Messages {
         return this;
       }
 
+      private @Nullable double[] weightedData;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setWeightedData(@Nullable double[] setterArg) {
+        this.weightedData = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformHeatmap build() {
         PlatformHeatmap pigeonReturn = new PlatformHeatmap();
         pigeonReturn.setJson(json);
+        pigeonReturn.setWeightedData(weightedData);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<Object>(1);
+      ArrayList<Object> toListResult = new ArrayList<Object>(2);
       toListResult.add(json);
+      toListResult.add(weightedData);
       return toListResult;
     }
 
@@ -705,6 +746,8 @@ public class Messages {
       PlatformHeatmap pigeonResult = new PlatformHeatmap();
       Object json = __pigeon_list.get(0);
       pigeonResult.setJson((Map<String, Object>) json);
+      Object weightedData = __pigeon_list.get(1);
+      pigeonResult.setWeightedData((double[]) weightedData);
       return pigeonResult;
     }
   }
@@ -1445,26 +1488,28 @@ public class Messages {
       this.geodesic = setterArg;
     }
 
-    private @NonNull List<PlatformLatLng> points;
+    /** The vertices, as interleaved latitudes and longitudes. */
+    private @NonNull double[] points;
 
-    public @NonNull List<PlatformLatLng> getPoints() {
+    public @NonNull double[] getPoints() {
       return points;
     }
 
-    public void setPoints(@NonNull List<PlatformLatLng> setterArg) {
+    public void setPoints(@NonNull double[] setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"points\" is null.");
       }
       this.points = setterArg;
     }
 
-    private @NonNull List<List<PlatformLatLng>> holes;
+    /** The holes, each as the interleaved latitudes and longitudes of its vertices. */
+    private @NonNull List<double[]> holes;
 
-    public @NonNull List<List<PlatformLatLng>> getHoles() {
+    public @NonNull List<double[]> getHoles() {
       return holes;
     }
 
-    public void setHoles(@NonNull List<List<PlatformLatLng>> setterArg) {
+    public void setHoles(@NonNull List<double[]> setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"holes\" is null.");
       }
@@ -1539,7 +1584,7 @@ public class Messages {
           && consumesTapEvents.equals(that.consumesTapEvents)
           && fillColor.equals(that.fillColor)
           && geodesic.equals(that.geodesic)
-          && points.equals(that.points)
+          && Arrays.equals(points, that.points)
           && holes.equals(that.holes)
           && visible.equals(that.visible)
           && strokeColor.equals(that.strokeColor)
@@ -1549,17 +1594,19 @@ public class Messages {
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polygonId,
-          consumesTapEvents,
-          fillColor,
-          geodesic,
-          points,
-          holes,
-          visible,
-          strokeColor,
-          strokeWidth,
-          zIndex);
+      int __pigeon_result =
+          Objects.hash(
+              polygonId,
+              consumesTapEvents,
+              fillColor,
+              geodesic,
+              holes,
+              visible,
+              strokeColor,
+              strokeWidth,
+              zIndex);
+      __pigeon_result = 31 * __pigeon_result + Arrays.hashCode(points);
+      return __pigeon_result;
     }
 
     public static final class Builder {
@@ -1596,18 +1643,18 @@ public class Messages {
         return this;
       }
 
-      private @Nullable List<PlatformLatLng> points;
+      private @Nullable double[] points;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setPoints(@NonNull List<PlatformLatLng> setterArg) {
+      public @NonNull Builder setPoints(@NonNull double[] setterArg) {
         this.points = setterArg;
         return this;
       }
 
-      private @Nullable List<List<PlatformLatLng>> holes;
+      private @Nullable List<double[]> holes;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setHoles(@NonNull List<List<PlatformLatLng>> setterArg) {
+      public @NonNull Builder setHoles(@NonNull List<double[]> setterArg) {
         this.holes = setterArg;
         return this;
       }
@@ -1690,9 +1737,9 @@ public class Messages {
       Object geodesic = __pigeon_list.get(3);
       pigeonResult.setGeodesic((Boolean) geodesic);
       Object points = __pigeon_list.get(4);
-      pigeonResult.setPoints((List<PlatformLatLng>) points);
+      pigeonResult.setPoints((double[]) points);
       Object holes = __pigeon_list.get(5);
-      pigeonResult.setHoles((List<List<PlatformLatLng>>) holes);
+      pigeonResult.setHoles((List<double[]>) holes);
       Object visible = __pigeon_list.get(6);
       pigeonResult.setVisible((Boolean) visible);
       Object strokeColor = __pigeon_list.get(7);
@@ -1808,13 +1855,14 @@ public class Messages {
       this.patterns = setterArg;
     }
 
-    private @NonNull List<PlatformLatLng> points;
+    /** The vertices, as interleaved latitudes and longitudes. */
+    private @NonNull double[] points;
 
-    public @NonNull List<PlatformLatLng> getPoints() {
+    public @NonNull double[] getPoints() {
       return points;
     }
 
-    public void setPoints(@NonNull List<PlatformLatLng> setterArg) {
+    public void setPoints(@NonNull double[] setterArg) {
       if (setterArg == null) {
         throw new IllegalStateException("Nonnull field \"points\" is null.");
       }
@@ -1908,7 +1956,7 @@ public class Messages {
           && geodesic.equals(that.geodesic)
           && jointType.equals(that.jointType)
           && patterns.equals(that.patterns)
-          && points.equals(that.points)
+          && Arrays.equals(points, that.points)
           && startCap.equals(that.startCap)
           && endCap.equals(that.endCap)
           && visible.equals(that.visible)
@@ -1918,19 +1966,21 @@ public class Messages {
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polylineId,
-          consumesTapEvents,
-          color,
-          geodesic,
-          jointType,
-          patterns,
-          points,
-          startCap,
-          endCap,
-          visible,
-          width,
-          zIndex);
+      int __pigeon_result =
+          Objects.hash(
+              polylineId,
+              consumesTapEvents,
+              color,
+              geodesic,
+              jointType,
+              patterns,
+              startCap,
+              endCap,
+              visible,
+              width,
+              zIndex);
+      __pigeon_result = 31 * __pigeon_result + Arrays.hashCode(points);
+      return __pigeon_result;
     }
 
     public static final class Builder {
@@ -1983,10 +2033,10 @@ public class Messages {
         return this;
       }
 
-      private @Nullable List<PlatformLatLng> points;
+      private @Nullable double[] points;
 
       @CanIgnoreReturnValue
-      public @NonNull Builder setPoints(@NonNull List<PlatformLatLng> setterArg) {
+      public @NonNull Builder setPoints(@NonNull double[] setterArg) {
         this.points = setterArg;
         return this;
       }
@@ -2083,7 +2133,7 @@ public class Messages {
       Object patterns = __pigeon_list.get(5);
       pigeonResult.setPatterns((List<Object>) patterns);
       Object points = __pigeon_list.get(6);
-      pigeonResult.setPoints((List<PlatformLatLng>) points);
+      pigeonResult.setPoints((double[]) points);
       Object startCap = __pigeon_list.get(7);
       pigeonResult.setStartCap(startCap);
       Object endCap = __pigeon_list.get(8);
@@ -4138,193 +4188,1187 @@ public class Messages {
     }
   }
 
-  private static class PigeonCodec extends StandardMessageCodec {
-    public static final PigeonCodec INSTANCE = new PigeonCodec();
+  /**
+   * Configuration of the cache of tiles received from tile providers.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformTileCacheConfiguration {
+    /** The maximum size in bytes of the tiles kept in memory. */
+    private @NonNull Long memoryCacheMaxBytes;
 
-    private PigeonCodec() {}
+    public @NonNull Long getMemoryCacheMaxBytes() {
+      return memoryCacheMaxBytes;
+    }
 
-    @Override
-    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
-      switch (type) {
-        case (byte) 129:
-          return PlatformCameraPosition.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 130:
-          return PlatformCameraUpdate.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 131:
-          return PlatformCircle.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 132:
-          return PlatformHeatmap.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 133:
-          return PlatformClusterManager.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 134:
-          return PlatformOffset.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 135:
-          return PlatformInfoWindow.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 136:
-          return PlatformMarker.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 137:
-          return PlatformPolygon.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 138:
-          return PlatformPolyline.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 139:
-          return PlatformTile.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 140:
-          return PlatformTileOverlay.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 141:
-          return PlatformEdgeInsets.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 142:
-          return PlatformLatLng.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 143:
-          return PlatformLatLngBounds.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 144:
-          return PlatformCluster.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 145:
-          return PlatformCameraTargetBounds.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 146:
-          return PlatformMapViewCreationParams.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 147:
-          return PlatformMapConfiguration.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 148:
-          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 149:
-          return PlatformTileLayer.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 150:
-          return PlatformZoomRange.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 151:
-          {
-            Object value = readValue(buffer);
-            return value == null ? null : PlatformMapType.values()[(int) value];
-          }
-        case (byte) 152:
-          {
-            Object value = readValue(buffer);
-            return value == null ? null : PlatformRendererType.values()[(int) value];
-          }
-        case (byte) 153:
-          {
-            Object value = readValue(buffer);
-            return value == null ? null : PlatformJointType.values()[(int) value];
-          }
-        default:
-          return super.readValueOfType(type, buffer);
+    public void setMemoryCacheMaxBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"memoryCacheMaxBytes\" is null.");
       }
+      this.memoryCacheMaxBytes = setterArg;
+    }
+
+    /**
+     * The maximum size in bytes of the tiles kept in the app cache directory, or null to disable
+     * the disk cache.
+     */
+    private @Nullable Long diskCacheMaxBytes;
+
+    public @Nullable Long getDiskCacheMaxBytes() {
+      return diskCacheMaxBytes;
     }
 
+    public void setDiskCacheMaxBytes(@Nullable Long setterArg) {
+      this.diskCacheMaxBytes = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformTileCacheConfiguration() {}
+
     @Override
-    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
-      if (value instanceof PlatformCameraPosition) {
-        stream.write(129);
-        writeValue(stream, ((PlatformCameraPosition) value).toList());
-      } else if (value instanceof PlatformCameraUpdate) {
-        stream.write(130);
-        writeValue(stream, ((PlatformCameraUpdate) value).toList());
-      } else if (value instanceof PlatformCircle) {
-        stream.write(131);
-        writeValue(stream, ((PlatformCircle) value).toList());
-      } else if (value instanceof PlatformHeatmap) {
-        stream.write(132);
-        writeValue(stream, ((PlatformHeatmap) value).toList());
-      } else if (value instanceof PlatformClusterManager) {
-        stream.write(133);
-        writeValue(stream, ((PlatformClusterManager) value).toList());
-      } else if (value instanceof PlatformOffset) {
-        stream.write(134);
-        writeValue(stream, ((PlatformOffset) value).toList());
-      } else if (value instanceof PlatformInfoWindow) {
-        stream.write(135);
-        writeValue(stream, ((PlatformInfoWindow) value).toList());
-      } else if (value instanceof PlatformMarker) {
-        stream.write(136);
-        writeValue(stream, ((PlatformMarker) value).toList());
-      } else if (value instanceof PlatformPolygon) {
-        stream.write(137);
-        writeValue(stream, ((PlatformPolygon) value).toList());
-      } else if (value instanceof PlatformPolyline) {
-        stream.write(138);
-        writeValue(stream, ((PlatformPolyline) value).toList());
-      } else if (value instanceof PlatformTile) {
-        stream.write(139);
-        writeValue(stream, ((PlatformTile) value).toList());
-      } else if (value instanceof PlatformTileOverlay) {
-        stream.write(140);
-        writeValue(stream, ((PlatformTileOverlay) value).toList());
-      } else if (value instanceof PlatformEdgeInsets) {
-        stream.write(141);
-        writeValue(stream, ((PlatformEdgeInsets) value).toList());
-      } else if (value instanceof PlatformLatLng) {
-        stream.write(142);
-        writeValue(stream, ((PlatformLatLng) value).toList());
-      } else if (value instanceof PlatformLatLngBounds) {
-        stream.write(143);
-        writeValue(stream, ((PlatformLatLngBounds) value).toList());
-      } else if (value instanceof PlatformCluster) {
-        stream.write(144);
-        writeValue(stream, ((PlatformCluster) value).toList());
-      } else if (value instanceof PlatformCameraTargetBounds) {
-        stream.write(145);
-        writeValue(stream, ((PlatformCameraTargetBounds) value).toList());
-      } else if (value instanceof PlatformMapViewCreationParams) {
-        stream.write(146);
-        writeValue(stream, ((PlatformMapViewCreationParams) value).toList());
-      } else if (value instanceof PlatformMapConfiguration) {
-        stream.write(147);
-        writeValue(stream, ((PlatformMapConfiguration) value).toList());
-      } else if (value instanceof PlatformPoint) {
-        stream.write(148);
-        writeValue(stream, ((PlatformPoint) value).toList());
-      } else if (value instanceof PlatformTileLayer) {
-        stream.write(149);
-        writeValue(stream, ((PlatformTileLayer) value).toList());
-      } else if (value instanceof PlatformZoomRange) {
-        stream.write(150);
-        writeValue(stream, ((PlatformZoomRange) value).toList());
-      } else if (value instanceof PlatformMapType) {
-        stream.write(151);
-        writeValue(stream, value == null ? null : ((PlatformMapType) value).index);
-      } else if (value instanceof PlatformRendererType) {
-        stream.write(152);
-        writeValue(stream, value == null ? null : ((PlatformRendererType) value).index);
-      } else if (value instanceof PlatformJointType) {
-        stream.write(153);
-        writeValue(stream, value == null ? null : ((PlatformJointType) value).index);
-      } else {
-        super.writeValue(stream, value);
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
       }
+      PlatformTileCacheConfiguration that = (PlatformTileCacheConfiguration) o;
+      return memoryCacheMaxBytes.equals(that.memoryCacheMaxBytes)
+          && Objects.equals(diskCacheMaxBytes, that.diskCacheMaxBytes);
     }
-  }
 
-  /** Asynchronous error handling return type for non-nullable API method returns. */
-  public interface Result<T> {
-    /** Success case callback method for handling returns. */
-    void success(@NonNull T result);
+    @Override
+    public int hashCode() {
+      return Objects.hash(memoryCacheMaxBytes, diskCacheMaxBytes);
+    }
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
-  }
-  /** Asynchronous error handling return type for nullable API method returns. */
-  public interface NullableResult<T> {
-    /** Success case callback method for handling returns. */
-    void success(@Nullable T result);
+    public static final class Builder {
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
-  }
-  /** Asynchronous error handling return type for void API method returns. */
-  public interface VoidResult {
-    /** Success case callback method for handling returns. */
-    void success();
+      private @Nullable Long memoryCacheMaxBytes;
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMemoryCacheMaxBytes(@NonNull Long setterArg) {
+        this.memoryCacheMaxBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long diskCacheMaxBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDiskCacheMaxBytes(@Nullable Long setterArg) {
+        this.diskCacheMaxBytes = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformTileCacheConfiguration build() {
+        PlatformTileCacheConfiguration pigeonReturn = new PlatformTileCacheConfiguration();
+        pigeonReturn.setMemoryCacheMaxBytes(memoryCacheMaxBytes);
+        pigeonReturn.setDiskCacheMaxBytes(diskCacheMaxBytes);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(2);
+      toListResult.add(memoryCacheMaxBytes);
+      toListResult.add(diskCacheMaxBytes);
+      return toListResult;
+    }
+
+    static @NonNull PlatformTileCacheConfiguration fromList(
+        @NonNull ArrayList<Object> __pigeon_list) {
+      PlatformTileCacheConfiguration pigeonResult = new PlatformTileCacheConfiguration();
+      Object memoryCacheMaxBytes = __pigeon_list.get(0);
+      pigeonResult.setMemoryCacheMaxBytes(
+          (memoryCacheMaxBytes == null)
+              ? null
+              : ((memoryCacheMaxBytes instanceof Integer)
+                  ? (Integer) memoryCacheMaxBytes
+                  : (Long) memoryCacheMaxBytes));
+      Object diskCacheMaxBytes = __pigeon_list.get(1);
+      pigeonResult.setDiskCacheMaxBytes(
+          (diskCacheMaxBytes == null)
+              ? null
+              : ((diskCacheMaxBytes instanceof Integer)
+                  ? (Integer) diskCacheMaxBytes
+                  : (Long) diskCacheMaxBytes));
+      return pigeonResult;
+    }
   }
+
   /**
-   * Interface for non-test interactions with the native SDK.
-   *
-   * <p>For test-only state queries, see [MapsInspectorApi].
+   * Statistics of the cache of tiles received from tile providers.
    *
-   * <p>Generated interface from Pigeon that represents a handler of messages from Flutter.
+   * <p>Generated class from Pigeon that represents data sent in messages.
    */
-  public interface MapsApi {
+  public static final class PlatformTileCacheStats {
+    private @NonNull Long memoryHitCount;
+
+    public @NonNull Long getMemoryHitCount() {
+      return memoryHitCount;
+    }
+
+    public void setMemoryHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"memoryHitCount\" is null.");
+      }
+      this.memoryHitCount = setterArg;
+    }
+
+    private @NonNull Long diskHitCount;
+
+    public @NonNull Long getDiskHitCount() {
+      return diskHitCount;
+    }
+
+    public void setDiskHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"diskHitCount\" is null.");
+      }
+      this.diskHitCount = setterArg;
+    }
+
+    private @NonNull Long missCount;
+
+    public @NonNull Long getMissCount() {
+      return missCount;
+    }
+
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
+    }
+
+    /** The number of tiles evicted from memory to fit its maximum size. */
+    private @NonNull Long evictionCount;
+
+    public @NonNull Long getEvictionCount() {
+      return evictionCount;
+    }
+
+    public void setEvictionCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"evictionCount\" is null.");
+      }
+      this.evictionCount = setterArg;
+    }
+
+    private @NonNull Long memoryCacheSizeBytes;
+
+    public @NonNull Long getMemoryCacheSizeBytes() {
+      return memoryCacheSizeBytes;
+    }
+
+    public void setMemoryCacheSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"memoryCacheSizeBytes\" is null.");
+      }
+      this.memoryCacheSizeBytes = setterArg;
+    }
+
+    private @NonNull Long diskCacheSizeBytes;
+
+    public @NonNull Long getDiskCacheSizeBytes() {
+      return diskCacheSizeBytes;
+    }
+
+    public void setDiskCacheSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"diskCacheSizeBytes\" is null.");
+      }
+      this.diskCacheSizeBytes = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformTileCacheStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformTileCacheStats that = (PlatformTileCacheStats) o;
+      return memoryHitCount.equals(that.memoryHitCount)
+          && diskHitCount.equals(that.diskHitCount)
+          && missCount.equals(that.missCount)
+          && evictionCount.equals(that.evictionCount)
+          && memoryCacheSizeBytes.equals(that.memoryCacheSizeBytes)
+          && diskCacheSizeBytes.equals(that.diskCacheSizeBytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          memoryHitCount, diskHitCount, missCount, evictionCount, memoryCacheSizeBytes,
+          diskCacheSizeBytes);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long memoryHitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMemoryHitCount(@NonNull Long setterArg) {
+        this.memoryHitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long diskHitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDiskHitCount(@NonNull Long setterArg) {
+        this.diskHitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long missCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long evictionCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEvictionCount(@NonNull Long setterArg) {
+        this.evictionCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long memoryCacheSizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMemoryCacheSizeBytes(@NonNull Long setterArg) {
+        this.memoryCacheSizeBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long diskCacheSizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDiskCacheSizeBytes(@NonNull Long setterArg) {
+        this.diskCacheSizeBytes = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformTileCacheStats build() {
+        PlatformTileCacheStats pigeonReturn = new PlatformTileCacheStats();
+        pigeonReturn.setMemoryHitCount(memoryHitCount);
+        pigeonReturn.setDiskHitCount(diskHitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setEvictionCount(evictionCount);
+        pigeonReturn.setMemoryCacheSizeBytes(memoryCacheSizeBytes);
+        pigeonReturn.setDiskCacheSizeBytes(diskCacheSizeBytes);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(6);
+      toListResult.add(memoryHitCount);
+      toListResult.add(diskHitCount);
+      toListResult.add(missCount);
+      toListResult.add(evictionCount);
+      toListResult.add(memoryCacheSizeBytes);
+      toListResult.add(diskCacheSizeBytes);
+      return toListResult;
+    }
+
+    static @NonNull PlatformTileCacheStats fromList(@NonNull ArrayList<Object> __pigeon_list) {
+      PlatformTileCacheStats pigeonResult = new PlatformTileCacheStats();
+      Object memoryHitCount = __pigeon_list.get(0);
+      pigeonResult.setMemoryHitCount(
+          (memoryHitCount == null)
+              ? null
+              : ((memoryHitCount instanceof Integer)
+                  ? (Integer) memoryHitCount
+                  : (Long) memoryHitCount));
+      Object diskHitCount = __pigeon_list.get(1);
+      pigeonResult.setDiskHitCount(
+          (diskHitCount == null)
+              ? null
+              : ((diskHitCount instanceof Integer) ? (Integer) diskHitCount : (Long) diskHitCount));
+      Object missCount = __pigeon_list.get(2);
+      pigeonResult.setMissCount(
+          (missCount == null)
+              ? null
+              : ((missCount instanceof Integer) ? (Integer) missCount : (Long) missCount));
+      Object evictionCount = __pigeon_list.get(3);
+      pigeonResult.setEvictionCount(
+          (evictionCount == null)
+              ? null
+              : ((evictionCount instanceof Integer)
+                  ? (Integer) evictionCount
+                  : (Long) evictionCount));
+      Object memoryCacheSizeBytes = __pigeon_list.get(4);
+      pigeonResult.setMemoryCacheSizeBytes(
+          (memoryCacheSizeBytes == null)
+              ? null
+              : ((memoryCacheSizeBytes instanceof Integer)
+                  ? (Integer) memoryCacheSizeBytes
+                  : (Long) memoryCacheSizeBytes));
+      Object diskCacheSizeBytes = __pigeon_list.get(5);
+      pigeonResult.setDiskCacheSizeBytes(
+          (diskCacheSizeBytes == null)
+              ? null
+              : ((diskCacheSizeBytes instanceof Integer)
+                  ? (Integer) diskCacheSizeBytes
+                  : (Long) diskCacheSizeBytes));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Configuration of the coalescing of the camera positions sent while the camera moves.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformCameraMoveConfiguration {
+    /** The minimum interval between two camera positions. */
+    private @NonNull Long minIntervalMilliseconds;
+
+    public @NonNull Long getMinIntervalMilliseconds() {
+      return minIntervalMilliseconds;
+    }
+
+    public void setMinIntervalMilliseconds(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"minIntervalMilliseconds\" is null.");
+      }
+      this.minIntervalMilliseconds = setterArg;
+    }
+
+    /** The minimum change of zoom level for a camera position to be sent, or 0 to ignore it. */
+    private @NonNull Double minZoomDelta;
+
+    public @NonNull Double getMinZoomDelta() {
+      return minZoomDelta;
+    }
+
+    public void setMinZoomDelta(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"minZoomDelta\" is null.");
+      }
+      this.minZoomDelta = setterArg;
+    }
+
+    /**
+     * The minimum change of bearing in degrees for a camera position to be sent, or 0 to ignore it.
+     */
+    private @NonNull Double minBearingDelta;
+
+    public @NonNull Double getMinBearingDelta() {
+      return minBearingDelta;
+    }
+
+    public void setMinBearingDelta(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"minBearingDelta\" is null.");
+      }
+      this.minBearingDelta = setterArg;
+    }
+
+    /**
+     * The minimum distance in meters between two camera targets for a camera position to be sent,
+     * or 0 to ignore it.
+     */
+    private @NonNull Double minTargetDistanceMeters;
+
+    public @NonNull Double getMinTargetDistanceMeters() {
+      return minTargetDistanceMeters;
+    }
+
+    public void setMinTargetDistanceMeters(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"minTargetDistanceMeters\" is null.");
+      }
+      this.minTargetDistanceMeters = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformCameraMoveConfiguration() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformCameraMoveConfiguration that = (PlatformCameraMoveConfiguration) o;
+      return minIntervalMilliseconds.equals(that.minIntervalMilliseconds)
+          && minZoomDelta.equals(that.minZoomDelta)
+          && minBearingDelta.equals(that.minBearingDelta)
+          && minTargetDistanceMeters.equals(that.minTargetDistanceMeters);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          minIntervalMilliseconds, minZoomDelta, minBearingDelta, minTargetDistanceMeters);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long minIntervalMilliseconds;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMinIntervalMilliseconds(@NonNull Long setterArg) {
+        this.minIntervalMilliseconds = setterArg;
+        return this;
+      }
+
+      private @Nullable Double minZoomDelta;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMinZoomDelta(@NonNull Double setterArg) {
+        this.minZoomDelta = setterArg;
+        return this;
+      }
+
+      private @Nullable Double minBearingDelta;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMinBearingDelta(@NonNull Double setterArg) {
+        this.minBearingDelta = setterArg;
+        return this;
+      }
+
+      private @Nullable Double minTargetDistanceMeters;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMinTargetDistanceMeters(@NonNull Double setterArg) {
+        this.minTargetDistanceMeters = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformCameraMoveConfiguration build() {
+        PlatformCameraMoveConfiguration pigeonReturn = new PlatformCameraMoveConfiguration();
+        pigeonReturn.setMinIntervalMilliseconds(minIntervalMilliseconds);
+        pigeonReturn.setMinZoomDelta(minZoomDelta);
+        pigeonReturn.setMinBearingDelta(minBearingDelta);
+        pigeonReturn.setMinTargetDistanceMeters(minTargetDistanceMeters);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(4);
+      toListResult.add(minIntervalMilliseconds);
+      toListResult.add(minZoomDelta);
+      toListResult.add(minBearingDelta);
+      toListResult.add(minTargetDistanceMeters);
+      return toListResult;
+    }
+
+    static @NonNull PlatformCameraMoveConfiguration fromList(
+        @NonNull ArrayList<Object> __pigeon_list) {
+      PlatformCameraMoveConfiguration pigeonResult = new PlatformCameraMoveConfiguration();
+      Object minIntervalMilliseconds = __pigeon_list.get(0);
+      pigeonResult.setMinIntervalMilliseconds(
+          (minIntervalMilliseconds == null)
+              ? null
+              : ((minIntervalMilliseconds instanceof Integer)
+                  ? (Integer) minIntervalMilliseconds
+                  : (Long) minIntervalMilliseconds));
+      Object minZoomDelta = __pigeon_list.get(1);
+      pigeonResult.setMinZoomDelta((Double) minZoomDelta);
+      Object minBearingDelta = __pigeon_list.get(2);
+      pigeonResult.setMinBearingDelta((Double) minBearingDelta);
+      Object minTargetDistanceMeters = __pigeon_list.get(3);
+      pigeonResult.setMinTargetDistanceMeters((Double) minTargetDistanceMeters);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Statistics of the cache of the bitmap descriptors of marker icons.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformBitmapDescriptorCacheStats {
+    private @NonNull Long hitCount;
+
+    public @NonNull Long getHitCount() {
+      return hitCount;
+    }
+
+    public void setHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"hitCount\" is null.");
+      }
+      this.hitCount = setterArg;
+    }
+
+    private @NonNull Long missCount;
+
+    public @NonNull Long getMissCount() {
+      return missCount;
+    }
+
+    public void setMissCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"missCount\" is null.");
+      }
+      this.missCount = setterArg;
+    }
+
+    private @NonNull Long evictionCount;
+
+    public @NonNull Long getEvictionCount() {
+      return evictionCount;
+    }
+
+    public void setEvictionCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"evictionCount\" is null.");
+      }
+      this.evictionCount = setterArg;
+    }
+
+    private @NonNull Long entryCount;
+
+    public @NonNull Long getEntryCount() {
+      return entryCount;
+    }
+
+    public void setEntryCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"entryCount\" is null.");
+      }
+      this.entryCount = setterArg;
+    }
+
+    /** The estimated size in bytes of the cached bitmaps. */
+    private @NonNull Long sizeBytes;
+
+    public @NonNull Long getSizeBytes() {
+      return sizeBytes;
+    }
+
+    public void setSizeBytes(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sizeBytes\" is null.");
+      }
+      this.sizeBytes = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformBitmapDescriptorCacheStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformBitmapDescriptorCacheStats that = (PlatformBitmapDescriptorCacheStats) o;
+      return hitCount.equals(that.hitCount)
+          && missCount.equals(that.missCount)
+          && evictionCount.equals(that.evictionCount)
+          && entryCount.equals(that.entryCount)
+          && sizeBytes.equals(that.sizeBytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hitCount, missCount, evictionCount, entryCount, sizeBytes);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long hitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHitCount(@NonNull Long setterArg) {
+        this.hitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long missCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMissCount(@NonNull Long setterArg) {
+        this.missCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long evictionCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEvictionCount(@NonNull Long setterArg) {
+        this.evictionCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long entryCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEntryCount(@NonNull Long setterArg) {
+        this.entryCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long sizeBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSizeBytes(@NonNull Long setterArg) {
+        this.sizeBytes = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformBitmapDescriptorCacheStats build() {
+        PlatformBitmapDescriptorCacheStats pigeonReturn = new PlatformBitmapDescriptorCacheStats();
+        pigeonReturn.setHitCount(hitCount);
+        pigeonReturn.setMissCount(missCount);
+        pigeonReturn.setEvictionCount(evictionCount);
+        pigeonReturn.setEntryCount(entryCount);
+        pigeonReturn.setSizeBytes(sizeBytes);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(5);
+      toListResult.add(hitCount);
+      toListResult.add(missCount);
+      toListResult.add(evictionCount);
+      toListResult.add(entryCount);
+      toListResult.add(sizeBytes);
+      return toListResult;
+    }
+
+    static @NonNull PlatformBitmapDescriptorCacheStats fromList(
+        @NonNull ArrayList<Object> __pigeon_list) {
+      PlatformBitmapDescriptorCacheStats pigeonResult = new PlatformBitmapDescriptorCacheStats();
+      Object hitCount = __pigeon_list.get(0);
+      pigeonResult.setHitCount(
+          (hitCount == null)
+              ? null
+              : ((hitCount instanceof Integer) ? (Integer) hitCount : (Long) hitCount));
+      Object missCount = __pigeon_list.get(1);
+      pigeonResult.setMissCount(
+          (missCount == null)
+              ? null
+              : ((missCount instanceof Integer) ? (Integer) missCount : (Long) missCount));
+      Object evictionCount = __pigeon_list.get(2);
+      pigeonResult.setEvictionCount(
+          (evictionCount == null)
+              ? null
+              : ((evictionCount instanceof Integer)
+                  ? (Integer) evictionCount
+                  : (Long) evictionCount));
+      Object entryCount = __pigeon_list.get(3);
+      pigeonResult.setEntryCount(
+          (entryCount == null)
+              ? null
+              : ((entryCount instanceof Integer) ? (Integer) entryCount : (Long) entryCount));
+      Object sizeBytes = __pigeon_list.get(4);
+      pigeonResult.setSizeBytes(
+          (sizeBytes == null)
+              ? null
+              : ((sizeBytes instanceof Integer) ? (Integer) sizeBytes : (Long) sizeBytes));
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Configuration of the viewport culling of the markers that do not belong to a cluster manager.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformMarkerCullingConfiguration {
+    /** Whether only the markers in or near the visible region are added to the map. */
+    private @NonNull Boolean enabled;
+
+    public @NonNull Boolean getEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"enabled\" is null.");
+      }
+      this.enabled = setterArg;
+    }
+
+    /**
+     * The margin around the visible region in which markers are added to the map, as a fraction of
+     * the size of the visible region on each side.
+     */
+    private @NonNull Double visibleRegionMargin;
+
+    public @NonNull Double getVisibleRegionMargin() {
+      return visibleRegionMargin;
+    }
+
+    public void setVisibleRegionMargin(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"visibleRegionMargin\" is null.");
+      }
+      this.visibleRegionMargin = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformMarkerCullingConfiguration() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformMarkerCullingConfiguration that = (PlatformMarkerCullingConfiguration) o;
+      return enabled.equals(that.enabled) && visibleRegionMargin.equals(that.visibleRegionMargin);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(enabled, visibleRegionMargin);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Boolean enabled;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setEnabled(@NonNull Boolean setterArg) {
+        this.enabled = setterArg;
+        return this;
+      }
+
+      private @Nullable Double visibleRegionMargin;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setVisibleRegionMargin(@NonNull Double setterArg) {
+        this.visibleRegionMargin = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformMarkerCullingConfiguration build() {
+        PlatformMarkerCullingConfiguration pigeonReturn = new PlatformMarkerCullingConfiguration();
+        pigeonReturn.setEnabled(enabled);
+        pigeonReturn.setVisibleRegionMargin(visibleRegionMargin);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(2);
+      toListResult.add(enabled);
+      toListResult.add(visibleRegionMargin);
+      return toListResult;
+    }
+
+    static @NonNull PlatformMarkerCullingConfiguration fromList(
+        @NonNull ArrayList<Object> __pigeon_list) {
+      PlatformMarkerCullingConfiguration pigeonResult = new PlatformMarkerCullingConfiguration();
+      Object enabled = __pigeon_list.get(0);
+      pigeonResult.setEnabled((Boolean) enabled);
+      Object visibleRegionMargin = __pigeon_list.get(1);
+      pigeonResult.setVisibleRegionMargin((Double) visibleRegionMargin);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Options of the encoding of a map snapshot.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformSnapshotOptions {
+    private @NonNull PlatformSnapshotFormat format;
+
+    public @NonNull PlatformSnapshotFormat getFormat() {
+      return format;
+    }
+
+    public void setFormat(@NonNull PlatformSnapshotFormat setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"format\" is null.");
+      }
+      this.format = setterArg;
+    }
+
+    /** The quality of lossy formats, from 0 to 100. */
+    private @NonNull Long quality;
+
+    public @NonNull Long getQuality() {
+      return quality;
+    }
+
+    public void setQuality(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"quality\" is null.");
+      }
+      this.quality = setterArg;
+    }
+
+    /**
+     * The factor by which the snapshot is scaled down before it is encoded, greater than 0 and at
+     * most 1.
+     */
+    private @NonNull Double scale;
+
+    public @NonNull Double getScale() {
+      return scale;
+    }
+
+    public void setScale(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"scale\" is null.");
+      }
+      this.scale = setterArg;
+    }
+
+    /** The path of the file the image is written to, instead of being returned. */
+    private @Nullable String filePath;
+
+    public @Nullable String getFilePath() {
+      return filePath;
+    }
+
+    public void setFilePath(@Nullable String setterArg) {
+      this.filePath = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformSnapshotOptions() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PlatformSnapshotOptions that = (PlatformSnapshotOptions) o;
+      return format.equals(that.format)
+          && quality.equals(that.quality)
+          && scale.equals(that.scale)
+          && Objects.equals(filePath, that.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(format, quality, scale, filePath);
+    }
+
+    public static final class Builder {
+
+      private @Nullable PlatformSnapshotFormat format;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFormat(@NonNull PlatformSnapshotFormat setterArg) {
+        this.format = setterArg;
+        return this;
+      }
+
+      private @Nullable Long quality;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setQuality(@NonNull Long setterArg) {
+        this.quality = setterArg;
+        return this;
+      }
+
+      private @Nullable Double scale;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setScale(@NonNull Double setterArg) {
+        this.scale = setterArg;
+        return this;
+      }
+
+      private @Nullable String filePath;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFilePath(@Nullable String setterArg) {
+        this.filePath = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformSnapshotOptions build() {
+        PlatformSnapshotOptions pigeonReturn = new PlatformSnapshotOptions();
+        pigeonReturn.setFormat(format);
+        pigeonReturn.setQuality(quality);
+        pigeonReturn.setScale(scale);
+        pigeonReturn.setFilePath(filePath);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(4);
+      toListResult.add(format);
+      toListResult.add(quality);
+      toListResult.add(scale);
+      toListResult.add(filePath);
+      return toListResult;
+    }
+
+    static @NonNull PlatformSnapshotOptions fromList(@NonNull ArrayList<Object> __pigeon_list) {
+      PlatformSnapshotOptions pigeonResult = new PlatformSnapshotOptions();
+      Object format = __pigeon_list.get(0);
+      pigeonResult.setFormat((PlatformSnapshotFormat) format);
+      Object quality = __pigeon_list.get(1);
+      pigeonResult.setQuality(
+          (quality == null)
+              ? null
+              : ((quality instanceof Integer) ? (Integer) quality : (Long) quality));
+      Object scale = __pigeon_list.get(2);
+      pigeonResult.setScale((Double) scale);
+      Object filePath = __pigeon_list.get(3);
+      pigeonResult.setFilePath((String) filePath);
+      return pigeonResult;
+    }
+  }
+
+  private static class PigeonCodec extends StandardMessageCodec {
+    public static final PigeonCodec INSTANCE = new PigeonCodec();
+
+    private PigeonCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 129:
+          return PlatformCameraPosition.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 130:
+          return PlatformCameraUpdate.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 131:
+          return PlatformCircle.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 132:
+          return PlatformHeatmap.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 133:
+          return PlatformClusterManager.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 134:
+          return PlatformOffset.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 135:
+          return PlatformInfoWindow.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 136:
+          return PlatformMarker.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 137:
+          return PlatformPolygon.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 138:
+          return PlatformPolyline.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 139:
+          return PlatformTile.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 140:
+          return PlatformTileOverlay.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 141:
+          return PlatformEdgeInsets.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 142:
+          return PlatformLatLng.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 143:
+          return PlatformLatLngBounds.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 144:
+          return PlatformCluster.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 145:
+          return PlatformCameraTargetBounds.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 146:
+          return PlatformMapViewCreationParams.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 147:
+          return PlatformMapConfiguration.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 148:
+          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 149:
+          return PlatformTileLayer.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 150:
+          return PlatformZoomRange.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 151:
+          return PlatformTileCacheConfiguration.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 152:
+          return PlatformTileCacheStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 153:
+          return PlatformCameraMoveConfiguration.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 154:
+          return PlatformBitmapDescriptorCacheStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 155:
+          return PlatformMarkerCullingConfiguration.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 156:
+          return PlatformSnapshotOptions.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 157:
+          {
+            Object value = readValue(buffer);
+            return value == null ? null : PlatformMapType.values()[(int) value];
+          }
+        case (byte) 158:
+          {
+            Object value = readValue(buffer);
+            return value == null ? null : PlatformRendererType.values()[(int) value];
+          }
+        case (byte) 159:
+          {
+            Object value = readValue(buffer);
+            return value == null ? null : PlatformJointType.values()[(int) value];
+          }
+        case (byte) 160:
+          {
+            Object value = readValue(buffer);
+            return value == null ? null : PlatformSnapshotFormat.values()[(int) value];
+          }
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+      if (value instanceof PlatformCameraPosition) {
+        stream.write(129);
+        writeValue(stream, ((PlatformCameraPosition) value).toList());
+      } else if (value instanceof PlatformCameraUpdate) {
+        stream.write(130);
+        writeValue(stream, ((PlatformCameraUpdate) value).toList());
+      } else if (value instanceof PlatformCircle) {
+        stream.write(131);
+        writeValue(stream, ((PlatformCircle) value).toList());
+      } else if (value instanceof PlatformHeatmap) {
+        stream.write(132);
+        writeValue(stream, ((PlatformHeatmap) value).toList());
+      } else if (value instanceof PlatformClusterManager) {
+        stream.write(133);
+        writeValue(stream, ((PlatformClusterManager) value).toList());
+      } else if (value instanceof PlatformOffset) {
+        stream.write(134);
+        writeValue(stream, ((PlatformOffset) value).toList());
+      } else if (value instanceof PlatformInfoWindow) {
+        stream.write(135);
+        writeValue(stream, ((PlatformInfoWindow) value).toList());
+      } else if (value instanceof PlatformMarker) {
+        stream.write(136);
+        writeValue(stream, ((PlatformMarker) value).toList());
+      } else if (value instanceof PlatformPolygon) {
+        stream.write(137);
+        writeValue(stream, ((PlatformPolygon) value).toList());
+      } else if (value instanceof PlatformPolyline) {
+        stream.write(138);
+        writeValue(stream, ((PlatformPolyline) value).toList());
+      } else if (value instanceof PlatformTile) {
+        stream.write(139);
+        writeValue(stream, ((PlatformTile) value).toList());
+      } else if (value instanceof PlatformTileOverlay) {
+        stream.write(140);
+        writeValue(stream, ((PlatformTileOverlay) value).toList());
+      } else if (value instanceof PlatformEdgeInsets) {
+        stream.write(141);
+        writeValue(stream, ((PlatformEdgeInsets) value).toList());
+      } else if (value instanceof PlatformLatLng) {
+        stream.write(142);
+        writeValue(stream, ((PlatformLatLng) value).toList());
+      } else if (value instanceof PlatformLatLngBounds) {
+        stream.write(143);
+        writeValue(stream, ((PlatformLatLngBounds) value).toList());
+      } else if (value instanceof PlatformCluster) {
+        stream.write(144);
+        writeValue(stream, ((PlatformCluster) value).toList());
+      } else if (value instanceof PlatformCameraTargetBounds) {
+        stream.write(145);
+        writeValue(stream, ((PlatformCameraTargetBounds) value).toList());
+      } else if (value instanceof PlatformMapViewCreationParams) {
+        stream.write(146);
+        writeValue(stream, ((PlatformMapViewCreationParams) value).toList());
+      } else if (value instanceof PlatformMapConfiguration) {
+        stream.write(147);
+        writeValue(stream, ((PlatformMapConfiguration) value).toList());
+      } else if (value instanceof PlatformPoint) {
+        stream.write(148);
+        writeValue(stream, ((PlatformPoint) value).toList());
+      } else if (value instanceof PlatformTileLayer) {
+        stream.write(149);
+        writeValue(stream, ((PlatformTileLayer) value).toList());
+      } else if (value instanceof PlatformZoomRange) {
+        stream.write(150);
+        writeValue(stream, ((PlatformZoomRange) value).toList());
+      } else if (value instanceof PlatformTileCacheConfiguration) {
+        stream.write(151);
+        writeValue(stream, ((PlatformTileCacheConfiguration) value).toList());
+      } else if (value instanceof PlatformTileCacheStats) {
+        stream.write(152);
+        writeValue(stream, ((PlatformTileCacheStats) value).toList());
+      } else if (value instanceof PlatformCameraMoveConfiguration) {
+        stream.write(153);
+        writeValue(stream, ((PlatformCameraMoveConfiguration) value).toList());
+      } else if (value instanceof PlatformBitmapDescriptorCacheStats) {
+        stream.write(154);
+        writeValue(stream, ((PlatformBitmapDescriptorCacheStats) value).toList());
+      } else if (value instanceof PlatformMarkerCullingConfiguration) {
+        stream.write(155);
+        writeValue(stream, ((PlatformMarkerCullingConfiguration) value).toList());
+      } else if (value instanceof PlatformSnapshotOptions) {
+        stream.write(156);
+        writeValue(stream, ((PlatformSnapshotOptions) value).toList());
+      } else if (value instanceof PlatformMapType) {
+        stream.write(157);
+        writeValue(stream, value == null ? null : ((PlatformMapType) value).index);
+      } else if (value instanceof PlatformRendererType) {
+        stream.write(158);
+        writeValue(stream, value == null ? null : ((PlatformRendererType) value).index);
+      } else if (value instanceof PlatformJointType) {
+        stream.write(159);
+        writeValue(stream, value == null ? null : ((PlatformJointType) value).index);
+      } else if (value instanceof PlatformSnapshotFormat) {
+        stream.write(160);
+        writeValue(stream, value == null ? null : ((PlatformSnapshotFormat) value).index);
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+  /** Asynchronous error handling return type for non-nullable API method returns. */
+  public interface Result<T> {
+    /** Success case callback method for handling returns. */
+    void success(@NonNull T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for nullable API method returns. */
+  public interface NullableResult<T> {
+    /** Success case callback method for handling returns. */
+    void success(@Nullable T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for void API method returns. */
+  public interface VoidResult {
+    /** Success case callback method for handling returns. */
+    void success();
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /**
+   * Interface for non-test interactions with the native SDK.
+   *
+   * <p>For test-only state queries, see [MapsInspectorApi].
+   *
+   * <p>Generated interface from Pigeon that represents a handler of messages from Flutter.
+   */
+  public interface MapsApi {
     /** Returns once the map instance is available. */
     void waitForMap(@NonNull VoidResult result);
     /**
@@ -4362,6 +5406,12 @@ public class Messages {
         @NonNull List<PlatformPolyline> toAdd,
         @NonNull List<PlatformPolyline> toChange,
         @NonNull List<String> idsToRemove);
+    /**
+     * Removes the first [trimCount] points of a polyline, and appends [pointsToAppend], as
+     * interleaved latitudes and longitudes.
+     */
+    void updatePolylinePoints(
+        @NonNull String polylineId, @NonNull double[] pointsToAppend, @NonNull Long trimCount);
     /** Updates the set of tile overlays on the map. */
     void updateTileOverlays(
         @NonNull List<PlatformTileOverlay> toAdd,
@@ -4409,8 +5459,28 @@ public class Messages {
     Boolean didLastStyleSucceed();
     /** Clears the cache of tiles previously requseted from the tile provider. */
     void clearTileCache(@NonNull String tileOverlayId);
+    /** Sets the maximum sizes of the cache of tiles received from tile providers. */
+    void setTileCacheConfiguration(@NonNull PlatformTileCacheConfiguration configuration);
+    /**
+     * Removes the given tiles from the cache of tiles received from the tile provider, so that they
+     * are requested again.
+     */
+    void invalidateTiles(
+        @NonNull String tileOverlayId,
+        @NonNull List<PlatformPoint> locations,
+        @NonNull Long zoom);
+    /** Sets how the camera positions sent while the camera moves are coalesced. */
+    void setCameraMoveConfiguration(@NonNull PlatformCameraMoveConfiguration configuration);
+    /** Sets whether only the markers in or near the visible region are added to the map. */
+    void setMarkerCullingConfiguration(@NonNull PlatformMarkerCullingConfiguration configuration);
     /** Takes a snapshot of the map and returns its image data. */
     void takeSnapshot(@NonNull Result<byte[]> result);
+    /**
+     * Takes a snapshot of the map and returns its image data encoded with the given options, or
+     * null once it is written to the file of the options.
+     */
+    void takeSnapshotWithOptions(
+        @NonNull PlatformSnapshotOptions options, @NonNull NullableResult<byte[]> result);
 
     /** The codec used by MapsApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -4649,6 +5719,37 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.updatePolylinePoints"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String polylineIdArg = (String) args.get(0);
+                double[] pointsToAppendArg = (double[]) args.get(1);
+                Number trimCountArg = (Number) args.get(2);
+                try {
+                  api.updatePolylinePoints(
+                      polylineIdArg,
+                      pointsToAppendArg,
+                      (trimCountArg == null) ? null : trimCountArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -4983,6 +6084,118 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setTileCacheConfiguration"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformTileCacheConfiguration configurationArg =
+                    (PlatformTileCacheConfiguration) args.get(0);
+                try {
+                  api.setTileCacheConfiguration(configurationArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.invalidateTiles"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String tileOverlayIdArg = (String) args.get(0);
+                List<PlatformPoint> locationsArg = (List<PlatformPoint>) args.get(1);
+                Number zoomArg = (Number) args.get(2);
+                try {
+                  api.invalidateTiles(
+                      tileOverlayIdArg,
+                      locationsArg,
+                      (zoomArg == null) ? null : zoomArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setCameraMoveConfiguration"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformCameraMoveConfiguration configurationArg =
+                    (PlatformCameraMoveConfiguration) args.get(0);
+                try {
+                  api.setCameraMoveConfiguration(configurationArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setMarkerCullingConfiguration"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformMarkerCullingConfiguration configurationArg =
+                    (PlatformMarkerCullingConfiguration) args.get(0);
+                try {
+                  api.setMarkerCullingConfiguration(configurationArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -5013,6 +6226,38 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.takeSnapshotWithOptions"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformSnapshotOptions optionsArg = (PlatformSnapshotOptions) args.get(0);
+                NullableResult<byte[]> resultCallback =
+                    new NullableResult<byte[]>() {
+                      public void success(byte[] result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takeSnapshotWithOptions(optionsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
@@ -5447,6 +6692,49 @@ public class Messages {
             }
           });
     }
+    /**
+     * Called to get data for several tiles of the same zoom level of a map tile overlay, in a
+     * single message.
+     *
+     * <p>The returned tiles are in the order of [locations].
+     */
+    public void getTileOverlayTiles(
+        @NonNull String tileOverlayIdArg,
+        @NonNull List<PlatformPoint> locationsArg,
+        @NonNull Long zoomArg,
+        @NonNull Result<List<PlatformTile>> result) {
+      final String channelName =
+          "dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles"
+              + messageChannelSuffix;
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(binaryMessenger, channelName, getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(tileOverlayIdArg, locationsArg, zoomArg)),
+          channelReply -> {
+            if (channelReply instanceof List) {
+              List<Object> listReply = (List<Object>) channelReply;
+              if (listReply.size() > 1) {
+                result.error(
+                    new FlutterError(
+                        (String) listReply.get(0),
+                        (String) listReply.get(1),
+                        (String) listReply.get(2)));
+              } else if (listReply.get(0) == null) {
+                result.error(
+                    new FlutterError(
+                        "null-error",
+                        "Flutter api returned null value for non-null return value.",
+                        ""));
+              } else {
+                @SuppressWarnings("ConstantConditions")
+                List<PlatformTile> output = (List<PlatformTile>) listReply.get(0);
+                result.success(output);
+              }
+            } else {
+              result.error(createConnectionError(channelName));
+            }
+          });
+    }
   }
   /**
    * Interface for global SDK initialization.
@@ -5615,6 +6903,12 @@ public class Messages {
     @NonNull
     PlatformZoomRange getZoomRange();
 
+    @NonNull
+    PlatformTileCacheStats getTileCacheStats();
+
+    @NonNull
+    PlatformBitmapDescriptorCacheStats getBitmapDescriptorCacheStats();
+
     @NonNull
     List<PlatformCluster> getClusters(@NonNull String clusterManagerId);
 
@@ -5948,6 +7242,54 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsInspectorApi.getTileCacheStats"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  PlatformTileCacheStats output = api.getTileCacheStats();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsInspectorApi.getBitmapDescriptorCacheStats"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  PlatformBitmapDescriptorCacheStats output = api.getBitmapDescriptorCacheStats();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
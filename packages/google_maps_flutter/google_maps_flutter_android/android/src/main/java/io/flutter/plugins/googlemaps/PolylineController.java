@@ -8,6 +8,7 @@ import com.google.android.gms.maps.model.Cap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.PatternItem;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.ArrayList;
 import java.util.List;
 
 /** Controller of a single Polyline on the map. */
@@ -17,6 +18,9 @@ class PolylineController implements PolylineOptionsSink {
   private boolean consumeTapEvents;
   private final float density;
 
+  /** The points of the polyline, or null until they are first set or updated. */
+  private List<LatLng> points;
+
   PolylineController(Polyline polyline, boolean consumeTapEvents, float density) {
     this.polyline = polyline;
     this.consumeTapEvents = consumeTapEvents;
@@ -61,6 +65,21 @@ class PolylineController implements PolylineOptionsSink {
 
   @Override
   public void setPoints(List<LatLng> points) {
+    this.points = new ArrayList<>(points);
+    polyline.setPoints(points);
+  }
+
+  /**
+   * Removes the first {@code trimCount} points of the polyline, and appends {@code pointsToAppend}.
+   *
+   * <p>The points are kept so that they do not need to be read back from the polyline.
+   */
+  void updatePoints(List<LatLng> pointsToAppend, int trimCount) {
+    if (points == null) {
+      points = new ArrayList<>(polyline.getPoints());
+    }
+    points.subList(0, Math.max(0, Math.min(trimCount, points.size()))).clear();
+    points.addAll(pointsToAppend);
     polyline.setPoints(points);
   }
 
@@ -7,6 +7,7 @@ package io.flutter.plugins.googlemaps;
 import android.content.res.AssetManager;
 import androidx.annotation.NonNull;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.gms.maps.model.PolylineOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
@@ -58,6 +59,19 @@ class PolylinesController {
     }
   }
 
+  /**
+   * Removes the first {@code trimCount} points of a polyline, and appends {@code pointsToAppend}.
+   */
+  void updatePolylinePoints(
+      @NonNull String polylineId, @NonNull List<LatLng> pointsToAppend, int trimCount) {
+    final PolylineController polylineController = polylineIdToController.get(polylineId);
+    if (polylineController == null) {
+      throw new Messages.FlutterError(
+          "Invalid polylineId", "updatePolylinePoints called with invalid polylineId", null);
+    }
+    polylineController.updatePoints(pointsToAppend, trimCount);
+  }
+
   boolean onPolylineTap(String googlePolylineId) {
     String polylineId = googleMapsPolylineIdToDartPolylineId.get(googlePolylineId);
     if (polylineId == null) {
@@ -0,0 +1,212 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.googlemaps.Messages.FlutterError;
+import io.flutter.plugins.googlemaps.Messages.PlatformSnapshotFormat;
+import io.flutter.plugins.googlemaps.Messages.PlatformSnapshotOptions;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Encodes the snapshots of a map on a background thread, so that compressing large bitmaps does
+ * not block the main thread.
+ *
+ * <p>The snapshots are scaled down, then encoded to the requested format and either returned or
+ * written to a file. Results are delivered on the main thread.
+ */
+class SnapshotEncoder {
+  /** The options of the snapshots of takeSnapshot, encoded as full size PNG images. */
+  static final PlatformSnapshotOptions DEFAULT_OPTIONS =
+      new PlatformSnapshotOptions.Builder()
+          .setFormat(PlatformSnapshotFormat.PNG)
+          .setQuality(100L)
+          .setScale(1.0)
+          .build();
+
+  /**
+   * The estimated size of an encoded pixel, used to size the output buffer so that it rarely needs
+   * to grow while the snapshot is compressed.
+   */
+  private static final double ESTIMATED_BYTES_PER_PIXEL = 0.5;
+
+  private final @NonNull Executor backgroundExecutor;
+  private final @NonNull Executor mainThreadExecutor;
+
+  SnapshotEncoder() {
+    this(Executors.newSingleThreadExecutor(), new Handler(Looper.getMainLooper())::post);
+  }
+
+  @VisibleForTesting
+  SnapshotEncoder(@NonNull Executor backgroundExecutor, @NonNull Executor mainThreadExecutor) {
+    this.backgroundExecutor = backgroundExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
+  }
+
+  /**
+   * Returns why the given options are invalid, or null if they are valid.
+   *
+   * @param options the options of a snapshot.
+   */
+  static @Nullable String validateOptions(@NonNull PlatformSnapshotOptions options) {
+    final long quality = options.getQuality();
+    if (quality < 0 || quality > 100) {
+      return "quality must be between 0 and 100, but was " + quality;
+    }
+    final double scale = options.getScale();
+    if (!(scale > 0 && scale <= 1)) {
+      return "scale must be greater than 0 and at most 1, but was " + scale;
+    }
+    return null;
+  }
+
+  /**
+   * Encodes the given snapshot in the background, and recycles it.
+   *
+   * <p>If the snapshot cannot be encoded, including when it runs out of memory or after {@link
+   * #dispose()}, the error is sent to the result.
+   *
+   * @param bitmap the snapshot of the map.
+   * @param options valid options of the encoding.
+   * @param result receives the image data, or null if it was written to the file of the options.
+   */
+  void encode(
+      @NonNull Bitmap bitmap,
+      @NonNull PlatformSnapshotOptions options,
+      @NonNull Messages.NullableResult<byte[]> result) {
+    try {
+      backgroundExecutor.execute(
+          () -> {
+            try {
+              final byte[] data = encode(bitmap, options);
+              mainThreadExecutor.execute(() -> result.success(data));
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+              if (!bitmap.isRecycled()) {
+                bitmap.recycle();
+              }
+              mainThreadExecutor.execute(() -> result.error(encodingError(e)));
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      bitmap.recycle();
+      result.error(encodingError(e));
+    }
+  }
+
+  private static @NonNull FlutterError encodingError(@NonNull Throwable error) {
+    return new FlutterError("Snapshot failure", "Unable to encode snapshot", error.getMessage());
+  }
+
+  /** Stops encoding snapshots, as the map is disposed. */
+  void dispose() {
+    if (backgroundExecutor instanceof ExecutorService) {
+      ((ExecutorService) backgroundExecutor).shutdown();
+    }
+  }
+
+  /**
+   * Encodes the given snapshot, and recycles it.
+   *
+   * @return the image data, or null if it was written to the file of the options.
+   * @throws IOException if the snapshot could not be encoded or written.
+   */
+  @VisibleForTesting
+  static @Nullable byte[] encode(@NonNull Bitmap bitmap, @NonNull PlatformSnapshotOptions options)
+      throws IOException {
+    final Bitmap scaledBitmap = scale(bitmap, options.getScale());
+    final Bitmap.CompressFormat format = toCompressFormat(options.getFormat());
+    final int quality = toCompressQuality(options.getFormat(), options.getQuality().intValue());
+    try {
+      final String filePath = options.getFilePath();
+      if (filePath != null) {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(filePath))) {
+          compress(scaledBitmap, format, quality, stream);
+        }
+        return null;
+      }
+      final ByteArrayOutputStream stream =
+          new ByteArrayOutputStream(
+              (int)
+                  (scaledBitmap.getWidth()
+                      * (long) scaledBitmap.getHeight()
+                      * ESTIMATED_BYTES_PER_PIXEL));
+      compress(scaledBitmap, format, quality, stream);
+      return stream.toByteArray();
+    } finally {
+      scaledBitmap.recycle();
+    }
+  }
+
+  /** Returns the given bitmap scaled by the given factor, recycling it if it was scaled. */
+  private static @NonNull Bitmap scale(@NonNull Bitmap bitmap, double scale) {
+    if (scale == 1) {
+      return bitmap;
+    }
+    final int width = Math.max(1, (int) Math.round(bitmap.getWidth() * scale));
+    final int height = Math.max(1, (int) Math.round(bitmap.getHeight() * scale));
+    final Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, width, height, true);
+    if (scaledBitmap != bitmap) {
+      bitmap.recycle();
+    }
+    return scaledBitmap;
+  }
+
+  private static void compress(
+      @NonNull Bitmap bitmap,
+      @NonNull Bitmap.CompressFormat format,
+      int quality,
+      @NonNull OutputStream stream)
+      throws IOException {
+    if (!bitmap.compress(format, quality, stream)) {
+      throw new IOException("Unable to compress snapshot to " + format);
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  @VisibleForTesting
+  static @NonNull Bitmap.CompressFormat toCompressFormat(@NonNull PlatformSnapshotFormat format) {
+    switch (format) {
+      case JPEG:
+        return Bitmap.CompressFormat.JPEG;
+      case WEBP_LOSSY:
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+      case WEBP_LOSSLESS:
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSLESS
+            : Bitmap.CompressFormat.WEBP;
+      case PNG:
+      default:
+        return Bitmap.CompressFormat.PNG;
+    }
+  }
+
+  /**
+   * Returns the quality to compress with. Before Android R, WebP images are only lossless when
+   * compressed at quality 100.
+   */
+  private static int toCompressQuality(@NonNull PlatformSnapshotFormat format, int quality) {
+    if (format == PlatformSnapshotFormat.WEBP_LOSSLESS
+        && Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+      return 100;
+    }
+    return quality;
+  }
+}
@@ -0,0 +1,496 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.Base64;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.Tile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A cache of the tiles received from Dart, shared by the tile overlays of a map.
+ *
+ * <p>Tiles are kept in memory up to a number of bytes, evicting the least recently used tiles
+ * first. When the disk cache is enabled, tiles are also written to the app cache directory, bounded
+ * the same way, and tiles evicted from memory or received in a previous session are read back from
+ * it. Disk writes and deletions run in order on a background executor.
+ *
+ * <p>Invalidating the tiles of a tile overlay increments its generation. Tiles requested from Dart
+ * before an invalidation are not cached when they are received.
+ */
+final class TileCache {
+  private static final String TAG = "TileCache";
+
+  /** The directory of the disk cache, in the app cache directory. */
+  @VisibleForTesting static final String DISK_CACHE_DIRECTORY_NAME = "google_maps_flutter_tiles";
+
+  @VisibleForTesting static final long DEFAULT_MEMORY_CACHE_MAX_BYTES = 8 * 1024 * 1024;
+
+  /** An estimate of the memory used by a cached tile besides its data. */
+  @VisibleForTesting static final int TILE_OVERHEAD_BYTES = 64;
+
+  /** The size of the width, height and data length written before the data of a tile on disk. */
+  @VisibleForTesting static final int DISK_HEADER_BYTES = 12;
+
+  private static final int DIRECTORY_NAME_FLAGS =
+      Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+
+  private final @NonNull File diskCacheDirectory;
+  private final @NonNull Executor diskExecutor;
+
+  // All the following fields are guarded by `lock`, as tiles are read and written on the tile
+  // worker threads of the Maps SDK and on the main thread.
+  private final Object lock = new Object();
+  private final LinkedHashMap<TileKey, Tile> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** The size on disk of each tile of the disk cache, in least recently used order. */
+  private final LinkedHashMap<TileKey, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final HashMap<String, Integer> generations = new HashMap<>();
+  private long memoryCacheMaxBytes = DEFAULT_MEMORY_CACHE_MAX_BYTES;
+  private long memoryCacheSizeBytes;
+  private boolean isDiskCacheEnabled;
+  private long diskCacheMaxBytes;
+  private long diskCacheSizeBytes;
+  private int diskIndexLoadCount;
+  private long memoryHitCount;
+  private long diskHitCount;
+  private long missCount;
+  private long evictionCount;
+
+  TileCache(@NonNull File cacheDirectory) {
+    this(
+        new File(cacheDirectory, DISK_CACHE_DIRECTORY_NAME),
+        Executors.newSingleThreadExecutor());
+  }
+
+  @VisibleForTesting
+  TileCache(@NonNull File diskCacheDirectory, @NonNull Executor diskExecutor) {
+    this.diskCacheDirectory = diskCacheDirectory;
+    this.diskExecutor = diskExecutor;
+  }
+
+  /**
+   * Sets the maximum sizes of the cache.
+   *
+   * <p>A null {@code diskCacheMaxBytes} disables the disk cache and deletes its files. Enabling it
+   * reads the tiles cached by previous sessions in the background; they are not found until then.
+   */
+  void setConfiguration(long memoryCacheMaxBytes, @Nullable Long diskCacheMaxBytes) {
+    synchronized (lock) {
+      this.memoryCacheMaxBytes = Math.max(0, memoryCacheMaxBytes);
+      trimMemoryLocked();
+      if (diskCacheMaxBytes == null) {
+        if (isDiskCacheEnabled) {
+          isDiskCacheEnabled = false;
+          diskIndexLoadCount++;
+          diskIndex.clear();
+          diskCacheSizeBytes = 0;
+          diskExecutor.execute(() -> deleteRecursively(diskCacheDirectory));
+        }
+        return;
+      }
+      this.diskCacheMaxBytes = Math.max(0, diskCacheMaxBytes);
+      if (isDiskCacheEnabled) {
+        trimDiskLocked();
+        return;
+      }
+      isDiskCacheEnabled = true;
+      final int loadCount = ++diskIndexLoadCount;
+      final Map<String, Integer> loadGenerations = new HashMap<>(generations);
+      diskExecutor.execute(() -> loadDiskIndex(loadCount, loadGenerations));
+    }
+  }
+
+  /** Returns the current generation of the tiles of {@code tileOverlayId}. */
+  int getGeneration(@NonNull String tileOverlayId) {
+    synchronized (lock) {
+      return getGenerationLocked(tileOverlayId);
+    }
+  }
+
+  /**
+   * Returns the cached tile of {@code key}, or null if it is not cached.
+   *
+   * <p>This reads from the disk cache, and must not be called on the main thread.
+   */
+  @Nullable
+  Tile get(@NonNull TileKey key) {
+    final int generation;
+    synchronized (lock) {
+      final Tile tile = memoryCache.get(key);
+      if (tile != null) {
+        memoryHitCount++;
+        return tile;
+      }
+      if (!diskIndex.containsKey(key)) {
+        missCount++;
+        return null;
+      }
+      generation = getGenerationLocked(key.tileOverlayId);
+    }
+    final Tile tile = readTile(fileOf(key));
+    synchronized (lock) {
+      if (tile == null || generation != getGenerationLocked(key.tileOverlayId)) {
+        missCount++;
+        return null;
+      }
+      diskHitCount++;
+      putInMemoryLocked(key, tile);
+      return tile;
+    }
+  }
+
+  /** Returns whether the tile of {@code key} is cached, without reading it. */
+  boolean contains(@NonNull TileKey key) {
+    synchronized (lock) {
+      return memoryCache.containsKey(key) || diskIndex.containsKey(key);
+    }
+  }
+
+  /**
+   * Caches {@code tile}, unless the tiles of its tile overlay were invalidated since {@code
+   * generation}.
+   */
+  void put(@NonNull TileKey key, @NonNull Tile tile, int generation) {
+    if (tile.data == null) {
+      return;
+    }
+    synchronized (lock) {
+      if (generation != getGenerationLocked(key.tileOverlayId)) {
+        return;
+      }
+      putInMemoryLocked(key, tile);
+      if (!isDiskCacheEnabled) {
+        return;
+      }
+      final long size = DISK_HEADER_BYTES + tile.data.length;
+      final Long previousSize = diskIndex.put(key, size);
+      diskCacheSizeBytes += size - (previousSize == null ? 0 : previousSize);
+      final File file = fileOf(key);
+      diskExecutor.execute(() -> writeTile(file, tile));
+      trimDiskLocked();
+    }
+  }
+
+  /** Removes the tiles of {@code tileOverlayId} from the cache. */
+  void invalidate(@NonNull String tileOverlayId) {
+    synchronized (lock) {
+      incrementGenerationLocked(tileOverlayId);
+      removeFromMemoryLocked(tileOverlayId);
+      final Iterator<Map.Entry<TileKey, Long>> entries = diskIndex.entrySet().iterator();
+      while (entries.hasNext()) {
+        final Map.Entry<TileKey, Long> entry = entries.next();
+        if (entry.getKey().tileOverlayId.equals(tileOverlayId)) {
+          diskCacheSizeBytes -= entry.getValue();
+          entries.remove();
+        }
+      }
+      if (isDiskCacheEnabled) {
+        final File directory = directoryOf(tileOverlayId);
+        diskExecutor.execute(() -> deleteRecursively(directory));
+      }
+    }
+  }
+
+  /** Removes the tiles of {@code tileOverlayId} at {@code locations} and {@code zoom}. */
+  void invalidate(
+      @NonNull String tileOverlayId, @NonNull List<Messages.PlatformPoint> locations, int zoom) {
+    synchronized (lock) {
+      incrementGenerationLocked(tileOverlayId);
+      for (Messages.PlatformPoint location : locations) {
+        final TileKey key =
+            new TileKey(
+                tileOverlayId, location.getX().intValue(), location.getY().intValue(), zoom);
+        final Tile tile = memoryCache.remove(key);
+        if (tile != null) {
+          memoryCacheSizeBytes -= sizeInMemory(tile);
+        }
+        final Long size = diskIndex.remove(key);
+        if (size != null) {
+          diskCacheSizeBytes -= size;
+          final File file = fileOf(key);
+          diskExecutor.execute(() -> deleteRecursively(file));
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the tiles of {@code tileOverlayId} from memory, keeping them on disk for when the tile
+   * overlay is added again.
+   */
+  void evictFromMemory(@NonNull String tileOverlayId) {
+    synchronized (lock) {
+      removeFromMemoryLocked(tileOverlayId);
+    }
+  }
+
+  /** Stops writing to the disk cache, keeping the tiles already written. */
+  void dispose() {
+    synchronized (lock) {
+      isDiskCacheEnabled = false;
+      diskIndexLoadCount++;
+      diskIndex.clear();
+      diskCacheSizeBytes = 0;
+      memoryCache.clear();
+      memoryCacheSizeBytes = 0;
+    }
+    if (diskExecutor instanceof ExecutorService) {
+      ((ExecutorService) diskExecutor).shutdown();
+    }
+  }
+
+  @NonNull
+  Messages.PlatformTileCacheStats getStats() {
+    synchronized (lock) {
+      return new Messages.PlatformTileCacheStats.Builder()
+          .setMemoryHitCount(memoryHitCount)
+          .setDiskHitCount(diskHitCount)
+          .setMissCount(missCount)
+          .setEvictionCount(evictionCount)
+          .setMemoryCacheSizeBytes(memoryCacheSizeBytes)
+          .setDiskCacheSizeBytes(diskCacheSizeBytes)
+          .build();
+    }
+  }
+
+  private int getGenerationLocked(@NonNull String tileOverlayId) {
+    final Integer generation = generations.get(tileOverlayId);
+    return generation == null ? 0 : generation;
+  }
+
+  private void incrementGenerationLocked(@NonNull String tileOverlayId) {
+    generations.put(tileOverlayId, getGenerationLocked(tileOverlayId) + 1);
+  }
+
+  private void putInMemoryLocked(@NonNull TileKey key, @NonNull Tile tile) {
+    final Tile previousTile = memoryCache.remove(key);
+    if (previousTile != null) {
+      memoryCacheSizeBytes -= sizeInMemory(previousTile);
+    }
+    final long size = sizeInMemory(tile);
+    if (size > memoryCacheMaxBytes) {
+      return;
+    }
+    memoryCache.put(key, tile);
+    memoryCacheSizeBytes += size;
+    trimMemoryLocked();
+  }
+
+  private void removeFromMemoryLocked(@NonNull String tileOverlayId) {
+    final Iterator<Map.Entry<TileKey, Tile>> entries = memoryCache.entrySet().iterator();
+    while (entries.hasNext()) {
+      final Map.Entry<TileKey, Tile> entry = entries.next();
+      if (entry.getKey().tileOverlayId.equals(tileOverlayId)) {
+        memoryCacheSizeBytes -= sizeInMemory(entry.getValue());
+        entries.remove();
+      }
+    }
+  }
+
+  /** Evicts the least recently used tiles from memory until it fits the maximum size. */
+  private void trimMemoryLocked() {
+    final Iterator<Tile> tiles = memoryCache.values().iterator();
+    while (memoryCacheSizeBytes > memoryCacheMaxBytes && tiles.hasNext()) {
+      memoryCacheSizeBytes -= sizeInMemory(tiles.next());
+      tiles.remove();
+      evictionCount++;
+    }
+  }
+
+  /** Deletes the least recently used tiles from disk until it fits the maximum size. */
+  private void trimDiskLocked() {
+    final Iterator<Map.Entry<TileKey, Long>> entries = diskIndex.entrySet().iterator();
+    while (diskCacheSizeBytes > diskCacheMaxBytes && entries.hasNext()) {
+      final Map.Entry<TileKey, Long> entry = entries.next();
+      diskCacheSizeBytes -= entry.getValue();
+      final File file = fileOf(entry.getKey());
+      entries.remove();
+      diskExecutor.execute(() -> deleteRecursively(file));
+    }
+  }
+
+  private static long sizeInMemory(@NonNull Tile tile) {
+    return TILE_OVERHEAD_BYTES + (tile.data == null ? 0 : tile.data.length);
+  }
+
+  @NonNull
+  private File directoryOf(@NonNull String tileOverlayId) {
+    final String name =
+        Base64.encodeToString(
+            tileOverlayId.getBytes(StandardCharsets.UTF_8), DIRECTORY_NAME_FLAGS);
+    return new File(diskCacheDirectory, name);
+  }
+
+  @NonNull
+  private File fileOf(@NonNull TileKey key) {
+    return new File(directoryOf(key.tileOverlayId), key.zoom + "_" + key.x + "_" + key.y);
+  }
+
+  /**
+   * Adds the tiles found on disk to the disk index, as less recently used than the tiles cached
+   * since the disk cache was enabled.
+   *
+   * <p>Tiles of tile overlays invalidated while the files were listed are skipped.
+   */
+  private void loadDiskIndex(int loadCount, @NonNull Map<String, Integer> loadGenerations) {
+    final List<DiskEntry> diskEntries = new ArrayList<>();
+    final File[] directories = diskCacheDirectory.listFiles();
+    if (directories != null) {
+      for (File directory : directories) {
+        final String tileOverlayId;
+        try {
+          tileOverlayId =
+              new String(
+                  Base64.decode(directory.getName(), DIRECTORY_NAME_FLAGS),
+                  StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+          continue;
+        }
+        final File[] files = directory.listFiles();
+        if (files == null) {
+          continue;
+        }
+        for (File file : files) {
+          final TileKey key = parseFileName(tileOverlayId, file.getName());
+          if (key != null) {
+            diskEntries.add(new DiskEntry(key, file.length(), file.lastModified()));
+          }
+        }
+      }
+    }
+    Collections.sort(diskEntries, (a, b) -> Long.compare(a.lastModified, b.lastModified));
+    synchronized (lock) {
+      if (loadCount != diskIndexLoadCount) {
+        return;
+      }
+      final Map<TileKey, Long> cachedEntries = new LinkedHashMap<>(diskIndex);
+      diskIndex.clear();
+      for (DiskEntry diskEntry : diskEntries) {
+        final String tileOverlayId = diskEntry.key.tileOverlayId;
+        final Integer loadGeneration = loadGenerations.get(tileOverlayId);
+        if ((loadGeneration == null ? 0 : loadGeneration) == getGenerationLocked(tileOverlayId)
+            && !cachedEntries.containsKey(diskEntry.key)) {
+          diskIndex.put(diskEntry.key, diskEntry.size);
+        }
+      }
+      diskIndex.putAll(cachedEntries);
+      diskCacheSizeBytes = 0;
+      for (long size : diskIndex.values()) {
+        diskCacheSizeBytes += size;
+      }
+      trimDiskLocked();
+    }
+  }
+
+  @Nullable
+  private static TileKey parseFileName(@NonNull String tileOverlayId, @NonNull String fileName) {
+    final String[] parts = fileName.split("_", -1);
+    if (parts.length != 3) {
+      return null;
+    }
+    try {
+      return new TileKey(
+          tileOverlayId,
+          Integer.parseInt(parts[1]),
+          Integer.parseInt(parts[2]),
+          Integer.parseInt(parts[0]));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /** Writes {@code tile} to a temporary file renamed to {@code file}, so reads never see a part. */
+  private static void writeTile(@NonNull File file, @NonNull Tile tile) {
+    final File directory = file.getParentFile();
+    if (directory == null || (!directory.isDirectory() && !directory.mkdirs())) {
+      Log.e(TAG, "Can't create the tile cache directory: " + directory);
+      return;
+    }
+    final File temporaryFile = new File(directory, file.getName() + ".tmp");
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+      output.writeInt(tile.width);
+      output.writeInt(tile.height);
+      output.writeInt(tile.data.length);
+      output.write(tile.data);
+    } catch (IOException e) {
+      Log.e(TAG, "Can't write tile to the disk cache: " + file, e);
+      deleteRecursively(temporaryFile);
+      return;
+    }
+    if (!temporaryFile.renameTo(file)) {
+      Log.e(TAG, "Can't write tile to the disk cache: " + file);
+      deleteRecursively(temporaryFile);
+    }
+  }
+
+  @Nullable
+  private static Tile readTile(@NonNull File file) {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      final int width = input.readInt();
+      final int height = input.readInt();
+      final int length = input.readInt();
+      if (length < 0 || length > file.length() - DISK_HEADER_BYTES) {
+        Log.e(TAG, "Invalid tile in the disk cache: " + file);
+        return null;
+      }
+      final byte[] data = new byte[length];
+      input.readFully(data);
+      return new Tile(width, height, data);
+    } catch (IOException e) {
+      Log.e(TAG, "Can't read tile from the disk cache: " + file, e);
+      return null;
+    }
+  }
+
+  private static void deleteRecursively(@NonNull File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    if (file.exists() && !file.delete()) {
+      Log.e(TAG, "Can't delete from the disk cache: " + file);
+    }
+  }
+
+  /** A tile found on disk when loading the disk index. */
+  private static final class DiskEntry {
+    final TileKey key;
+    final long size;
+    final long lastModified;
+
+    DiskEntry(TileKey key, long size, long lastModified) {
+      this.key = key;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+}
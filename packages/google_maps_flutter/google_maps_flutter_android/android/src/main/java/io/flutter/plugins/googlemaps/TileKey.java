@@ -0,0 +1,42 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.NonNull;
+
+/** The coordinates of a tile of a tile overlay. */
+final class TileKey {
+  final @NonNull String tileOverlayId;
+  final int x;
+  final int y;
+  final int zoom;
+
+  TileKey(@NonNull String tileOverlayId, int x, int y, int zoom) {
+    this.tileOverlayId = tileOverlayId;
+    this.x = x;
+    this.y = y;
+    this.zoom = zoom;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TileKey)) {
+      return false;
+    }
+    TileKey other = (TileKey) o;
+    return x == other.x
+        && y == other.y
+        && zoom == other.zoom
+        && tileOverlayId.equals(other.tileOverlayId);
+  }
+
+  @Override
+  public int hashCode() {
+    return ((tileOverlayId.hashCode() * 31 + x) * 31 + y) * 31 + zoom;
+  }
+}
@@ -10,9 +10,11 @@ import com.google.android.gms.maps.model.TileProvider;
 class TileOverlayController implements TileOverlaySink {
 
   private final TileOverlay tileOverlay;
+  private final TileProviderController tileProviderController;
 
-  TileOverlayController(TileOverlay tileOverlay) {
+  TileOverlayController(TileOverlay tileOverlay, TileProviderController tileProviderController) {
     this.tileOverlay = tileOverlay;
+    this.tileProviderController = tileProviderController;
   }
 
   void remove() {
@@ -27,6 +29,10 @@ class TileOverlayController implements TileOverlaySink {
     return tileOverlay;
   }
 
+  TileProviderController getTileProviderController() {
+    return tileProviderController;
+  }
+
   @Override
   public void setFadeIn(boolean fadeIn) {
     tileOverlay.setFadeIn(fadeIn);
@@ -7,6 +7,8 @@ package io.flutter.plugins.googlemaps;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
@@ -15,14 +17,24 @@ import java.util.List;
 import java.util.Map;
 
 class TileOverlaysController {
+  /**
+   * The minimum interval between two scans for the pending tiles that left the visible region
+   * while the camera moves.
+   */
+  private static final long CAMERA_MOVE_SCAN_INTERVAL_MILLIS = 250;
 
   private final Map<String, TileOverlayController> tileOverlayIdToController;
   private final MapsCallbackApi flutterApi;
+  private final TileCache tileCache;
+  private final CameraMoveThrottler cameraMoveThrottler =
+      new CameraMoveThrottler(this::cancelInvisibleTiles);
   private GoogleMap googleMap;
 
-  TileOverlaysController(MapsCallbackApi flutterApi) {
+  TileOverlaysController(MapsCallbackApi flutterApi, TileCache tileCache) {
     this.tileOverlayIdToController = new HashMap<>();
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
+    cameraMoveThrottler.setConfiguration(CAMERA_MOVE_SCAN_INTERVAL_MILLIS, 0, 0, 0);
   }
 
   void setGoogleMap(GoogleMap googleMap) {
@@ -57,12 +69,79 @@ class TileOverlaysController {
     if (tileOverlayId == null) {
       return;
     }
+    tileCache.invalidate(tileOverlayId);
     TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
     if (tileOverlayController != null) {
       tileOverlayController.clearTileCache();
     }
   }
 
+  /**
+   * Removes the tiles at {@code locations} and {@code zoom} from the tile cache.
+   *
+   * <p>The Maps SDK can only clear all the tiles of a tile overlay, which then requests the other
+   * tiles from the tile cache again.
+   */
+  void invalidateTiles(
+      @NonNull String tileOverlayId, @NonNull List<Messages.PlatformPoint> locations, int zoom) {
+    tileCache.invalidate(tileOverlayId, locations, zoom);
+    TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
+    if (tileOverlayController != null) {
+      tileOverlayController.clearTileCache();
+    }
+  }
+
+  @NonNull
+  TileCache getTileCache() {
+    return tileCache;
+  }
+
+  /** Stops writing tiles to the disk cache and scanning for tiles, as the map is disposed. */
+  void dispose() {
+    cameraMoveThrottler.reset();
+    tileCache.dispose();
+  }
+
+  /**
+   * Cancels the pending tiles of every tile overlay that are no longer visible, at most once every
+   * {@link #CAMERA_MOVE_SCAN_INTERVAL_MILLIS} while the camera moves.
+   */
+  void onCameraMove() {
+    if (tileOverlayIdToController.isEmpty() || googleMap == null) {
+      return;
+    }
+    cameraMoveThrottler.onCameraMove(googleMap.getCameraPosition());
+  }
+
+  private void cancelInvisibleTiles(@NonNull CameraPosition position) {
+    if (tileOverlayIdToController.isEmpty() || googleMap == null) {
+      return;
+    }
+    LatLngBounds bounds = googleMap.getProjection().getVisibleRegion().latLngBounds;
+    for (TileOverlayController tileOverlayController : tileOverlayIdToController.values()) {
+      tileOverlayController
+          .getTileProviderController()
+          .onVisibleRegionChanged(bounds, position.zoom);
+    }
+  }
+
+  /**
+   * Cancels the tiles that are no longer visible and prefetches the tiles around the visible region
+   * of every tile overlay.
+   */
+  void onCameraIdle() {
+    // The scan below covers the last position of the camera move.
+    cameraMoveThrottler.reset();
+    if (tileOverlayIdToController.isEmpty() || googleMap == null) {
+      return;
+    }
+    LatLngBounds bounds = googleMap.getProjection().getVisibleRegion().latLngBounds;
+    float zoom = googleMap.getCameraPosition().zoom;
+    for (TileOverlayController tileOverlayController : tileOverlayIdToController.values()) {
+      tileOverlayController.getTileProviderController().onCameraIdle(bounds, zoom);
+    }
+  }
+
   @Nullable
   TileOverlay getTileOverlay(String tileOverlayId) {
     if (tileOverlayId == null) {
@@ -80,11 +159,12 @@ class TileOverlaysController {
     String tileOverlayId =
         Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayOptionsBuilder);
     TileProviderController tileProviderController =
-        new TileProviderController(flutterApi, tileOverlayId);
+        new TileProviderController(flutterApi, tileOverlayId, tileCache);
     tileOverlayOptionsBuilder.setTileProvider(tileProviderController);
     TileOverlayOptions options = tileOverlayOptionsBuilder.build();
     TileOverlay tileOverlay = googleMap.addTileOverlay(options);
-    TileOverlayController tileOverlayController = new TileOverlayController(tileOverlay);
+    TileOverlayController tileOverlayController =
+        new TileOverlayController(tileOverlay, tileProviderController);
     tileOverlayIdToController.put(tileOverlayId, tileOverlayController);
   }
 
@@ -101,6 +181,7 @@ class TileOverlaysController {
     if (tileOverlayController != null) {
       tileOverlayController.remove();
       tileOverlayIdToController.remove(tileOverlayId);
+      tileCache.evictFromMemory(tileOverlayId);
     }
   }
 
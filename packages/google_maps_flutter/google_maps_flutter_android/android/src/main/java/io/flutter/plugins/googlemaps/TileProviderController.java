@@ -9,98 +9,385 @@ import android.os.Looper;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Tile;
 import com.google.android.gms.maps.model.TileProvider;
 import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
+/**
+ * Provides the tiles of a tile overlay by requesting them from Dart.
+ *
+ * <p>The Maps SDK calls {@link #getTile} on its tile worker threads, which wait for the tile. Tile
+ * requests are queued, and sent from the main thread to Dart in batches of tiles of the same zoom
+ * level, with a bounded number of batches awaiting a reply. Queued tiles that are no longer in the
+ * visible region are cancelled, and the tiles around the visible region are prefetched when the
+ * camera stops moving.
+ *
+ * <p>Received tiles are stored in the {@link TileCache} of the map, which answers the requests of
+ * tiles it holds without a message to Dart.
+ */
 class TileProviderController implements TileProvider {
 
   private static final String TAG = "TileProviderController";
 
+  /** The maximum number of tiles requested from Dart in a single message. */
+  @VisibleForTesting static final int MAX_TILES_PER_MESSAGE = 16;
+
+  /** The maximum number of queued tiles. Beyond it, the oldest queued tile is cancelled. */
+  @VisibleForTesting static final int MAX_QUEUED_TILES = 64;
+
+  /** The maximum number of messages awaiting a reply from Dart. */
+  @VisibleForTesting static final int MAX_MESSAGES_IN_FLIGHT = 4;
+
+  /** The number of tiles around the visible region that are prefetched. */
+  @VisibleForTesting static final int PREFETCH_MARGIN = 1;
+
   protected final String tileOverlayId;
   protected final @NonNull MapsCallbackApi flutterApi;
+  private final @NonNull TileCache tileCache;
   protected final Handler handler = new Handler(Looper.getMainLooper());
 
-  TileProviderController(@NonNull MapsCallbackApi flutterApi, String tileOverlayId) {
+  // All the following fields are guarded by `lock`, as tiles are requested on the tile worker
+  // threads of the Maps SDK while messages are sent and received on the main thread.
+  private final Object lock = new Object();
+  private final LinkedHashMap<TileKey, TileRequest> queuedRequests = new LinkedHashMap<>();
+  private final HashMap<TileKey, TileRequest> inFlightRequests = new HashMap<>();
+  private int messagesInFlight;
+  private boolean isDispatchPending;
+
+  private final Runnable dispatchQueuedRequests = this::dispatchQueuedRequests;
+
+  TileProviderController(
+      @NonNull MapsCallbackApi flutterApi,
+      String tileOverlayId,
+      @NonNull TileCache tileCache) {
     this.tileOverlayId = tileOverlayId;
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
   }
 
   @Override
   public Tile getTile(final int x, final int y, final int zoom) {
-    Worker worker = new Worker(x, y, zoom);
-    return worker.getTile();
+    return requestTile(x, y, zoom).await();
+  }
+
+  /**
+   * Queues a request for a tile that is not cached, and returns the waiter that receives it.
+   *
+   * <p>This may read from the disk cache, and must not be called on the main thread.
+   */
+  @VisibleForTesting
+  @NonNull
+  TileWaiter requestTile(int x, int y, int zoom) {
+    final TileKey key = new TileKey(tileOverlayId, x, y, zoom);
+    final TileWaiter waiter = new TileWaiter(key);
+    final Tile cachedTile = tileCache.get(key);
+    if (cachedTile != null) {
+      waiter.complete(cachedTile);
+      return waiter;
+    }
+    synchronized (lock) {
+      TileRequest request = inFlightRequests.get(key);
+      if (request == null) {
+        request = queuedRequests.get(key);
+      }
+      if (request == null) {
+        request = new TileRequest(key);
+        queuedRequests.put(key, request);
+        trimQueueLocked();
+      }
+      request.waiters.add(waiter);
+      scheduleDispatchLocked();
+    }
+    return waiter;
   }
 
-  private final class Worker implements Messages.Result<Messages.PlatformTile> {
+  /**
+   * Cancels the requests of tiles outside {@code bounds}, extended by {@link #PREFETCH_MARGIN}.
+   *
+   * <p>Queued tiles are dropped. Tiles already requested from Dart are still cached when they are
+   * received, but the tile worker threads waiting for them are released.
+   *
+   * <p>Cancelled tiles are returned as null to the Maps SDK, which requests them again if they
+   * become visible.
+   */
+  void onVisibleRegionChanged(@NonNull LatLngBounds bounds, float cameraZoom) {
+    final TileRange range = TileRange.fromBounds(bounds, cameraZoom, PREFETCH_MARGIN);
+    synchronized (lock) {
+      final Iterator<TileRequest> queued = queuedRequests.values().iterator();
+      while (queued.hasNext()) {
+        final TileRequest request = queued.next();
+        if (!range.intersects(request.key.x, request.key.y, request.key.zoom)) {
+          queued.remove();
+          request.cancelWaiters();
+        }
+      }
+      for (TileRequest request : inFlightRequests.values()) {
+        if (!range.intersects(request.key.x, request.key.y, request.key.zoom)) {
+          request.cancelWaiters();
+        }
+      }
+    }
+  }
 
-    private final CountDownLatch countDownLatch = new CountDownLatch(1);
-    private final int x;
-    private final int y;
-    private final int zoom;
-    private @Nullable Messages.PlatformTile result;
-
-    Worker(int x, int y, int zoom) {
-      this.x = x;
-      this.y = y;
-      this.zoom = zoom;
-    }
-
-    @NonNull
-    Tile getTile() {
-      final Messages.PlatformPoint location =
-          new Messages.PlatformPoint.Builder().setX((long) x).setY((long) y).build();
-      handler.post(() -> flutterApi.getTileOverlayTile(tileOverlayId, location, (long) zoom, this));
-      try {
-        // `flutterApi.getTileOverlayTile` is async, so use a `countDownLatch` to make it synchronized.
-        countDownLatch.await();
-      } catch (InterruptedException e) {
+  /**
+   * Cancels the tiles outside {@code bounds}, and prefetches the tiles in a margin of {@link
+   * #PREFETCH_MARGIN} tiles around it.
+   */
+  void onCameraIdle(@NonNull LatLngBounds bounds, float cameraZoom) {
+    onVisibleRegionChanged(bounds, cameraZoom);
+    final TileRange visibleRange = TileRange.fromBounds(bounds, cameraZoom, 0);
+    final TileRange prefetchRange = TileRange.fromBounds(bounds, cameraZoom, PREFETCH_MARGIN);
+    final int zoom = prefetchRange.zoom;
+    synchronized (lock) {
+      for (int column = 0; column < prefetchRange.getWidth(); column++) {
+        final int x = prefetchRange.getX(column);
+        for (int y = prefetchRange.minY; y <= prefetchRange.maxY; y++) {
+          if (queuedRequests.size() >= MAX_QUEUED_TILES) {
+            break;
+          }
+          final TileKey key = new TileKey(tileOverlayId, x, y, zoom);
+          // The Maps SDK requests the visible tiles itself.
+          if (visibleRange.intersects(x, y, zoom)
+              || tileCache.contains(key)
+              || queuedRequests.containsKey(key)
+              || inFlightRequests.containsKey(key)) {
+            continue;
+          }
+          queuedRequests.put(key, new TileRequest(key));
+        }
+      }
+      scheduleDispatchLocked();
+    }
+  }
+
+  /** Returns the number of tiles waiting to be requested from Dart. */
+  @VisibleForTesting
+  int getQueuedTileCount() {
+    synchronized (lock) {
+      return queuedRequests.size();
+    }
+  }
+
+  /** Cancels the oldest queued tiles, prefetched tiles first, while the queue is too long. */
+  private void trimQueueLocked() {
+    while (queuedRequests.size() > MAX_QUEUED_TILES) {
+      TileRequest cancelled = null;
+      for (TileRequest request : queuedRequests.values()) {
+        if (request.waiters.isEmpty()) {
+          cancelled = request;
+          break;
+        }
+      }
+      if (cancelled == null) {
+        cancelled = queuedRequests.values().iterator().next();
+      }
+      queuedRequests.remove(cancelled.key);
+      cancelled.cancelWaiters();
+    }
+  }
+
+  private void scheduleDispatchLocked() {
+    if (!isDispatchPending
+        && !queuedRequests.isEmpty()
+        && messagesInFlight < MAX_MESSAGES_IN_FLIGHT) {
+      isDispatchPending = true;
+      handler.post(dispatchQueuedRequests);
+    }
+  }
+
+  /** Sends the queued requests to Dart, until the number of messages in flight is reached. */
+  private void dispatchQueuedRequests() {
+    while (true) {
+      final List<TileRequest> batch;
+      synchronized (lock) {
+        if (queuedRequests.isEmpty() || messagesInFlight >= MAX_MESSAGES_IN_FLIGHT) {
+          isDispatchPending = false;
+          return;
+        }
+        batch = takeBatchLocked();
+        messagesInFlight++;
+      }
+      sendBatch(batch);
+    }
+  }
+
+  /**
+   * Removes a batch of tiles of the same zoom level from the queue. Tiles the Maps SDK waits for
+   * are sent before prefetched tiles.
+   */
+  private List<TileRequest> takeBatchLocked() {
+    TileRequest first = null;
+    for (TileRequest request : queuedRequests.values()) {
+      if (!request.waiters.isEmpty()) {
+        first = request;
+        break;
+      }
+    }
+    if (first == null) {
+      first = queuedRequests.values().iterator().next();
+    }
+    final int zoom = first.key.zoom;
+    final List<TileRequest> batch = new ArrayList<>();
+    for (int pass = 0; pass < 2; pass++) {
+      final boolean awaited = pass == 0;
+      final Iterator<TileRequest> queued = queuedRequests.values().iterator();
+      while (queued.hasNext() && batch.size() < MAX_TILES_PER_MESSAGE) {
+        final TileRequest request = queued.next();
+        if (request.key.zoom == zoom && request.waiters.isEmpty() != awaited) {
+          queued.remove();
+          inFlightRequests.put(request.key, request);
+          batch.add(request);
+        }
+      }
+    }
+    return batch;
+  }
+
+  private void sendBatch(@NonNull final List<TileRequest> batch) {
+    final int generation = tileCache.getGeneration(tileOverlayId);
+    final List<Messages.PlatformPoint> locations = new ArrayList<>(batch.size());
+    for (TileRequest request : batch) {
+      locations.add(
+          new Messages.PlatformPoint.Builder()
+              .setX((long) request.key.x)
+              .setY((long) request.key.y)
+              .build());
+    }
+    flutterApi.getTileOverlayTiles(
+        tileOverlayId,
+        locations,
+        (long) batch.get(0).key.zoom,
+        new Messages.Result<List<Messages.PlatformTile>>() {
+          @Override
+          public void success(@NonNull List<Messages.PlatformTile> result) {
+            onBatchCompleted(batch, result, generation);
+          }
+
+          @Override
+          public void error(@NonNull Throwable error) {
+            logError(error);
+            onBatchCompleted(batch, null, generation);
+          }
+        });
+  }
+
+  private void onBatchCompleted(
+      @NonNull List<TileRequest> batch,
+      @Nullable List<Messages.PlatformTile> result,
+      int generation) {
+    final Tile[] tiles = new Tile[batch.size()];
+    for (int i = 0; i < tiles.length; i++) {
+      tiles[i] = TileProvider.NO_TILE;
+      if (result == null || i >= result.size()) {
+        final TileKey key = batch.get(i).key;
         Log.e(
             TAG,
-            String.format("countDownLatch: can't get tile: x = %d, y= %d, zoom = %d", x, y, zoom),
-            e);
-        return TileProvider.NO_TILE;
+            String.format(
+                "Did not receive tile data for tile: x = %d, y= %d, zoom = %d",
+                key.x, key.y, key.zoom));
+        continue;
       }
       try {
-        if (result == null) {
-          Log.e(
-              TAG,
-              String.format(
-                  "Did not receive tile data for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
-          return TileProvider.NO_TILE;
-        }
-        return Convert.tileFromPigeon(result);
+        tiles[i] = Convert.tileFromPigeon(result.get(i));
       } catch (Exception e) {
         Log.e(TAG, "Can't parse tile data", e);
-        return TileProvider.NO_TILE;
+        continue;
+      }
+      if (tiles[i] != TileProvider.NO_TILE) {
+        tileCache.put(batch.get(i).key, tiles[i], generation);
       }
     }
+    synchronized (lock) {
+      messagesInFlight--;
+      for (int i = 0; i < tiles.length; i++) {
+        final TileRequest request = batch.get(i);
+        inFlightRequests.remove(request.key);
+        for (TileWaiter waiter : request.waiters) {
+          waiter.complete(tiles[i]);
+        }
+      }
+      scheduleDispatchLocked();
+    }
+  }
 
-    @Override
-    public void success(@NonNull Messages.PlatformTile result) {
-      this.result = result;
+  private static void logError(@NonNull Throwable error) {
+    if (error instanceof FlutterError) {
+      FlutterError flutterError = (FlutterError) error;
+      Log.e(
+          TAG,
+          "Can't get tile: errorCode = "
+              + flutterError.code
+              + ", errorMessage = "
+              + flutterError.getMessage()
+              + ", date = "
+              + flutterError.details);
+    } else {
+      Log.e(TAG, "Can't get tile: " + error);
+    }
+  }
+
+  /** A tile requested from Dart, along with the tile worker threads waiting for it. */
+  private static final class TileRequest {
+    final TileKey key;
+
+    /** The waiters of this tile, which is a prefetched tile when there are none. */
+    final List<TileWaiter> waiters = new ArrayList<>();
+
+    TileRequest(TileKey key) {
+      this.key = key;
+    }
+
+    void cancelWaiters() {
+      for (TileWaiter waiter : waiters) {
+        waiter.complete(null);
+      }
+      waiters.clear();
+    }
+  }
+
+  /** Blocks a tile worker thread of the Maps SDK until its tile is received or cancelled. */
+  @VisibleForTesting
+  static final class TileWaiter {
+    private final TileKey key;
+    private final CountDownLatch countDownLatch = new CountDownLatch(1);
+    private @Nullable Tile tile;
+
+    TileWaiter(TileKey key) {
+      this.key = key;
+    }
+
+    void complete(@Nullable Tile tile) {
+      this.tile = tile;
       countDownLatch.countDown();
     }
 
-    @Override
-    public void error(@NonNull Throwable error) {
-      if (error instanceof FlutterError) {
-        FlutterError flutterError = (FlutterError) error;
+    /**
+     * Returns the tile, {@link TileProvider#NO_TILE} if it could not be received, or null if it was
+     * cancelled.
+     */
+    @Nullable
+    Tile await() {
+      try {
+        countDownLatch.await();
+      } catch (InterruptedException e) {
         Log.e(
             TAG,
-            "Can't get tile: errorCode = "
-                + flutterError.code
-                + ", errorMessage = "
-                + flutterError.getMessage()
-                + ", date = "
-                + flutterError.details);
-      } else {
-        Log.e(TAG, "Can't get tile: " + error);
-      }
-      result = null;
-      countDownLatch.countDown();
+            String.format(
+                "countDownLatch: can't get tile: x = %d, y= %d, zoom = %d",
+                key.x, key.y, key.zoom),
+            e);
+        return TileProvider.NO_TILE;
+      }
+      return tile;
     }
   }
 }
@@ -0,0 +1,112 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.NonNull;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+
+/**
+ * A rectangle of tiles at a zoom level, in the tile coordinates of {@link
+ * com.google.android.gms.maps.model.TileProvider#getTile}.
+ *
+ * <p>Columns wrap around the antimeridian, so {@link #minX} is greater than {@link #maxX} when the
+ * range crosses it.
+ */
+final class TileRange {
+  private static final double MAX_LATITUDE = 85.05112878;
+  private static final int MAX_ZOOM = 30;
+
+  final int zoom;
+  final int minX;
+  final int maxX;
+  final int minY;
+  final int maxY;
+
+  TileRange(int zoom, int minX, int maxX, int minY, int maxY) {
+    this.zoom = zoom;
+    this.minX = minX;
+    this.maxX = maxX;
+    this.minY = minY;
+    this.maxY = maxY;
+  }
+
+  /**
+   * Returns the tiles covering {@code bounds} at the zoom level tiles are requested for at {@code
+   * cameraZoom}, extended by {@code margin} tiles on each side.
+   */
+  @NonNull
+  static TileRange fromBounds(@NonNull LatLngBounds bounds, float cameraZoom, int margin) {
+    final int zoom = Math.max(0, Math.min(MAX_ZOOM, (int) Math.floor(cameraZoom)));
+    final int tileCount = 1 << zoom;
+    final LatLng southwest = bounds.southwest;
+    final LatLng northeast = bounds.northeast;
+    int minX = columnOf(southwest.longitude, tileCount);
+    int maxX = columnOf(northeast.longitude, tileCount);
+    int width =
+        southwest.longitude > northeast.longitude
+            ? maxX + tileCount - minX + 1
+            : maxX - minX + 1;
+    width += 2 * margin;
+    if (width >= tileCount) {
+      minX = 0;
+      maxX = tileCount - 1;
+    } else {
+      minX = (minX - margin) & (tileCount - 1);
+      maxX = (maxX + margin) & (tileCount - 1);
+    }
+    final int minY = Math.max(0, rowOf(northeast.latitude, tileCount) - margin);
+    final int maxY = Math.min(tileCount - 1, rowOf(southwest.latitude, tileCount) + margin);
+    return new TileRange(zoom, minX, maxX, minY, maxY);
+  }
+
+  private static int columnOf(double longitude, int tileCount) {
+    final int column = (int) Math.floor((longitude + 180) / 360 * tileCount);
+    return Math.max(0, Math.min(tileCount - 1, column));
+  }
+
+  private static int rowOf(double latitude, int tileCount) {
+    final double clampedLatitude = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+    final double sin = Math.sin(Math.toRadians(clampedLatitude));
+    final double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    return Math.max(0, Math.min(tileCount - 1, (int) Math.floor(y * tileCount)));
+  }
+
+  /** Returns the number of columns of this range. */
+  int getWidth() {
+    return minX <= maxX ? maxX - minX + 1 : (1 << zoom) - minX + maxX + 1;
+  }
+
+  /** Returns the x coordinate of the column at {@code index}, counting from {@link #minX}. */
+  int getX(int index) {
+    return (minX + index) & ((1 << zoom) - 1);
+  }
+
+  /**
+   * Returns whether the tile at {@code x}, {@code y} and {@code tileZoom} overlaps this range.
+   *
+   * <p>Tiles of another zoom level are compared by the area they cover.
+   */
+  boolean intersects(int x, int y, int tileZoom) {
+    if (tileZoom >= zoom) {
+      final int shift = Math.min(MAX_ZOOM, tileZoom - zoom);
+      return intersectsColumns(x >> shift, x >> shift) && intersectsRows(y >> shift, y >> shift);
+    }
+    final int shift = zoom - tileZoom;
+    return intersectsColumns(x << shift, ((x + 1) << shift) - 1)
+        && intersectsRows(y << shift, ((y + 1) << shift) - 1);
+  }
+
+  private boolean intersectsColumns(int fromX, int toX) {
+    if (minX <= maxX) {
+      return fromX <= maxX && toX >= minX;
+    }
+    return toX >= minX || fromX <= maxX;
+  }
+
+  private boolean intersectsRows(int fromY, int toY) {
+    return fromY <= maxY && toY >= minY;
+  }
+}
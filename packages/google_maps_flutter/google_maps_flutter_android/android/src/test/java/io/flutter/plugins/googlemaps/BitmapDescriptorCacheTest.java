@@ -0,0 +1,68 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import org.junit.Test;
+
+public class BitmapDescriptorCacheTest {
+  private static final int BITMAP_BYTES = 100;
+
+  @Test
+  public void get_returnsCachedDescriptorsAndCountsHitsAndMisses() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache();
+    final BitmapDescriptor descriptor = mock(BitmapDescriptor.class);
+    cache.put(key("a", new byte[] {1, 2}), descriptor, BITMAP_BYTES);
+
+    assertSame(descriptor, cache.get(key("a", new byte[] {1, 2})));
+    assertNull(cache.get(key("a", new byte[] {1, 3})));
+    assertNull(cache.get(key("b", new byte[] {1, 2})));
+
+    Messages.PlatformBitmapDescriptorCacheStats stats = cache.getStats();
+    assertEquals(1L, (long) stats.getHitCount());
+    assertEquals(2L, (long) stats.getMissCount());
+    assertEquals(1L, (long) stats.getEntryCount());
+    assertEquals(entrySize(key("a", new byte[] {1, 2})), (long) stats.getSizeBytes());
+  }
+
+  @Test
+  public void put_evictsTheLeastRecentlyUsedDescriptorsBeyondTheMaximumSize() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache(2 * entrySize(key("a", null)));
+    cache.put(key("a", null), mock(BitmapDescriptor.class), BITMAP_BYTES);
+    cache.put(key("b", null), mock(BitmapDescriptor.class), BITMAP_BYTES);
+    cache.get(key("a", null));
+    cache.put(key("c", null), mock(BitmapDescriptor.class), BITMAP_BYTES);
+
+    assertNotNull(cache.get(key("a", null)));
+    assertNull(cache.get(key("b", null)));
+    assertNotNull(cache.get(key("c", null)));
+    Messages.PlatformBitmapDescriptorCacheStats stats = cache.getStats();
+    assertEquals(1L, (long) stats.getEvictionCount());
+    assertEquals(2L, (long) stats.getEntryCount());
+  }
+
+  @Test
+  public void put_skipsDescriptorsLargerThanTheMaximumSize() {
+    final BitmapDescriptorCache cache = new BitmapDescriptorCache(BITMAP_BYTES);
+    cache.put(key("a", null), mock(BitmapDescriptor.class), BITMAP_BYTES);
+
+    assertNull(cache.get(key("a", null)));
+    assertEquals(0L, (long) cache.getStats().getSizeBytes());
+  }
+
+  private static BitmapDescriptorCache.Key key(String parameters, byte[] bytes) {
+    return new BitmapDescriptorCache.Key(parameters, bytes);
+  }
+
+  private static long entrySize(BitmapDescriptorCache.Key key) {
+    return BitmapDescriptorCache.ENTRY_OVERHEAD_BYTES + key.getByteCount() + BITMAP_BYTES;
+  }
+}
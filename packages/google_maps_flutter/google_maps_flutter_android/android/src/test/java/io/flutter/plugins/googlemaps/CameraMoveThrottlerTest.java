@@ -0,0 +1,149 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Build;
+import android.os.Looper;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class CameraMoveThrottlerTest {
+  private final List<CameraPosition> deliveredPositions = new ArrayList<>();
+  private CameraMoveThrottler throttler;
+
+  @Before
+  public void setUp() {
+    throttler = new CameraMoveThrottler(deliveredPositions::add);
+  }
+
+  @Test
+  public void onCameraMove_deliversEveryPositionByDefault() {
+    throttler.onCameraMove(position(0, 1));
+    throttler.onCameraMove(position(0, 2));
+    throttler.onCameraMove(position(0, 3));
+
+    assertEquals(3, deliveredPositions.size());
+  }
+
+  @Test
+  public void onCameraMove_coalescesPositionsWithinTheMinimumInterval() {
+    throttler.setConfiguration(100, 0, 0, 0);
+    final CameraPosition first = position(0, 1);
+    final CameraPosition last = position(0, 3);
+
+    throttler.onCameraMove(first);
+    throttler.onCameraMove(position(0, 2));
+    throttler.onCameraMove(last);
+    assertEquals(1, deliveredPositions.size());
+    assertSame(first, deliveredPositions.get(0));
+
+    idleFor(100);
+    assertEquals(2, deliveredPositions.size());
+    assertSame(last, deliveredPositions.get(1));
+  }
+
+  @Test
+  public void onCameraMove_skipsPositionsBelowTheDeltaThresholds() {
+    throttler.setConfiguration(0, 1, 0, 1000);
+
+    throttler.onCameraMove(position(0, 1));
+    // Less than 1 zoom level and about 111 meters away.
+    throttler.onCameraMove(position(0.001, 1.5));
+    assertEquals(1, deliveredPositions.size());
+
+    // More than 1000 meters away.
+    throttler.onCameraMove(position(0.1, 1.5));
+    assertEquals(2, deliveredPositions.size());
+
+    throttler.onCameraMove(position(0.1, 2.5));
+    assertEquals(3, deliveredPositions.size());
+  }
+
+  @Test
+  public void onCameraMove_comparesBearingsAcrossNorth() {
+    throttler.setConfiguration(0, 0, 10, 0);
+
+    throttler.onCameraMove(position(0, 1, 355));
+    throttler.onCameraMove(position(0, 1, 4));
+    assertEquals(1, deliveredPositions.size());
+
+    throttler.onCameraMove(position(0, 1, 6));
+    assertEquals(2, deliveredPositions.size());
+  }
+
+  @Test
+  public void onCameraIdle_deliversTheLastPosition() {
+    throttler.setConfiguration(100, 1, 0, 0);
+    final CameraPosition last = position(0, 1.5);
+
+    throttler.onCameraMove(position(0, 1));
+    throttler.onCameraMove(last);
+    throttler.onCameraIdle();
+
+    assertEquals(2, deliveredPositions.size());
+    assertSame(last, deliveredPositions.get(1));
+    // The scheduled delivery was cancelled.
+    idleFor(100);
+    assertEquals(2, deliveredPositions.size());
+  }
+
+  @Test
+  public void onCameraIdle_doesNotDeliverTheLastPositionTwice() {
+    throttler.onCameraMove(position(0, 1));
+    throttler.onCameraIdle();
+
+    assertEquals(1, deliveredPositions.size());
+  }
+
+  @Test
+  public void onCameraMove_deliversTheFirstPositionAfterIdleImmediately() {
+    throttler.setConfiguration(100, 0, 0, 0);
+    throttler.onCameraMove(position(0, 1));
+    throttler.onCameraIdle();
+
+    throttler.onCameraMove(position(0, 2));
+
+    assertEquals(2, deliveredPositions.size());
+  }
+
+  @Test
+  public void reset_dropsPositionsThatWereNotDelivered() {
+    throttler.setConfiguration(100, 0, 0, 0);
+    throttler.onCameraMove(position(0, 1));
+    throttler.onCameraMove(position(0, 2));
+
+    throttler.reset();
+    idleFor(100);
+    throttler.onCameraIdle();
+
+    assertEquals(1, deliveredPositions.size());
+  }
+
+  private static void idleFor(long millis) {
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+  }
+
+  private static CameraPosition position(double latitude, double zoom) {
+    return position(latitude, zoom, 0);
+  }
+
+  private static CameraPosition position(double latitude, double zoom, float bearing) {
+    return new CameraPosition(new LatLng(latitude, 0), (float) zoom, 0, bearing);
+  }
+}
@@ -134,6 +134,40 @@ public class ClusterManagersControllerTest {
     assertEquals("Cluster should contain exactly 2 markers", 2, cluster.getSize());
   }
 
+  @Test
+  public void AddItemsAndRemoveItemsUpdateEachClusterManager() {
+    final String clusterManagerId1 = "cm_1";
+    final String clusterManagerId2 = "cm_2";
+
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).build());
+    controller.addClusterManagers(
+        Arrays.asList(
+            new Messages.PlatformClusterManager.Builder().setIdentifier(clusterManagerId1).build(),
+            new Messages.PlatformClusterManager.Builder()
+                .setIdentifier(clusterManagerId2)
+                .build()));
+
+    MarkerBuilder markerBuilder1 = new MarkerBuilder("mid_1", clusterManagerId1);
+    markerBuilder1.setPosition(new LatLng(1.1, 2.2));
+    MarkerBuilder markerBuilder2 = new MarkerBuilder("mid_2", clusterManagerId1);
+    markerBuilder2.setPosition(new LatLng(1.2, 2.3));
+    MarkerBuilder markerBuilder3 = new MarkerBuilder("mid_3", clusterManagerId2);
+    markerBuilder3.setPosition(new LatLng(3.3, 4.4));
+
+    controller.addItems(Arrays.asList(markerBuilder1, markerBuilder2, markerBuilder3));
+    assertEquals(2, countClusterItems(clusterManagerId1));
+    assertEquals(1, countClusterItems(clusterManagerId2));
+
+    controller.updateItems(
+        Collections.singletonList(markerBuilder1), Collections.singletonList(markerBuilder1));
+    assertEquals(2, countClusterItems(clusterManagerId1));
+
+    controller.removeItems(Arrays.asList(markerBuilder1, markerBuilder3));
+    assertEquals(1, countClusterItems(clusterManagerId1));
+    assertEquals(0, countClusterItems(clusterManagerId2));
+  }
+
   @Test
   public void OnClusterClickCallsMethodChannel() {
     String clusterManagerId = "cm_1";
@@ -179,6 +213,15 @@ public class ClusterManagersControllerTest {
         () -> controller.getClustersWithClusterManagerId(clusterManagerId));
   }
 
+  private int countClusterItems(String clusterManagerId) {
+    int count = 0;
+    for (Cluster<MarkerBuilder> cluster :
+        controller.getClustersWithClusterManagerId(clusterManagerId)) {
+      count += cluster.getSize();
+    }
+    return count;
+  }
+
   private Messages.PlatformMarker createPlatformMarker(
       String markerId, List<Double> location, String clusterManagerId) {
     Bitmap fakeBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
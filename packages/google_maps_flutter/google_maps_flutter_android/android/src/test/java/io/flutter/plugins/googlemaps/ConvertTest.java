@@ -43,7 +43,7 @@ import io.flutter.plugins.googlemaps.Convert.FlutterInjectorWrapper;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -89,14 +89,19 @@ public class ConvertTest {
   public void ConvertPointsFromPigeonConvertsThePointsWithFullPrecision() {
     double latitude = 43.03725568057;
     double longitude = -87.90466904649;
-    Messages.PlatformLatLng platLng =
-        new Messages.PlatformLatLng.Builder().setLatitude(latitude).setLongitude(longitude).build();
-    List<LatLng> latLngs = Convert.pointsFromPigeon(Collections.singletonList(platLng));
+    List<LatLng> latLngs = Convert.pointsFromPigeon(new double[] {latitude, longitude});
     LatLng latLng = latLngs.get(0);
     Assert.assertEquals(latitude, latLng.latitude, 1e-15);
     Assert.assertEquals(longitude, latLng.longitude, 1e-15);
   }
 
+  @Test
+  public void ConvertPointsFromPigeonConvertsInterleavedLatitudesAndLongitudes() {
+    List<LatLng> latLngs = Convert.pointsFromPigeon(new double[] {1, 2, 3, 4, 5, 6});
+    Assert.assertEquals(
+        Arrays.asList(new LatLng(1, 2), new LatLng(3, 4), new LatLng(5, 6)), latLngs);
+  }
+
   @Test
   public void ConvertClusterToPigeonReturnsCorrectData() {
     String clusterManagerId = "cm_1";
@@ -578,6 +583,23 @@ public class ConvertTest {
     Assert.assertEquals(intensity, result.get(0).getIntensity(), 0);
   }
 
+  @Test()
+  public void ConvertWeightedDataFromPigeonReturnsCorrectData() {
+    final Point point1 = sProjection.toPoint(new LatLng(1.1, 2.2));
+    final Point point2 = sProjection.toPoint(new LatLng(4.4, 5.5));
+
+    final List<WeightedLatLng> result =
+        Convert.weightedDataFromPigeon(new double[] {1.1, 2.2, 3.3, 4.4, 5.5, 6.6});
+
+    Assert.assertEquals(2, result.size());
+    Assert.assertEquals(point1.x, result.get(0).getPoint().x, 0);
+    Assert.assertEquals(point1.y, result.get(0).getPoint().y, 0);
+    Assert.assertEquals(3.3, result.get(0).getIntensity(), 0);
+    Assert.assertEquals(point2.x, result.get(1).getPoint().x, 0);
+    Assert.assertEquals(point2.y, result.get(1).getPoint().y, 0);
+    Assert.assertEquals(6.6, result.get(1).getIntensity(), 0);
+  }
+
   @Test()
   public void ConvertToGradientReturnsCorrectData() {
     final int color1 = 0;
@@ -4,6 +4,7 @@
 
 package io.flutter.plugins.googlemaps;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -11,12 +12,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.content.Context;
 import android.os.Build;
 import androidx.activity.ComponentActivity;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.maps.android.clustering.ClusterManager;
 import io.flutter.plugin.common.BinaryMessenger;
@@ -27,6 +31,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.Robolectric;
@@ -222,6 +227,52 @@ public class GoogleMapControllerTest {
     verify(mockMarkersController, times(1)).onMarkerTap(markerBuilder.markerId());
   }
 
+  @Test
+  public void OnCameraMoveCallsTileOverlaysController() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+    googleMapController.onMapReady(mockGoogleMap);
+
+    googleMapController.onCameraMove();
+    verify(mockTileOverlaysController, times(1)).onCameraMove();
+  }
+
+  @Test
+  public void OnCameraIdleCallsTileOverlaysController() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+    googleMapController.onMapReady(mockGoogleMap);
+
+    googleMapController.onCameraIdle();
+    verify(mockTileOverlaysController, times(1)).onCameraIdle();
+  }
+
+  @Test
+  public void OnCameraIdleSendsTheLastCoalescedCameraPosition() {
+    GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
+    googleMapController.onMapReady(mockGoogleMap);
+    googleMapController.setTrackCameraPosition(true);
+    googleMapController.setCameraMoveConfiguration(
+        new Messages.PlatformCameraMoveConfiguration.Builder()
+            .setMinIntervalMilliseconds(1000L)
+            .setMinZoomDelta(0.0)
+            .setMinBearingDelta(0.0)
+            .setMinTargetDistanceMeters(0.0)
+            .build());
+
+    when(mockGoogleMap.getCameraPosition())
+        .thenReturn(CameraPosition.fromLatLngZoom(new LatLng(0, 0), 1));
+    googleMapController.onCameraMove();
+    when(mockGoogleMap.getCameraPosition())
+        .thenReturn(CameraPosition.fromLatLngZoom(new LatLng(0, 0), 2));
+    googleMapController.onCameraMove();
+    verify(flutterApi, times(1)).onCameraMove(any(), any());
+
+    googleMapController.onCameraIdle();
+    ArgumentCaptor<Messages.PlatformCameraPosition> position =
+        ArgumentCaptor.forClass(Messages.PlatformCameraPosition.class);
+    verify(flutterApi, times(2)).onCameraMove(position.capture(), any());
+    assertEquals(2.0, position.getValue().getZoom(), 0.0);
+  }
+
   @Test
   public void SetInitialHeatmaps() {
     GoogleMapController googleMapController = getGoogleMapControllerWithMockedDependencies();
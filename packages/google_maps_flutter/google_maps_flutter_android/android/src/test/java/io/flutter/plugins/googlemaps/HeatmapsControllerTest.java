@@ -8,9 +8,11 @@ import static io.flutter.plugins.googlemaps.Convert.HEATMAP_DATA_KEY;
 import static io.flutter.plugins.googlemaps.Convert.HEATMAP_ID_KEY;
 import static io.flutter.plugins.googlemaps.Convert.HEATMAP_OPACITY_KEY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -20,6 +22,7 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import com.google.maps.android.heatmaps.HeatmapTileProvider;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,6 +31,7 @@ import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
@@ -35,12 +39,13 @@ import org.robolectric.annotation.Config;
 @RunWith(RobolectricTestRunner.class)
 @Config(sdk = Build.VERSION_CODES.P)
 public class HeatmapsControllerTest {
+  private final List<Runnable> backgroundTasks = new ArrayList<>();
   private HeatmapsController controller;
   private GoogleMap googleMap;
 
   @Before
   public void setUp() {
-    controller = spy(new HeatmapsController());
+    controller = spy(new HeatmapsController(backgroundTasks::add, Runnable::run));
     googleMap = mock(GoogleMap.class);
     controller.setGoogleMap(googleMap);
   }
@@ -83,7 +88,10 @@ public class HeatmapsControllerTest {
 
     Mockito.verify(googleMap, times(1))
         .addTileOverlay(
-            Mockito.argThat(argument -> argument.getTileProvider() instanceof HeatmapTileProvider));
+            Mockito.argThat(
+                argument ->
+                    argument.getTileProvider()
+                        instanceof HeatmapController.HeatmapTileProviderHolder));
 
     final float opacity = 0.1f;
     final Map<String, Object> heatmapOptions2 = new HashMap<>();
@@ -102,4 +110,116 @@ public class HeatmapsControllerTest {
 
     Mockito.verify(tileOverlay, times(1)).remove();
   }
+
+  @Test
+  public void controller_AddPackedHeatmapBuildsTheHeatmapInTheBackground() {
+    final TileOverlay tileOverlay = mock(TileOverlay.class);
+    final HeatmapTileProvider heatmap = mock(HeatmapTileProvider.class);
+    when(googleMap.addTileOverlay(any(TileOverlayOptions.class))).thenReturn(tileOverlay);
+    doReturn(heatmap).when(controller).buildHeatmap(any(HeatmapBuilder.class));
+
+    controller.addHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.5)));
+
+    Mockito.verify(googleMap, never()).addTileOverlay(any(TileOverlayOptions.class));
+    Mockito.verify(controller, never()).buildHeatmap(any(HeatmapBuilder.class));
+
+    runBackgroundTasks();
+
+    final ArgumentCaptor<TileOverlayOptions> options =
+        ArgumentCaptor.forClass(TileOverlayOptions.class);
+    Mockito.verify(googleMap, times(1)).addTileOverlay(options.capture());
+    assertSame(heatmap, getHeatmap(options.getValue()));
+  }
+
+  @Test
+  public void controller_ChangePackedHeatmapReplacesTheHeatmapOfTheOverlay() {
+    final TileOverlay tileOverlay = mock(TileOverlay.class);
+    final HeatmapTileProvider heatmap1 = mock(HeatmapTileProvider.class);
+    final HeatmapTileProvider heatmap2 = mock(HeatmapTileProvider.class);
+    when(googleMap.addTileOverlay(any(TileOverlayOptions.class))).thenReturn(tileOverlay);
+    doReturn(heatmap1, heatmap2).when(controller).buildHeatmap(any(HeatmapBuilder.class));
+
+    controller.addHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.5)));
+    runBackgroundTasks();
+    controller.changeHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.8)));
+    runBackgroundTasks();
+
+    final ArgumentCaptor<TileOverlayOptions> options =
+        ArgumentCaptor.forClass(TileOverlayOptions.class);
+    Mockito.verify(googleMap, times(1)).addTileOverlay(options.capture());
+    assertSame(heatmap2, getHeatmap(options.getValue()));
+    Mockito.verify(tileOverlay, times(1)).clearTileCache();
+  }
+
+  @Test
+  public void controller_RemovePendingPackedHeatmapDiscardsTheBuiltHeatmap() {
+    doReturn(mock(HeatmapTileProvider.class))
+        .when(controller)
+        .buildHeatmap(any(HeatmapBuilder.class));
+
+    controller.addHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.5)));
+    controller.removeHeatmaps(Collections.singletonList("abc123"));
+    runBackgroundTasks();
+
+    Mockito.verify(googleMap, never()).addTileOverlay(any(TileOverlayOptions.class));
+  }
+
+  @Test
+  public void controller_ChangePendingPackedHeatmapOnlyAddsTheLatestBuild() {
+    final TileOverlay tileOverlay = mock(TileOverlay.class);
+    final HeatmapTileProvider heatmap1 = mock(HeatmapTileProvider.class);
+    final HeatmapTileProvider heatmap2 = mock(HeatmapTileProvider.class);
+    when(googleMap.addTileOverlay(any(TileOverlayOptions.class))).thenReturn(tileOverlay);
+    doReturn(heatmap1, heatmap2).when(controller).buildHeatmap(any(HeatmapBuilder.class));
+
+    controller.addHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.5)));
+    controller.changeHeatmaps(Collections.singletonList(packedHeatmap("abc123", 0.8)));
+    runBackgroundTasks();
+
+    final ArgumentCaptor<TileOverlayOptions> options =
+        ArgumentCaptor.forClass(TileOverlayOptions.class);
+    Mockito.verify(googleMap, times(1)).addTileOverlay(options.capture());
+    assertSame(heatmap2, getHeatmap(options.getValue()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void controller_AddPackedHeatmapThrowsErrorIfThereAreNoPoints() {
+    final Map<String, Object> heatmapOptions = new HashMap<>();
+    heatmapOptions.put(HEATMAP_ID_KEY, "abc123");
+
+    final List<Messages.PlatformHeatmap> heatmaps =
+        Collections.singletonList(
+            new Messages.PlatformHeatmap.Builder()
+                .setJson(heatmapOptions)
+                .setWeightedData(new double[0])
+                .build());
+    try {
+      controller.addHeatmaps(heatmaps);
+    } catch (IllegalArgumentException e) {
+      assertEquals("No input points.", e.getMessage());
+      throw e;
+    }
+  }
+
+  private static Messages.PlatformHeatmap packedHeatmap(String heatmapId, double opacity) {
+    final Map<String, Object> heatmapOptions = new HashMap<>();
+    heatmapOptions.put(HEATMAP_ID_KEY, heatmapId);
+    heatmapOptions.put(HEATMAP_OPACITY_KEY, opacity);
+    return new Messages.PlatformHeatmap.Builder()
+        .setJson(heatmapOptions)
+        .setWeightedData(new double[] {1.1, 2.2, 3.3, 4.4, 5.5, 6.6})
+        .build();
+  }
+
+  private void runBackgroundTasks() {
+    final List<Runnable> tasks = new ArrayList<>(backgroundTasks);
+    backgroundTasks.clear();
+    for (Runnable task : tasks) {
+      task.run();
+    }
+  }
+
+  private static HeatmapTileProvider getHeatmap(TileOverlayOptions options) {
+    return ((HeatmapController.HeatmapTileProviderHolder) options.getTileProvider()).getHeatmap();
+  }
 }
@@ -0,0 +1,91 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+public class MarkerGridIndexTest {
+  @Test
+  public void query_returnsTheMarkersWithinTheBounds() {
+    final MarkerGridIndex index = new MarkerGridIndex(1);
+    index.put("inside", new LatLng(0.5, 0.5));
+    // In a cell overlapped by the bounds, but outside of them.
+    index.put("sameCell", new LatLng(1.5, 1.5));
+    index.put("outside", new LatLng(10, 10));
+    // More non-empty cells than overlapped ones, so that only the overlapped ones are visited.
+    putDistantMarkers(index, 10);
+
+    assertEquals(Collections.singleton("inside"), query(index, bounds(0, 0, 1.2, 1.2)));
+  }
+
+  @Test
+  public void query_returnsTheMarkersOfBoundsCrossingTheAntimeridian() {
+    final MarkerGridIndex index = new MarkerGridIndex(1);
+    index.put("west", new LatLng(0, 179.5));
+    index.put("east", new LatLng(0, -179.5));
+    index.put("outside", new LatLng(0, 0));
+    putDistantMarkers(index, 10);
+
+    assertEquals(
+        new HashSet<>(Arrays.asList("west", "east")), query(index, bounds(-1, 179, 1, -179)));
+  }
+
+  @Test
+  public void query_returnsTheSameMarkersWhenVisitingTheNonEmptyCells() {
+    final MarkerGridIndex index = new MarkerGridIndex(0.01);
+    index.put("inside", new LatLng(45, 45));
+    index.put("outside", new LatLng(-45, -45));
+
+    // The bounds overlap many more cells than there are markers.
+    assertEquals(Collections.singleton("inside"), query(index, bounds(0, 0, 80, 170)));
+  }
+
+  @Test
+  public void put_movesIndexedMarkers() {
+    final MarkerGridIndex index = new MarkerGridIndex(1);
+    index.put("marker", new LatLng(0.5, 0.5));
+
+    index.put("marker", new LatLng(10.5, 10.5));
+
+    assertEquals(1, index.size());
+    assertEquals(Collections.emptySet(), query(index, bounds(0, 0, 1, 1)));
+    assertEquals(Collections.singleton("marker"), query(index, bounds(10, 10, 11, 11)));
+  }
+
+  @Test
+  public void remove_removesMarkers() {
+    final MarkerGridIndex index = new MarkerGridIndex(1);
+    index.put("marker", new LatLng(0.5, 0.5));
+
+    index.remove("marker");
+
+    assertEquals(0, index.size());
+    assertEquals(Collections.emptySet(), query(index, bounds(0, 0, 1, 1)));
+  }
+
+  private static void putDistantMarkers(MarkerGridIndex index, int count) {
+    for (int i = 0; i < count; i++) {
+      index.put("distant_" + i, new LatLng(-60, -60 + i * 2));
+    }
+  }
+
+  private static Set<String> query(MarkerGridIndex index, LatLngBounds bounds) {
+    final Set<String> markerIds = new HashSet<>();
+    index.query(bounds, markerIds);
+    return markerIds;
+  }
+
+  private static LatLngBounds bounds(double south, double west, double north, double east) {
+    return new LatLngBounds(new LatLng(south, west), new LatLng(north, east));
+  }
+}
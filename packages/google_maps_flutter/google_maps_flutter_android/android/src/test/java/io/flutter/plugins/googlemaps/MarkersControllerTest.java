@@ -5,6 +5,7 @@
 package io.flutter.plugins.googlemaps;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -18,14 +19,19 @@ import android.graphics.Bitmap;
 import android.os.Build;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -202,9 +208,11 @@ public class MarkersControllerTest {
 
     // Add marker and capture the markerBuilder
     controller.addMarkers(Collections.singletonList(builder.build()));
-    ArgumentCaptor<MarkerBuilder> captor = ArgumentCaptor.forClass(MarkerBuilder.class);
-    Mockito.verify(clusterManagersController, times(1)).addItem(captor.capture());
-    MarkerBuilder capturedMarkerBuilder = captor.getValue();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<MarkerBuilder>> captor = ArgumentCaptor.forClass(Collection.class);
+    Mockito.verify(clusterManagersController, times(1)).addItems(captor.capture());
+    assertEquals(1, captor.getValue().size());
+    MarkerBuilder capturedMarkerBuilder = captor.getValue().iterator().next();
     assertEquals(clusterManagerId, capturedMarkerBuilder.clusterManagerId());
 
     // clusterManagersController calls onClusterItemRendered with created marker.
@@ -227,9 +235,15 @@ public class MarkersControllerTest {
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
     Mockito.verify(clusterManagersController, times(1))
-        .removeItem(
+        .removeItems(
             Mockito.argThat(
-                markerBuilder -> markerBuilder.clusterManagerId().equals(clusterManagerId)));
+                markerBuilders ->
+                    markerBuilders.size() == 1
+                        && markerBuilders
+                            .iterator()
+                            .next()
+                            .clusterManagerId()
+                            .equals(clusterManagerId)));
   }
 
   @Test
@@ -248,8 +262,8 @@ public class MarkersControllerTest {
     builder.setMarkerId(googleMarkerId);
     controller.addMarkers(Collections.singletonList(builder.build()));
 
-    // clusterManagersController should not be called when adding the marker
-    Mockito.verify(clusterManagersController, times(0)).addItem(any());
+    // clusterManagersController should not be given items when adding the marker
+    Mockito.verify(clusterManagersController, times(1)).addItems(Collections.emptyList());
 
     Mockito.verify(spyMarkerCollection, times(1)).addMarker(any(MarkerOptions.class));
 
@@ -262,9 +276,140 @@ public class MarkersControllerTest {
 
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
-    // clusterManagersController should not be called when removing the marker
-    Mockito.verify(clusterManagersController, times(0)).removeItem(any());
+    // clusterManagersController should not be given items when removing the marker
+    Mockito.verify(clusterManagersController, times(1)).removeItems(Collections.emptyList());
 
     Mockito.verify(spyMarkerCollection, times(1)).remove(marker);
   }
+
+  @Test
+  public void controller_AddMarkersDecodesEachDistinctIconOnce() {
+    final int markerCount = 10000;
+    final int iconCount = 5;
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any()))
+        .thenReturn(mock(BitmapDescriptor.class));
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).build());
+    final String clusterManagerId = "cm_1";
+    clusterManagersController.addClusterManagers(
+        Collections.singletonList(
+            new Messages.PlatformClusterManager.Builder().setIdentifier(clusterManagerId).build()));
+
+    final byte[][] iconBytes = new byte[iconCount][];
+    for (int i = 0; i < iconCount; i++) {
+      iconBytes[i] = createPng(i + 1);
+    }
+    final List<Messages.PlatformMarker> markers = new ArrayList<>(markerCount);
+    for (int i = 0; i < markerCount; i++) {
+      // Each marker has its own copy of the icon bytes, as when decoded from a message.
+      Map<String, Object> byteData = new HashMap<>();
+      final byte[] icon = iconBytes[i % iconCount];
+      byteData.put("byteData", Arrays.copyOf(icon, icon.length));
+      byteData.put("bitmapScaling", "none");
+      byteData.put("imagePixelRatio", "");
+      markers.add(
+          defaultMarkerBuilder()
+              .setMarkerId("marker_" + i)
+              .setClusterManagerId(clusterManagerId)
+              .setIcon(Arrays.asList("bytes", byteData))
+              .build());
+    }
+
+    controller.addMarkers(markers);
+
+    Mockito.verify(bitmapDescriptorFactoryWrapper, times(iconCount)).fromBitmap(any());
+    Messages.PlatformBitmapDescriptorCacheStats stats =
+        controller.getBitmapDescriptorCache().getStats();
+    assertEquals(iconCount, (long) stats.getMissCount());
+    assertEquals(markerCount - iconCount, (long) stats.getHitCount());
+    assertEquals(iconCount, (long) stats.getEntryCount());
+  }
+
+  @Test
+  public void controller_CullingOnlyAddsMarkersNearTheVisibleRegion() {
+    final Marker nearMarker = mockMarker("near");
+    final Marker otherNearMarker = mockMarker("otherNear");
+    final Marker farMarker = mockMarker("far");
+    when(googleMap.addMarker(any(MarkerOptions.class)))
+        .thenReturn(nearMarker, otherNearMarker, farMarker);
+    controller.setCullingConfiguration(true, 0, bounds(0, 0, 1, 1));
+
+    controller.addMarkers(
+        Arrays.asList(
+            markerAt("marker_near", 0.5, 0.5),
+            markerAt("marker_far", 10, 10),
+            markerAt("marker_other_near", 0.2, 0.2)));
+
+    Mockito.verify(googleMap, times(2)).addMarker(any(MarkerOptions.class));
+    controller.onMapsMarkerTap("otherNear");
+    Mockito.verify(flutterApi).onMarkerTap(eq("marker_other_near"), any());
+
+    controller.onCameraIdle(bounds(9, 9, 11, 11));
+
+    Mockito.verify(nearMarker).remove();
+    Mockito.verify(otherNearMarker).remove();
+    Mockito.verify(googleMap, times(3)).addMarker(any(MarkerOptions.class));
+    assertFalse(controller.onMapsMarkerTap("near"));
+    controller.onMapsMarkerTap("far");
+    Mockito.verify(flutterApi).onMarkerTap(eq("marker_far"), any());
+  }
+
+  @Test
+  public void controller_DisablingCullingAddsTheCulledMarkers() {
+    when(googleMap.addMarker(any(MarkerOptions.class)))
+        .thenReturn(mockMarker("near"), mockMarker("far"));
+    controller.setCullingConfiguration(true, 0.5, bounds(0, 0, 1, 1));
+    controller.addMarkers(
+        Arrays.asList(markerAt("marker_near", 1.2, 1.2), markerAt("marker_far", 10, 10)));
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+
+    controller.setCullingConfiguration(false, 0.5, null);
+
+    Mockito.verify(googleMap, times(2)).addMarker(any(MarkerOptions.class));
+    controller.onMapsMarkerTap("far");
+    Mockito.verify(flutterApi).onMarkerTap(eq("marker_far"), any());
+  }
+
+  @Test
+  public void controller_ChangingACulledMarkerIntoTheVisibleRegionAddsIt() {
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(mockMarker("moved"));
+    controller.setCullingConfiguration(true, 0, bounds(0, 0, 1, 1));
+    controller.addMarkers(Collections.singletonList(markerAt("marker_moved", 10, 10)));
+    Mockito.verify(googleMap, times(0)).addMarker(any(MarkerOptions.class));
+
+    controller.changeMarkers(Collections.singletonList(markerAt("marker_moved", 0.5, 0.5)));
+
+    Mockito.verify(googleMap, times(1)).addMarker(any(MarkerOptions.class));
+    controller.onMapsMarkerTap("moved");
+    Mockito.verify(flutterApi).onMarkerTap(eq("marker_moved"), any());
+  }
+
+  private static Marker mockMarker(String googleMarkerId) {
+    final Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn(googleMarkerId);
+    return marker;
+  }
+
+  private static Messages.PlatformMarker markerAt(
+      String markerId, double latitude, double longitude) {
+    return defaultMarkerBuilder()
+        .setMarkerId(markerId)
+        .setPosition(
+            new Messages.PlatformLatLng.Builder()
+                .setLatitude(latitude)
+                .setLongitude(longitude)
+                .build())
+        .build();
+  }
+
+  private static LatLngBounds bounds(double south, double west, double north, double east) {
+    return new LatLngBounds(new LatLng(south, west), new LatLng(north, east));
+  }
+
+  private static byte[] createPng(int size) {
+    Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    bitmap.compress(Bitmap.CompressFormat.PNG, 100, byteArrayOutputStream);
+    return byteArrayOutputStream.toByteArray();
+  }
 }
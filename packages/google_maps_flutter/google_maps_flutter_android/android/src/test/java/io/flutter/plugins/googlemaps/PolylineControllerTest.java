@@ -4,12 +4,20 @@
 
 package io.flutter.plugins.googlemaps;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
 
 import com.google.android.gms.internal.maps.zzaj;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class PolylineControllerTest {
@@ -26,4 +34,33 @@ public class PolylineControllerTest {
 
     Mockito.verify(polyline).setWidth(density * strokeWidth);
   }
+
+  @Test
+  public void controller_UpdatePointsTrimsAndAppendsPoints() {
+    final Polyline polyline = mock(Polyline.class);
+    final PolylineController controller = new PolylineController(polyline, false, 1);
+    controller.setPoints(Arrays.asList(new LatLng(1, 1), new LatLng(2, 2), new LatLng(3, 3)));
+
+    controller.updatePoints(Collections.singletonList(new LatLng(4, 4)), 2);
+
+    Mockito.verify(polyline).setPoints(Arrays.asList(new LatLng(3, 3), new LatLng(4, 4)));
+  }
+
+  @Test
+  public void controller_UpdatePointsReadsThePointsOfThePolylineOnce() {
+    final Polyline polyline = mock(Polyline.class);
+    when(polyline.getPoints()).thenReturn(Arrays.asList(new LatLng(1, 1), new LatLng(2, 2)));
+    final PolylineController controller = new PolylineController(polyline, false, 1);
+
+    controller.updatePoints(Collections.singletonList(new LatLng(3, 3)), 0);
+    controller.updatePoints(Collections.singletonList(new LatLng(4, 4)), 1);
+
+    Mockito.verify(polyline, times(1)).getPoints();
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<LatLng>> pointsCaptor = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(polyline, times(2)).setPoints(pointsCaptor.capture());
+    assertEquals(
+        Arrays.asList(new LatLng(2, 2), new LatLng(3, 3), new LatLng(4, 4)),
+        pointsCaptor.getValue());
+  }
 }
@@ -0,0 +1,172 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import androidx.test.core.app.ApplicationProvider;
+import io.flutter.plugins.googlemaps.Messages.PlatformSnapshotFormat;
+import io.flutter.plugins.googlemaps.Messages.PlatformSnapshotOptions;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SnapshotEncoderTest {
+  @Test
+  public void encode_returnsTheImageDataAndRecyclesTheSnapshot() throws IOException {
+    final Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+
+    final byte[] data = SnapshotEncoder.encode(bitmap, SnapshotEncoder.DEFAULT_OPTIONS);
+
+    assertNotNull(data);
+    assertTrue(data.length > 0);
+    assertTrue(bitmap.isRecycled());
+  }
+
+  @Test
+  public void encode_recyclesTheSnapshotWhenScalingIt() throws IOException {
+    final Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+
+    final byte[] data = SnapshotEncoder.encode(bitmap, options(PlatformSnapshotFormat.JPEG, 0.5));
+
+    assertNotNull(data);
+    assertTrue(bitmap.isRecycled());
+  }
+
+  @Test
+  public void encode_writesTheImageToTheFileOfTheOptions() throws IOException {
+    final File file =
+        new File(ApplicationProvider.getApplicationContext().getCacheDir(), "snapshot.png");
+    final Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    final PlatformSnapshotOptions options =
+        new PlatformSnapshotOptions.Builder()
+            .setFormat(PlatformSnapshotFormat.PNG)
+            .setQuality(100L)
+            .setScale(1.0)
+            .setFilePath(file.getPath())
+            .build();
+
+    assertNull(SnapshotEncoder.encode(bitmap, options));
+    assertTrue(file.length() > 0);
+    assertTrue(bitmap.isRecycled());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void encode_deliversTheResultOnTheMainThreadExecutor() {
+    final List<Runnable> backgroundTasks = new ArrayList<>();
+    final List<Runnable> mainThreadTasks = new ArrayList<>();
+    final SnapshotEncoder encoder = new SnapshotEncoder(backgroundTasks::add, mainThreadTasks::add);
+    final Messages.NullableResult<byte[]> result = mock(Messages.NullableResult.class);
+
+    encoder.encode(
+        Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888),
+        SnapshotEncoder.DEFAULT_OPTIONS,
+        result);
+
+    assertEquals(1, backgroundTasks.size());
+    assertEquals(0, mainThreadTasks.size());
+    backgroundTasks.get(0).run();
+    verify(result, never()).success(any());
+    assertEquals(1, mainThreadTasks.size());
+    mainThreadTasks.get(0).run();
+    final ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+    verify(result).success(data.capture());
+    assertTrue(data.getValue().length > 0);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void encode_sendsAnErrorWhenTheEncodingRunsOutOfMemory() {
+    final List<Runnable> mainThreadTasks = new ArrayList<>();
+    final SnapshotEncoder encoder = new SnapshotEncoder(Runnable::run, mainThreadTasks::add);
+    final Messages.NullableResult<byte[]> result = mock(Messages.NullableResult.class);
+    final Bitmap bitmap = mock(Bitmap.class);
+    when(bitmap.compress(any(), anyInt(), any())).thenThrow(new OutOfMemoryError("snapshot"));
+
+    encoder.encode(bitmap, SnapshotEncoder.DEFAULT_OPTIONS, result);
+
+    assertEquals(1, mainThreadTasks.size());
+    mainThreadTasks.get(0).run();
+    verify(result, never()).success(any());
+    verify(result).error(any(Messages.FlutterError.class));
+    verify(bitmap, atLeastOnce()).recycle();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void encode_sendsAnErrorAfterDispose() {
+    final SnapshotEncoder encoder =
+        new SnapshotEncoder(Executors.newSingleThreadExecutor(), Runnable::run);
+    final Messages.NullableResult<byte[]> result = mock(Messages.NullableResult.class);
+    final Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    encoder.dispose();
+
+    encoder.encode(bitmap, SnapshotEncoder.DEFAULT_OPTIONS, result);
+
+    verify(result, never()).success(any());
+    verify(result).error(any(Messages.FlutterError.class));
+    assertTrue(bitmap.isRecycled());
+  }
+
+  @Test
+  public void validateOptions_rejectsOutOfRangeQualityAndScale() {
+    assertNull(SnapshotEncoder.validateOptions(SnapshotEncoder.DEFAULT_OPTIONS));
+    assertNull(SnapshotEncoder.validateOptions(options(PlatformSnapshotFormat.JPEG, 0.25)));
+    assertNotNull(
+        SnapshotEncoder.validateOptions(
+            new PlatformSnapshotOptions.Builder()
+                .setFormat(PlatformSnapshotFormat.JPEG)
+                .setQuality(101L)
+                .setScale(1.0)
+                .build()));
+    assertNotNull(SnapshotEncoder.validateOptions(options(PlatformSnapshotFormat.JPEG, 0)));
+    assertNotNull(SnapshotEncoder.validateOptions(options(PlatformSnapshotFormat.JPEG, 2)));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void toCompressFormat_usesTheLegacyWebpFormatBeforeAndroidR() {
+    assertEquals(
+        Bitmap.CompressFormat.PNG, SnapshotEncoder.toCompressFormat(PlatformSnapshotFormat.PNG));
+    assertEquals(
+        Bitmap.CompressFormat.JPEG, SnapshotEncoder.toCompressFormat(PlatformSnapshotFormat.JPEG));
+    assertEquals(
+        Bitmap.CompressFormat.WEBP,
+        SnapshotEncoder.toCompressFormat(PlatformSnapshotFormat.WEBP_LOSSY));
+    assertEquals(
+        Bitmap.CompressFormat.WEBP,
+        SnapshotEncoder.toCompressFormat(PlatformSnapshotFormat.WEBP_LOSSLESS));
+  }
+
+  private static PlatformSnapshotOptions options(PlatformSnapshotFormat format, double scale) {
+    return new PlatformSnapshotOptions.Builder()
+        .setFormat(format)
+        .setQuality(80L)
+        .setScale(scale)
+        .build();
+  }
+}
@@ -0,0 +1,175 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Build;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.gms.maps.model.Tile;
+import java.io.File;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileCacheTest {
+  private static final String TILE_OVERLAY_ID = "tile_overlay_1";
+  private static final String OTHER_TILE_OVERLAY_ID = "tile_overlay_2";
+  private static final int TILE_DATA_BYTES = 100;
+  private static final long TILE_MEMORY_BYTES = TILE_DATA_BYTES + TileCache.TILE_OVERHEAD_BYTES;
+  private static final long TILE_DISK_BYTES = TILE_DATA_BYTES + TileCache.DISK_HEADER_BYTES;
+
+  private File diskCacheDirectory;
+  private TileCache tileCache;
+
+  @Before
+  public void setUp() {
+    diskCacheDirectory =
+        new File(
+            ApplicationProvider.getApplicationContext().getCacheDir(),
+            TileCache.DISK_CACHE_DIRECTORY_NAME);
+    tileCache = createTileCache();
+  }
+
+  @Test
+  public void get_returnsCachedTilesAndCountsHitsAndMisses() {
+    tileCache.put(key(1, 2, 3), createTile(7), 0);
+
+    assertEquals(7, tileCache.get(key(1, 2, 3)).width);
+    assertNull(tileCache.get(key(2, 2, 3)));
+    assertNull(tileCache.get(new TileKey(OTHER_TILE_OVERLAY_ID, 1, 2, 3)));
+
+    Messages.PlatformTileCacheStats stats = tileCache.getStats();
+    assertEquals(1L, (long) stats.getMemoryHitCount());
+    assertEquals(2L, (long) stats.getMissCount());
+    assertEquals(TILE_MEMORY_BYTES, (long) stats.getMemoryCacheSizeBytes());
+  }
+
+  @Test
+  public void put_evictsTheLeastRecentlyUsedTilesBeyondTheMaximumSize() {
+    tileCache.setConfiguration(2 * TILE_MEMORY_BYTES, null);
+    tileCache.put(key(0, 0, 1), createTile(1), 0);
+    tileCache.put(key(1, 0, 1), createTile(1), 0);
+    tileCache.get(key(0, 0, 1));
+    tileCache.put(key(0, 1, 1), createTile(1), 0);
+
+    assertTrue(tileCache.contains(key(0, 0, 1)));
+    assertFalse(tileCache.contains(key(1, 0, 1)));
+    assertTrue(tileCache.contains(key(0, 1, 1)));
+    Messages.PlatformTileCacheStats stats = tileCache.getStats();
+    assertEquals(1L, (long) stats.getEvictionCount());
+    assertEquals(2 * TILE_MEMORY_BYTES, (long) stats.getMemoryCacheSizeBytes());
+  }
+
+  @Test
+  public void put_ignoresTilesRequestedBeforeAnInvalidation() {
+    final int generation = tileCache.getGeneration(TILE_OVERLAY_ID);
+    tileCache.invalidate(TILE_OVERLAY_ID);
+    tileCache.put(key(1, 2, 3), createTile(1), generation);
+
+    assertFalse(tileCache.contains(key(1, 2, 3)));
+  }
+
+  @Test
+  public void invalidate_removesTheTilesOfTheTileOverlay() {
+    tileCache.put(key(1, 2, 3), createTile(1), 0);
+    tileCache.put(new TileKey(OTHER_TILE_OVERLAY_ID, 1, 2, 3), createTile(1), 0);
+
+    tileCache.invalidate(TILE_OVERLAY_ID);
+
+    assertFalse(tileCache.contains(key(1, 2, 3)));
+    assertTrue(tileCache.contains(new TileKey(OTHER_TILE_OVERLAY_ID, 1, 2, 3)));
+  }
+
+  @Test
+  public void invalidateLocations_removesOnlyTheGivenTiles() {
+    tileCache.put(key(1, 2, 3), createTile(1), 0);
+    tileCache.put(key(2, 2, 3), createTile(1), 0);
+    tileCache.put(key(1, 2, 4), createTile(1), 0);
+
+    tileCache.invalidate(
+        TILE_OVERLAY_ID,
+        Collections.singletonList(new Messages.PlatformPoint.Builder().setX(1L).setY(2L).build()),
+        3);
+
+    assertFalse(tileCache.contains(key(1, 2, 3)));
+    assertTrue(tileCache.contains(key(2, 2, 3)));
+    assertTrue(tileCache.contains(key(1, 2, 4)));
+  }
+
+  @Test
+  public void get_readsTilesEvictedFromMemoryFromTheDiskCache() {
+    tileCache.setConfiguration(0, 10 * TILE_DISK_BYTES);
+    tileCache.put(key(1, 2, 3), createTile(7), 0);
+
+    Tile tile = tileCache.get(key(1, 2, 3));
+
+    assertNotNull(tile);
+    assertEquals(7, tile.width);
+    assertEquals(1, tile.height);
+    assertEquals(TILE_DATA_BYTES, tile.data.length);
+    Messages.PlatformTileCacheStats stats = tileCache.getStats();
+    assertEquals(1L, (long) stats.getDiskHitCount());
+    assertEquals(TILE_DISK_BYTES, (long) stats.getDiskCacheSizeBytes());
+  }
+
+  @Test
+  public void setConfiguration_loadsTheDiskCacheOfAPreviousSession() {
+    tileCache.setConfiguration(0, 10 * TILE_DISK_BYTES);
+    tileCache.put(key(1, 2, 3), createTile(7), 0);
+    tileCache.dispose();
+
+    TileCache nextTileCache = createTileCache();
+    assertFalse(nextTileCache.contains(key(1, 2, 3)));
+    nextTileCache.setConfiguration(0, 10 * TILE_DISK_BYTES);
+
+    assertEquals(7, nextTileCache.get(key(1, 2, 3)).width);
+  }
+
+  @Test
+  public void setConfiguration_deletesTheDiskCacheWhenDisabled() {
+    tileCache.setConfiguration(0, 10 * TILE_DISK_BYTES);
+    tileCache.put(key(1, 2, 3), createTile(1), 0);
+
+    tileCache.setConfiguration(0, null);
+
+    assertFalse(tileCache.contains(key(1, 2, 3)));
+    assertFalse(diskCacheDirectory.exists());
+  }
+
+  @Test
+  public void put_deletesTheLeastRecentlyUsedTilesBeyondTheMaximumDiskSize() {
+    tileCache.setConfiguration(0, 2 * TILE_DISK_BYTES);
+    tileCache.put(key(0, 0, 1), createTile(1), 0);
+    tileCache.put(key(1, 0, 1), createTile(1), 0);
+    tileCache.put(key(0, 1, 1), createTile(1), 0);
+
+    assertFalse(tileCache.contains(key(0, 0, 1)));
+    assertTrue(tileCache.contains(key(1, 0, 1)));
+    assertTrue(tileCache.contains(key(0, 1, 1)));
+    assertEquals(2 * TILE_DISK_BYTES, (long) tileCache.getStats().getDiskCacheSizeBytes());
+  }
+
+  private TileCache createTileCache() {
+    return new TileCache(diskCacheDirectory, Runnable::run);
+  }
+
+  private static TileKey key(int x, int y, int zoom) {
+    return new TileKey(TILE_OVERLAY_ID, x, y, zoom);
+  }
+
+  private static Tile createTile(int width) {
+    return new Tile(width, 1, new byte[TILE_DATA_BYTES]);
+  }
+}
@@ -0,0 +1,243 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Build;
+import android.os.Looper;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileProviderControllerTest {
+  private static final String TILE_OVERLAY_ID = "tile_overlay_1";
+
+  // The tiles 6 to 9 in both directions at zoom level 4, including the prefetch margin.
+  private static final LatLngBounds VISIBLE_BOUNDS =
+      new LatLngBounds(new LatLng(-1, -1), new LatLng(1, 1));
+
+  @Mock MapsCallbackApi flutterApi;
+  private TileCache tileCache;
+  private TileProviderController controller;
+  private AutoCloseable mocksClosable;
+
+  @Before
+  public void setUp() {
+    mocksClosable = MockitoAnnotations.openMocks(this);
+    tileCache =
+        new TileCache(ApplicationProvider.getApplicationContext().getCacheDir(), Runnable::run);
+    controller = new TileProviderController(flutterApi, TILE_OVERLAY_ID, tileCache);
+  }
+
+  @After
+  public void close() throws Exception {
+    mocksClosable.close();
+  }
+
+  @Test
+  public void requestTile_sendsQueuedTilesOfTheSameZoomInASingleMessage() {
+    TileProviderController.TileWaiter waiter1 = controller.requestTile(1, 2, 4);
+    TileProviderController.TileWaiter waiter2 = controller.requestTile(3, 4, 4);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<List<Messages.PlatformPoint>> locations = captureLocations();
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi, times(1))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), locations.capture(), eq(4L), result.capture());
+    assertEquals(2, locations.getValue().size());
+    assertEquals(1L, (long) locations.getValue().get(0).getX());
+    assertEquals(2L, (long) locations.getValue().get(0).getY());
+    assertEquals(3L, (long) locations.getValue().get(1).getX());
+    assertEquals(4L, (long) locations.getValue().get(1).getY());
+
+    result.getValue().success(createTiles(2));
+    assertEquals(1, waiter1.await().width);
+    assertEquals(2, waiter2.await().width);
+  }
+
+  @Test
+  public void requestTile_sendsOneMessagePerZoomLevel() {
+    controller.requestTile(1, 2, 4);
+    controller.requestTile(1, 2, 5);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(flutterApi, times(1))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), any(), eq(4L), any());
+    verify(flutterApi, times(1))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), any(), eq(5L), any());
+  }
+
+  @Test
+  public void requestTile_limitsTheNumberOfMessagesAwaitingAReply() {
+    for (int zoom = 0; zoom <= TileProviderController.MAX_MESSAGES_IN_FLIGHT; zoom++) {
+      controller.requestTile(0, 0, zoom);
+    }
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi, times(TileProviderController.MAX_MESSAGES_IN_FLIGHT))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), any(), anyLong(), result.capture());
+    assertEquals(1, controller.getQueuedTileCount());
+
+    result.getAllValues().get(0).success(createTiles(1));
+    shadowOf(Looper.getMainLooper()).idle();
+
+    verify(flutterApi, times(TileProviderController.MAX_MESSAGES_IN_FLIGHT + 1))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), any(), anyLong(), any());
+    assertEquals(0, controller.getQueuedTileCount());
+  }
+
+  @Test
+  public void requestTile_cancelsTheOldestTileWhenTheQueueIsFull() {
+    TileProviderController.TileWaiter oldestWaiter = controller.requestTile(0, 0, 10);
+    for (int x = 1; x <= TileProviderController.MAX_QUEUED_TILES; x++) {
+      controller.requestTile(x, 0, 10);
+    }
+
+    assertEquals(TileProviderController.MAX_QUEUED_TILES, controller.getQueuedTileCount());
+    assertNull(oldestWaiter.await());
+  }
+
+  @Test
+  public void requestTile_returnsNoTileWhenDartFails() {
+    TileProviderController.TileWaiter waiter = controller.requestTile(1, 2, 4);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi).getTileOverlayTiles(any(), any(), anyLong(), result.capture());
+    result.getValue().error(new Messages.FlutterError("code", "message", null));
+
+    assertSame(TileProvider.NO_TILE, waiter.await());
+  }
+
+  @Test
+  public void onVisibleRegionChanged_cancelsQueuedTilesOutsideOfTheVisibleRegion() {
+    TileProviderController.TileWaiter visibleWaiter = controller.requestTile(7, 8, 4);
+    TileProviderController.TileWaiter hiddenWaiter = controller.requestTile(0, 0, 4);
+    TileProviderController.TileWaiter hiddenChildWaiter = controller.requestTile(31, 31, 5);
+
+    controller.onVisibleRegionChanged(VISIBLE_BOUNDS, 4.5f);
+
+    assertEquals(1, controller.getQueuedTileCount());
+    assertNull(hiddenWaiter.await());
+    assertNull(hiddenChildWaiter.await());
+
+    shadowOf(Looper.getMainLooper()).idle();
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi).getTileOverlayTiles(any(), any(), anyLong(), result.capture());
+    result.getValue().success(createTiles(1));
+    assertEquals(1, visibleWaiter.await().width);
+  }
+
+  @Test
+  public void onVisibleRegionChanged_keepsTilesInFlightAsPrefetchedTiles() {
+    TileProviderController.TileWaiter hiddenWaiter = controller.requestTile(0, 0, 4);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    controller.onVisibleRegionChanged(VISIBLE_BOUNDS, 4);
+    assertNull(hiddenWaiter.await());
+
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi).getTileOverlayTiles(any(), any(), anyLong(), result.capture());
+    result.getValue().success(createTiles(1));
+
+    assertEquals(1, controller.requestTile(0, 0, 4).await().width);
+    verify(flutterApi, times(1)).getTileOverlayTiles(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  public void requestTile_returnsCachedTilesWithoutAMessage() {
+    tileCache.put(new TileKey(TILE_OVERLAY_ID, 1, 2, 4), new Tile(7, 1, new byte[] {0}), 0);
+
+    assertEquals(7, controller.requestTile(1, 2, 4).await().width);
+    shadowOf(Looper.getMainLooper()).idle();
+    verify(flutterApi, never()).getTileOverlayTiles(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  public void requestTile_doesNotCacheTilesInvalidatedWhileInFlight() {
+    TileProviderController.TileWaiter waiter = controller.requestTile(1, 2, 4);
+    shadowOf(Looper.getMainLooper()).idle();
+
+    tileCache.invalidate(TILE_OVERLAY_ID);
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi).getTileOverlayTiles(any(), any(), anyLong(), result.capture());
+    result.getValue().success(createTiles(1));
+
+    assertEquals(1, waiter.await().width);
+    assertFalse(tileCache.contains(new TileKey(TILE_OVERLAY_ID, 1, 2, 4)));
+  }
+
+  @Test
+  public void onCameraIdle_prefetchesTheTilesAroundTheVisibleRegion() {
+    controller.onCameraIdle(VISIBLE_BOUNDS, 4);
+    // A ring of 1 tile around the 2 by 2 visible tiles.
+    assertEquals(12, controller.getQueuedTileCount());
+    shadowOf(Looper.getMainLooper()).idle();
+
+    ArgumentCaptor<List<Messages.PlatformPoint>> locations = captureLocations();
+    ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> result = captureResult();
+    verify(flutterApi, times(1))
+        .getTileOverlayTiles(eq(TILE_OVERLAY_ID), locations.capture(), eq(4L), result.capture());
+    assertEquals(12, locations.getValue().size());
+    result.getValue().success(createTiles(12));
+
+    // Prefetched tiles are returned without a new message.
+    Tile tile = controller.requestTile(6, 6, 4).await();
+    assertEquals(1, tile.width);
+    verify(flutterApi, times(1)).getTileOverlayTiles(any(), any(), anyLong(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<Messages.PlatformPoint>> captureLocations() {
+    return ArgumentCaptor.forClass(List.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<Messages.Result<List<Messages.PlatformTile>>> captureResult() {
+    return ArgumentCaptor.forClass(Messages.Result.class);
+  }
+
+  /** Returns {@code count} tiles whose width is their 1-based index. */
+  private static List<Messages.PlatformTile> createTiles(int count) {
+    List<Messages.PlatformTile> tiles = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      tiles.add(
+          new Messages.PlatformTile.Builder()
+              .setWidth((long) i)
+              .setHeight(1L)
+              .setData(new byte[] {0})
+              .build());
+    }
+    return tiles;
+  }
+}
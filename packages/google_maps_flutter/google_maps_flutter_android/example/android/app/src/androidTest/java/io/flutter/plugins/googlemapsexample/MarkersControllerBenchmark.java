@@ -0,0 +1,215 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.MapView;
+import com.google.android.gms.maps.MapsInitializer;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.maps.android.collections.MarkerManager;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Measures on a device the cost of adding, changing and removing clustered markers, against the
+ * number of markers, along with the cost of adding the same markers one cluster item at a time.
+ *
+ * <p>The timings are reported as instrumentation status values rather than asserted, as they
+ * depend on the device.
+ */
+public class MarkersControllerBenchmark {
+  private static final String CLUSTER_MANAGER_ID = "cm_1";
+  private static final int[] MARKER_COUNTS = {100, 1000, 5000};
+
+  private ClusterManagersController clusterManagersController;
+  private MarkersController controller;
+
+  @Test
+  public void measureClusteredMarkerUpdates() throws InterruptedException {
+    final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    final Context context = instrumentation.getTargetContext();
+    final GoogleMap googleMap = createMap(instrumentation, context);
+
+    final Bundle results = new Bundle();
+    instrumentation.runOnMainSync(
+        () -> {
+          createControllers(context, googleMap);
+          // Warms up the code paths before measuring.
+          measureUpdates(MARKER_COUNTS[0], "warmUp", new Bundle());
+          for (int markerCount : MARKER_COUNTS) {
+            measureUpdates(markerCount, "run", results);
+          }
+        });
+    instrumentation.sendStatus(0, results);
+  }
+
+  /** Creates a map outside of any activity, which only needs to hold markers. */
+  private static GoogleMap createMap(Instrumentation instrumentation, Context context)
+      throws InterruptedException {
+    final AtomicReference<GoogleMap> googleMap = new AtomicReference<>();
+    final CountDownLatch mapReady = new CountDownLatch(1);
+    instrumentation.runOnMainSync(
+        () -> {
+          MapsInitializer.initialize(context);
+          final MapView mapView = new MapView(context);
+          mapView.onCreate(null);
+          mapView.getMapAsync(
+              map -> {
+                googleMap.set(map);
+                mapReady.countDown();
+              });
+        });
+    if (!mapReady.await(30, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("The map was not ready in time");
+    }
+    return googleMap.get();
+  }
+
+  private void createControllers(Context context, GoogleMap googleMap) {
+    final MapsCallbackApi flutterApi = new MapsCallbackApi(new NoOpBinaryMessenger());
+    clusterManagersController = new ClusterManagersController(flutterApi, context);
+    controller =
+        new MarkersController(
+            flutterApi,
+            clusterManagersController,
+            context.getAssets(),
+            1,
+            new Convert.BitmapDescriptorFactoryWrapper());
+    final MarkerManager markerManager = new MarkerManager(googleMap);
+    controller.setCollection(markerManager.newCollection());
+    clusterManagersController.init(googleMap, markerManager);
+    clusterManagersController.addClusterManagers(
+        Collections.singletonList(
+            new Messages.PlatformClusterManager.Builder()
+                .setIdentifier(CLUSTER_MANAGER_ID)
+                .build()));
+  }
+
+  private void measureUpdates(int markerCount, String prefix, Bundle results) {
+    final List<Messages.PlatformMarker> markers = createMarkers(prefix, markerCount, 0);
+    final List<Messages.PlatformMarker> movedMarkers = createMarkers(prefix, markerCount, 1);
+    final List<String> markerIds = new ArrayList<>(markerCount);
+    for (Messages.PlatformMarker marker : markers) {
+      markerIds.add(marker.getMarkerId());
+    }
+
+    long start = System.nanoTime();
+    controller.addMarkers(markers);
+    final long addNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    controller.changeMarkers(movedMarkers);
+    final long changeNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    controller.removeMarkers(markerIds);
+    final long removeNanos = System.nanoTime() - start;
+
+    // The same markers, clustered one item at a time as before updates were batched.
+    final List<MarkerBuilder> markerBuilders = new ArrayList<>(markerCount);
+    for (int i = 0; i < markerCount; i++) {
+      MarkerBuilder markerBuilder = new MarkerBuilder(prefix + "_" + i, CLUSTER_MANAGER_ID);
+      markerBuilder.setPosition(positionOf(i, 0));
+      markerBuilders.add(markerBuilder);
+    }
+    start = System.nanoTime();
+    for (MarkerBuilder markerBuilder : markerBuilders) {
+      clusterManagersController.addItem(markerBuilder);
+    }
+    final long addPerItemNanos = System.nanoTime() - start;
+    clusterManagersController.removeItems(markerBuilders);
+
+    final String key = markerCount + "Markers.";
+    results.putLong(key + "addMarkersNanos", addNanos);
+    results.putLong(key + "changeMarkersNanos", changeNanos);
+    results.putLong(key + "removeMarkersNanos", removeNanos);
+    results.putLong(key + "addItemPerMarkerNanos", addPerItemNanos);
+  }
+
+  private static LatLng positionOf(int index, int offset) {
+    return new LatLng((index % 160) - 80 + offset * 0.001, (index / 160) % 360 - 180);
+  }
+
+  private static List<Object> createIcon() {
+    Bitmap fakeBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    fakeBitmap.compress(Bitmap.CompressFormat.PNG, 100, byteArrayOutputStream);
+    Map<String, Object> byteData = new HashMap<>();
+    byteData.put("byteData", byteArrayOutputStream.toByteArray());
+    byteData.put("bitmapScaling", "none");
+    byteData.put("imagePixelRatio", "");
+    return Arrays.asList("bytes", byteData);
+  }
+
+  private static List<Messages.PlatformMarker> createMarkers(
+      String prefix, int markerCount, int offset) {
+    final Messages.PlatformOffset anchor =
+        new Messages.PlatformOffset.Builder().setDx(0.5).setDy(0.0).build();
+    final List<Object> icon = createIcon();
+    final List<Messages.PlatformMarker> markers = new ArrayList<>(markerCount);
+    for (int i = 0; i < markerCount; i++) {
+      LatLng position = positionOf(i, offset);
+      markers.add(
+          new Messages.PlatformMarker.Builder()
+              .setMarkerId(prefix + "_" + i)
+              .setClusterManagerId(CLUSTER_MANAGER_ID)
+              .setPosition(
+                  new Messages.PlatformLatLng.Builder()
+                      .setLatitude(position.latitude)
+                      .setLongitude(position.longitude)
+                      .build())
+              .setAnchor(anchor)
+              .setFlat(false)
+              .setDraggable(false)
+              .setVisible(true)
+              .setAlpha(1.0)
+              .setRotation(0.0)
+              .setZIndex(0.0)
+              .setConsumeTapEvents(false)
+              .setIcon(icon)
+              .setInfoWindow(new Messages.PlatformInfoWindow.Builder().setAnchor(anchor).build())
+              .build());
+    }
+    return markers;
+  }
+
+  /** Drops the messages to Dart, which has no engine to receive them. */
+  private static class NoOpBinaryMessenger implements BinaryMessenger {
+    @Override
+    public void send(@NonNull String channel, @Nullable ByteBuffer message) {
+      // Do nothing.
+    }
+
+    @Override
+    public void send(
+        @NonNull String channel, @Nullable ByteBuffer message, @Nullable BinaryReply callback) {
+      // Do nothing.
+    }
+
+    @Override
+    public void setMessageHandler(@NonNull String channel, @Nullable BinaryMessageHandler handler) {
+      // Do nothing.
+    }
+  }
+}
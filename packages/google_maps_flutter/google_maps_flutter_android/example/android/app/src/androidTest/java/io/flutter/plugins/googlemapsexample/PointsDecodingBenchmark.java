@@ -0,0 +1,90 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.os.Bundle;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.google.android.gms.maps.model.LatLng;
+import io.flutter.plugin.common.MessageCodec;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Measures on a device the cost of decoding the points of polylines and polygons, packed as
+ * interleaved latitudes and longitudes, against the previous format of one {@link
+ * Messages.PlatformLatLng} per point.
+ *
+ * <p>The timings and message sizes of each format are reported as instrumentation status values
+ * rather than asserted, as they depend on the device.
+ */
+public class PointsDecodingBenchmark {
+  private static final int[] POINT_COUNTS = {1000, 20000, 100000};
+  private static final int ITERATIONS = 10;
+
+  private final MessageCodec<Object> codec = Messages.MapsApi.getCodec();
+
+  @Test
+  public void measureDecodingCost() {
+    // Warms up the code paths before measuring.
+    measureDecoding(POINT_COUNTS[0], new Bundle());
+
+    Bundle results = new Bundle();
+    for (int pointCount : POINT_COUNTS) {
+      measureDecoding(pointCount, results);
+    }
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+  }
+
+  private void measureDecoding(int pointCount, Bundle results) {
+    final List<Object> platformLatLngs = new ArrayList<>(pointCount);
+    final double[] packedPoints = new double[pointCount * 2];
+    for (int i = 0; i < pointCount; i++) {
+      final double latitude = (i % 160) - 80 + i * 1e-6;
+      final double longitude = (i % 360) - 180 + i * 1e-6;
+      platformLatLngs.add(
+          new Messages.PlatformLatLng.Builder()
+              .setLatitude(latitude)
+              .setLongitude(longitude)
+              .build());
+      packedPoints[2 * i] = latitude;
+      packedPoints[2 * i + 1] = longitude;
+    }
+    final ByteBuffer platformLatLngsMessage = codec.encodeMessage(platformLatLngs);
+    final ByteBuffer packedPointsMessage = codec.encodeMessage(packedPoints);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      platformLatLngsMessage.rewind();
+      pointsFromPlatformLatLngs(codec.decodeMessage(platformLatLngsMessage));
+    }
+    final long platformLatLngsNanos = (System.nanoTime() - start) / ITERATIONS;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      packedPointsMessage.rewind();
+      Convert.pointsFromPigeon((double[]) codec.decodeMessage(packedPointsMessage));
+    }
+    final long packedPointsNanos = (System.nanoTime() - start) / ITERATIONS;
+
+    final String prefix = pointCount + "Points.";
+    results.putLong(prefix + "platformLatLngsNanos", platformLatLngsNanos);
+    results.putInt(prefix + "platformLatLngsBytes", platformLatLngsMessage.capacity());
+    results.putLong(prefix + "packedPointsNanos", packedPointsNanos);
+    results.putInt(prefix + "packedPointsBytes", packedPointsMessage.capacity());
+  }
+
+  /** Converts the points as they were before they were packed. */
+  @SuppressWarnings("unchecked")
+  private static List<LatLng> pointsFromPlatformLatLngs(Object decoded) {
+    final List<Messages.PlatformLatLng> data = (List<Messages.PlatformLatLng>) decoded;
+    final List<LatLng> points = new ArrayList<>(data.size());
+    for (Messages.PlatformLatLng rawPoint : data) {
+      points.add(new LatLng(rawPoint.getLatitude(), rawPoint.getLongitude()));
+    }
+    return points;
+  }
+}
@@ -104,6 +104,34 @@ class GoogleMapsInspectorAndroid extends GoogleMapsInspectorPlatform {
     return _inspectorProvider(mapId)!.isTrafficEnabled();
   }
 
+  /// Returns the statistics of the tile cache of the map with [mapId].
+  Future<AndroidTileCacheStats> getTileCacheStats({required int mapId}) async {
+    final PlatformTileCacheStats stats =
+        await _inspectorProvider(mapId)!.getTileCacheStats();
+    return AndroidTileCacheStats(
+      memoryHitCount: stats.memoryHitCount,
+      diskHitCount: stats.diskHitCount,
+      missCount: stats.missCount,
+      evictionCount: stats.evictionCount,
+      memoryCacheSizeBytes: stats.memoryCacheSizeBytes,
+      diskCacheSizeBytes: stats.diskCacheSizeBytes,
+    );
+  }
+
+  /// Returns the statistics of the marker icon cache of the map with [mapId].
+  Future<AndroidBitmapDescriptorCacheStats> getBitmapDescriptorCacheStats(
+      {required int mapId}) async {
+    final PlatformBitmapDescriptorCacheStats stats =
+        await _inspectorProvider(mapId)!.getBitmapDescriptorCacheStats();
+    return AndroidBitmapDescriptorCacheStats(
+      hitCount: stats.hitCount,
+      missCount: stats.missCount,
+      evictionCount: stats.evictionCount,
+      entryCount: stats.entryCount,
+      sizeBytes: stats.sizeBytes,
+    );
+  }
+
   @override
   Future<List<Cluster>> getClusters({
     required int mapId,
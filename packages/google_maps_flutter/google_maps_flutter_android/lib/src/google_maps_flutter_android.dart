@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:math' show Point;
 
 import 'package:flutter/foundation.dart';
 import 'package:flutter/gestures.dart';
@@ -58,6 +59,84 @@ enum AndroidMapRenderer {
   platformDefault,
 }
 
+/// The image formats of map snapshots.
+enum AndroidSnapshotFormat {
+  /// Lossless PNG.
+  png,
+
+  /// Lossy JPEG.
+  jpeg,
+
+  /// Lossy WebP.
+  webpLossy,
+
+  /// Lossless WebP.
+  webpLossless,
+}
+
+/// Statistics of the cache of the tiles received from the tile providers of a
+/// map.
+@immutable
+class AndroidTileCacheStats {
+  /// Creates tile cache statistics with the given counts and sizes.
+  const AndroidTileCacheStats({
+    required this.memoryHitCount,
+    required this.diskHitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.memoryCacheSizeBytes,
+    required this.diskCacheSizeBytes,
+  });
+
+  /// The number of tiles found in memory.
+  final int memoryHitCount;
+
+  /// The number of tiles read from the disk cache.
+  final int diskHitCount;
+
+  /// The number of tiles requested from the tile providers.
+  final int missCount;
+
+  /// The number of tiles evicted from memory to fit its maximum size.
+  final int evictionCount;
+
+  /// The size in bytes of the tiles kept in memory.
+  final int memoryCacheSizeBytes;
+
+  /// The size in bytes of the tiles kept in the disk cache.
+  final int diskCacheSizeBytes;
+}
+
+/// Statistics of the cache of the decoded marker icons of a map.
+///
+/// Markers with the same icon share a single decoded bitmap.
+@immutable
+class AndroidBitmapDescriptorCacheStats {
+  /// Creates marker icon cache statistics with the given counts and size.
+  const AndroidBitmapDescriptorCacheStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.entryCount,
+    required this.sizeBytes,
+  });
+
+  /// The number of marker icons found in the cache.
+  final int hitCount;
+
+  /// The number of marker icons that were decoded.
+  final int missCount;
+
+  /// The number of icons evicted from the cache to fit its maximum size.
+  final int evictionCount;
+
+  /// The number of icons in the cache.
+  final int entryCount;
+
+  /// The estimated size in bytes of the cached icons.
+  final int sizeBytes;
+}
+
 /// An implementation of [GoogleMapsFlutterPlatform] for Android.
 class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   /// Creates a new Android maps implementation instance.
@@ -281,6 +360,30 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     );
   }
 
+  /// Updates the points of the existing polyline with [polylineId] on the map
+  /// with [mapId], removing its first [trimCount] points and appending
+  /// [pointsToAppend].
+  ///
+  /// Only the appended points are sent to the platform, so the cost of an
+  /// update does not grow with the number of points of the polyline, such as
+  /// when tracking a live location.
+  ///
+  /// The points of the polyline are replaced the next time it is changed
+  /// through [updatePolylines], so the [Polyline] passed to the map should be
+  /// kept up to date with the points appended and removed by this method.
+  Future<void> updatePolylinePoints(
+    PolylineId polylineId, {
+    required int mapId,
+    List<LatLng> pointsToAppend = const <LatLng>[],
+    int trimCount = 0,
+  }) {
+    return _hostApi(mapId).updatePolylinePoints(
+      polylineId.value,
+      _packedLatLngsFromLatLngs(pointsToAppend),
+      trimCount,
+    );
+  }
+
   @override
   Future<void> updateCircles(
     CircleUpdates circleUpdates, {
@@ -356,6 +459,99 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return _hostApi(mapId).clearTileCache(tileOverlayId.value);
   }
 
+  /// Sets the maximum sizes of the cache of the tiles received from the tile
+  /// providers of the map with [mapId].
+  ///
+  /// Tiles are kept in memory up to [memoryCacheMaxBytes], which is 8 MiB
+  /// until this is called. When [diskCacheMaxBytes] is not null, tiles are
+  /// also kept in the app cache directory up to that size, across app
+  /// sessions, so tile overlays whose tiles change must be updated with
+  /// [clearTileCache] or [invalidateTiles]. Disabling the disk cache deletes
+  /// its tiles.
+  Future<void> setTileCacheConfiguration({
+    required int mapId,
+    required int memoryCacheMaxBytes,
+    int? diskCacheMaxBytes,
+  }) {
+    return _hostApi(mapId).setTileCacheConfiguration(
+        PlatformTileCacheConfiguration(
+      memoryCacheMaxBytes: memoryCacheMaxBytes,
+      diskCacheMaxBytes: diskCacheMaxBytes,
+    ));
+  }
+
+  /// Removes the tiles at [locations] and [zoom] of the tile overlay with
+  /// [tileOverlayId] from the tile cache, so that they are requested from its
+  /// tile provider again.
+  ///
+  /// Unlike [clearTileCache], the other tiles of the tile overlay stay cached.
+  Future<void> invalidateTiles(
+    TileOverlayId tileOverlayId,
+    List<Point<int>> locations,
+    int zoom, {
+    required int mapId,
+  }) {
+    return _hostApi(mapId).invalidateTiles(
+      tileOverlayId.value,
+      locations
+          .map((Point<int> location) =>
+              PlatformPoint(x: location.x, y: location.y))
+          .toList(),
+      zoom,
+    );
+  }
+
+  /// Sets how the camera positions of [onCameraMove] are coalesced for the map
+  /// with [mapId], when it tracks the camera position.
+  ///
+  /// A camera position is sent at least [minInterval] after the previous one,
+  /// and the positions reported sooner are coalesced into the latest one. When
+  /// any of [minZoomDelta], [minBearingDelta] (in degrees) or
+  /// [minTargetDistanceMeters] is greater than 0, a camera position is only
+  /// sent if it differs from the previous one by at least one of them. The
+  /// first camera position of a camera move is sent immediately, and the last
+  /// one is always sent before [onCameraIdle].
+  ///
+  /// By default, every camera position is sent.
+  Future<void> setCameraMoveConfiguration({
+    required int mapId,
+    Duration minInterval = Duration.zero,
+    double minZoomDelta = 0,
+    double minBearingDelta = 0,
+    double minTargetDistanceMeters = 0,
+  }) {
+    return _hostApi(mapId).setCameraMoveConfiguration(
+        PlatformCameraMoveConfiguration(
+      minIntervalMilliseconds: minInterval.inMilliseconds,
+      minZoomDelta: minZoomDelta,
+      minBearingDelta: minBearingDelta,
+      minTargetDistanceMeters: minTargetDistanceMeters,
+    ));
+  }
+
+  /// Sets whether only the markers in or near the visible region of the map
+  /// with [mapId] are added to the map.
+  ///
+  /// When [enabled], the markers that do not belong to a cluster manager are
+  /// only added to the map while they are within [visibleRegionMargin] of the
+  /// visible region, as a fraction of its size on each side. The set of markers
+  /// on the map is updated each time the camera becomes idle. This reduces the
+  /// memory used by the map and the time taken to add very large sets of
+  /// markers.
+  ///
+  /// Culling is disabled by default.
+  Future<void> setMarkerCullingConfiguration({
+    required int mapId,
+    required bool enabled,
+    double visibleRegionMargin = 0.5,
+  }) {
+    return _hostApi(mapId).setMarkerCullingConfiguration(
+        PlatformMarkerCullingConfiguration(
+      enabled: enabled,
+      visibleRegionMargin: visibleRegionMargin,
+    ));
+  }
+
   @override
   Future<void> animateCamera(
     CameraUpdate cameraUpdate, {
@@ -449,6 +645,38 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return _hostApi(mapId).takeSnapshot();
   }
 
+  /// Takes a snapshot of the map with [mapId], encoded in the given [format].
+  ///
+  /// The snapshot is scaled down by [scale], which must be greater than 0 and
+  /// at most 1, then encoded with the given [quality], from 0 to 100, which
+  /// lossless formats use as the compression effort. Encoding is done off the
+  /// platform thread.
+  ///
+  /// When [filePath] is set, the image is written to that file and null is
+  /// returned, so that the image data is not sent over the platform channel.
+  Future<Uint8List?> takeSnapshotWithOptions({
+    required int mapId,
+    AndroidSnapshotFormat format = AndroidSnapshotFormat.png,
+    int quality = 100,
+    double scale = 1.0,
+    String? filePath,
+  }) {
+    assert(quality >= 0 && quality <= 100);
+    assert(scale > 0 && scale <= 1);
+    return _hostApi(mapId).takeSnapshotWithOptions(PlatformSnapshotOptions(
+      format: switch (format) {
+        AndroidSnapshotFormat.png => PlatformSnapshotFormat.png,
+        AndroidSnapshotFormat.jpeg => PlatformSnapshotFormat.jpeg,
+        AndroidSnapshotFormat.webpLossy => PlatformSnapshotFormat.webpLossy,
+        AndroidSnapshotFormat.webpLossless =>
+          PlatformSnapshotFormat.webpLossless,
+      },
+      quality: quality,
+      scale: scale,
+      filePath: filePath,
+    ));
+  }
+
   @override
   Future<String?> getStyleError({required int mapId}) async {
     return (await _hostApi(mapId).didLastStyleSucceed())
@@ -710,7 +938,23 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformHeatmap _platformHeatmapFromHeatmap(Heatmap heatmap) {
-    return PlatformHeatmap(json: serializeHeatmap(heatmap));
+    return PlatformHeatmap(
+      json: serializeHeatmap(heatmap, includeData: false),
+      weightedData: _packedWeightedLatLngsFromWeightedLatLngs(heatmap.data),
+    );
+  }
+
+  /// Packs [data] as interleaved latitudes, longitudes and weights, which the
+  /// native side builds the heatmap from off the platform thread.
+  static Float64List _packedWeightedLatLngsFromWeightedLatLngs(
+      List<WeightedLatLng> data) {
+    final Float64List packed = Float64List(data.length * 3);
+    for (int i = 0; i < data.length; i++) {
+      packed[3 * i] = data[i].point.latitude;
+      packed[3 * i + 1] = data[i].point.longitude;
+      packed[3 * i + 2] = data[i].weight;
+    }
+    return packed;
   }
 
   static PlatformClusterManager _platformClusterManagerFromClusterManager(
@@ -745,13 +989,21 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     );
   }
 
+  /// Packs [latLngs] as interleaved latitudes and longitudes, which are sent
+  /// much more efficiently than a list of [PlatformLatLng]s.
+  static Float64List _packedLatLngsFromLatLngs(List<LatLng> latLngs) {
+    final Float64List packed = Float64List(latLngs.length * 2);
+    for (int i = 0; i < latLngs.length; i++) {
+      packed[2 * i] = latLngs[i].latitude;
+      packed[2 * i + 1] = latLngs[i].longitude;
+    }
+    return packed;
+  }
+
   static PlatformPolygon _platformPolygonFromPolygon(Polygon polygon) {
-    final List<PlatformLatLng?> points =
-        polygon.points.map(_platformLatLngFromLatLng).toList();
-    final List<List<PlatformLatLng?>?> holes =
-        polygon.holes.map((List<LatLng> hole) {
-      return hole.map(_platformLatLngFromLatLng).toList();
-    }).toList();
+    final Float64List points = _packedLatLngsFromLatLngs(polygon.points);
+    final List<Float64List?> holes =
+        polygon.holes.map(_packedLatLngsFromLatLngs).toList();
     return PlatformPolygon(
       polygonId: polygon.polygonId.value,
       fillColor: polygon.fillColor.value,
@@ -767,8 +1019,7 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformPolyline _platformPolylineFromPolyline(Polyline polyline) {
-    final List<PlatformLatLng?> points =
-        polyline.points.map(_platformLatLngFromLatLng).toList();
+    final Float64List points = _packedLatLngsFromLatLngs(polyline.points);
     final List<Object?> pattern = polyline.patterns.map((PatternItem item) {
       return item.toJson();
     }).toList();
@@ -844,6 +1095,27 @@ class HostMapMessageHandler implements MapsCallbackApi {
     return _platformTileFromTile(tile);
   }
 
+  @override
+  Future<List<PlatformTile>> getTileOverlayTiles(
+    String tileOverlayId,
+    List<PlatformPoint> locations,
+    int zoom,
+  ) async {
+    final TileOverlay? tileOverlay =
+        tileOverlayProvider(TileOverlayId(tileOverlayId));
+    final TileProvider? tileProvider = tileOverlay?.tileProvider;
+    if (tileProvider == null) {
+      return List<PlatformTile>.filled(
+          locations.length, _platformTileFromTile(TileProvider.noTile));
+    }
+    // Tiles are generated concurrently, so that a slow tile does not delay the
+    // others of the batch.
+    final List<Tile> tiles = await Future.wait(locations.map(
+        (PlatformPoint location) =>
+            tileProvider.getTile(location.x, location.y, zoom)));
+    return tiles.map(_platformTileFromTile).toList();
+  }
+
   @override
   void onCameraIdle() {
     streamController.add(CameraIdleEvent(mapId));
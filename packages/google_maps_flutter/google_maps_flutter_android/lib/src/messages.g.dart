@@ -49,6 +49,14 @@ enum PlatformJointType {
   round,
 }
 
+/// Image formats of map snapshots.
+enum PlatformSnapshotFormat {
+  png,
+  jpeg,
+  webpLossy,
+  webpLossless,
+}
+
 /// Pigeon representatation of a CameraPosition.
 class PlatformCameraPosition {
   PlatformCameraPosition({
@@ -177,6 +185,7 @@ class PlatformCircle {
 class PlatformHeatmap {
   PlatformHeatmap({
     required this.json,
+    this.weightedData,
   });
 
   /// The heatmap data, as JSON. This should only be set from
@@ -184,9 +193,17 @@ class PlatformHeatmap {
   /// internal implementation details of that method.
   Map<String?, Object?> json;
 
+  /// The weighted points of the heatmap, as interleaved latitudes, longitudes
+  /// and weights.
+  ///
+  /// When set, the data in [json] is ignored, and the heatmap is built off
+  /// the platform thread.
+  Float64List? weightedData;
+
   Object encode() {
     return <Object?>[
       json,
+      weightedData,
     ];
   }
 
@@ -194,6 +211,7 @@ class PlatformHeatmap {
     result as List<Object?>;
     return PlatformHeatmap(
       json: (result[0] as Map<Object?, Object?>?)!.cast<String?, Object?>(),
+      weightedData: result[1] as Float64List?,
     );
   }
 }
@@ -385,9 +403,12 @@ class PlatformPolygon {
 
   bool geodesic;
 
-  List<PlatformLatLng?> points;
+  /// The vertices, as interleaved latitudes and longitudes.
+  Float64List points;
 
-  List<List<PlatformLatLng?>?> holes;
+  /// The holes, each as the interleaved latitudes and longitudes of its
+  /// vertices.
+  List<Float64List?> holes;
 
   bool visible;
 
@@ -419,8 +440,8 @@ class PlatformPolygon {
       consumesTapEvents: result[1]! as bool,
       fillColor: result[2]! as int,
       geodesic: result[3]! as bool,
-      points: (result[4] as List<Object?>?)!.cast<PlatformLatLng?>(),
-      holes: (result[5] as List<Object?>?)!.cast<List<PlatformLatLng?>?>(),
+      points: result[4]! as Float64List,
+      holes: (result[5] as List<Object?>?)!.cast<Float64List?>(),
       visible: result[6]! as bool,
       strokeColor: result[7]! as int,
       strokeWidth: result[8]! as int,
@@ -460,7 +481,8 @@ class PlatformPolyline {
   /// The pattern data, as JSON. Each element in this list should be set only from PatternItem.toJson, and the native code must interpret it according to the internal implementation details of that method.
   List<Object?> patterns;
 
-  List<PlatformLatLng?> points;
+  /// The vertices, as interleaved latitudes and longitudes.
+  Float64List points;
 
   /// The start and end cap data, as JSON. These should be set only from Cap.toJson, and the native code must interpret it according to the internal implementation details of that method.
   Object startCap;
@@ -499,7 +521,7 @@ class PlatformPolyline {
       geodesic: result[3]! as bool,
       jointType: result[4]! as PlatformJointType,
       patterns: (result[5] as List<Object?>?)!.cast<Object?>(),
-      points: (result[6] as List<Object?>?)!.cast<PlatformLatLng?>(),
+      points: result[6]! as Float64List,
       startCap: result[7]!,
       endCap: result[8]!,
       visible: result[9]! as bool,
@@ -1014,6 +1036,245 @@ class PlatformZoomRange {
   }
 }
 
+/// Configuration of the cache of tiles received from tile providers.
+class PlatformTileCacheConfiguration {
+  PlatformTileCacheConfiguration({
+    required this.memoryCacheMaxBytes,
+    this.diskCacheMaxBytes,
+  });
+
+  /// The maximum size in bytes of the tiles kept in memory.
+  int memoryCacheMaxBytes;
+
+  /// The maximum size in bytes of the tiles kept in the app cache directory, or
+  /// null to disable the disk cache.
+  int? diskCacheMaxBytes;
+
+  Object encode() {
+    return <Object?>[
+      memoryCacheMaxBytes,
+      diskCacheMaxBytes,
+    ];
+  }
+
+  static PlatformTileCacheConfiguration decode(Object result) {
+    result as List<Object?>;
+    return PlatformTileCacheConfiguration(
+      memoryCacheMaxBytes: result[0]! as int,
+      diskCacheMaxBytes: result[1] as int?,
+    );
+  }
+}
+
+/// Statistics of the cache of tiles received from tile providers.
+class PlatformTileCacheStats {
+  PlatformTileCacheStats({
+    required this.memoryHitCount,
+    required this.diskHitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.memoryCacheSizeBytes,
+    required this.diskCacheSizeBytes,
+  });
+
+  int memoryHitCount;
+
+  int diskHitCount;
+
+  int missCount;
+
+  /// The number of tiles evicted from memory to fit its maximum size.
+  int evictionCount;
+
+  int memoryCacheSizeBytes;
+
+  int diskCacheSizeBytes;
+
+  Object encode() {
+    return <Object?>[
+      memoryHitCount,
+      diskHitCount,
+      missCount,
+      evictionCount,
+      memoryCacheSizeBytes,
+      diskCacheSizeBytes,
+    ];
+  }
+
+  static PlatformTileCacheStats decode(Object result) {
+    result as List<Object?>;
+    return PlatformTileCacheStats(
+      memoryHitCount: result[0]! as int,
+      diskHitCount: result[1]! as int,
+      missCount: result[2]! as int,
+      evictionCount: result[3]! as int,
+      memoryCacheSizeBytes: result[4]! as int,
+      diskCacheSizeBytes: result[5]! as int,
+    );
+  }
+}
+
+/// Configuration of the coalescing of the camera positions sent while the
+/// camera moves.
+class PlatformCameraMoveConfiguration {
+  PlatformCameraMoveConfiguration({
+    required this.minIntervalMilliseconds,
+    required this.minZoomDelta,
+    required this.minBearingDelta,
+    required this.minTargetDistanceMeters,
+  });
+
+  /// The minimum interval between two camera positions.
+  int minIntervalMilliseconds;
+
+  /// The minimum change of zoom level for a camera position to be sent, or 0 to
+  /// ignore it.
+  double minZoomDelta;
+
+  /// The minimum change of bearing in degrees for a camera position to be sent,
+  /// or 0 to ignore it.
+  double minBearingDelta;
+
+  /// The minimum distance in meters between two camera targets for a camera
+  /// position to be sent, or 0 to ignore it.
+  double minTargetDistanceMeters;
+
+  Object encode() {
+    return <Object?>[
+      minIntervalMilliseconds,
+      minZoomDelta,
+      minBearingDelta,
+      minTargetDistanceMeters,
+    ];
+  }
+
+  static PlatformCameraMoveConfiguration decode(Object result) {
+    result as List<Object?>;
+    return PlatformCameraMoveConfiguration(
+      minIntervalMilliseconds: result[0]! as int,
+      minZoomDelta: result[1]! as double,
+      minBearingDelta: result[2]! as double,
+      minTargetDistanceMeters: result[3]! as double,
+    );
+  }
+}
+
+/// Statistics of the cache of the bitmap descriptors of marker icons.
+class PlatformBitmapDescriptorCacheStats {
+  PlatformBitmapDescriptorCacheStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.entryCount,
+    required this.sizeBytes,
+  });
+
+  int hitCount;
+
+  int missCount;
+
+  int evictionCount;
+
+  int entryCount;
+
+  /// The estimated size in bytes of the cached bitmaps.
+  int sizeBytes;
+
+  Object encode() {
+    return <Object?>[
+      hitCount,
+      missCount,
+      evictionCount,
+      entryCount,
+      sizeBytes,
+    ];
+  }
+
+  static PlatformBitmapDescriptorCacheStats decode(Object result) {
+    result as List<Object?>;
+    return PlatformBitmapDescriptorCacheStats(
+      hitCount: result[0]! as int,
+      missCount: result[1]! as int,
+      evictionCount: result[2]! as int,
+      entryCount: result[3]! as int,
+      sizeBytes: result[4]! as int,
+    );
+  }
+}
+
+/// Configuration of the viewport culling of the markers that do not belong to a
+/// cluster manager.
+class PlatformMarkerCullingConfiguration {
+  PlatformMarkerCullingConfiguration({
+    required this.enabled,
+    required this.visibleRegionMargin,
+  });
+
+  /// Whether only the markers in or near the visible region are added to the
+  /// map.
+  bool enabled;
+
+  /// The margin around the visible region in which markers are added to the
+  /// map, as a fraction of the size of the visible region on each side.
+  double visibleRegionMargin;
+
+  Object encode() {
+    return <Object?>[
+      enabled,
+      visibleRegionMargin,
+    ];
+  }
+
+  static PlatformMarkerCullingConfiguration decode(Object result) {
+    result as List<Object?>;
+    return PlatformMarkerCullingConfiguration(
+      enabled: result[0]! as bool,
+      visibleRegionMargin: result[1]! as double,
+    );
+  }
+}
+
+/// Options of the encoding of a map snapshot.
+class PlatformSnapshotOptions {
+  PlatformSnapshotOptions({
+    required this.format,
+    required this.quality,
+    required this.scale,
+    this.filePath,
+  });
+
+  PlatformSnapshotFormat format;
+
+  /// The quality of lossy formats, from 0 to 100.
+  int quality;
+
+  /// The factor by which the snapshot is scaled down before it is encoded,
+  /// greater than 0 and at most 1.
+  double scale;
+
+  /// The path of the file the image is written to, instead of being returned.
+  String? filePath;
+
+  Object encode() {
+    return <Object?>[
+      format,
+      quality,
+      scale,
+      filePath,
+    ];
+  }
+
+  static PlatformSnapshotOptions decode(Object result) {
+    result as List<Object?>;
+    return PlatformSnapshotOptions(
+      format: result[0]! as PlatformSnapshotFormat,
+      quality: result[1]! as int,
+      scale: result[2]! as double,
+      filePath: result[3] as String?,
+    );
+  }
+}
+
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
   @override
@@ -1084,14 +1345,35 @@ class _PigeonCodec extends StandardMessageCodec {
     } else if (value is PlatformZoomRange) {
       buffer.putUint8(150);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformMapType) {
+    } else if (value is PlatformTileCacheConfiguration) {
       buffer.putUint8(151);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformTileCacheStats) {
+      buffer.putUint8(152);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformCameraMoveConfiguration) {
+      buffer.putUint8(153);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformBitmapDescriptorCacheStats) {
+      buffer.putUint8(154);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformMarkerCullingConfiguration) {
+      buffer.putUint8(155);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformSnapshotOptions) {
+      buffer.putUint8(156);
+      writeValue(buffer, value.encode());
+    } else if (value is PlatformMapType) {
+      buffer.putUint8(157);
       writeValue(buffer, value.index);
     } else if (value is PlatformRendererType) {
-      buffer.putUint8(152);
+      buffer.putUint8(158);
       writeValue(buffer, value.index);
     } else if (value is PlatformJointType) {
-      buffer.putUint8(153);
+      buffer.putUint8(159);
+      writeValue(buffer, value.index);
+    } else if (value is PlatformSnapshotFormat) {
+      buffer.putUint8(160);
       writeValue(buffer, value.index);
     } else {
       super.writeValue(buffer, value);
@@ -1146,14 +1428,29 @@ class _PigeonCodec extends StandardMessageCodec {
       case 150:
         return PlatformZoomRange.decode(readValue(buffer)!);
       case 151:
+        return PlatformTileCacheConfiguration.decode(readValue(buffer)!);
+      case 152:
+        return PlatformTileCacheStats.decode(readValue(buffer)!);
+      case 153:
+        return PlatformCameraMoveConfiguration.decode(readValue(buffer)!);
+      case 154:
+        return PlatformBitmapDescriptorCacheStats.decode(readValue(buffer)!);
+      case 155:
+        return PlatformMarkerCullingConfiguration.decode(readValue(buffer)!);
+      case 156:
+        return PlatformSnapshotOptions.decode(readValue(buffer)!);
+      case 157:
         final int? value = readValue(buffer) as int?;
         return value == null ? null : PlatformMapType.values[value];
-      case 152:
+      case 158:
         final int? value = readValue(buffer) as int?;
         return value == null ? null : PlatformRendererType.values[value];
-      case 153:
+      case 159:
         final int? value = readValue(buffer) as int?;
         return value == null ? null : PlatformJointType.values[value];
+      case 160:
+        final int? value = readValue(buffer) as int?;
+        return value == null ? null : PlatformSnapshotFormat.values[value];
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -1387,6 +1684,34 @@ class MapsApi {
     }
   }
 
+  /// Removes the first [trimCount] points of a polyline, and appends
+  /// [pointsToAppend], as interleaved latitudes and longitudes.
+  Future<void> updatePolylinePoints(
+      String polylineId, Float64List pointsToAppend, int trimCount) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.updatePolylinePoints$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList = await __pigeon_channel.send(
+            <Object?>[polylineId, pointsToAppend, trimCount])
+        as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
   /// Updates the set of tile overlays on the map.
   Future<void> updateTileOverlays(List<PlatformTileOverlay?> toAdd,
       List<PlatformTileOverlay?> toChange, List<String?> idsToRemove) async {
@@ -1758,6 +2083,112 @@ class MapsApi {
     }
   }
 
+  /// Sets the maximum sizes of the cache of tiles received from tile providers.
+  Future<void> setTileCacheConfiguration(
+      PlatformTileCacheConfiguration configuration) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setTileCacheConfiguration$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(<Object?>[configuration]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Removes the given tiles from the cache of tiles received from the tile
+  /// provider, so that they are requested again.
+  Future<void> invalidateTiles(
+      String tileOverlayId, List<PlatformPoint?> locations, int zoom) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.invalidateTiles$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList = await __pigeon_channel
+        .send(<Object?>[tileOverlayId, locations, zoom]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets how the camera positions sent while the camera moves are coalesced.
+  Future<void> setCameraMoveConfiguration(
+      PlatformCameraMoveConfiguration configuration) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setCameraMoveConfiguration$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(<Object?>[configuration]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets whether only the markers in or near the visible region are added to
+  /// the map.
+  Future<void> setMarkerCullingConfiguration(
+      PlatformMarkerCullingConfiguration configuration) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.setMarkerCullingConfiguration$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(<Object?>[configuration]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
   /// Takes a snapshot of the map and returns its image data.
   Future<Uint8List> takeSnapshot() async {
     final String __pigeon_channelName =
@@ -1787,6 +2218,33 @@ class MapsApi {
       return (__pigeon_replyList[0] as Uint8List?)!;
     }
   }
+
+  /// Takes a snapshot of the map and returns its image data encoded with the
+  /// given options, or null once it is written to the file of the options.
+  Future<Uint8List?> takeSnapshotWithOptions(
+      PlatformSnapshotOptions options) async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.takeSnapshotWithOptions$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(<Object?>[options]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return (__pigeon_replyList[0] as Uint8List?);
+    }
+  }
 }
 
 abstract class MapsCallbackApi {
@@ -1838,6 +2296,13 @@ abstract class MapsCallbackApi {
   Future<PlatformTile> getTileOverlayTile(
       String tileOverlayId, PlatformPoint location, int zoom);
 
+  /// Called to get data for several tiles of the same zoom level of a map
+  /// tile overlay, in a single message.
+  ///
+  /// The returned tiles are in the order of [locations].
+  Future<List<PlatformTile>> getTileOverlayTiles(
+      String tileOverlayId, List<PlatformPoint> locations, int zoom);
+
   static void setUp(
     MapsCallbackApi? api, {
     BinaryMessenger? binaryMessenger,
@@ -2270,6 +2735,42 @@ abstract class MapsCallbackApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> __pigeon_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles$messageChannelSuffix',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        __pigeon_channel.setMessageHandler(null);
+      } else {
+        __pigeon_channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final String? arg_tileOverlayId = (args[0] as String?);
+          assert(arg_tileOverlayId != null,
+              'Argument for dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles was null, expected non-null String.');
+          final List<PlatformPoint>? arg_locations =
+              (args[1] as List<Object?>?)?.cast<PlatformPoint>();
+          assert(arg_locations != null,
+              'Argument for dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles was null, expected non-null List<PlatformPoint>.');
+          final int? arg_zoom = (args[2] as int?);
+          assert(arg_zoom != null,
+              'Argument for dev.flutter.pigeon.google_maps_flutter_android.MapsCallbackApi.getTileOverlayTiles was null, expected non-null int.');
+          try {
+            final List<PlatformTile> output = await api.getTileOverlayTiles(
+                arg_tileOverlayId!, arg_locations!, arg_zoom!);
+            return wrapResponse(result: output);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
   }
 }
 
@@ -2752,6 +3253,65 @@ class MapsInspectorApi {
     }
   }
 
+  Future<PlatformTileCacheStats> getTileCacheStats() async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsInspectorApi.getTileCacheStats$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(null) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else if (__pigeon_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (__pigeon_replyList[0] as PlatformTileCacheStats?)!;
+    }
+  }
+
+  Future<PlatformBitmapDescriptorCacheStats>
+      getBitmapDescriptorCacheStats() async {
+    final String __pigeon_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsInspectorApi.getBitmapDescriptorCacheStats$__pigeon_messageChannelSuffix';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(null) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else if (__pigeon_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (__pigeon_replyList[0] as PlatformBitmapDescriptorCacheStats?)!;
+    }
+  }
+
   Future<List<PlatformCluster?>> getClusters(String clusterManagerId) async {
     final String __pigeon_channelName =
         'dev.flutter.pigeon.google_maps_flutter_android.MapsInspectorApi.getClusters$__pigeon_messageChannelSuffix';
@@ -23,15 +23,21 @@ void _addIfNonNull(Map<String, Object?> map, String fieldName, Object? value) {
 }
 
 /// Serialize [Heatmap]
-Map<String, Object?> serializeHeatmap(Heatmap heatmap) {
+///
+/// The data is omitted when [includeData] is false, for heatmaps whose data is
+/// sent separately.
+Map<String, Object?> serializeHeatmap(Heatmap heatmap,
+    {bool includeData = true}) {
   final Map<String, Object> json = <String, Object>{};
 
   _addIfNonNull(json, _heatmapIdKey, heatmap.heatmapId.value);
-  _addIfNonNull(
-    json,
-    _heatmapDataKey,
-    heatmap.data.map(serializeWeightedLatLng).toList(),
-  );
+  if (includeData) {
+    _addIfNonNull(
+      json,
+      _heatmapDataKey,
+      heatmap.data.map(serializeWeightedLatLng).toList(),
+    );
+  }
 
   final HeatmapGradient? gradient = heatmap.gradient;
   if (gradient != null) {
@@ -80,7 +80,7 @@ class PlatformCircle {
 
 /// Pigeon equivalent of the Heatmap class.
 class PlatformHeatmap {
-  PlatformHeatmap(this.json);
+  PlatformHeatmap(this.json, {this.weightedData});
 
   /// The heatmap data, as JSON. This should only be set from
   /// Heatmap.toJson, and the native code must interpret it according to the
@@ -88,6 +88,13 @@ class PlatformHeatmap {
   // TODO(stuartmorgan): Replace this with structured data. This exists only to
   //  allow incremental migration to Pigeon.
   final Map<String?, Object?> json;
+
+  /// The weighted points of the heatmap, as interleaved latitudes, longitudes
+  /// and weights.
+  ///
+  /// When set, the data in [json] is ignored, and the heatmap is built off
+  /// the platform thread.
+  final Float64List? weightedData;
 }
 
 /// Pigeon equivalent of the ClusterManager class.
@@ -173,8 +180,14 @@ class PlatformPolygon {
   final bool consumesTapEvents;
   final int fillColor;
   final bool geodesic;
-  final List<PlatformLatLng?> points;
-  final List<List<PlatformLatLng?>?> holes;
+
+  /// The vertices, as interleaved latitudes and longitudes.
+  final Float64List points;
+
+  /// The holes, each as the interleaved latitudes and longitudes of its
+  /// vertices.
+  final List<Float64List?> holes;
+
   final bool visible;
   final int strokeColor;
   final int strokeWidth;
@@ -216,7 +229,9 @@ class PlatformPolyline {
   /// The pattern data, as JSON. Each element in this list should be set only from PatternItem.toJson, and the native code must interpret it according to the internal implementation details of that method.
   // TODO(schectman): Convert field to structured data.
   final List<Object?> patterns;
-  final List<PlatformLatLng?> points;
+
+  /// The vertices, as interleaved latitudes and longitudes.
+  final Float64List points;
 
   /// The start and end cap data, as JSON. These should be set only from Cap.toJson, and the native code must interpret it according to the internal implementation details of that method.
   // TODO(schectman): Convert below two fields to structured data.
@@ -420,6 +435,134 @@ class PlatformZoomRange {
   final double? max;
 }
 
+/// Configuration of the cache of tiles received from tile providers.
+class PlatformTileCacheConfiguration {
+  PlatformTileCacheConfiguration({
+    required this.memoryCacheMaxBytes,
+    this.diskCacheMaxBytes,
+  });
+
+  /// The maximum size in bytes of the tiles kept in memory.
+  final int memoryCacheMaxBytes;
+
+  /// The maximum size in bytes of the tiles kept in the app cache directory, or
+  /// null to disable the disk cache.
+  final int? diskCacheMaxBytes;
+}
+
+/// Statistics of the cache of tiles received from tile providers.
+class PlatformTileCacheStats {
+  PlatformTileCacheStats({
+    required this.memoryHitCount,
+    required this.diskHitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.memoryCacheSizeBytes,
+    required this.diskCacheSizeBytes,
+  });
+
+  final int memoryHitCount;
+  final int diskHitCount;
+  final int missCount;
+
+  /// The number of tiles evicted from memory to fit its maximum size.
+  final int evictionCount;
+  final int memoryCacheSizeBytes;
+  final int diskCacheSizeBytes;
+}
+
+/// Configuration of the coalescing of the camera positions sent while the
+/// camera moves.
+class PlatformCameraMoveConfiguration {
+  PlatformCameraMoveConfiguration({
+    required this.minIntervalMilliseconds,
+    required this.minZoomDelta,
+    required this.minBearingDelta,
+    required this.minTargetDistanceMeters,
+  });
+
+  /// The minimum interval between two camera positions.
+  final int minIntervalMilliseconds;
+
+  /// The minimum change of zoom level for a camera position to be sent, or 0 to
+  /// ignore it.
+  final double minZoomDelta;
+
+  /// The minimum change of bearing in degrees for a camera position to be sent,
+  /// or 0 to ignore it.
+  final double minBearingDelta;
+
+  /// The minimum distance in meters between two camera targets for a camera
+  /// position to be sent, or 0 to ignore it.
+  final double minTargetDistanceMeters;
+}
+
+/// Statistics of the cache of the bitmap descriptors of marker icons.
+class PlatformBitmapDescriptorCacheStats {
+  PlatformBitmapDescriptorCacheStats({
+    required this.hitCount,
+    required this.missCount,
+    required this.evictionCount,
+    required this.entryCount,
+    required this.sizeBytes,
+  });
+
+  final int hitCount;
+  final int missCount;
+  final int evictionCount;
+  final int entryCount;
+
+  /// The estimated size in bytes of the cached bitmaps.
+  final int sizeBytes;
+}
+
+/// Configuration of the viewport culling of the markers that do not belong to a
+/// cluster manager.
+class PlatformMarkerCullingConfiguration {
+  PlatformMarkerCullingConfiguration({
+    required this.enabled,
+    required this.visibleRegionMargin,
+  });
+
+  /// Whether only the markers in or near the visible region are added to the
+  /// map.
+  final bool enabled;
+
+  /// The margin around the visible region in which markers are added to the
+  /// map, as a fraction of the size of the visible region on each side.
+  final double visibleRegionMargin;
+}
+
+/// Image formats of map snapshots.
+enum PlatformSnapshotFormat {
+  png,
+  jpeg,
+  webpLossy,
+  webpLossless,
+}
+
+/// Options of the encoding of a map snapshot.
+class PlatformSnapshotOptions {
+  PlatformSnapshotOptions({
+    required this.format,
+    required this.quality,
+    required this.scale,
+    this.filePath,
+  });
+
+  final PlatformSnapshotFormat format;
+
+  /// The quality of lossy formats, from 0 to 100.
+  final int quality;
+
+  /// The factor by which the snapshot is scaled down before it is encoded,
+  /// greater than 0 and at most 1.
+  final double scale;
+
+  /// The path of the file the image is written to, instead of being returned.
+  final String? filePath;
+}
+
 /// Interface for non-test interactions with the native SDK.
 ///
 /// For test-only state queries, see [MapsInspectorApi].
@@ -477,6 +620,11 @@ abstract class MapsApi {
   void updatePolylines(List<PlatformPolyline?> toAdd,
       List<PlatformPolyline?> toChange, List<String?> idsToRemove);
 
+  /// Removes the first [trimCount] points of a polyline, and appends
+  /// [pointsToAppend], as interleaved latitudes and longitudes.
+  void updatePolylinePoints(
+      String polylineId, Float64List pointsToAppend, int trimCount);
+
   /// Updates the set of tile overlays on the map.
   // TODO(stuartmorgan): Make the generic type non-nullable once supported.
   // https://github.com/flutter/flutter/issues/97848
@@ -530,9 +678,31 @@ abstract class MapsApi {
   /// Clears the cache of tiles previously requseted from the tile provider.
   void clearTileCache(String tileOverlayId);
 
+  /// Sets the maximum sizes of the cache of tiles received from tile providers.
+  void setTileCacheConfiguration(PlatformTileCacheConfiguration configuration);
+
+  /// Removes the given tiles from the cache of tiles received from the tile
+  /// provider, so that they are requested again.
+  void invalidateTiles(
+      String tileOverlayId, List<PlatformPoint?> locations, int zoom);
+
+  /// Sets how the camera positions sent while the camera moves are coalesced.
+  void setCameraMoveConfiguration(
+      PlatformCameraMoveConfiguration configuration);
+
+  /// Sets whether only the markers in or near the visible region are added to
+  /// the map.
+  void setMarkerCullingConfiguration(
+      PlatformMarkerCullingConfiguration configuration);
+
   /// Takes a snapshot of the map and returns its image data.
   @async
   Uint8List takeSnapshot();
+
+  /// Takes a snapshot of the map and returns its image data encoded with the
+  /// given options, or null once it is written to the file of the options.
+  @async
+  Uint8List? takeSnapshotWithOptions(PlatformSnapshotOptions options);
 }
 
 @FlutterApi()
@@ -583,6 +753,14 @@ abstract class MapsCallbackApi {
   @async
   PlatformTile getTileOverlayTile(
       String tileOverlayId, PlatformPoint location, int zoom);
+
+  /// Called to get data for several tiles of the same zoom level of a map
+  /// tile overlay, in a single message.
+  ///
+  /// The returned tiles are in the order of [locations].
+  @async
+  List<PlatformTile> getTileOverlayTiles(
+      String tileOverlayId, List<PlatformPoint> locations, int zoom);
 }
 
 /// Interface for global SDK initialization.
@@ -624,6 +802,8 @@ abstract class MapsInspectorApi {
   bool isTrafficEnabled();
   PlatformTileLayer? getTileOverlayInfo(String tileOverlayId);
   PlatformZoomRange getZoomRange();
+  PlatformTileCacheStats getTileCacheStats();
+  PlatformBitmapDescriptorCacheStats getBitmapDescriptorCacheStats();
   // TODO(stuartmorgan): Make the generic type non-nullable once supported.
   // https://github.com/flutter/flutter/issues/97848
   // The consuming code treats the entries as non-nullable.
@@ -2,6 +2,7 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 import 'dart:async';
+import 'dart:math' show Point;
 
 import 'package:async/async.dart';
 import 'package:flutter/services.dart';
@@ -192,6 +193,33 @@ void main() {
     expect(await maps.takeSnapshot(mapId: mapId), fakeSnapshot);
   });
 
+  test('takeSnapshotWithOptions passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    final Uint8List fakeSnapshot = Uint8List(10);
+    when(api.takeSnapshotWithOptions(any))
+        .thenAnswer((_) async => fakeSnapshot);
+
+    expect(
+        await maps.takeSnapshotWithOptions(
+            mapId: mapId,
+            format: AndroidSnapshotFormat.webpLossy,
+            quality: 80,
+            scale: 0.5),
+        fakeSnapshot);
+
+    final VerificationResult verification =
+        verify(api.takeSnapshotWithOptions(captureAny));
+    final PlatformSnapshotOptions options =
+        verification.captured[0] as PlatformSnapshotOptions;
+    expect(options.format, PlatformSnapshotFormat.webpLossy);
+    expect(options.quality, 80);
+    expect(options.scale, 0.5);
+    expect(options.filePath, null);
+  });
+
   test('clearTileCache calls through', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -203,6 +231,85 @@ void main() {
     verify(api.clearTileCache(tileOverlayId));
   });
 
+  test('setTileCacheConfiguration passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    await maps.setTileCacheConfiguration(
+        mapId: mapId, memoryCacheMaxBytes: 1024, diskCacheMaxBytes: 4096);
+
+    final VerificationResult verification =
+        verify(api.setTileCacheConfiguration(captureAny));
+    final PlatformTileCacheConfiguration passedConfiguration =
+        verification.captured[0] as PlatformTileCacheConfiguration;
+    expect(passedConfiguration.memoryCacheMaxBytes, 1024);
+    expect(passedConfiguration.diskCacheMaxBytes, 4096);
+  });
+
+  test('invalidateTiles passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    const String tileOverlayId = 'overlay';
+    await maps.invalidateTiles(const TileOverlayId(tileOverlayId),
+        const <Point<int>>[Point<int>(1, 2), Point<int>(3, 4)], 5,
+        mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.invalidateTiles(tileOverlayId, captureAny, 5));
+    final List<PlatformPoint?> passedLocations =
+        verification.captured[0] as List<PlatformPoint?>;
+    expect(passedLocations.length, 2);
+    expect(passedLocations[0]?.x, 1);
+    expect(passedLocations[0]?.y, 2);
+    expect(passedLocations[1]?.x, 3);
+    expect(passedLocations[1]?.y, 4);
+  });
+
+  test('setCameraMoveConfiguration passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    await maps.setCameraMoveConfiguration(
+      mapId: mapId,
+      minInterval: const Duration(milliseconds: 100),
+      minZoomDelta: 0.5,
+      minBearingDelta: 10,
+      minTargetDistanceMeters: 25,
+    );
+
+    final VerificationResult verification =
+        verify(api.setCameraMoveConfiguration(captureAny));
+    final PlatformCameraMoveConfiguration passedConfiguration =
+        verification.captured[0] as PlatformCameraMoveConfiguration;
+    expect(passedConfiguration.minIntervalMilliseconds, 100);
+    expect(passedConfiguration.minZoomDelta, 0.5);
+    expect(passedConfiguration.minBearingDelta, 10);
+    expect(passedConfiguration.minTargetDistanceMeters, 25);
+  });
+
+  test('setMarkerCullingConfiguration passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    await maps.setMarkerCullingConfiguration(
+      mapId: mapId,
+      enabled: true,
+      visibleRegionMargin: 0.25,
+    );
+
+    final VerificationResult verification =
+        verify(api.setMarkerCullingConfiguration(captureAny));
+    final PlatformMarkerCullingConfiguration passedConfiguration =
+        verification.captured[0] as PlatformMarkerCullingConfiguration;
+    expect(passedConfiguration.enabled, true);
+    expect(passedConfiguration.visibleRegionMargin, 0.25);
+  });
+
   test('updateMapConfiguration passes expected arguments', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -342,6 +449,39 @@ void main() {
     }
   });
 
+  test('updateHeatmaps sends the heatmap data packed', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    const Heatmap object1 = Heatmap(
+      heatmapId: HeatmapId('1'),
+      data: <WeightedLatLng>[
+        WeightedLatLng(LatLng(10, 20), weight: 2),
+        WeightedLatLng(LatLng(30, 40), weight: 3),
+      ],
+      radius: HeatmapRadius.fromPixels(20),
+      opacity: 0.5,
+    );
+    await maps.updateHeatmaps(
+        HeatmapUpdates.from(const <Heatmap>{}, const <Heatmap>{object1}),
+        mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.updateHeatmaps(captureAny, captureAny, captureAny));
+    final List<PlatformHeatmap?> toAdd =
+        verification.captured[0] as List<PlatformHeatmap?>;
+    expect(toAdd.length, 1);
+    expect(toAdd.first?.weightedData,
+        Float64List.fromList(<double>[10, 20, 2, 30, 40, 3]));
+    // The data is only sent packed.
+    expect(toAdd.first?.json, <String, Object?>{
+      'heatmapId': '1',
+      'opacity': 0.5,
+      'radius': 20,
+    });
+  });
+
   test('updateClusterManagers passes expected arguments', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -465,7 +605,13 @@ void main() {
     const Polygon object1 = Polygon(polygonId: PolygonId('1'));
     const Polygon object2old = Polygon(polygonId: PolygonId('2'));
     final Polygon object2new = object2old.copyWith(strokeWidthParam: 42);
-    const Polygon object3 = Polygon(polygonId: PolygonId('3'));
+    const Polygon object3 = Polygon(
+      polygonId: PolygonId('3'),
+      points: <LatLng>[LatLng(10, 20), LatLng(30, 40), LatLng(50, 60)],
+      holes: <List<LatLng>>[
+        <LatLng>[LatLng(20, 30), LatLng(25, 35), LatLng(30, 30)],
+      ],
+    );
     await maps.updatePolygons(
         PolygonUpdates.from(
             <Polygon>{object1, object2old}, <Polygon>{object2new, object3}),
@@ -489,19 +635,8 @@ void main() {
         expected.fillColor.value,
         expected.geodesic,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
-      expect(actual.holes.length, expected.holes.length);
-      for (final (int i, List<PlatformLatLng?>? hole) in actual.holes.indexed) {
-        final List<LatLng> expectedHole = expected.holes[i];
-        for (final (int j, PlatformLatLng? point) in hole!.indexed) {
-          expect(point?.latitude, expectedHole[j].latitude);
-          expect(point?.longitude, expectedHole[j].longitude);
-        }
-      }
+      expect(actual.points, _packedLatLngs(expected.points));
+      expect(actual.holes, expected.holes.map(_packedLatLngs).toList());
       expect(encoded.sublist(6), <Object>[
         expected.visible,
         expected.strokeColor.value,
@@ -526,7 +661,10 @@ void main() {
     const Polyline object1 = Polyline(polylineId: PolylineId('1'));
     const Polyline object2old = Polyline(polylineId: PolylineId('2'));
     final Polyline object2new = object2old.copyWith(widthParam: 42);
-    const Polyline object3 = Polyline(polylineId: PolylineId('3'));
+    const Polyline object3 = Polyline(
+      polylineId: PolylineId('3'),
+      points: <LatLng>[LatLng(10, 20), LatLng(30, 40), LatLng(50, 60)],
+    );
     await maps.updatePolylines(
         PolylineUpdates.from(
             <Polyline>{object1, object2old}, <Polyline>{object2new, object3}),
@@ -553,11 +691,7 @@ void main() {
         expected.width,
         expected.zIndex,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
+      expect(actual.points, _packedLatLngs(expected.points));
       expect(actual.patterns.length, expected.patterns.length);
       for (final (int i, Object? pattern) in actual.patterns.indexed) {
         expect(pattern, expected.patterns[i].toJson());
@@ -575,6 +709,25 @@ void main() {
     expectPolyline(toAdd.first!, object3);
   });
 
+  test('updatePolylinePoints passes expected arguments', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    await maps.updatePolylinePoints(
+      const PolylineId('1'),
+      mapId: mapId,
+      pointsToAppend: const <LatLng>[LatLng(10, 20), LatLng(30, 40)],
+      trimCount: 3,
+    );
+
+    final VerificationResult verification =
+        verify(api.updatePolylinePoints(captureAny, captureAny, captureAny));
+    expect(verification.captured[0], '1');
+    expect(verification.captured[1], <double>[10, 20, 30, 40]);
+    expect(verification.captured[2], 3);
+  });
+
   test('updateTileOverlays passes expected arguments', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -623,6 +776,42 @@ void main() {
     expectTileOverlay(toAdd.first, object3);
   });
 
+  test('getTileOverlayTiles returns the tiles of every location in order',
+      () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, _) = setUpMockMap(mapId: mapId);
+    final HostMapMessageHandler callbackHandler =
+        maps.ensureHandlerInitialized(mapId);
+    await maps.updateTileOverlays(newTileOverlays: <TileOverlay>{
+      TileOverlay(
+          tileOverlayId: const TileOverlayId('1'),
+          tileProvider: _CoordinatesTileProvider()),
+    }, mapId: mapId);
+
+    final List<PlatformTile> tiles = await callbackHandler.getTileOverlayTiles(
+        '1',
+        <PlatformPoint>[PlatformPoint(x: 1, y: 2), PlatformPoint(x: 3, y: 4)],
+        5);
+
+    expect(tiles.length, 2);
+    expect(tiles[0].data, <int>[1, 2, 5]);
+    expect(tiles[1].data, <int>[3, 4, 5]);
+  });
+
+  test('getTileOverlayTiles returns no tiles for an unknown tile overlay',
+      () async {
+    const int mapId = 1;
+    final GoogleMapsFlutterAndroid maps = GoogleMapsFlutterAndroid();
+    final HostMapMessageHandler callbackHandler =
+        maps.ensureHandlerInitialized(mapId);
+
+    final List<PlatformTile> tiles = await callbackHandler.getTileOverlayTiles(
+        'unknown', <PlatformPoint>[PlatformPoint(x: 1, y: 2)], 5);
+
+    expect(tiles.length, 1);
+    expect(tiles[0].data, isNull);
+  });
+
   test('markers send drag event to correct streams', () async {
     const int mapId = 1;
     const String dragStartId = 'drag-start-marker';
@@ -846,3 +1035,20 @@ void main() {
     );
   });
 }
+
+/// Returns [latLngs] as interleaved latitudes and longitudes.
+Float64List _packedLatLngs(List<LatLng> latLngs) {
+  return Float64List.fromList(<double>[
+    for (final LatLng latLng in latLngs) ...<double>[
+      latLng.latitude,
+      latLng.longitude,
+    ],
+  ]);
+}
+
+class _CoordinatesTileProvider implements TileProvider {
+  @override
+  Future<Tile> getTile(int x, int y, int? zoom) async {
+    return Tile(1, 1, Uint8List.fromList(<int>[x, y, zoom!]));
+  }
+}
@@ -192,6 +192,25 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub: _i3.Future<void>.value(),
       ) as _i3.Future<void>);
 
+  @override
+  _i3.Future<void> updatePolylinePoints(
+    String? polylineId,
+    _i4.Float64List? pointsToAppend,
+    int? trimCount,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #updatePolylinePoints,
+          [
+            polylineId,
+            pointsToAppend,
+            trimCount,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
   @override
   _i3.Future<void> updateTileOverlays(
     List<_i2.PlatformTileOverlay?>? toAdd,
@@ -378,6 +397,61 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub: _i3.Future<void>.value(),
       ) as _i3.Future<void>);
 
+  @override
+  _i3.Future<void> setTileCacheConfiguration(
+          _i2.PlatformTileCacheConfiguration? configuration) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setTileCacheConfiguration,
+          [configuration],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> invalidateTiles(
+    String? tileOverlayId,
+    List<_i2.PlatformPoint?>? locations,
+    int? zoom,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #invalidateTiles,
+          [
+            tileOverlayId,
+            locations,
+            zoom,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> setCameraMoveConfiguration(
+          _i2.PlatformCameraMoveConfiguration? configuration) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setCameraMoveConfiguration,
+          [configuration],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> setMarkerCullingConfiguration(
+          _i2.PlatformMarkerCullingConfiguration? configuration) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setMarkerCullingConfiguration,
+          [configuration],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
   @override
   _i3.Future<_i4.Uint8List> takeSnapshot() => (super.noSuchMethod(
         Invocation.method(
@@ -388,4 +462,16 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub:
             _i3.Future<_i4.Uint8List>.value(_i4.Uint8List(0)),
       ) as _i3.Future<_i4.Uint8List>);
+
+  @override
+  _i3.Future<_i4.Uint8List?> takeSnapshotWithOptions(
+          _i2.PlatformSnapshotOptions? options) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #takeSnapshotWithOptions,
+          [options],
+        ),
+        returnValue: _i3.Future<_i4.Uint8List?>.value(),
+        returnValueForMissingStub: _i3.Future<_i4.Uint8List?>.value(),
+      ) as _i3.Future<_i4.Uint8List?>);
 }
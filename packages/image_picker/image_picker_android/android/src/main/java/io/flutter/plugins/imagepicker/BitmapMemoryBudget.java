@@ -0,0 +1,65 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+/**
+ * Bounds the memory of the bitmaps allocated by the images being resized at the same time.
+ *
+ * <p>Bitmap pixels are allocated outside of the Java heap since API 26, so the budget is a fixed
+ * number of bytes rather than a fraction of {@link Runtime#maxMemory()}. Each image reserves the
+ * size of the bitmaps it decodes at its target size before decoding them, and waits until enough
+ * of the budget is released by the other images. An image larger than the whole budget is resized
+ * alone, so that it can still be resized.
+ */
+class BitmapMemoryBudget {
+  private final long capacityBytes;
+  private long reservedBytes;
+
+  /**
+   * Creates a budget of {@code capacityBytes}.
+   *
+   * @throws IllegalArgumentException if {@code capacityBytes} is less than 1.
+   */
+  BitmapMemoryBudget(long capacityBytes) {
+    if (capacityBytes < 1) {
+      throw new IllegalArgumentException(
+          "capacityBytes must be at least 1, but was " + capacityBytes);
+    }
+    this.capacityBytes = capacityBytes;
+  }
+
+  /**
+   * Reserves {@code byteCount} bytes, waiting until they fit in the budget or nothing else is
+   * reserved.
+   *
+   * <p>The wait is not interrupted, so that the reservation is always made and must always be
+   * released, but the interrupted status of the thread is kept.
+   */
+  synchronized void reserve(long byteCount) {
+    boolean interrupted = false;
+    while (reservedBytes > 0 && reservedBytes + byteCount > capacityBytes) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    reservedBytes += byteCount;
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Releases {@code byteCount} bytes reserved by {@link #reserve}. */
+  synchronized void release(long byteCount) {
+    reservedBytes -= byteCount;
+    notifyAll();
+  }
+
+  /** Returns the number of bytes currently reserved. */
+  synchronized long getReservedBytes() {
+    return reservedBytes;
+  }
+}
@@ -25,19 +25,24 @@ package io.flutter.plugins.imagepicker;
 
 import android.content.ContentResolver;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.database.Cursor;
 import android.net.Uri;
 import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 import io.flutter.Log;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.UUID;
 
 class FileUtils {
+  /** The size of the chunks in which files are copied, large enough to copy videos quickly. */
+  private static final int COPY_CHUNK_SIZE = 1024 * 1024;
+
   /**
    * Copies the file from the given content URI to a temporary directory, retaining the original
    * file name if possible.
@@ -50,6 +55,9 @@ class FileUtils {
    *
    * <p>If the original file name is unknown, a predefined "image_picker" filename is used and the
    * file extension is deduced from the mime type (with fallback to ".jpg" in case of failure).
+   *
+   * <p>The content is transferred directly between file descriptors when it is backed by a whole
+   * file, and in large chunks otherwise.
    */
   String getPathFromUri(final Context context, final Uri uri) {
     try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
@@ -59,18 +67,8 @@ class FileUtils {
       // TODO(SynSzakala) according to the docs, `deleteOnExit` does not work reliably on Android; we should preferably
       //  just clear the picked files after the app startup.
       targetDirectory.deleteOnExit();
-      String fileName = getImageName(context, uri);
-      String extension = getImageExtension(context, uri);
-
-      if (fileName == null) {
-        Log.w("FileUtils", "Cannot get file name for " + uri);
-        if (extension == null) extension = ".jpg";
-        fileName = "image_picker" + extension;
-      } else if (extension != null) {
-        fileName = getBaseName(fileName) + extension;
-      }
-      File file = new File(targetDirectory, fileName);
-      try (OutputStream outputStream = new FileOutputStream(file)) {
+      File file = new File(targetDirectory, getFileName(context, uri));
+      try (FileOutputStream outputStream = new FileOutputStream(file)) {
         copy(inputStream, outputStream);
         return file.getPath();
       }
@@ -89,6 +87,24 @@ class FileUtils {
     }
   }
 
+  /**
+   * Returns the name of the file copied from the given content URI by {@link #getPathFromUri},
+   * retaining the original file name if possible, with the extension of its MIME type if known.
+   */
+  String getFileName(final Context context, final Uri uri) {
+    String fileName = getImageName(context, uri);
+    String extension = getImageExtension(context, uri);
+
+    if (fileName == null) {
+      Log.w("FileUtils", "Cannot get file name for " + uri);
+      if (extension == null) extension = ".jpg";
+      fileName = "image_picker" + extension;
+    } else if (extension != null) {
+      fileName = getBaseName(fileName) + extension;
+    }
+    return fileName;
+  }
+
   /** @return extension of image with dot, or null if it's empty. */
   private static String getImageExtension(Context context, Uri uriImage) {
     String extension;
@@ -127,8 +143,15 @@ class FileUtils {
         .query(uriImage, new String[] {MediaStore.MediaColumns.DISPLAY_NAME}, null, null, null);
   }
 
-  private static void copy(InputStream in, OutputStream out) throws IOException {
-    final byte[] buffer = new byte[4 * 1024];
+  private static void copy(InputStream in, FileOutputStream out) throws IOException {
+    // The stream of an AssetFileDescriptor only reads a range of its file, unlike its channel.
+    boolean isWholeFile =
+        in instanceof FileInputStream && !(in instanceof AssetFileDescriptor.AutoCloseInputStream);
+    if (isWholeFile) {
+      transfer(((FileInputStream) in).getChannel(), out.getChannel());
+    }
+    // Copies what could not be transferred, such as content streamed through a pipe.
+    final byte[] buffer = new byte[COPY_CHUNK_SIZE];
     int bytesRead;
     while ((bytesRead = in.read(buffer)) != -1) {
       out.write(buffer, 0, bytesRead);
@@ -136,6 +159,31 @@ class FileUtils {
     out.flush();
   }
 
+  /**
+   * Transfers the content of the given source file to the target file, without copying it through
+   * the Java heap, and leaves the target positioned at its end.
+   */
+  private static void transfer(FileChannel source, FileChannel target) throws IOException {
+    long remaining;
+    try {
+      remaining = source.size() - source.position();
+    } catch (IOException e) {
+      // The source is not a file, for example a pipe, and is copied as a stream instead.
+      return;
+    }
+    long position = target.position();
+    while (remaining > 0) {
+      long transferred =
+          target.transferFrom(source, position, Math.min(remaining, COPY_CHUNK_SIZE));
+      if (transferred <= 0) {
+        break;
+      }
+      position += transferred;
+      remaining -= transferred;
+    }
+    target.position(position);
+  }
+
   private static String getBaseName(String fileName) {
     int lastDotIndex = fileName.lastIndexOf('.');
     if (lastDotIndex < 0) {
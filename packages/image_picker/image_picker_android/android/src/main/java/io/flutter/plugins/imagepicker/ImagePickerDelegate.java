@@ -116,6 +116,7 @@ public class ImagePickerDelegate
   private final FileUriResolver fileUriResolver;
   private final FileUtils fileUtils;
   private final ExecutorService executor;
+  private final MediaProcessingPipeline mediaProcessingPipeline;
   private CameraDevice cameraDevice;
 
   interface PermissionManager {
@@ -184,7 +185,8 @@ public class ImagePickerDelegate
           }
         },
         new FileUtils(),
-        Executors.newSingleThreadExecutor());
+        Executors.newSingleThreadExecutor(),
+        new MediaProcessingPipeline(MediaProcessingPipeline.defaultMaxInFlight()));
   }
 
   /**
@@ -202,7 +204,8 @@ public class ImagePickerDelegate
       final PermissionManager permissionManager,
       final FileUriResolver fileUriResolver,
       final FileUtils fileUtils,
-      final ExecutorService executor) {
+      final ExecutorService executor,
+      final MediaProcessingPipeline mediaProcessingPipeline) {
     this.activity = activity;
     this.imageResizer = imageResizer;
     this.fileProviderName = activity.getPackageName() + ".flutter.image_provider";
@@ -215,6 +218,7 @@ public class ImagePickerDelegate
     this.fileUtils = fileUtils;
     this.cache = cache;
     this.executor = executor;
+    this.mediaProcessingPipeline = mediaProcessingPipeline;
   }
 
   void setCameraDevice(CameraDevice device) {
@@ -273,6 +277,7 @@ public class ImagePickerDelegate
 
         newPathList.add(imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality));
       }
+      imageResizer.releaseReusableBitmaps();
       result.setPaths(newPathList);
     }
 
@@ -638,8 +643,17 @@ public class ImagePickerDelegate
     return true;
   }
 
+  /**
+   * Returns the paths of the media of the given intent, or null if any of them cannot be found.
+   *
+   * <p>If image options are given, the images that need to be resized are resized directly from
+   * their content URIs when possible, rather than from copies.
+   */
   @Nullable
-  private ArrayList<MediaPath> getPathsFromIntent(@NonNull Intent data, boolean includeMimeType) {
+  private ArrayList<MediaPath> getPathsFromIntent(
+      @NonNull Intent data,
+      boolean includeMimeType,
+      @Nullable ImageSelectionOptions imageOptions) {
     ArrayList<MediaPath> paths = new ArrayList<>();
 
     Uri uri = data.getData();
@@ -661,27 +675,63 @@ public class ImagePickerDelegate
         if (uri == null) {
           return null;
         }
-        String path = fileUtils.getPathFromUri(activity, uri);
+        String mimeType = includeMimeType ? activity.getContentResolver().getType(uri) : null;
+        MediaPath path = getMediaPathFromUri(uri, mimeType, imageOptions);
         // Again, same error state as above.
         if (path == null) {
           return null;
         }
-        String mimeType = includeMimeType ? activity.getContentResolver().getType(uri) : null;
-        paths.add(new MediaPath(path, mimeType));
+        paths.add(path);
       }
     } else {
-      String path = fileUtils.getPathFromUri(activity, uri);
+      MediaPath path = getMediaPathFromUri(uri, null, imageOptions);
       if (path == null) {
         return null;
       }
-      paths.add(new MediaPath(path, null));
+      paths.add(path);
     }
     return paths;
   }
 
+  /**
+   * Returns the path of the media of the given content URI, or null if it cannot be found.
+   *
+   * <p>If image options are given and the media is an image that needs to be resized, it is
+   * decoded directly from its content URI when possible, so that it is not copied before being
+   * resized, and the path of the resized image is returned.
+   */
+  @Nullable
+  private MediaPath getMediaPathFromUri(
+      @NonNull Uri uri, @Nullable String mimeType, @Nullable ImageSelectionOptions imageOptions) {
+    if (imageOptions != null && (mimeType == null || !mimeType.startsWith("video/"))) {
+      String fileName = fileUtils.getFileName(activity, uri);
+      String resizedPath =
+          fileName == null
+              ? null
+              : imageResizer.resizeImageFromUriIfNeeded(
+                  uri,
+                  fileName,
+                  imageOptions.getMaxWidth(),
+                  imageOptions.getMaxHeight(),
+                  imageOptions.getQuality().intValue());
+      if (resizedPath != null) {
+        return new MediaPath(resizedPath, mimeType, true);
+      }
+    }
+    String path = fileUtils.getPathFromUri(activity, uri);
+    return path == null ? null : new MediaPath(path, mimeType);
+  }
+
+  @Nullable
+  private ImageSelectionOptions getPendingImageOptions() {
+    synchronized (pendingCallStateLock) {
+      return pendingCallState != null ? pendingCallState.imageOptions : null;
+    }
+  }
+
   private void handleChooseImageResult(int resultCode, Intent data) {
     if (resultCode == Activity.RESULT_OK && data != null) {
-      ArrayList<MediaPath> paths = getPathsFromIntent(data, false);
+      ArrayList<MediaPath> paths = getPathsFromIntent(data, false, getPendingImageOptions());
       // If there's no valid Uri, return an error
       if (paths == null) {
         finishWithError("no_valid_image_uri", "Cannot find the selected image.");
@@ -698,12 +748,19 @@ public class ImagePickerDelegate
 
   public class MediaPath {
     public MediaPath(@NonNull String path, @Nullable String mimeType) {
+      this(path, mimeType, false);
+    }
+
+    MediaPath(@NonNull String path, @Nullable String mimeType, boolean isResized) {
       this.path = path;
       this.mimeType = mimeType;
+      this.isResized = isResized;
     }
 
     final String path;
     final String mimeType;
+    // Whether the media is an image already resized from its content URI.
+    final boolean isResized;
 
     public @NonNull String getPath() {
       return path;
@@ -716,7 +773,13 @@ public class ImagePickerDelegate
 
   private void handleChooseMediaResult(int resultCode, Intent intent) {
     if (resultCode == Activity.RESULT_OK && intent != null) {
-      ArrayList<MediaPath> paths = getPathsFromIntent(intent, true);
+      ClipData multipleSelection = getMultipleSelection(intent);
+      if (multipleSelection != null) {
+        handleMultipleMediaResult(
+            multipleSelection, true, "no_valid_media_uri", "Cannot find the selected media.");
+        return;
+      }
+      ArrayList<MediaPath> paths = getPathsFromIntent(intent, true, getPendingImageOptions());
       // If there's no valid Uri, return an error
       if (paths == null) {
         finishWithError("no_valid_media_uri", "Cannot find the selected media.");
@@ -733,7 +796,16 @@ public class ImagePickerDelegate
 
   private void handleChooseMultiImageResult(int resultCode, Intent intent) {
     if (resultCode == Activity.RESULT_OK && intent != null) {
-      ArrayList<MediaPath> paths = getPathsFromIntent(intent, false);
+      ClipData multipleSelection = getMultipleSelection(intent);
+      if (multipleSelection != null) {
+        handleMultipleMediaResult(
+            multipleSelection,
+            false,
+            "missing_valid_image_uri",
+            "Cannot find at least one of the selected images.");
+        return;
+      }
+      ArrayList<MediaPath> paths = getPathsFromIntent(intent, false, getPendingImageOptions());
       // If there's no valid Uri, return an error
       if (paths == null) {
         finishWithError(
@@ -751,7 +823,7 @@ public class ImagePickerDelegate
 
   private void handleChooseVideoResult(int resultCode, Intent data) {
     if (resultCode == Activity.RESULT_OK && data != null) {
-      ArrayList<MediaPath> paths = getPathsFromIntent(data, false);
+      ArrayList<MediaPath> paths = getPathsFromIntent(data, false, null);
       // If there's no valid Uri, return an error
       if (paths == null || paths.size() < 1) {
         finishWithError("no_valid_video_uri", "Cannot find the selected video.");
@@ -807,6 +879,7 @@ public class ImagePickerDelegate
 
     if (localImageOptions != null) {
       String finalImagePath = getResizedImagePath(path, localImageOptions);
+      imageResizer.releaseReusableBitmaps();
       // Delete original file if scaled.
       if (finalImagePath != null && !finalImagePath.equals(path) && shouldDeleteOriginalIfScaled) {
         new File(path).delete();
@@ -834,22 +907,81 @@ public class ImagePickerDelegate
     }
 
     ArrayList<String> finalPaths = new ArrayList<>();
-    if (localImageOptions != null) {
-      for (int i = 0; i < paths.size(); i++) {
-        MediaPath path = paths.get(i);
-        String finalPath = path.path;
-        if (path.mimeType == null || !path.mimeType.startsWith("video/")) {
-          finalPath = getResizedImagePath(path.path, localImageOptions);
-        }
-        finalPaths.add(finalPath);
-      }
-      finishWithListSuccess(finalPaths);
-    } else {
-      for (int i = 0; i < paths.size(); i++) {
-        finalPaths.add(paths.get(i).path);
+    for (int i = 0; i < paths.size(); i++) {
+      finalPaths.add(getFinalPath(paths.get(i), localImageOptions));
+    }
+    imageResizer.releaseReusableBitmaps();
+    finishWithListSuccess(finalPaths);
+  }
+
+  /** Returns the path of the given media, resized if it is an image and options are given. */
+  private String getFinalPath(
+      @NonNull MediaPath path, @Nullable ImageSelectionOptions localImageOptions) {
+    if (localImageOptions == null
+        || path.isResized
+        || (path.mimeType != null && path.mimeType.startsWith("video/"))) {
+      return path.path;
+    }
+    return getResizedImagePath(path.path, localImageOptions);
+  }
+
+  /**
+   * Returns the items of the given intent if it holds a selection of multiple items, or null if it
+   * holds a single one.
+   */
+  @Nullable
+  private static ClipData getMultipleSelection(@NonNull Intent data) {
+    if (data.getData() != null) {
+      return null;
+    }
+    ClipData clipData = data.getClipData();
+    if (clipData == null || clipData.getItemCount() < 2) {
+      return null;
+    }
+    return clipData;
+  }
+
+  /**
+   * Copies and resizes the items of a multiple selection through the {@link
+   * MediaProcessingPipeline}, and finishes with their paths in the order of the selection, or with
+   * the given error if any of them cannot be found, in which case the files of the other items are
+   * deleted.
+   */
+  private void handleMultipleMediaResult(
+      @NonNull ClipData clipData,
+      boolean includeMimeType,
+      @NonNull String errorCode,
+      @NonNull String errorMessage) {
+    ImageSelectionOptions localImageOptions = null;
+    synchronized (pendingCallStateLock) {
+      if (pendingCallState != null) {
+        localImageOptions = pendingCallState.imageOptions;
       }
-      finishWithListSuccess(finalPaths);
     }
+
+    final ImageSelectionOptions imageOptions = localImageOptions;
+    List<String> finalPaths =
+        mediaProcessingPipeline.process(
+            clipData.getItemCount(),
+            index -> {
+              Uri uri = clipData.getItemAt(index).getUri();
+              if (uri == null) {
+                return null;
+              }
+              String mimeType = includeMimeType ? activity.getContentResolver().getType(uri) : null;
+              MediaPath path = getMediaPathFromUri(uri, mimeType, imageOptions);
+              if (path == null) {
+                return null;
+              }
+              return getFinalPath(path, imageOptions);
+            },
+            finalPath -> new File(finalPath).delete());
+    imageResizer.releaseReusableBitmaps();
+    if (finalPaths == null) {
+      finishWithError(errorCode, errorMessage);
+      return;
+    }
+    finishWithListSuccess(new ArrayList<>(finalPaths));
   }
 
   private boolean setPendingOptionsAndResult(
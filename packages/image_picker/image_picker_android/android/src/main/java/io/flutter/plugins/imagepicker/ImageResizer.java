@@ -4,23 +4,39 @@
 
 package io.flutter.plugins.imagepicker;
 
+import android.content.ContentResolver;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.util.SizeFCompat;
 import androidx.exifinterface.media.ExifInterface;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.UUID;
 
 class ImageResizer {
+  /**
+   * The memory that the bitmaps of the images being resized at the same time may use, which is
+   * fixed rather than configurable.
+   */
+  private static final long MAX_BITMAP_BYTES = 128L * 1024 * 1024;
+
   private final Context context;
   private final ExifDataCopier exifDataCopier;
+  private final BitmapMemoryBudget bitmapMemoryBudget = new BitmapMemoryBudget(MAX_BITMAP_BYTES);
+  private final ReusableBitmaps reusableBitmaps = new ReusableBitmaps();
 
   ImageResizer(final @NonNull Context context, final @NonNull ExifDataCopier exifDataCopier) {
     this.context = context;
@@ -39,47 +55,234 @@ class ImageResizer {
     if (originalSize.getWidth() == -1 || originalSize.getHeight() == -1) {
       return imagePath;
     }
-    boolean shouldScale = maxWidth != null || maxHeight != null || imageQuality < 100;
-    if (!shouldScale) {
+    if (!shouldScale(maxWidth, maxHeight, imageQuality)) {
       return imagePath;
     }
     try {
       String[] pathParts = imagePath.split("/");
       String imageName = pathParts[pathParts.length - 1];
-      SizeFCompat targetSize =
-          calculateTargetSize(
-              (double) originalSize.getWidth(),
-              (double) originalSize.getHeight(),
+      String resizedImagePath =
+          resizeImage(
+              options -> decodeFile(imagePath, options),
+              () -> new ExifInterface(imagePath),
+              originalSize,
+              imageName,
               maxWidth,
-              maxHeight);
-      BitmapFactory.Options options = new BitmapFactory.Options();
-      options.inSampleSize =
-          calculateSampleSize(options, (int) targetSize.getWidth(), (int) targetSize.getHeight());
-      Bitmap bmp = decodeFile(imagePath, options);
-      if (bmp == null) {
-        return imagePath;
-      }
-      File file =
-          resizedImage(
-              bmp,
-              (double) targetSize.getWidth(),
-              (double) targetSize.getHeight(),
-              imageQuality,
-              imageName);
-      copyExif(imagePath, file.getPath());
-      return file.getPath();
+              maxHeight,
+              imageQuality);
+      return resizedImagePath == null ? imagePath : resizedImagePath;
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * If necessary, resizes the image of the given content URI and then returns the path for the
+   * scaled image.
+   *
+   * <p>The image is decoded directly from the file descriptor of the content, so that it does not
+   * need to be copied before being resized.
+   *
+   * @param imageName the name of the scaled image file, without the "scaled_" prefix.
+   * @return the path for the scaled image, or null if no resizing is needed or the content cannot
+   *     be decoded, in which case it should be copied and resized from its copy.
+   */
+  @Nullable
+  String resizeImageFromUriIfNeeded(
+      @NonNull Uri uri,
+      @NonNull String imageName,
+      @Nullable Double maxWidth,
+      @Nullable Double maxHeight,
+      int imageQuality) {
+    if (!shouldScale(maxWidth, maxHeight, imageQuality)) {
+      return null;
+    }
+    ContentResolver contentResolver = context.getContentResolver();
+    BitmapSource source = options -> decodeUri(contentResolver, uri, options);
+    try {
+      BitmapFactory.Options boundsOptions = new BitmapFactory.Options();
+      boundsOptions.inJustDecodeBounds = true;
+      source.decode(boundsOptions);
+      if (boundsOptions.outWidth <= 0 || boundsOptions.outHeight <= 0) {
+        return null;
+      }
+      return resizeImage(
+          source,
+          () -> {
+            try (InputStream inputStream = contentResolver.openInputStream(uri)) {
+              if (inputStream == null) {
+                throw new IOException("Cannot open " + uri);
+              }
+              return new ExifInterface(inputStream);
+            }
+          },
+          new SizeFCompat(boundsOptions.outWidth, boundsOptions.outHeight),
+          imageName,
+          maxWidth,
+          maxHeight,
+          imageQuality);
+    } catch (IOException | SecurityException e) {
+      Log.w("ImageResizer", "Cannot resize " + uri + " directly, it will be copied first: " + e);
+      return null;
+    }
+  }
+
+  private static boolean shouldScale(
+      @Nullable Double maxWidth, @Nullable Double maxHeight, int imageQuality) {
+    return maxWidth != null || maxHeight != null || imageQuality < 100;
+  }
+
+  /**
+   * Resizes the image decoded from the given source, and returns the path for the scaled image, or
+   * null if it cannot be decoded.
+   *
+   * <p>The image is decoded directly at about the target size, using a power of two sample size
+   * followed by density scaling, into a bitmap reused from previous resizes when possible. It is
+   * then compressed directly into the output file, so that the memory used for each image is
+   * bounded by its target size rather than by its original size. The bitmaps of the image are
+   * reserved in the {@link BitmapMemoryBudget} before decoding it, so that the images resized at
+   * the same time do not use more than {@link #MAX_BITMAP_BYTES} together.
+   */
+  @Nullable
+  private String resizeImage(
+      @NonNull BitmapSource source,
+      @NonNull ExifSource exifSource,
+      @NonNull SizeFCompat originalSize,
+      @NonNull String imageName,
+      @Nullable Double maxWidth,
+      @Nullable Double maxHeight,
+      int imageQuality)
+      throws IOException {
+    SizeFCompat targetSize =
+        calculateTargetSize(
+            (double) originalSize.getWidth(),
+            (double) originalSize.getHeight(),
+            maxWidth,
+            maxHeight);
+    int targetWidth = (int) targetSize.getWidth();
+    int targetHeight = (int) targetSize.getHeight();
+    BitmapFactory.Options options =
+        createDecodeOptions(
+            (int) originalSize.getWidth(),
+            (int) originalSize.getHeight(),
+            targetWidth,
+            targetHeight);
+    long decodedByteCount =
+        estimateDecodedByteCount(
+            (int) originalSize.getWidth(), (int) originalSize.getHeight(), options);
+    // The decoded bitmap, and the bitmap it is scaled to when the decoder misses the target size.
+    long reservedByteCount = decodedByteCount + (long) targetWidth * targetHeight * 4;
+    File file;
+    bitmapMemoryBudget.reserve(reservedByteCount);
+    try {
+      Bitmap bmp = decodeReusingBitmap(source, options, decodedByteCount);
+      if (bmp == null) {
+        return null;
+      }
+      file = resizedImage(bmp, targetWidth, targetHeight, imageQuality, imageName);
+    } finally {
+      bitmapMemoryBudget.release(reservedByteCount);
+    }
+    copyExif(exifSource, file.getPath());
+    return file.getPath();
+  }
+
+  /**
+   * Releases the bitmaps kept for reuse by later resizes, once a selection has been resized.
+   */
+  void releaseReusableBitmaps() {
+    reusableBitmaps.clear();
+  }
+
+  /**
+   * Writes the bitmap scaled to the given size to {cacheDir}/{randomUuid}/scaled_{outputImageName},
+   * so that images with the same name resized at the same time do not overwrite each other.
+   */
   private File resizedImage(
-      Bitmap bmp, Double width, Double height, int imageQuality, String outputImageName)
+      Bitmap bmp, int width, int height, int imageQuality, String outputImageName)
       throws IOException {
-    Bitmap scaledBmp = createScaledBitmap(bmp, width.intValue(), height.intValue(), false);
-    File file =
-        createImageOnExternalDirectory("/scaled_" + outputImageName, scaledBmp, imageQuality);
-    return file;
+    // The decoder only approximates the target size, in which case the decoded bitmap, which is
+    // already about the target size, is scaled to it exactly.
+    Bitmap scaledBmp =
+        bmp.getWidth() == width && bmp.getHeight() == height
+            ? bmp
+            : createScaledBitmap(bmp, width, height, false);
+    try {
+      String name = UUID.randomUUID().toString() + "/scaled_" + outputImageName;
+      return createImageOnExternalDirectory(name, scaledBmp, imageQuality);
+    } finally {
+      if (scaledBmp != bmp) {
+        scaledBmp.recycle();
+      }
+      reusableBitmaps.release(bmp);
+    }
+  }
+
+  /**
+   * Returns the options decoding an image of the given size at about the target size.
+   *
+   * <p>The image is subsampled by the largest power of two keeping it at least as large as the
+   * target size, then scaled down to the target width by the decoder through the densities of the
+   * options, so that no bitmap larger than the target size is allocated.
+   */
+  @VisibleForTesting
+  static BitmapFactory.Options createDecodeOptions(
+      int width, int height, int targetWidth, int targetHeight) {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = calculateSampleSize(width, height, targetWidth, targetHeight);
+    int sampledWidth = (width + options.inSampleSize - 1) / options.inSampleSize;
+    if (sampledWidth > targetWidth && targetWidth > 0) {
+      options.inScaled = true;
+      options.inDensity = sampledWidth;
+      options.inTargetDensity = targetWidth;
+    }
+    options.inMutable = true;
+    return options;
+  }
+
+  /**
+   * Returns the size of the ARGB_8888 bitmap decoded from an image of the given size with the
+   * given options, which are subsampled and then scaled by density like {@link BitmapFactory} does.
+   */
+  @VisibleForTesting
+  static long estimateDecodedByteCount(int width, int height, BitmapFactory.Options options) {
+    int sampleSize = Math.max(1, options.inSampleSize);
+    int decodedWidth = (width + sampleSize - 1) / sampleSize;
+    int decodedHeight = (height + sampleSize - 1) / sampleSize;
+    if (options.inScaled && options.inDensity != 0 && options.inTargetDensity != 0) {
+      float scale = (float) options.inTargetDensity / options.inDensity;
+      decodedWidth = (int) (decodedWidth * scale + 0.5f);
+      decodedHeight = (int) (decodedHeight * scale + 0.5f);
+    }
+    return (long) decodedWidth * decodedHeight * 4;
+  }
+
+  /**
+   * Decodes the image into a reusable bitmap if one can hold {@code byteCount} bytes, and without
+   * one if the image cannot be decoded into it.
+   *
+   * <p>{@link BitmapFactory#decodeFile} returns null rather than throwing when the image cannot be
+   * decoded into the reusable bitmap, so a null result is retried without it too.
+   */
+  private @Nullable Bitmap decodeReusingBitmap(
+      BitmapSource source, BitmapFactory.Options options, long byteCount) throws IOException {
+    Bitmap reusableBitmap = reusableBitmaps.acquire(byteCount);
+    options.inBitmap = reusableBitmap;
+    if (reusableBitmap == null) {
+      return source.decode(options);
+    }
+    Bitmap bitmap;
+    try {
+      bitmap = source.decode(options);
+    } catch (IllegalArgumentException e) {
+      bitmap = null;
+    }
+    if (bitmap != null) {
+      return bitmap;
+    }
+    reusableBitmap.recycle();
+    options.inBitmap = null;
+    return source.decode(options);
   }
 
   private SizeFCompat calculateTargetSize(
@@ -125,9 +328,9 @@ class ImageResizer {
     return new FileOutputStream(imageFile);
   }
 
-  private void copyExif(String filePathOri, String filePathDest) {
+  private void copyExif(ExifSource exifSource, String filePathDest) {
     try {
-      exifDataCopier.copyExif(new ExifInterface(filePathOri), new ExifInterface(filePathDest));
+      exifDataCopier.copyExif(exifSource.read(), new ExifInterface(filePathDest));
     } catch (Exception ex) {
       Log.e("ImageResizer", "Error preserving Exif data on selected image: " + ex);
     }
@@ -145,6 +348,16 @@ class ImageResizer {
     return BitmapFactory.decodeFile(path, opts);
   }
 
+  private static @Nullable Bitmap decodeUri(
+      ContentResolver contentResolver, Uri uri, BitmapFactory.Options opts) throws IOException {
+    try (ParcelFileDescriptor descriptor = contentResolver.openFileDescriptor(uri, "r")) {
+      if (descriptor == null) {
+        throw new IOException("Cannot open " + uri);
+      }
+      return BitmapFactory.decodeFileDescriptor(descriptor.getFileDescriptor(), null, opts);
+    }
+  }
+
   private Bitmap createScaledBitmap(Bitmap bmp, int width, int height, boolean filter) {
     return Bitmap.createScaledBitmap(bmp, width, height, filter);
   }
@@ -160,10 +373,8 @@ class ImageResizer {
    *     href="https://developer.android.com/topic/performance/graphics/load-bitmap#load-bitmap">
    *     Loading Large Bitmaps Efficiently</a>
    */
-  private int calculateSampleSize(
-      BitmapFactory.Options options, int targetWidth, int targetHeight) {
-    final int height = options.outHeight;
-    final int width = options.outWidth;
+  private static int calculateSampleSize(
+      int width, int height, int targetWidth, int targetHeight) {
     int sampleSize = 1;
     if (height > targetHeight || width > targetWidth) {
       final int halfHeight = height / 2;
@@ -177,23 +388,93 @@ class ImageResizer {
 
   private File createImageOnExternalDirectory(String name, Bitmap bitmap, int imageQuality)
       throws IOException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     boolean saveAsPNG = bitmap.hasAlpha();
     if (saveAsPNG) {
       Log.d(
           "ImageResizer",
           "image_picker: compressing is not supported for type PNG. Returning the image with original quality");
     }
-    bitmap.compress(
-        saveAsPNG ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG,
-        imageQuality,
-        outputStream);
 
     File cacheDirectory = context.getCacheDir();
     File imageFile = createFile(cacheDirectory, name);
-    FileOutputStream fileOutput = createOutputStream(imageFile);
-    fileOutput.write(outputStream.toByteArray());
-    fileOutput.close();
+    // Compress directly into the file, rather than into an intermediate buffer.
+    try (OutputStream outputStream = new BufferedOutputStream(createOutputStream(imageFile))) {
+      bitmap.compress(
+          saveAsPNG ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG,
+          imageQuality,
+          outputStream);
+    }
     return imageFile;
   }
+
+  /** Decodes the image being resized, which may be decoded several times. */
+  private interface BitmapSource {
+    @Nullable
+    Bitmap decode(@NonNull BitmapFactory.Options options) throws IOException;
+  }
+
+  /** Reads the Exif data of the image being resized. */
+  private interface ExifSource {
+    @NonNull
+    ExifInterface read() throws IOException;
+  }
+
+  /**
+   * Decoded bitmaps kept for reuse through {@link BitmapFactory.Options#inBitmap}, so that resizing
+   * the images of a selection does not allocate a new bitmap for each of them.
+   */
+  private static class ReusableBitmaps {
+    // One per image resized at once by the default MediaProcessingPipeline.
+    private static final int MAX_BITMAPS = 4;
+    // Bitmaps are kept outside of the BitmapMemoryBudget, so only a fraction of it is kept.
+    private static final long MAX_BYTES = MAX_BITMAP_BYTES / 4;
+
+    private final ArrayDeque<Bitmap> bitmaps = new ArrayDeque<>();
+    private long keptByteCount;
+
+    /** Returns a reusable bitmap of at least the given size, or null if there is none. */
+    synchronized @Nullable Bitmap acquire(long byteCount) {
+      Iterator<Bitmap> iterator = bitmaps.iterator();
+      while (iterator.hasNext()) {
+        Bitmap bitmap = iterator.next();
+        if (bitmap.getAllocationByteCount() >= byteCount) {
+          iterator.remove();
+          keptByteCount -= bitmap.getAllocationByteCount();
+          return bitmap;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Keeps the given bitmap for reuse, recycling the oldest ones if there are too many or they are
+     * too large, or the given one if it is larger than all the bitmaps kept may be.
+     */
+    synchronized void release(@NonNull Bitmap bitmap) {
+      if (!bitmap.isMutable() || bitmap.isRecycled()) {
+        return;
+      }
+      long bitmapByteCount = bitmap.getAllocationByteCount();
+      if (bitmapByteCount > MAX_BYTES) {
+        bitmap.recycle();
+        return;
+      }
+      while (!bitmaps.isEmpty()
+          && (bitmaps.size() >= MAX_BITMAPS || keptByteCount + bitmapByteCount > MAX_BYTES)) {
+        Bitmap oldest = bitmaps.removeFirst();
+        keptByteCount -= oldest.getAllocationByteCount();
+        oldest.recycle();
+      }
+      bitmaps.addLast(bitmap);
+      keptByteCount += bitmapByteCount;
+    }
+
+    synchronized void clear() {
+      for (Bitmap bitmap : bitmaps) {
+        bitmap.recycle();
+      }
+      bitmaps.clear();
+      keptByteCount = 0;
+    }
+  }
 }
@@ -0,0 +1,155 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes the items of a multiple selection concurrently, and returns their results in the order
+ * of the selection.
+ *
+ * <p>Each item is copied and resized by a single worker, so that the copy of some items overlaps
+ * with the decoding, scaling and encoding of others. At most {@code maxInFlight} items are
+ * processed at once. The memory used by the images being resized at the same time is capped
+ * separately by the {@link ImageResizer}, according to the size they are decoded at.
+ */
+class MediaProcessingPipeline {
+  private static final int MAX_DEFAULT_IN_FLIGHT = 4;
+
+  /** Processes a single item of a selection. */
+  interface ItemProcessor {
+    /**
+     * Returns the result of the item at the given index, or null if the item cannot be processed.
+     */
+    @Nullable
+    String process(int index);
+  }
+
+  /** Discards the result of an item of a selection that could not be processed in full. */
+  interface ResultDiscarder {
+    void discard(@NonNull String result);
+  }
+
+  private final int maxInFlight;
+
+  /**
+   * Creates a pipeline processing at most {@code maxInFlight} items at once.
+   *
+   * @throws IllegalArgumentException if {@code maxInFlight} is less than 1.
+   */
+  MediaProcessingPipeline(int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be at least 1, but was " + maxInFlight);
+    }
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Returns the default number of items processed at once: one per processor, up to 4.
+   *
+   * <p>This limit is fixed rather than configurable through the selection options.
+   */
+  static int defaultMaxInFlight() {
+    return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_IN_FLIGHT));
+  }
+
+  /**
+   * Processes the items from 0 to {@code itemCount - 1}, blocking until they are all processed.
+   *
+   * <p>The workers have all stopped when this method returns, whether it succeeds or not.
+   *
+   * @return the results of the items in order, or null as soon as an item has no result, in which
+   *     case the items still being processed are cancelled and the results of the other items are
+   *     passed to {@code discarder}.
+   */
+  @Nullable
+  List<String> process(
+      int itemCount, @NonNull ItemProcessor processor, @NonNull ResultDiscarder discarder) {
+    if (itemCount == 0) {
+      return new ArrayList<>();
+    }
+    final ExecutorService workers = Executors.newFixedThreadPool(Math.min(maxInFlight, itemCount));
+    final List<Future<String>> futures = new ArrayList<>(itemCount);
+    boolean succeeded = false;
+    try {
+      for (int i = 0; i < itemCount; i++) {
+        final int index = i;
+        futures.add(workers.submit(() -> processor.process(index)));
+      }
+      final List<String> results = new ArrayList<>(itemCount);
+      for (Future<String> future : futures) {
+        final String result = future.get();
+        if (result == null) {
+          return null;
+        }
+        results.add(result);
+      }
+      succeeded = true;
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      workers.shutdownNow();
+      awaitTermination(workers);
+      if (!succeeded) {
+        discardResults(futures, discarder);
+      }
+    }
+  }
+
+  /** Waits for the workers to stop, even if the current thread is interrupted. */
+  private static void awaitTermination(@NonNull ExecutorService workers) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        if (workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+          break;
+        }
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Passes the results of the items that were processed in full to {@code discarder}. */
+  private static void discardResults(
+      @NonNull List<Future<String>> futures, @NonNull ResultDiscarder discarder) {
+    for (Future<String> future : futures) {
+      if (!future.isDone() || future.isCancelled()) {
+        continue;
+      }
+      final String result;
+      try {
+        result = future.get();
+      } catch (ExecutionException | InterruptedException e) {
+        continue;
+      }
+      if (result != null) {
+        discarder.discard(result);
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class BitmapMemoryBudgetTest {
+  @Test
+  public void reserve_doesNotWaitWhileTheReservationsFit() {
+    final BitmapMemoryBudget budget = new BitmapMemoryBudget(100);
+
+    budget.reserve(60);
+    budget.reserve(40);
+
+    assertEquals(100, budget.getReservedBytes());
+  }
+
+  @Test
+  public void reserve_doesNotWaitForAReservationLargerThanTheBudgetWhenNothingIsReserved() {
+    final BitmapMemoryBudget budget = new BitmapMemoryBudget(100);
+
+    budget.reserve(200);
+
+    assertEquals(200, budget.getReservedBytes());
+  }
+
+  @Test
+  public void reserve_waitsUntilEnoughIsReleased() throws InterruptedException {
+    final BitmapMemoryBudget budget = new BitmapMemoryBudget(100);
+    final CountDownLatch reserved = new CountDownLatch(1);
+    budget.reserve(60);
+
+    final Thread thread =
+        new Thread(
+            () -> {
+              budget.reserve(60);
+              reserved.countDown();
+            });
+    thread.start();
+
+    assertFalse(reserved.await(100, TimeUnit.MILLISECONDS));
+    budget.release(60);
+    assertTrue(reserved.await(5, TimeUnit.SECONDS));
+    assertEquals(60, budget.getReservedBytes());
+    thread.join();
+  }
+
+  @Test
+  public void reserve_keepsTheInterruptedStatusOfTheThread() throws InterruptedException {
+    final BitmapMemoryBudget budget = new BitmapMemoryBudget(100);
+    final boolean[] interrupted = new boolean[1];
+    budget.reserve(100);
+
+    final Thread thread =
+        new Thread(
+            () -> {
+              budget.reserve(1);
+              interrupted[0] = Thread.currentThread().isInterrupted();
+            });
+    thread.start();
+    thread.interrupt();
+    Thread.sleep(50);
+    budget.release(100);
+    thread.join();
+
+    assertTrue(interrupted[0]);
+    assertEquals(1, budget.getReservedBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_rejectsAnEmptyBudget() {
+    new BitmapMemoryBudget(0);
+  }
+}
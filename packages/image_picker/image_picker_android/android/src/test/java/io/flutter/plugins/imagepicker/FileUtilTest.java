@@ -5,6 +5,7 @@
 package io.flutter.plugins.imagepicker;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -17,9 +18,11 @@ import android.content.ContentProvider;
 import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.database.Cursor;
 import android.database.MatrixCursor;
 import android.net.Uri;
+import android.os.ParcelFileDescriptor;
 import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 import androidx.annotation.NonNull;
@@ -29,7 +32,12 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -75,6 +83,52 @@ public class FileUtilTest {
     assertEquals("imageStream", imageStream);
   }
 
+  @Test
+  public void FileUtil_GetPathFromUri_transfersFileBackedContentInFull() throws IOException {
+    // Larger than the chunks in which the content is transferred.
+    byte[] content = new byte[3 * 1024 * 1024 + 17];
+    new Random(0).nextBytes(content);
+    File source = File.createTempFile("image_picker", ".mp4", context.getCacheDir());
+    try (OutputStream outputStream = new FileOutputStream(source)) {
+      outputStream.write(content);
+    }
+    Uri uri = Uri.parse("content://dummy/dummy.mp4");
+    shadowContentResolver.registerInputStream(uri, new FileInputStream(source));
+
+    String path = fileUtils.getPathFromUri(context, uri);
+
+    assertArrayEquals(content, Files.readAllBytes(new File(path).toPath()));
+  }
+
+  @Test
+  public void FileUtil_GetPathFromUri_copiesOnlyTheRangeOfAssetFileDescriptors()
+      throws IOException {
+    byte[] content = new byte[2 * 1024 * 1024];
+    new Random(0).nextBytes(content);
+    File source = File.createTempFile("image_picker", ".mp4", context.getCacheDir());
+    try (OutputStream outputStream = new FileOutputStream(source)) {
+      outputStream.write(content);
+    }
+    Uri uri = Uri.parse("content://dummy/dummy.mp4");
+    AssetFileDescriptor assetFileDescriptor =
+        new AssetFileDescriptor(
+            ParcelFileDescriptor.open(source, ParcelFileDescriptor.MODE_READ_ONLY), 100, 5000);
+    shadowContentResolver.registerInputStream(uri, assetFileDescriptor.createInputStream());
+
+    String path = fileUtils.getPathFromUri(context, uri);
+
+    assertArrayEquals(
+        Arrays.copyOfRange(content, 100, 5100), Files.readAllBytes(new File(path).toPath()));
+  }
+
+  @Test
+  public void FileUtil_getFileName() {
+    Uri uri = MockContentProvider.PNG_URI;
+    Robolectric.buildContentProvider(MockContentProvider.class).create("dummy");
+
+    assertEquals("a.b.png", fileUtils.getFileName(context, uri));
+  }
+
   @Test
   public void FileUtil_GetPathFromUri_securityException() throws IOException {
     Uri uri = Uri.parse("content://dummy/dummy.png");
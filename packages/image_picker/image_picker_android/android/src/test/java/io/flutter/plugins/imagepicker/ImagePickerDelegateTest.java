@@ -12,6 +12,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -37,6 +38,7 @@ import io.flutter.plugins.imagepicker.Messages.VideoSelectionOptions;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import org.junit.After;
@@ -462,6 +464,66 @@ public class ImagePickerDelegateTest {
     verifyNoMoreInteractions(mockResult);
   }
 
+  @Test
+  public void
+      onActivityResult_whenMultipleImagesPickedFromGallery_andResizeNeeded_finishesWithScaledPathsInOrder() {
+    setupMockClipDataWithMultipleItems(5);
+
+    when(mockIntent.getData()).thenReturn(null);
+
+    Mockito.doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    ImagePickerDelegate delegate =
+        createDelegateWithPendingResultAndOptions(RESIZE_TRIGGERING_IMAGE_OPTIONS, null);
+
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<String>> pathListCapture = ArgumentCaptor.forClass(List.class);
+    verify(mockResult).success(pathListCapture.capture());
+    assertEquals(
+        Arrays.asList("scaledPath0", "scaledPath1", "scaledPath2", "scaledPath3", "scaledPath4"),
+        pathListCapture.getValue());
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void
+      onActivityResult_whenMultipleImagesPickedFromGallery_andOneIsMissing_finishesWithError() {
+    setupMockClipDataWithMultipleItems(3);
+    when(mockIntent.getClipData().getItemAt(1).getUri()).thenReturn(null);
+
+    when(mockIntent.getData()).thenReturn(null);
+
+    Mockito.doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    ImagePickerDelegate delegate =
+        createDelegateWithPendingResultAndOptions(RESIZE_TRIGGERING_IMAGE_OPTIONS, null);
+
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    ArgumentCaptor<FlutterError> errorCaptor = ArgumentCaptor.forClass(FlutterError.class);
+    verify(mockResult).error(errorCaptor.capture());
+    assertEquals("missing_valid_image_uri", errorCaptor.getValue().code);
+    verifyNoMoreInteractions(mockResult);
+  }
+
   @Test
   public void
       onActivityResult_whenVideoPickedFromGallery_nullUriFromGetData_finishesWithVideoPath() {
@@ -586,6 +648,35 @@ public class ImagePickerDelegateTest {
     verifyNoMoreInteractions(mockResult);
   }
 
+  @Test
+  public void
+      onActivityResult_whenImagePickedFromGallery_andResizedFromUri_finishesWithoutCopyingIt() {
+    Mockito.doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    when(mockFileUtils.getFileName(any(Context.class), any(Uri.class))).thenReturn("image.jpg");
+    when(mockImageResizer.resizeImageFromUriIfNeeded(
+            any(Uri.class), eq("image.jpg"), eq(WIDTH), isNull(), eq(100)))
+        .thenReturn("scaledFromUriPath");
+    ImagePickerDelegate delegate =
+        createDelegateWithPendingResultAndOptions(RESIZE_TRIGGERING_IMAGE_OPTIONS, null);
+
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_IMAGE_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<String>> pathListCapture = ArgumentCaptor.forClass(List.class);
+    verify(mockResult).success(pathListCapture.capture());
+    assertEquals("scaledFromUriPath", pathListCapture.getValue().get(0));
+    verify(mockFileUtils, never()).getPathFromUri(any(Context.class), any(Uri.class));
+    verify(mockImageResizer, never()).resizeImageIfNeeded(any(), any(), any(), anyInt());
+    verifyNoMoreInteractions(mockResult);
+  }
+
   @Test
   public void
       onActivityResult_whenVideoPickedFromGallery_andResizeParametersSupplied_finishesWithFilePath() {
@@ -874,7 +965,8 @@ public class ImagePickerDelegateTest {
         mockPermissionManager,
         mockFileUriResolver,
         mockFileUtils,
-        mockExecutor);
+        mockExecutor,
+        new MediaProcessingPipeline(2));
   }
 
   private ImagePickerDelegate createDelegateWithPendingResultAndOptions(
@@ -889,7 +981,8 @@ public class ImagePickerDelegateTest {
         mockPermissionManager,
         mockFileUriResolver,
         mockFileUtils,
-        mockExecutor);
+        mockExecutor,
+        new MediaProcessingPipeline(2));
   }
 
   private void verifyFinishedWithAlreadyActiveError() {
@@ -909,6 +1002,22 @@ public class ImagePickerDelegateTest {
     when(mockIntent.getClipData()).thenReturn(mockClipData);
   }
 
+  private void setupMockClipDataWithMultipleItems(int itemCount) {
+    ClipData mockClipData = mock(ClipData.class);
+    when(mockClipData.getItemCount()).thenReturn(itemCount);
+    for (int i = 0; i < itemCount; i++) {
+      ClipData.Item mockItem = mock(ClipData.Item.class);
+      Uri mockUri = mock(Uri.class);
+      when(mockItem.getUri()).thenReturn(mockUri);
+      when(mockClipData.getItemAt(i)).thenReturn(mockItem);
+      when(mockFileUtils.getPathFromUri(any(Context.class), eq(mockUri)))
+          .thenReturn("pathFromUri" + i);
+      when(mockImageResizer.resizeImageIfNeeded("pathFromUri" + i, WIDTH, null, 100))
+          .thenReturn("scaledPath" + i);
+    }
+    when(mockIntent.getClipData()).thenReturn(mockClipData);
+  }
+
   private void setupMockClipDataNullUri() {
     ClipData mockClipData = mock(ClipData.class);
     ClipData.Item mockItem = mock(ClipData.Item.class);
@@ -6,9 +6,12 @@ package io.flutter.plugins.imagepicker;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -21,6 +24,8 @@ import android.graphics.BitmapFactory;
 import androidx.core.util.SizeFCompat;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.After;
 import org.junit.Before;
@@ -80,19 +85,19 @@ public class ImageResizerTest {
   @Test
   public void onResizeImageIfNeeded_whenQualityIsNotMax_shouldResize_returnResizedFile() {
     String outputFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, 50);
-    assertThat(outputFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
+    assertScaledFile(outputFile, "scaled_pngImage.png");
   }
 
   @Test
   public void onResizeImageIfNeeded_whenWidthIsNotNull_shouldResize_returnResizedFile() {
     String outputFile = resizer.resizeImageIfNeeded(imageFile.getPath(), 50.0, null, 100);
-    assertThat(outputFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
+    assertScaledFile(outputFile, "scaled_pngImage.png");
   }
 
   @Test
   public void onResizeImageIfNeeded_whenHeightIsNotNull_shouldResize_returnResizedFile() {
     String outputFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, 50.0, 100);
-    assertThat(outputFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
+    assertScaledFile(outputFile, "scaled_pngImage.png");
   }
 
   @Test
@@ -146,8 +151,7 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsVertical_WidthIsGreaterThanOriginal_shouldResizeCorrectly() {
     String outputFile = resizer.resizeImageIfNeeded(tallJPG.getPath(), 5.0, 5.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageTall.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
@@ -159,8 +163,7 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsVertical_HeightIsGreaterThanOriginal_shouldResizeCorrectly() {
     String outputFile = resizer.resizeImageIfNeeded(tallJPG.getPath(), 3.0, 10.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageTall.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
@@ -172,8 +175,7 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsVertical_HeightAndWidthIsGreaterThanOriginal_shouldNotResize() {
     String outputFile = resizer.resizeImageIfNeeded(tallJPG.getPath(), 10.0, 10.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageTall.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
@@ -185,8 +187,7 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsHorizontal_WidthIsGreaterThanOriginal_shouldResizeCorrectly() {
     String outputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 20.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageWide.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
@@ -198,8 +199,7 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsHorizontal_HeightIsGreaterThanOriginal_shouldResizeCorrectly() {
     String outputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageWide.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
@@ -211,12 +211,105 @@ public class ImageResizerTest {
   public void
       onResizeImageIfNeeded_whenImageIsHorizontal_HeightAndWidthIsGreaterThanOriginal_shouldNotResize() {
     String outputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 100.0, 100.0, 100);
-    SizeFCompat originalSize =
-        resizer.readFileDimensions(externalDirectory.getPath() + "/scaled_jpgImageWide.jpg");
+    SizeFCompat originalSize = resizer.readFileDimensions(outputFile);
 
     float width = originalSize.getWidth();
     float height = originalSize.getHeight();
     assertThat(width, equalTo(12.0F));
     assertThat(height, equalTo(7.0F));
   }
+
+  @Test
+  public void onResizeImageIfNeeded_whenReusableBitmapCannotHoldTheImage_shouldDecodeWithoutIt() {
+    List<Boolean> decodesReusingBitmap = new ArrayList<>();
+    try (MockedStatic<BitmapFactory> mockBitmapFactory =
+        mockStatic(BitmapFactory.class, Mockito.CALLS_REAL_METHODS)) {
+      mockBitmapFactory
+          .when(() -> BitmapFactory.decodeFile(anyString(), any(BitmapFactory.Options.class)))
+          .thenAnswer(
+              invocation -> {
+                BitmapFactory.Options options = invocation.getArgument(1);
+                if (options.inJustDecodeBounds) {
+                  return invocation.callRealMethod();
+                }
+                decodesReusingBitmap.add(options.inBitmap != null);
+                // BitmapFactory.decodeFile returns null when it cannot decode into the reusable
+                // bitmap. Otherwise, a mutable bitmap of the target size is decoded.
+                return options.inBitmap != null
+                    ? null
+                    : Bitmap.createBitmap(10, 6, Bitmap.Config.ARGB_8888);
+              });
+
+      // The first resize leaves its bitmap for reuse by the second one.
+      String firstOutputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
+      String secondOutputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
+
+      assertScaledFile(firstOutputFile, "scaled_jpgImageWide.jpg");
+      assertScaledFile(secondOutputFile, "scaled_jpgImageWide.jpg");
+      assertEquals(Arrays.asList(false, true, false), decodesReusingBitmap);
+    }
+  }
+
+  @Test
+  public void onResizeImageIfNeeded_whenImagesHaveTheSameName_shouldWriteThemToDifferentFiles() {
+    String firstOutputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
+    String secondOutputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
+
+    assertScaledFile(firstOutputFile, "scaled_jpgImageWide.jpg");
+    assertScaledFile(secondOutputFile, "scaled_jpgImageWide.jpg");
+    assertNotEquals(firstOutputFile, secondOutputFile);
+    assertTrue(new File(firstOutputFile).exists());
+    assertTrue(new File(secondOutputFile).exists());
+  }
+
+  @Test
+  public void estimateDecodedByteCount_matchesTheSizeOfTheDecodedBitmap() {
+    BitmapFactory.Options options = ImageResizer.createDecodeOptions(4000, 3000, 400, 300);
+
+    assertEquals(400L * 300 * 4, ImageResizer.estimateDecodedByteCount(4000, 3000, options));
+
+    options = ImageResizer.createDecodeOptions(12, 7, 10, 6);
+
+    assertEquals(10L * 6 * 4, ImageResizer.estimateDecodedByteCount(12, 7, options));
+  }
+
+  @Test
+  public void createDecodeOptions_boundsTheDecodedBitmapByTheTargetSize() {
+    // Original and target sizes: a camera photo, a panorama, and images reduced by odd factors.
+    int[][] sizes = {
+      {4000, 3000, 400, 300},
+      {12000, 2000, 1200, 200},
+      {3000, 4000, 1000, 1333},
+      {4032, 3024, 1500, 1125},
+      {13, 7, 10, 5},
+    };
+    for (int[] size : sizes) {
+      int targetWidth = size[2];
+      int targetHeight = size[3];
+      BitmapFactory.Options options =
+          ImageResizer.createDecodeOptions(size[0], size[1], targetWidth, targetHeight);
+
+      assertEquals(0, options.inSampleSize & (options.inSampleSize - 1));
+      int decodedWidth = (size[0] + options.inSampleSize - 1) / options.inSampleSize;
+      int decodedHeight = (size[1] + options.inSampleSize - 1) / options.inSampleSize;
+      if (options.inScaled && options.inDensity != 0) {
+        double density = (double) options.inTargetDensity / options.inDensity;
+        decodedWidth = (int) (decodedWidth * density + 0.5);
+        decodedHeight = (int) (decodedHeight * density + 0.5);
+      }
+      // The decoded ARGB_8888 bitmap is at most about the size of the target image, whatever the
+      // size of the original image.
+      long decodedBytes = (long) decodedWidth * decodedHeight * 4;
+      assertTrue(decodedBytes <= (long) (targetWidth + 1) * (targetHeight + 1) * 4);
+      assertTrue(decodedWidth >= targetWidth - 1 && decodedHeight >= targetHeight - 1);
+      assertTrue(options.inMutable);
+    }
+  }
+
+  /** Asserts that the scaled file has the given name, in its own directory of the cache. */
+  private void assertScaledFile(String path, String name) {
+    File file = new File(path);
+    assertThat(file.getName(), equalTo(name));
+    assertThat(file.getParentFile().getParentFile(), equalTo(externalDirectory));
+  }
 }
@@ -0,0 +1,123 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class MediaProcessingPipelineTest {
+  @Test
+  public void process_returnsTheResultsInTheOrderOfTheItems() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(3);
+
+    // Earlier items take longer, so that they finish after later ones.
+    final List<String> results =
+        pipeline.process(
+            5,
+            index -> {
+              sleep((5 - index) * 10L);
+              return "path" + index;
+            },
+            result -> {});
+
+    assertEquals(Arrays.asList("path0", "path1", "path2", "path3", "path4"), results);
+  }
+
+  @Test
+  public void process_processesAtMostMaxInFlightItemsAtOnce() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(2);
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    pipeline.process(
+        10,
+        index -> {
+          final int current = inFlight.incrementAndGet();
+          maxInFlight.accumulateAndGet(current, Math::max);
+          sleep(10);
+          inFlight.decrementAndGet();
+          return "path" + index;
+        },
+        result -> {});
+
+    assertTrue(maxInFlight.get() <= 2);
+  }
+
+  @Test
+  public void process_returnsNullIfAnItemHasNoResult() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(2);
+
+    assertNull(pipeline.process(4, index -> index == 2 ? null : "path" + index, result -> {}));
+  }
+
+  @Test
+  public void process_waitsForTheWorkersAndDiscardsTheirResultsIfAnItemHasNoResult() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(2);
+    final AtomicInteger inFlight = new AtomicInteger();
+    final List<String> discarded = Collections.synchronizedList(new ArrayList<>());
+
+    final List<String> results =
+        pipeline.process(
+            4,
+            index -> {
+              if (index == 0) {
+                return null;
+              }
+              inFlight.incrementAndGet();
+              sleep(50);
+              inFlight.decrementAndGet();
+              return "path" + index;
+            },
+            discarded::add);
+
+    assertNull(results);
+    assertEquals(0, inFlight.get());
+    assertTrue(discarded.contains("path1"));
+  }
+
+  @Test
+  public void process_returnsAnEmptyListWithoutItems() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(2);
+
+    assertEquals(
+        Collections.emptyList(), pipeline.process(0, index -> "path" + index, result -> {}));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void process_rethrowsTheExceptionsOfTheItems() {
+    final MediaProcessingPipeline pipeline = new MediaProcessingPipeline(2);
+
+    pipeline.process(
+        3,
+        index -> {
+          if (index == 1) {
+            throw new IllegalStateException();
+          }
+          return "path" + index;
+        },
+        result -> {});
+  }
+
+  @Test
+  public void defaultMaxInFlight_isAtLeastOne() {
+    assertTrue(MediaProcessingPipeline.defaultMaxInFlight() >= 1);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
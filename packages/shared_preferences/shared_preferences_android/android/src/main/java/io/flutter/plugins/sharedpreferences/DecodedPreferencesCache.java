@@ -0,0 +1,179 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The decoded values of shared preferences, sorted by key so that the preferences with a given
+ * prefix are found without scanning all of them, and without decoding them again on each query.
+ *
+ * <p>The values are loaded on first query, and kept coherent with the preferences by marking the
+ * changed keys as stale: through {@link #onSharedPreferenceChanged} for changes made by other code,
+ * and through {@link #invalidate} for changes made by the plugin, which must be visible to the next
+ * query even though listeners are only notified later, on the main thread. Stale keys are read and
+ * decoded again on the next query.
+ */
+class DecodedPreferencesCache implements SharedPreferences.OnSharedPreferenceChangeListener {
+  /** Decodes the stored value of a preference into the value returned to Dart. */
+  interface Decoder {
+    @NonNull
+    Object decode(@NonNull String key, @NonNull Object value);
+  }
+
+  private final @NonNull SharedPreferences preferences;
+  private final @NonNull Decoder decoder;
+  private final TreeMap<String, Object> values = new TreeMap<>();
+  private final Set<String> staleKeys = new HashSet<>();
+  private boolean loaded = false;
+
+  DecodedPreferencesCache(@NonNull SharedPreferences preferences, @NonNull Decoder decoder) {
+    this.preferences = preferences;
+    this.decoder = decoder;
+  }
+
+  /**
+   * Returns the decoded preferences whose keys start with the given prefix, and are in the given
+   * allow list if there is one.
+   */
+  synchronized @NonNull Map<String, Object> getAll(
+      @NonNull String prefix, @Nullable Set<String> allowList) {
+    refresh();
+    Map<String, Object> filteredValues = new HashMap<>();
+    if (allowList != null) {
+      for (String key : allowList) {
+        Object value = key.startsWith(prefix) ? values.get(key) : null;
+        if (value != null) {
+          filteredValues.put(key, value);
+        }
+      }
+      return filteredValues;
+    }
+    for (Map.Entry<String, Object> entry : values.tailMap(prefix, true).entrySet()) {
+      if (!entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      filteredValues.put(entry.getKey(), entry.getValue());
+    }
+    return filteredValues;
+  }
+
+  /** Marks the given key as changed, so that it is read again on the next query. */
+  synchronized void invalidate(@NonNull String key) {
+    if (loaded) {
+      staleKeys.add(key);
+    }
+  }
+
+  /** Marks all keys as changed, so that all preferences are read again on the next query. */
+  synchronized void invalidateAll() {
+    loaded = false;
+    values.clear();
+    staleKeys.clear();
+  }
+
+  @Override
+  public synchronized void onSharedPreferenceChanged(
+      @NonNull SharedPreferences sharedPreferences, @Nullable String key) {
+    // The key is null when the preferences are cleared, since Android R.
+    if (key == null) {
+      invalidateAll();
+    } else {
+      invalidate(key);
+    }
+  }
+
+  /**
+   * Loads or reads again the values of the preferences that are not up to date.
+   *
+   * <p>If a value cannot be decoded, the values that were not up to date remain so, and the next
+   * query fails the same way rather than returning the values decoded so far.
+   */
+  private void refresh() {
+    if (!loaded) {
+      // Set first, so that the keys changed while the values are decoded, such as the keys
+      // migrated by the decoder, are marked as stale.
+      loaded = true;
+      boolean succeeded = false;
+      try {
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+          put(entry.getKey(), entry.getValue());
+        }
+        succeeded = true;
+      } finally {
+        if (!succeeded) {
+          invalidateAll();
+        }
+      }
+      return;
+    }
+    if (staleKeys.isEmpty()) {
+      return;
+    }
+    for (String key : new ArrayList<>(staleKeys)) {
+      // Removed first, so that the key is marked as stale again if the decoder changes it.
+      staleKeys.remove(key);
+      boolean succeeded = false;
+      try {
+        put(key, readValue(key));
+        succeeded = true;
+      } finally {
+        if (!succeeded) {
+          staleKeys.add(key);
+        }
+      }
+    }
+  }
+
+  private void put(@NonNull String key, @Nullable Object value) {
+    if (value == null) {
+      values.remove(key);
+    } else {
+      values.put(key, decoder.decode(key, value));
+    }
+  }
+
+  // Reads the stored value of a single preference, without copying all of them as
+  // SharedPreferences.getAll does, by trying each type in turn from the most common one.
+  private @Nullable Object readValue(@NonNull String key) {
+    if (!preferences.contains(key)) {
+      return null;
+    }
+    try {
+      return preferences.getString(key, null);
+    } catch (ClassCastException e) {
+      // Not a String.
+    }
+    try {
+      return preferences.getLong(key, 0);
+    } catch (ClassCastException e) {
+      // Not a Long.
+    }
+    try {
+      return preferences.getBoolean(key, false);
+    } catch (ClassCastException e) {
+      // Not a Boolean.
+    }
+    try {
+      return preferences.getStringSet(key, null);
+    } catch (ClassCastException e) {
+      // Not a Set.
+    }
+    try {
+      return preferences.getInt(key, 0);
+    } catch (ClassCastException e) {
+      // Not an Integer.
+    }
+    return preferences.getFloat(key, 0);
+  }
+}
@@ -6,7 +6,6 @@ package io.flutter.plugins.sharedpreferences;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.util.Base64;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -14,14 +13,8 @@ import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.sharedpreferences.Messages.SharedPreferencesApi;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +29,11 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   private static final String DOUBLE_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBEb3VibGUu";
 
   private SharedPreferences preferences;
+  private DecodedPreferencesCache cache;
   private SharedPreferencesListEncoder listEncoder;
 
   public LegacySharedPreferencesPlugin() {
-    this(new ListEncoder());
+    this(new CompactListEncoder());
   }
 
   @VisibleForTesting
@@ -49,6 +43,8 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
 
   private void setUp(@NonNull BinaryMessenger messenger, @NonNull Context context) {
     preferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
+    cache = new DecodedPreferencesCache(preferences, this::transformPref);
+    preferences.registerOnSharedPreferenceChangeListener(cache);
     try {
       SharedPreferencesApi.setUp(messenger, this);
     } catch (Exception ex) {
@@ -64,45 +60,109 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   @Override
   public void onDetachedFromEngine(@NonNull FlutterPlugin.FlutterPluginBinding binding) {
     SharedPreferencesApi.setUp(binding.getBinaryMessenger(), null);
+    if (preferences != null) {
+      preferences.unregisterOnSharedPreferenceChangeListener(cache);
+    }
   }
 
   @Override
   public @NonNull Boolean setBool(@NonNull String key, @NonNull Boolean value) {
-    return preferences.edit().putBoolean(key, value).commit();
+    return commit(key, preferences.edit().putBoolean(key, value));
   }
 
   @Override
   public @NonNull Boolean setString(@NonNull String key, @NonNull String value) {
-    // TODO (tarrinneal): Move this string prefix checking logic to dart code and make it an Argument Error.
-    if (value.startsWith(LIST_IDENTIFIER)
-        || value.startsWith(BIG_INTEGER_PREFIX)
-        || value.startsWith(DOUBLE_PREFIX)) {
-      throw new RuntimeException(
-          "StorageError: This string cannot be stored as it clashes with special identifier prefixes");
-    }
-    return preferences.edit().putString(key, value).commit();
+    checkStringValue(value);
+    return commit(key, preferences.edit().putString(key, value));
   }
 
   @Override
   public @NonNull Boolean setInt(@NonNull String key, @NonNull Long value) {
-    return preferences.edit().putLong(key, value).commit();
+    return commit(key, preferences.edit().putLong(key, value));
   }
 
   @Override
   public @NonNull Boolean setDouble(@NonNull String key, @NonNull Double value) {
-    String doubleValueStr = Double.toString(value);
-    return preferences.edit().putString(key, DOUBLE_PREFIX + doubleValueStr).commit();
+    return commit(key, preferences.edit().putString(key, encodeDouble(value)));
   }
 
   @Override
   public @NonNull Boolean remove(@NonNull String key) {
-    return preferences.edit().remove(key).commit();
+    return commit(key, preferences.edit().remove(key));
   }
 
   @Override
   public @NonNull Boolean setStringList(@NonNull String key, @NonNull List<String> value)
       throws RuntimeException {
-    return preferences.edit().putString(key, LIST_IDENTIFIER + listEncoder.encode(value)).commit();
+    return commit(
+        key, preferences.edit().putString(key, LIST_IDENTIFIER + listEncoder.encode(value)));
+  }
+
+  // Commits the change of the given key, and makes it visible to getAll right away, rather than
+  // once listeners are notified.
+  private boolean commit(@NonNull String key, @NonNull SharedPreferences.Editor editor) {
+    boolean committed = editor.commit();
+    cache.invalidate(key);
+    return committed;
+  }
+
+  @Override
+  public @NonNull Boolean setValues(@NonNull Map<String, Object> values, @NonNull Boolean commit)
+      throws RuntimeException {
+    // A single editor writes the preferences file once for all values, rather than once per value.
+    SharedPreferences.Editor editor = preferences.edit();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      putValue(editor, entry.getKey(), entry.getValue());
+    }
+    boolean committed = true;
+    if (commit) {
+      committed = editor.commit();
+    } else {
+      editor.apply();
+    }
+    for (String key : values.keySet()) {
+      cache.invalidate(key);
+    }
+    return committed;
+  }
+
+  // Adds the given value to the editor in the format of its setter, or removes the key if it is
+  // null.
+  @SuppressWarnings("unchecked")
+  private void putValue(
+      @NonNull SharedPreferences.Editor editor, @NonNull String key, @Nullable Object value)
+      throws RuntimeException {
+    if (value == null) {
+      editor.remove(key);
+    } else if (value instanceof Boolean) {
+      editor.putBoolean(key, (Boolean) value);
+    } else if (value instanceof Integer || value instanceof Long) {
+      editor.putLong(key, ((Number) value).longValue());
+    } else if (value instanceof Double) {
+      editor.putString(key, encodeDouble((Double) value));
+    } else if (value instanceof String) {
+      checkStringValue((String) value);
+      editor.putString(key, (String) value);
+    } else if (value instanceof List) {
+      editor.putString(key, LIST_IDENTIFIER + listEncoder.encode((List<String>) value));
+    } else {
+      throw new RuntimeException(
+          "StorageError: " + value.getClass().getSimpleName() + " is not a supported type");
+    }
+  }
+
+  private static void checkStringValue(@NonNull String value) throws RuntimeException {
+    // TODO (tarrinneal): Move this string prefix checking logic to dart code and make it an Argument Error.
+    if (value.startsWith(LIST_IDENTIFIER)
+        || value.startsWith(BIG_INTEGER_PREFIX)
+        || value.startsWith(DOUBLE_PREFIX)) {
+      throw new RuntimeException(
+          "StorageError: This string cannot be stored as it clashes with special identifier prefixes");
+    }
+  }
+
+  private static @NonNull String encodeDouble(@NonNull Double value) {
+    return DOUBLE_PREFIX + Double.toString(value);
   }
 
   @Override
@@ -116,33 +176,23 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   public @NonNull Boolean clear(@NonNull String prefix, @Nullable List<String> allowList)
       throws RuntimeException {
     SharedPreferences.Editor clearEditor = preferences.edit();
-    Map<String, ?> allPrefs = preferences.getAll();
-    ArrayList<String> filteredPrefs = new ArrayList<>();
-    for (String key : allPrefs.keySet()) {
-      if (key.startsWith(prefix) && (allowList == null || allowList.contains(key))) {
-        filteredPrefs.add(key);
-      }
-    }
+    final Set<String> allowSet = allowList == null ? null : new HashSet<>(allowList);
+    Set<String> filteredPrefs = cache.getAll(prefix, allowSet).keySet();
     for (String key : filteredPrefs) {
       clearEditor.remove(key);
     }
-    return clearEditor.commit();
+    boolean committed = clearEditor.commit();
+    for (String key : filteredPrefs) {
+      cache.invalidate(key);
+    }
+    return committed;
   }
 
   // Gets all shared preferences, filtered to only those set with the given prefix.
   // Optionally filtered also to only those items in the optional [allowList].
-  @SuppressWarnings("unchecked")
   private @NonNull Map<String, Object> getAllPrefs(
       @NonNull String prefix, @Nullable Set<String> allowList) throws RuntimeException {
-    Map<String, ?> allPrefs = preferences.getAll();
-    Map<String, Object> filteredPrefs = new HashMap<>();
-    for (String key : allPrefs.keySet()) {
-      if (key.startsWith(prefix) && (allowList == null || allowList.contains(key))) {
-        filteredPrefs.put(key, transformPref(key, allPrefs.get(key)));
-      }
-    }
-
-    return filteredPrefs;
+    return cache.getAll(prefix, allowList);
   }
 
   private Object transformPref(@NonNull String key, @NonNull Object value) {
@@ -172,36 +222,10 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
           .remove(key)
           .putString(key, LIST_IDENTIFIER + listEncoder.encode(listValue))
           .apply();
+      cache.invalidate(key);
 
       return listValue;
     }
     return value;
   }
-
-  static class ListEncoder implements SharedPreferencesListEncoder {
-    @Override
-    public @NonNull String encode(@NonNull List<String> list) throws RuntimeException {
-      try {
-        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        ObjectOutputStream stream = new ObjectOutputStream(byteStream);
-        stream.writeObject(list);
-        stream.flush();
-        return Base64.encodeToString(byteStream.toByteArray(), 0);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public @NonNull List<String> decode(@NonNull String listString) throws RuntimeException {
-      try {
-        ObjectInputStream stream =
-            new ObjectInputStream(new ByteArrayInputStream(Base64.decode(listString, 0)));
-        return (List<String>) stream.readObject();
-      } catch (IOException | ClassNotFoundException e) {
-        throw new RuntimeException(e);
-      }
-    }
-  }
 }
@@ -73,6 +73,15 @@ public class Messages {
     /** Adds property to shared preferences data set of type List<String>. */
     @NonNull
     Boolean setStringList(@NonNull String key, @NonNull List<String> value);
+    /**
+     * Sets all properties of the given map in shared preferences data set in a single transaction,
+     * removing those whose values are null.
+     *
+     * <p>If [commit] is true, the properties are written to disk before returning, otherwise they
+     * are written to disk asynchronously.
+     */
+    @NonNull
+    Boolean setValues(@NonNull Map<String, Object> values, @NonNull Boolean commit);
     /** Removes all properties from shared preferences data set with matching prefix. */
     @NonNull
     Boolean clear(@NonNull String prefix, @Nullable List<String> allowList);
@@ -258,6 +267,34 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BinaryMessenger.TaskQueue taskQueue = binaryMessenger.makeBackgroundTaskQueue();
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.shared_preferences_android.SharedPreferencesApi.setValues",
+                getCodec(),
+                taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Map<String, Object> valuesArg = (Map<String, Object>) args.get(0);
+                Boolean commitArg = (Boolean) args.get(1);
+                try {
+                  Boolean output = api.setValues(valuesArg, commitArg);
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BinaryMessenger.TaskQueue taskQueue = binaryMessenger.makeBackgroundTaskQueue();
         BasicMessageChannel<Object> channel =
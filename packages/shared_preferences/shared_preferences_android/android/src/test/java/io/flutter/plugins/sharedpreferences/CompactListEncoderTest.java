@@ -0,0 +1,93 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Base64;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class CompactListEncoderTest {
+  private final CompactListEncoder encoder = new CompactListEncoder();
+
+  @Test
+  public void encodeAndDecode() {
+    List<List<String>> lists =
+        Arrays.asList(
+            Collections.emptyList(),
+            Collections.singletonList(""),
+            Arrays.asList("Flutter", "Dart"),
+            Arrays.asList("12:34", "", "5:", ":", "!"),
+            Arrays.asList("caf\u00e9", "\ud83d\udc26", "line\nbreak\ttab"));
+    for (List<String> list : lists) {
+      String encoded = encoder.encode(list);
+
+      assertEquals('!', encoded.charAt(0));
+      assertEquals(list, encoder.decode(encoded));
+    }
+  }
+
+  @Test
+  public void decodesLegacyLists() {
+    List<String> list = Arrays.asList("Flutter", "Dart");
+
+    assertEquals(list, encoder.decode(CompactListEncoder.encodeLegacy(list)));
+  }
+
+  @Test
+  public void encodesUnstorableCharactersInLegacyFormat() {
+    List<String> list = Arrays.asList("null\u0000character", "unpaired \ud83d surrogate");
+
+    String encoded = encoder.encode(list);
+
+    assertFalse(encoded.startsWith("!"));
+    assertEquals(list, encoder.decode(encoded));
+  }
+
+  @Test
+  public void encodesSmallerThanLegacyFormat() {
+    for (int size : new int[] {100, 1000}) {
+      List<String> list = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        list.add("element " + i);
+      }
+
+      String compact = encoder.encode(list);
+      String legacy = CompactListEncoder.encodeLegacy(list);
+
+      assertTrue(compact.length() * 2 < legacy.length());
+      assertEquals(list, encoder.decode(compact));
+      assertEquals(list, encoder.decode(legacy));
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void decodeRejectsTruncatedLists() {
+    encoder.decode("!7:Flutter4:Da");
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void decodeRejectsLegacyObjectsOtherThanLists() throws IOException {
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    ObjectOutputStream stream = new ObjectOutputStream(byteStream);
+    stream.writeObject(new HashMap<String, String>());
+    stream.flush();
+
+    encoder.decode(Base64.encodeToString(byteStream.toByteArray(), 0));
+  }
+}
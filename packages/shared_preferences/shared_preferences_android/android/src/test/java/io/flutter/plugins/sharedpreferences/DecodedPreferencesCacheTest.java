@@ -0,0 +1,189 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class DecodedPreferencesCacheTest {
+  private SharedPreferences preferences;
+  private AtomicInteger decodeCount;
+  private DecodedPreferencesCache cache;
+
+  @Before
+  public void before() {
+    preferences =
+        ApplicationProvider.getApplicationContext()
+            .getSharedPreferences("DecodedPreferencesCacheTest", Context.MODE_PRIVATE);
+    preferences.edit().clear().commit();
+    preferences
+        .edit()
+        .putString("flutter.String", "hello")
+        .putLong("flutter.Int", 42L)
+        .putBoolean("flutter.Bool", true)
+        .putString("prefix.String", "world")
+        .putString("String", "!")
+        .commit();
+    decodeCount = new AtomicInteger();
+    cache =
+        new DecodedPreferencesCache(
+            preferences,
+            (key, value) -> {
+              decodeCount.incrementAndGet();
+              return value;
+            });
+  }
+
+  @Test
+  public void getAllReturnsTheValuesWithThePrefix() {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("flutter.String", "hello");
+    expected.put("flutter.Int", 42L);
+    expected.put("flutter.Bool", true);
+
+    assertEquals(expected, cache.getAll("flutter.", null));
+    assertEquals(Collections.singletonMap("prefix.String", "world"), cache.getAll("prefix.", null));
+    assertEquals(5, cache.getAll("", null).size());
+  }
+
+  @Test
+  public void getAllReturnsTheValuesInTheAllowList() {
+    Map<String, Object> values =
+        cache.getAll("flutter.", new HashSet<>(Arrays.asList("flutter.Int", "prefix.String")));
+
+    assertEquals(Collections.singletonMap("flutter.Int", 42L), values);
+  }
+
+  @Test
+  public void getAllOnlyDecodesTheValuesOnce() {
+    cache.getAll("flutter.", null);
+    cache.getAll("flutter.", null);
+    cache.getAll("", null);
+
+    assertEquals(5, decodeCount.get());
+  }
+
+  @Test
+  public void getAllOnlyLoadsThePreferencesOnce() {
+    SharedPreferences spiedPreferences = spy(preferences);
+    DecodedPreferencesCache spiedCache =
+        new DecodedPreferencesCache(spiedPreferences, (key, value) -> value);
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(3, spiedCache.getAll("flutter.", null).size());
+      assertEquals(1, spiedCache.getAll("", Collections.singleton("prefix.String")).size());
+    }
+
+    verify(spiedPreferences, times(1)).getAll();
+  }
+
+  @Test
+  public void getAllReturnsTheChangesNotifiedToTheListener() {
+    preferences.registerOnSharedPreferenceChangeListener(cache);
+    cache.getAll("", null);
+
+    preferences
+        .edit()
+        .putString("flutter.String", "changed")
+        .putFloat("flutter.Float", 1.5f)
+        .putInt("flutter.SmallInt", 7)
+        .putStringSet("flutter.Set", Collections.singleton("element"))
+        .remove("flutter.Bool")
+        .commit();
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("flutter.String", "changed");
+    expected.put("flutter.Int", 42L);
+    expected.put("flutter.Float", 1.5f);
+    expected.put("flutter.SmallInt", 7);
+    expected.put("flutter.Set", Collections.singleton("element"));
+    assertEquals(expected, cache.getAll("flutter.", null));
+    preferences.unregisterOnSharedPreferenceChangeListener(cache);
+  }
+
+  @Test
+  public void getAllReturnsTheInvalidatedChangesBeforeListenersAreNotified() {
+    cache.getAll("", null);
+
+    preferences.edit().putString("flutter.String", "changed").commit();
+    cache.invalidate("flutter.String");
+
+    assertEquals("changed", cache.getAll("flutter.", null).get("flutter.String"));
+  }
+
+  @Test
+  public void getAllFailsOnEveryQueryWhileAValueCannotBeDecoded() {
+    AtomicBoolean failing = new AtomicBoolean(true);
+    DecodedPreferencesCache failingCache =
+        new DecodedPreferencesCache(preferences, failingDecoder(failing));
+
+    assertThrows(IllegalArgumentException.class, () -> failingCache.getAll("flutter.", null));
+    assertThrows(IllegalArgumentException.class, () -> failingCache.getAll("flutter.", null));
+
+    failing.set(false);
+    assertEquals(3, failingCache.getAll("flutter.", null).size());
+  }
+
+  @Test
+  public void getAllFailsOnEveryQueryWhileAStaleValueCannotBeDecoded() {
+    AtomicBoolean failing = new AtomicBoolean(false);
+    DecodedPreferencesCache failingCache =
+        new DecodedPreferencesCache(preferences, failingDecoder(failing));
+    failingCache.getAll("", null);
+
+    preferences.edit().putString("flutter.String", "changed").putLong("flutter.Int", 43L).commit();
+    failingCache.invalidate("flutter.String");
+    failingCache.invalidate("flutter.Int");
+    failing.set(true);
+
+    assertThrows(IllegalArgumentException.class, () -> failingCache.getAll("flutter.", null));
+    assertThrows(IllegalArgumentException.class, () -> failingCache.getAll("flutter.", null));
+
+    failing.set(false);
+    Map<String, Object> values = failingCache.getAll("flutter.", null);
+    assertEquals("changed", values.get("flutter.String"));
+    assertEquals(43L, values.get("flutter.Int"));
+  }
+
+  @Test
+  public void getAllReloadsAllValuesWhenThePreferencesAreCleared() {
+    cache.getAll("", null);
+
+    preferences.edit().clear().commit();
+    cache.onSharedPreferenceChanged(preferences, null);
+
+    assertTrue(cache.getAll("", null).isEmpty());
+  }
+
+  /** Returns a decoder that fails to decode "flutter.Int" while {@code failing} is set. */
+  private static DecodedPreferencesCache.Decoder failingDecoder(AtomicBoolean failing) {
+    return (key, value) -> {
+      if (failing.get() && key.equals("flutter.Int")) {
+        throw new IllegalArgumentException("Cannot decode " + key);
+      }
+      return value;
+    };
+  }
+}
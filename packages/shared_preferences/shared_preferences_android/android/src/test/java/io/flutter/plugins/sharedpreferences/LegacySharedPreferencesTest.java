@@ -7,14 +7,17 @@ package io.flutter.plugins.sharedpreferences;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 
 import android.content.Context;
 import android.content.SharedPreferences;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +32,7 @@ import org.mockito.Mockito;
 public class LegacySharedPreferencesTest {
 
   LegacySharedPreferencesPlugin plugin;
+  FakeSharedPreferences sharedPrefs;
 
   @Mock BinaryMessenger mockMessenger;
   @Mock FlutterPlugin.FlutterPluginBinding flutterPluginBinding;
@@ -36,7 +40,7 @@ public class LegacySharedPreferencesTest {
   @Before
   public void before() {
     Context context = Mockito.mock(Context.class);
-    SharedPreferences sharedPrefs = new FakeSharedPreferences();
+    sharedPrefs = new FakeSharedPreferences();
 
     flutterPluginBinding = Mockito.mock(FlutterPlugin.FlutterPluginBinding.class);
 
@@ -159,6 +163,56 @@ public class LegacySharedPreferencesTest {
     assertEquals(flutterData.get(key), value);
   }
 
+  @Test
+  public void setValues() {
+    plugin.setBool("Removed", true);
+    final Map<String, Object> values = new HashMap<>();
+    values.put("Language", "Java");
+    values.put("Counter", 1L);
+    values.put("SmallCounter", 2);
+    values.put("Pie", 3.14);
+    values.put("Names", Arrays.asList("Flutter", "Dart"));
+    values.put("NewToFlutter", false);
+    values.put("Removed", null);
+
+    sharedPrefs.editors.clear();
+
+    assertTrue(plugin.setValues(values, true));
+
+    // All the values are written by a single commit.
+    assertEquals(1, sharedPrefs.editors.size());
+    assertEquals(1, sharedPrefs.editors.get(0).commitCount);
+    assertEquals(0, sharedPrefs.editors.get(0).applyCount);
+    assertFalse(sharedPrefs.contains("Removed"));
+    Map<String, Object> flutterData = plugin.getAll("", null);
+    assertEquals(6, flutterData.size());
+    assertEquals("Java", flutterData.get("Language"));
+    assertEquals(1L, flutterData.get("Counter"));
+    assertEquals(2L, flutterData.get("SmallCounter"));
+    assertEquals(3.14, flutterData.get("Pie"));
+    assertEquals(Arrays.asList("Flutter", "Dart"), flutterData.get("Names"));
+    assertEquals(false, flutterData.get("NewToFlutter"));
+  }
+
+  @Test
+  public void setValuesWithApply() {
+    final Map<String, Object> values = Collections.singletonMap("Language", "Java");
+
+    assertTrue(plugin.setValues(values, false));
+
+    assertEquals(1, sharedPrefs.editors.size());
+    assertEquals(0, sharedPrefs.editors.get(0).commitCount);
+    assertEquals(1, sharedPrefs.editors.get(0).applyCount);
+    assertEquals("Java", plugin.getAll("", null).get("Language"));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void setValuesWithUnsupportedType() {
+    final Map<String, Object> values = Collections.singletonMap("Map", new HashMap<>());
+
+    plugin.setValues(values, true);
+  }
+
   @Test
   public void clearWithNoAllowList() {
     addData();
@@ -223,6 +277,8 @@ public class LegacySharedPreferencesTest {
   /** A dummy implementation for tests for use with FakeSharedPreferences */
   public static class FakeSharedPreferencesEditor implements SharedPreferences.Editor {
     private final Map<String, Object> sharedPrefData;
+    int commitCount;
+    int applyCount;
 
     FakeSharedPreferencesEditor(@NonNull Map<String, Object> data) {
       sharedPrefData = data;
@@ -273,12 +329,13 @@ public class LegacySharedPreferencesTest {
 
     @Override
     public boolean commit() {
+      commitCount++;
       return true;
     }
 
     @Override
     public void apply() {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      applyCount++;
     }
 
     @Override
@@ -291,6 +348,7 @@ public class LegacySharedPreferencesTest {
   private static class FakeSharedPreferences implements SharedPreferences {
 
     Map<String, Object> sharedPrefData = new HashMap<>();
+    final List<FakeSharedPreferencesEditor> editors = new ArrayList<>();
 
     @Override
     public @NonNull Map<String, ?> getAll() {
@@ -299,56 +357,56 @@ public class LegacySharedPreferencesTest {
 
     @Override
     public @NonNull SharedPreferences.Editor edit() {
-      return new FakeSharedPreferencesEditor(sharedPrefData);
+      FakeSharedPreferencesEditor editor = new FakeSharedPreferencesEditor(sharedPrefData);
+      editors.add(editor);
+      return editor;
     }
 
-    // All methods below are not implemented.
     @Override
     public boolean contains(@NonNull String key) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      return sharedPrefData.containsKey(key);
     }
 
     @Override
     public boolean getBoolean(@NonNull String key, boolean defValue) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      return contains(key) ? (Boolean) sharedPrefData.get(key) : defValue;
     }
 
     @Override
     public float getFloat(@NonNull String key, float defValue) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      return contains(key) ? (Float) sharedPrefData.get(key) : defValue;
     }
 
     @Override
     public int getInt(@NonNull String key, int defValue) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      return contains(key) ? (Integer) sharedPrefData.get(key) : defValue;
     }
 
     @Override
     public long getLong(@NonNull String key, long defValue) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      return contains(key) ? (Long) sharedPrefData.get(key) : defValue;
     }
 
     @Override
-    public @NonNull String getString(@NonNull String key, @NonNull String defValue) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+    public @Nullable String getString(@NonNull String key, @Nullable String defValue) {
+      return contains(key) ? (String) sharedPrefData.get(key) : defValue;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public @NonNull Set<String> getStringSet(@NonNull String key, @NonNull Set<String> defValues) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+    public @Nullable Set<String> getStringSet(
+        @NonNull String key, @Nullable Set<String> defValues) {
+      return contains(key) ? (Set<String>) sharedPrefData.get(key) : defValues;
     }
 
+    // The editor does not notify listeners, so the plugin must see its own changes without them.
     @Override
     public void registerOnSharedPreferenceChangeListener(
-        @NonNull SharedPreferences.OnSharedPreferenceChangeListener listener) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
-    }
+        @NonNull SharedPreferences.OnSharedPreferenceChangeListener listener) {}
 
     @Override
     public void unregisterOnSharedPreferenceChangeListener(
-        @NonNull SharedPreferences.OnSharedPreferenceChangeListener listener) {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
-    }
+        @NonNull SharedPreferences.OnSharedPreferenceChangeListener listener) {}
   }
 
   /** A dummy implementation of SharedPreferencesListEncoder for tests that store List<String>. */
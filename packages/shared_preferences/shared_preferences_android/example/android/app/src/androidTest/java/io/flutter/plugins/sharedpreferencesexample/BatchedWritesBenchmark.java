@@ -0,0 +1,52 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import androidx.test.platform.app.InstrumentationRegistry;
+import org.junit.Test;
+
+/**
+ * Measures on a device the cost per key of committing many preferences one at a time, as the
+ * individual setters do, and in a single transaction, as {@code setValues} does.
+ *
+ * <p>The timings are reported as instrumentation status values rather than asserted, as they
+ * depend on the device.
+ */
+public class BatchedWritesBenchmark {
+  // About the number of keys written by an app migrating its preferences at startup.
+  private static final int KEY_COUNT = 400;
+
+  @Test
+  public void measureCostPerKey() {
+    Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    SharedPreferences preferences =
+        context.getSharedPreferences("BatchedWritesBenchmark", Context.MODE_PRIVATE);
+    preferences.edit().clear().commit();
+
+    long unbatchedStart = System.nanoTime();
+    for (int i = 0; i < KEY_COUNT; i++) {
+      preferences.edit().putString("unbatched." + i, "value " + i).commit();
+    }
+    long unbatchedNanosPerKey = (System.nanoTime() - unbatchedStart) / KEY_COUNT;
+
+    long batchedStart = System.nanoTime();
+    SharedPreferences.Editor editor = preferences.edit();
+    for (int i = 0; i < KEY_COUNT; i++) {
+      editor.putString("batched." + i, "value " + i);
+    }
+    editor.commit();
+    long batchedNanosPerKey = (System.nanoTime() - batchedStart) / KEY_COUNT;
+
+    preferences.edit().clear().commit();
+
+    Bundle results = new Bundle();
+    results.putLong("unbatchedNanosPerKey", unbatchedNanosPerKey);
+    results.putLong("batchedNanosPerKey", batchedNanosPerKey);
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+  }
+}
@@ -0,0 +1,70 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.os.Bundle;
+import androidx.test.platform.app.InstrumentationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Measures on a device the cost of encoding and decoding a list of strings in the compact format
+ * and in the legacy format based on Java serialization.
+ *
+ * <p>The timings are reported as instrumentation status values rather than asserted, as they
+ * depend on the device.
+ */
+public class ListEncodingBenchmark {
+  private static final int LIST_SIZE = 1000;
+  private static final int RUNS = 50;
+
+  @Test
+  public void measureEncodingCost() {
+    List<String> list = new ArrayList<>();
+    for (int i = 0; i < LIST_SIZE; i++) {
+      list.add("element " + i);
+    }
+    CompactListEncoder encoder = new CompactListEncoder();
+    // Warms up both encodings, so that the measured runs are not interpreted.
+    for (int i = 0; i < RUNS; i++) {
+      encoder.decode(encoder.encode(list));
+      encoder.decode(CompactListEncoder.encodeLegacy(list));
+    }
+
+    String compact = "";
+    long compactEncodeNanos = 0;
+    long compactDecodeNanos = 0;
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      compact = encoder.encode(list);
+      long encoded = System.nanoTime();
+      encoder.decode(compact);
+      compactEncodeNanos += encoded - start;
+      compactDecodeNanos += System.nanoTime() - encoded;
+    }
+
+    String legacy = "";
+    long legacyEncodeNanos = 0;
+    long legacyDecodeNanos = 0;
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      legacy = CompactListEncoder.encodeLegacy(list);
+      long encoded = System.nanoTime();
+      encoder.decode(legacy);
+      legacyEncodeNanos += encoded - start;
+      legacyDecodeNanos += System.nanoTime() - encoded;
+    }
+
+    Bundle results = new Bundle();
+    results.putLong("compactEncodeNanos", compactEncodeNanos / RUNS);
+    results.putLong("compactDecodeNanos", compactDecodeNanos / RUNS);
+    results.putInt("compactLength", compact.length());
+    results.putLong("legacyEncodeNanos", legacyEncodeNanos / RUNS);
+    results.putLong("legacyDecodeNanos", legacyDecodeNanos / RUNS);
+    results.putInt("legacyLength", legacy.length());
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+  }
+}
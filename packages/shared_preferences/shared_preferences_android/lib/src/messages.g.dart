@@ -209,6 +209,40 @@ class SharedPreferencesApi {
     }
   }
 
+  /// Sets all properties of the given map in shared preferences data set in a
+  /// single transaction, removing those whose values are null.
+  ///
+  /// If [commit] is true, the properties are written to disk before returning,
+  /// otherwise they are written to disk asynchronously.
+  Future<bool> setValues(Map<String?, Object?> values, bool commit) async {
+    const String __pigeon_channelName =
+        'dev.flutter.pigeon.shared_preferences_android.SharedPreferencesApi.setValues';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList = await __pigeon_channel
+        .send(<Object?>[values, commit]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else if (__pigeon_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (__pigeon_replyList[0] as bool?)!;
+    }
+  }
+
   /// Removes all properties from shared preferences data set with matching prefix.
   Future<bool> clear(String prefix, List<String?>? allowList) async {
     const String __pigeon_channelName =
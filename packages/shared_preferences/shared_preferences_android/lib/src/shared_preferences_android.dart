@@ -55,6 +55,24 @@ class SharedPreferencesAndroid extends SharedPreferencesStorePlatform {
         message: '"$valueType" is not a supported type.');
   }
 
+  /// Sets all of the given values in a single transaction, removing the keys
+  /// whose values are null.
+  ///
+  /// The values must be of the types supported by [setValue]: [String], [bool],
+  /// [int], [double] or `List<String>`. Writing many values at once is much
+  /// faster than setting them one at a time, as the preferences are written to
+  /// disk once for all of them.
+  ///
+  /// If [commit] is true, the returned future completes once the values are
+  /// written to disk. Otherwise it completes once they are applied in memory,
+  /// and they are written to disk asynchronously.
+  Future<bool> setValues(
+    Map<String, Object?> values, {
+    required bool commit,
+  }) async {
+    return _api.setValues(values, commit);
+  }
+
   @override
   Future<bool> clear() async {
     return clearWithParameters(
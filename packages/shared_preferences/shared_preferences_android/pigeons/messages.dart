@@ -39,6 +39,14 @@ abstract class SharedPreferencesApi {
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   bool setStringList(String key, List<String> value);
 
+  /// Sets all properties of the given map in shared preferences data set in a
+  /// single transaction, removing those whose values are null.
+  ///
+  /// If [commit] is true, the properties are written to disk before returning,
+  /// otherwise they are written to disk asynchronously.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  bool setValues(Map<String, Object?> values, bool commit);
+
   /// Removes all properties from shared preferences data set with matching prefix.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   bool clear(
@@ -211,6 +211,28 @@ void main() {
     expect(api.items['flutter.StringList'], <String>['hi']);
   });
 
+  test('setValues', () async {
+    api.items['flutter.Removed'] = 'value';
+
+    expect(
+        await plugin.setValues(<String, Object?>{
+          'flutter.Bool': true,
+          'flutter.Int': 12,
+          'flutter.Removed': null,
+        }, commit: false),
+        isTrue);
+    expect(
+        api.items, <String, Object>{'flutter.Bool': true, 'flutter.Int': 12});
+    expect(api.lastCommit, isFalse);
+
+    expect(
+        await plugin.setValues(<String, Object?>{'flutter.String': 'hi'},
+            commit: true),
+        isTrue);
+    expect(api.items['flutter.String'], 'hi');
+    expect(api.lastCommit, isTrue);
+  });
+
   test('setValue with unsupported type', () async {
     expect(() async {
       await plugin.setValue('Map', 'flutter.key', <String, String>{});
@@ -257,6 +279,7 @@ void main() {
 
 class _FakeSharedPreferencesApi implements SharedPreferencesApi {
   final Map<String, Object> items = <String, Object>{};
+  bool? lastCommit;
 
   @override
   Future<Map<String?, Object?>> getAll(
@@ -321,4 +344,17 @@ class _FakeSharedPreferencesApi implements SharedPreferencesApi {
     items[key] = value;
     return true;
   }
+
+  @override
+  Future<bool> setValues(Map<String?, Object?> values, bool commit) async {
+    values.forEach((String? key, Object? value) {
+      if (value == null) {
+        items.remove(key);
+      } else {
+        items[key!] = value;
+      }
+    });
+    lastCommit = commit;
+    return true;
+  }
 }